@@ -17,7 +17,9 @@ package com.Demirci.coordinator;
 import java.io.*;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Scanner;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * The Account class represents user account management and authentication.
@@ -26,14 +28,20 @@ public class Account {
     /** File path for user data storage. */
     private String FILE_PATH = "users.bin";
     
-    /** List of users registered in the system. */
-    private static List<User> userList;
+    /**
+     * List of users registered in the system, indexed by ID and username. A user is registered by
+     * publishing a new list while holding the class lock, so lookups read it without a lock.
+     */
+    private static volatile IndexedUserList userList = new IndexedUserList();
+
+    /** Group commits of the user files, by file name, so that concurrent saves share one write. */
+    private static final Map<String, GroupCommit> commits = new ConcurrentHashMap<>();
 
     /**
      * Constructs an Account object with an empty list of users.
      */
     public Account() {
-        this.userList = new ArrayList<>();
+        this.userList = new IndexedUserList();
     }
 
     /**
@@ -46,32 +54,30 @@ public class Account {
     }
 
     /**
-     * Saves the list of users to a file.
+     * Saves the list of users to a file. The file is replaced atomically, and saves of the same file
+     * made at the same time are group-committed into one write that contains all of their changes.
      *
      * @param fileName The name of the file to save the users to
      */
-    public static void saveUsersToFile(String fileName) {
+    public static void saveUsersToFile(final String fileName) {
         try {
-            // Create or overwrite the file
-            File file = new File(fileName);
-            if (!file.exists()) {
-                if (!file.createNewFile()) {
-                    return;
-                }
-            }
-
-            // Update group references if needed
-            for (User user : userList) {
-                if (user.getGroup() != null) {
-                    user.setGroup(user.getGroup());
+            commits.computeIfAbsent(fileName, name -> new GroupCommit()).commit(() -> {
+                final List<User> snapshot;
+                synchronized (Account.class) {
+                    // Update group references if needed
+                    for (User user : userList) {
+                        if (user.getGroup() != null) {
+                            user.setGroup(user.getGroup());
+                        }
+                    }
+                    snapshot = new ArrayList<>(userList);
                 }
-            }
 
-            // Write users to file using object serialization
-            try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(file))) {
-                oos.writeObject(userList);
-            }
-        } catch (Exception Ignored) {
+                // Write users to file using the binary codec
+                FileUtility.writeAtomically(new File(fileName), out -> BinaryCodec.writeUsers(out, snapshot));
+            });
+        } catch (IOException e) {
+            System.err.println("Error: Could not save " + fileName + " - " + e.getMessage());
         }
     }
 
@@ -80,7 +86,6 @@ public class Account {
      *
      * @param fileName The name of the file to load users from
      */
-    @SuppressWarnings("unchecked")
     public void loadUsersFromFile(String fileName) {
         try {
             File file = new File(fileName);
@@ -89,15 +94,25 @@ public class Account {
                 return;
             }
 
-            // Read users from file using object deserialization
-            try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(file))) {
-                Object obj = ois.readObject();
-                if (obj instanceof List) {
-                    userList = (List<User>) obj;
-                    System.out.println("Users loaded from file: " + fileName);
-                } else {
+            // Files written by older versions are migrated to the binary codec
+            if (BinaryCodec.isLegacyFormat(file)) {
+                List<User> users = FileUtility.readLegacyList(file);
+                if (users == null) {
                     System.err.println("Error: Invalid data format in file - " + fileName);
+                    return;
                 }
+                userList = new IndexedUserList(users);
+                saveUsersToFile(fileName);
+                System.out.println("Users loaded from file: " + fileName);
+                return;
+            }
+
+            // Read users from file using the binary codec
+            try (DataInputStream in = BinaryCodec.openForReading(file)) {
+                userList = new IndexedUserList(BinaryCodec.readUsers(in));
+                System.out.println("Users loaded from file: " + fileName);
+            } catch (IOException e) {
+                System.err.println("Error: Invalid data format in file - " + fileName);
             }
         } catch (Exception Ignored) {
         }
@@ -118,31 +133,37 @@ public class Account {
         String surname = scanner.nextLine();
         int id;
         String username;
+        boolean unique;
 
         // Check for unique ID
         do {
             System.out.print("ID: ");
             id = scanner.nextInt();
             scanner.nextLine(); // Consume newline character
-            if (!isIdUnique(id)) {
+            unique = isIdUnique(id);
+            if (!unique) {
                 System.out.println("ID already exists. Please choose another one.");
             }
-        } while (!isIdUnique(id));
+        } while (!unique);
 
         // Check for unique username
         do {
             System.out.print("Username: ");
             username = scanner.nextLine();
-            if (!isUsernameUnique(username)) {
+            unique = isUsernameUnique(username);
+            if (!unique) {
                 System.out.println("Username already exists. Please choose another one.");
             }
-        } while (!isUsernameUnique(username));
+        } while (!unique);
 
         System.out.print("Password: ");
         String password = scanner.nextLine();
 
         User account = new User(name, surname, id, username, password);
-        userList.add(account); // Add the user to the list
+        if (!addUser(account)) { // Add the user to the list
+            System.out.println("The ID or username was just taken by another user. Please register again.");
+            return;
+        }
         saveUsersToFile(FILE_PATH); // Save the list to file
         System.out.println("Registration successful!");
     }
@@ -153,12 +174,7 @@ public class Account {
      * @return true if the ID is unique, false otherwise.
      */
     private boolean isIdUnique(int id) {
-        for (User user : userList) {
-            if (user.getId() == id) {
-                return false;
-            }
-        }
-        return true;
+        return findUserById(id) == null;
     }
 
     /**
@@ -167,11 +183,24 @@ public class Account {
      * @return true if the username is unique, false otherwise.
      */
     private boolean isUsernameUnique(String username) {
-        for (User user : userList) {
-            if (user.getUsername().equals(username)) {
-                return false;
-            }
+        return findUserByUsername(username) == null;
+    }
+
+    /**
+     * Adds a user to the user list unless its ID or username is already taken. The check and the
+     * addition are done together, so two users registering at the same time cannot both take a key.
+     * The list is copied, so lookups running meanwhile see either the old or the new list.
+     *
+     * @param user The user to add.
+     * @return true if the user was added, false if the ID or username is taken.
+     */
+    private static synchronized boolean addUser(User user) {
+        if (userList.findById(user.getId()) != null || userList.findByUsername(user.getUsername()) != null) {
+            return false;
         }
+        IndexedUserList updated = new IndexedUserList(userList);
+        updated.add(user);
+        userList = updated;
         return true;
     }
 
@@ -189,10 +218,9 @@ public class Account {
         System.out.print("Password: ");
         String password = scanner.nextLine();
 
-        for (User user : userList) {
-            if (user.getUsername().equals(username) && user.getPassword().equals(password)) {
-                return user;
-            }
+        User user = findUserByUsername(username);
+        if (user != null && user.getPassword().equals(password)) {
+            return user;
         }
         return null; // Login failed
     }
@@ -232,7 +260,7 @@ public class Account {
     /**
      * Displays the usernames and IDs of all users in the user list.
      */
-    public static void displayUsernamesWithIDs() {
+    public static synchronized void displayUsernamesWithIDs() {
         System.out.println("User IDs and Usernames:");
         for (User user : userList) {
             System.out.println("ID: " + user.getId() + " - Username: " + user.getUsername());
@@ -246,11 +274,16 @@ public class Account {
      * @return The user object if found, or null if not found
      */
     public static User findUserById(int id) {
-        for (User user : userList) {
-            if (user.getId() == id) {
-                return user; // Found the user with the given ID
-            }
-        }
-        return null; // User with the given ID not found
+        return userList.findById(id);
+    }
+
+    /**
+     * Finds a user in the user list by their username.
+     *
+     * @param username The username of the user to find
+     * @return The user object if found, or null if not found
+     */
+    public static User findUserByUsername(String username) {
+        return userList.findByUsername(username);
     }
 }
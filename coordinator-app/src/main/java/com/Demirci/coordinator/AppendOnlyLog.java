@@ -0,0 +1,320 @@
+/**
+ * The com.Divan.coordinator package contains classes and interfaces related to coordination tasks
+ * in the application developed by Rana Melih.
+ * 
+ * This package serves as a coordination module facilitating communication and orchestration
+ * among different components of the application.
+ * 
+ * Classes within this package might include implementations of coordinator patterns,
+ * such as the mediator pattern, or other coordination strategies.
+ * 
+ * @author Rana Melih
+ * @version 1.0.3
+ * @since 2024-03-28
+ */
+package com.Demirci.coordinator;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.BufferedInputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * The AppendOnlyLog class stores a sequence of checksummed records in a file that is only ever
+ * appended to.
+ *
+ * The file starts with a header holding a magic number, the number of entries of the snapshot the
+ * log applies on top of and the ID of that snapshot, so that a log left over from an older snapshot
+ * can be recognized. Logs written before snapshot IDs were introduced have no ID and read as 0.
+ * Every record is written as its length, its CRC32 checksum and its payload.
+ * A record whose length or checksum does not match is treated as a torn write and ends the log.
+ */
+public class AppendOnlyLog {
+    /** Magic number identifying a log file without a snapshot ID. */
+    private static final int MAGIC = 0x53474C47;
+
+    /** Magic number identifying a log file with a snapshot ID. */
+    private static final int SNAPSHOT_ID_MAGIC = 0x53474C48;
+
+    /** Size of the file header without a snapshot ID in bytes. */
+    private static final int HEADER_SIZE = 12;
+
+    /** Size of the file header with a snapshot ID in bytes. */
+    private static final int SNAPSHOT_ID_HEADER_SIZE = 20;
+
+    /** Upper bound for a single record, used to reject corrupted length fields. */
+    private static final int MAX_RECORD_SIZE = 16 * 1024 * 1024;
+
+    /** The file backing this log. */
+    private final File file;
+
+    /** Shares one fsync of the log among concurrent callers of {@link #sync()}. */
+    private final GroupCommit syncs = new GroupCommit();
+
+    /**
+     * Constructs an AppendOnlyLog backed by the given file.
+     *
+     * @param file The file to store the log in
+     */
+    public AppendOnlyLog(File file) {
+        this.file = file;
+    }
+
+    /**
+     * Checks whether the log file exists.
+     *
+     * @return true if the log file exists, false otherwise
+     */
+    public boolean exists() {
+        return file.exists();
+    }
+
+    /**
+     * Gets the size of the log file.
+     *
+     * @return The size of the log file in bytes, or 0 if it does not exist
+     */
+    public long size() {
+        return file.exists() ? file.length() : 0L;
+    }
+
+    /**
+     * Starts a new, empty log on top of a snapshot with the given number of entries.
+     *
+     * @param baseCount The number of entries in the snapshot the log applies to
+     * @throws IOException If the log file cannot be written
+     */
+    public void reset(long baseCount) throws IOException {
+        reset(baseCount, 0);
+    }
+
+    /**
+     * Starts a new, empty log on top of a snapshot with the given number of entries and ID.
+     *
+     * @param baseCount  The number of entries in the snapshot the log applies to
+     * @param snapshotId The ID of the snapshot, 0 if it has none
+     * @throws IOException If the log file cannot be written
+     */
+    public void reset(final long baseCount, final long snapshotId) throws IOException {
+        FileUtility.writeAtomically(file, out -> writeHeader(out, baseCount, snapshotId));
+    }
+
+    /**
+     * Starts the log over on top of a new snapshot, keeping the records appended after the given
+     * position. The records kept are the ones appended while the snapshot was written, so they fit in memory.
+     *
+     * @param baseCount The number of entries in the new snapshot
+     * @param offset    The position in the log where the records missing from the snapshot start
+     * @throws IOException If the log cannot be read or written
+     */
+    public void rebase(long baseCount, long offset) throws IOException {
+        rebase(baseCount, 0, offset);
+    }
+
+    /**
+     * Starts the log over on top of a new snapshot with an ID, keeping the records appended after the
+     * given position, like {@link #rebase(long, long)}.
+     *
+     * @param baseCount  The number of entries in the new snapshot
+     * @param snapshotId The ID of the new snapshot, 0 if it has none
+     * @param offset     The position in the log where the records missing from the snapshot start
+     * @throws IOException If the log cannot be read or written
+     */
+    public void rebase(final long baseCount, final long snapshotId, long offset) throws IOException {
+        final byte[] records;
+        try (RandomAccessFile in = new RandomAccessFile(file, "r")) {
+            long start = Math.max(offset, in.readInt() == SNAPSHOT_ID_MAGIC ? SNAPSHOT_ID_HEADER_SIZE : HEADER_SIZE);
+            records = new byte[(int) Math.max(0, in.length() - start)];
+            in.seek(start);
+            in.readFully(records);
+        }
+        FileUtility.writeAtomically(file, out -> {
+            writeHeader(out, baseCount, snapshotId);
+            out.write(records);
+        });
+    }
+
+    /**
+     * Appends a record to the end of the log. The record reaches the disk with the next {@link #sync()}.
+     *
+     * @param payload The record payload
+     * @throws IOException If the log does not exist or cannot be written
+     */
+    public void append(byte[] payload) throws IOException {
+        if (!file.exists()) {
+            throw new IOException("Log file does not exist - " + file.getName());
+        }
+        CRC32 crc = new CRC32();
+        crc.update(payload, 0, payload.length);
+        try (DataOutputStream out = new DataOutputStream(new FileOutputStream(file, true))) {
+            byte[] record = new byte[8 + payload.length];
+            writeInt(record, 0, payload.length);
+            writeInt(record, 4, (int) crc.getValue());
+            System.arraycopy(payload, 0, record, 8, payload.length);
+            out.write(record);
+        }
+    }
+
+    /**
+     * Forces the records appended so far to disk. Callers arriving while another caller is syncing
+     * wait for it and are then covered by a single fsync made on behalf of all of them.
+     *
+     * @throws IOException If the log cannot be synced
+     */
+    public void sync() throws IOException {
+        syncs.commit(() -> {
+            if (file.exists()) {
+                try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE)) {
+                    channel.force(false);
+                }
+            }
+        });
+    }
+
+    /**
+     * Reads the snapshot entry count stored in the log header.
+     *
+     * @return The base count, or -1 if the log is missing or has an invalid header
+     */
+    public long readBaseCount() {
+        if (!file.exists()) {
+            return -1;
+        }
+        try (DataInputStream in = new DataInputStream(new FileInputStream(file))) {
+            int magic = in.readInt();
+            if (magic != MAGIC && magic != SNAPSHOT_ID_MAGIC) {
+                return -1;
+            }
+            return in.readLong();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Reads the ID of the snapshot stored in the log header.
+     *
+     * @return The snapshot ID, 0 if the log has none, or -1 if the log is missing or has an invalid header
+     */
+    public long readSnapshotId() {
+        if (!file.exists()) {
+            return -1;
+        }
+        try (DataInputStream in = new DataInputStream(new FileInputStream(file))) {
+            int magic = in.readInt();
+            if (magic != MAGIC && magic != SNAPSHOT_ID_MAGIC) {
+                return -1;
+            }
+            in.readLong();
+            return magic == SNAPSHOT_ID_MAGIC ? in.readLong() : 0;
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Reads all intact records of the log. A torn or corrupted tail is cut off the file so that
+     * later appends follow the last intact record.
+     *
+     * @return The payloads of all intact records in the order they were appended
+     * @throws IOException If the log file cannot be read
+     */
+    public List<byte[]> readRecords() throws IOException {
+        List<byte[]> records = new ArrayList<>();
+        long validLength;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            int magic = in.readInt();
+            if (magic == SNAPSHOT_ID_MAGIC) {
+                in.readLong();
+                in.readLong();
+                validLength = SNAPSHOT_ID_HEADER_SIZE;
+            } else if (magic == MAGIC) {
+                in.readLong();
+                validLength = HEADER_SIZE;
+            } else {
+                return records;
+            }
+            CRC32 crc = new CRC32();
+            while (true) {
+                int length;
+                int checksum;
+                byte[] payload;
+                try {
+                    length = in.readInt();
+                    checksum = in.readInt();
+                    if (length < 0 || length > MAX_RECORD_SIZE) {
+                        break;
+                    }
+                    payload = new byte[length];
+                    in.readFully(payload);
+                } catch (EOFException e) {
+                    break;
+                }
+                crc.reset();
+                crc.update(payload, 0, payload.length);
+                if ((int) crc.getValue() != checksum) {
+                    break;
+                }
+                records.add(payload);
+                validLength += 8 + length;
+            }
+        } catch (EOFException e) {
+            return records;
+        }
+        if (validLength < file.length()) {
+            try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+                raf.setLength(validLength);
+            }
+        }
+        return records;
+    }
+
+    /**
+     * Deletes the log file.
+     */
+    public void delete() {
+        if (file.exists()) {
+            file.delete();
+        }
+    }
+
+    /**
+     * Writes the file header, with a snapshot ID unless it is 0.
+     *
+     * @param out        The stream to write to
+     * @param baseCount  The number of entries in the snapshot the log applies to
+     * @param snapshotId The ID of the snapshot, 0 if it has none
+     * @throws IOException If writing fails
+     */
+    private static void writeHeader(DataOutputStream out, long baseCount, long snapshotId) throws IOException {
+        out.writeInt(snapshotId != 0 ? SNAPSHOT_ID_MAGIC : MAGIC);
+        out.writeLong(baseCount);
+        if (snapshotId != 0) {
+            out.writeLong(snapshotId);
+        }
+    }
+
+    /**
+     * Writes an int in big-endian order into a byte array.
+     *
+     * @param buffer The target array
+     * @param offset The position to write at
+     * @param value  The value to write
+     */
+    private static void writeInt(byte[] buffer, int offset, int value) {
+        buffer[offset] = (byte) (value >>> 24);
+        buffer[offset + 1] = (byte) (value >>> 16);
+        buffer[offset + 2] = (byte) (value >>> 8);
+        buffer[offset + 3] = (byte) value;
+    }
+}
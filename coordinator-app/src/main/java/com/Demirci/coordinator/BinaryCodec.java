@@ -0,0 +1,670 @@
+/**
+ * The com.Divan.coordinator package contains classes and interfaces related to coordination tasks
+ * in the application developed by Rana Melih.
+ * 
+ * This package serves as a coordination module facilitating communication and orchestration
+ * among different components of the application.
+ * 
+ * Classes within this package might include implementations of coordinator patterns,
+ * such as the mediator pattern, or other coordination strategies.
+ * 
+ * @author Rana Melih
+ * @version 1.0.3
+ * @since 2024-03-28
+ */
+package com.Demirci.coordinator;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The BinaryCodec class reads and writes the domain objects in a compact, versioned binary format.
+ *
+ * Every file starts with a magic number, the format version and the kind of entities it holds.
+ * It is followed by a dictionary of the study groups the entities refer to, holding only their names
+ * and descriptions, and then by the entities themselves, which refer to groups by dictionary position.
+ * Group members are written as a {@link MemberBitmap} and only in the study groups file. Strings are
+ * written as a variable-length byte count followed by their UTF-8 bytes, counts and references as
+ * variable-length integers and user IDs as plain ints. The comments of a discussion are written as a
+ * {@link CommentChunk}, column by column. The read watermarks of the users are written as user ID,
+ * discussion ID and number of comments read.
+ *
+ * Version 1 files, which carried full user and group tables in every file, version 2 files, which
+ * listed group members as plain ints, version 3 files, which gave every user a single group, and
+ * version 4 files, which stored comments as bare strings, version 5 files, whose comments had no
+ * replies, and version 6 files, whose discussions had no IDs, can still be read.
+ */
+public class BinaryCodec {
+    /** Magic number identifying a file written by this codec. */
+    public static final int MAGIC = 0x53474342;
+
+    /** The current version of the format. */
+    public static final int VERSION = 7;
+
+    /** File kind for a list of users. */
+    public static final byte KIND_USERS = 1;
+
+    /** File kind for a list of study groups. */
+    public static final byte KIND_GROUPS = 2;
+
+    /** File kind for a list of sessions. */
+    public static final byte KIND_SESSIONS = 3;
+
+    /** File kind for a list of resources. */
+    public static final byte KIND_RESOURCES = 4;
+
+    /** File kind for a list of discussions. */
+    public static final byte KIND_DISCUSSIONS = 5;
+
+    /** File kind for the read watermarks of the discussions. */
+    public static final byte KIND_WATERMARKS = 6;
+
+    /** The first two bytes of every stream written by Java object serialization. */
+    private static final int JAVA_SERIALIZATION_MAGIC = 0xACED;
+
+    /**
+     * Checks whether a file was written with Java object serialization by an older version of the application.
+     *
+     * @param file The file to check
+     * @return true if the file starts with the Java serialization stream header, false otherwise
+     */
+    public static boolean isLegacyFormat(File file) {
+        try (DataInputStream in = new DataInputStream(new FileInputStream(file))) {
+            return in.readUnsignedShort() == JAVA_SERIALIZATION_MAGIC;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Checks whether a byte array holds data written with Java object serialization.
+     *
+     * @param data   The data to check
+     * @param offset The position the data starts at
+     * @return true if the data starts with the Java serialization stream header, false otherwise
+     */
+    public static boolean isLegacyFormat(byte[] data, int offset) {
+        return data.length >= offset + 2
+                && ((data[offset] & 0xFF) << 8 | (data[offset + 1] & 0xFF)) == JAVA_SERIALIZATION_MAGIC;
+    }
+
+    /**
+     * Opens a buffered data stream for reading a file.
+     *
+     * @param file The file to read
+     * @return The opened stream
+     * @throws IOException If the file cannot be opened
+     */
+    public static DataInputStream openForReading(File file) throws IOException {
+        return new DataInputStream(new BufferedInputStream(new FileInputStream(file), 64 * 1024));
+    }
+
+    /**
+     * Writes a list of users.
+     *
+     * @param out   The stream to write to
+     * @param users The users to write
+     * @throws IOException If writing fails
+     */
+    public static void writeUsers(DataOutputStream out, List<User> users) throws IOException {
+        Encoder encoder = new Encoder(out);
+        for (User user : users) {
+            for (StudyGroup group : user.getGroups()) {
+                encoder.addGroup(group);
+            }
+        }
+        encoder.writeHeader(KIND_USERS);
+        writeVarInt(out, users.size());
+        for (User user : users) {
+            out.writeInt(user.getId());
+            writeString(out, user.getName());
+            writeString(out, user.getSurname());
+            writeString(out, user.getUsername());
+            writeString(out, user.getPassword());
+            List<StudyGroup> groups = user.getGroups();
+            writeVarInt(out, groups.size());
+            for (StudyGroup group : groups) {
+                encoder.writeGroupRef(group);
+            }
+        }
+    }
+
+    /**
+     * Reads a list of users.
+     *
+     * @param in The stream to read from
+     * @return The users read from the stream
+     * @throws IOException If the data is not a valid list of users
+     */
+    public static List<User> readUsers(DataInputStream in) throws IOException {
+        Decoder decoder = new Decoder(in, KIND_USERS);
+        int count = readVarInt(in);
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            users.add(decoder.readUser());
+        }
+        return users;
+    }
+
+    /**
+     * Writes a list of study groups.
+     *
+     * @param out    The stream to write to
+     * @param groups The study groups to write
+     * @throws IOException If writing fails
+     */
+    public static void writeGroups(DataOutputStream out, List<StudyGroup> groups) throws IOException {
+        Encoder encoder = new Encoder(out);
+        for (StudyGroup group : groups) {
+            encoder.addGroup(group);
+        }
+        encoder.writeHeader(KIND_GROUPS);
+        writeVarInt(out, groups.size());
+        for (StudyGroup group : groups) {
+            encoder.writeGroupRef(group);
+            group.copyMemberIds().writeTo(out);
+        }
+    }
+
+    /**
+     * Reads a list of study groups.
+     *
+     * @param in The stream to read from
+     * @return The study groups read from the stream
+     * @throws IOException If the data is not a valid list of study groups
+     */
+    public static List<StudyGroup> readGroups(DataInputStream in) throws IOException {
+        Decoder decoder = new Decoder(in, KIND_GROUPS);
+        int count = readVarInt(in);
+        List<StudyGroup> groups = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            groups.add(decoder.readGroup());
+        }
+        return groups;
+    }
+
+    /**
+     * Writes a list of sessions.
+     *
+     * @param out      The stream to write to
+     * @param sessions The sessions to write
+     * @throws IOException If writing fails
+     */
+    public static void writeSessions(DataOutputStream out, List<Session> sessions) throws IOException {
+        Encoder encoder = new Encoder(out);
+        for (Session session : sessions) {
+            encoder.addGroup(session.getGroup());
+        }
+        encoder.writeHeader(KIND_SESSIONS);
+        writeVarInt(out, sessions.size());
+        for (Session session : sessions) {
+            writeString(out, session.getTitle());
+            writeString(out, session.getDate());
+            writeString(out, session.getDescription());
+            encoder.writeGroupRef(session.getGroup());
+        }
+    }
+
+    /**
+     * Reads a list of sessions.
+     *
+     * @param in The stream to read from
+     * @return The sessions read from the stream
+     * @throws IOException If the data is not a valid list of sessions
+     */
+    public static List<Session> readSessions(DataInputStream in) throws IOException {
+        Decoder decoder = new Decoder(in, KIND_SESSIONS);
+        int count = readVarInt(in);
+        List<Session> sessions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String title = readString(in);
+            String date = readString(in);
+            String description = readString(in);
+            sessions.add(new Session(title, date, decoder.readGroupRef(), description));
+        }
+        return sessions;
+    }
+
+    /**
+     * Writes a list of resources.
+     *
+     * @param out       The stream to write to
+     * @param resources The resources to write
+     * @throws IOException If writing fails
+     */
+    public static void writeResources(DataOutputStream out, List<Resource> resources) throws IOException {
+        Encoder encoder = new Encoder(out);
+        for (Resource resource : resources) {
+            encoder.addGroup(resource.getGroup());
+        }
+        encoder.writeHeader(KIND_RESOURCES);
+        writeVarInt(out, resources.size());
+        for (Resource resource : resources) {
+            writeString(out, resource.getTitle());
+            writeString(out, resource.getDescription());
+            writeString(out, resource.getLink());
+            encoder.writeGroupRef(resource.getGroup());
+        }
+    }
+
+    /**
+     * Reads a list of resources.
+     *
+     * @param in The stream to read from
+     * @return The resources read from the stream
+     * @throws IOException If the data is not a valid list of resources
+     */
+    public static List<Resource> readResources(DataInputStream in) throws IOException {
+        Decoder decoder = new Decoder(in, KIND_RESOURCES);
+        int count = readVarInt(in);
+        List<Resource> resources = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String title = readString(in);
+            String description = readString(in);
+            String link = readString(in);
+            resources.add(new Resource(title, description, link, decoder.readGroupRef()));
+        }
+        return resources;
+    }
+
+    /**
+     * Writes a list of discussions.
+     *
+     * @param out         The stream to write to
+     * @param discussions The discussions to write
+     * @throws IOException If writing fails
+     */
+    public static void writeDiscussions(DataOutputStream out, List<Discussion> discussions) throws IOException {
+        Encoder encoder = new Encoder(out);
+        for (Discussion discussion : discussions) {
+            encoder.addGroup(discussion.getGroup());
+        }
+        encoder.writeHeader(KIND_DISCUSSIONS);
+        writeVarInt(out, discussions.size());
+        for (Discussion discussion : discussions) {
+            writeString(out, discussion.getTopic());
+            encoder.writeGroupRef(discussion.getGroup());
+            writeVarInt(out, discussion.getId());
+            discussion.getCommentChunk().writeTo(out);
+        }
+    }
+
+    /**
+     * Reads a list of discussions.
+     *
+     * @param in The stream to read from
+     * @return The discussions read from the stream
+     * @throws IOException If the data is not a valid list of discussions
+     */
+    public static List<Discussion> readDiscussions(DataInputStream in) throws IOException {
+        Decoder decoder = new Decoder(in, KIND_DISCUSSIONS);
+        int count = readVarInt(in);
+        List<Discussion> discussions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String topic = readString(in);
+            Discussion discussion = new Discussion(topic, decoder.readGroupRef());
+            if (decoder.version >= 7) {
+                discussion.setId(readVarInt(in));
+            }
+            if (decoder.version >= 5) {
+                discussion.setComments(CommentChunk.readFrom(in, decoder.version >= 6));
+            } else {
+                int comments = readVarInt(in);
+                for (int c = 0; c < comments; c++) {
+                    String comment = readString(in);
+                    discussion.addComment(CommentChunk.UNKNOWN_AUTHOR, 0, comment != null ? comment : "");
+                }
+            }
+            discussions.add(discussion);
+        }
+        return discussions;
+    }
+
+    /**
+     * Writes the read watermarks of the discussions.
+     *
+     * @param out        The stream to write to
+     * @param watermarks The number of comments read, by {@link LongIntHashMap#key(int, int)} of user ID
+     *                   and discussion ID
+     * @throws IOException If writing fails
+     */
+    public static void writeWatermarks(DataOutputStream out, LongIntHashMap watermarks) throws IOException {
+        new Encoder(out).writeHeader(KIND_WATERMARKS);
+        long[] keys = watermarks.keys();
+        writeVarInt(out, keys.length);
+        for (long key : keys) {
+            out.writeInt((int) (key >>> 32));
+            writeVarInt(out, (int) key);
+            writeVarInt(out, watermarks.get(key));
+        }
+    }
+
+    /**
+     * Reads the read watermarks of the discussions.
+     *
+     * @param in The stream to read from
+     * @return The number of comments read, by {@link LongIntHashMap#key(int, int)} of user ID and discussion ID
+     * @throws IOException If the data is not a valid set of watermarks
+     */
+    public static LongIntHashMap readWatermarks(DataInputStream in) throws IOException {
+        new Decoder(in, KIND_WATERMARKS);
+        int count = readVarInt(in);
+        LongIntHashMap watermarks = new LongIntHashMap(count);
+        for (int i = 0; i < count; i++) {
+            int userId = in.readInt();
+            int discussionId = readVarInt(in);
+            watermarks.put(LongIntHashMap.key(userId, discussionId), readVarInt(in));
+        }
+        return watermarks;
+    }
+
+    /**
+     * Writes a non-negative int using as few bytes as possible, seven bits per byte.
+     *
+     * @param out   The stream to write to
+     * @param value The value to write
+     * @throws IOException If writing fails
+     */
+    public static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    /**
+     * Reads an int written by {@link #writeVarInt(DataOutputStream, int)}.
+     *
+     * @param in The stream to read from
+     * @return The value read
+     * @throws IOException If reading fails or the value is malformed
+     */
+    public static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Invalid data format - malformed number");
+    }
+
+    /**
+     * Writes a string as its UTF-8 byte count followed by the bytes. Null is written as a zero count.
+     *
+     * @param out   The stream to write to
+     * @param value The string to write, may be null
+     * @throws IOException If writing fails
+     */
+    public static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            writeVarInt(out, 0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, bytes.length + 1);
+        out.write(bytes);
+    }
+
+    /**
+     * Reads a string written by {@link #writeString(DataOutputStream, String)}.
+     *
+     * @param in The stream to read from
+     * @return The string read, or null
+     * @throws IOException If reading fails
+     */
+    public static String readString(DataInputStream in) throws IOException {
+        int length = readVarInt(in);
+        if (length == 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length - 1];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * The Encoder class collects the groups referred to by the written entities
+     * and writes them as a dictionary ahead of the entities.
+     */
+    private static class Encoder {
+        /** The stream to write to. */
+        private final DataOutputStream out;
+
+        /** Dictionary positions of the collected groups, indexed by group ID. */
+        private final IntHashMap<Integer> groupRefs = new IntHashMap<>();
+
+        /** The collected groups in dictionary order. */
+        private final List<StudyGroup> groups = new ArrayList<>();
+
+        /**
+         * Constructs an Encoder writing to the given stream.
+         *
+         * @param out The stream to write to
+         */
+        Encoder(DataOutputStream out) {
+            this.out = out;
+        }
+
+        /**
+         * Adds a group to the dictionary.
+         *
+         * @param group The group to add, may be null
+         */
+        void addGroup(StudyGroup group) {
+            StudyGroup canonical = GroupRegistry.intern(group);
+            if (canonical == null || groupRefs.containsKey(canonical.getId())) {
+                return;
+            }
+            groupRefs.put(canonical.getId(), groups.size());
+            groups.add(canonical);
+        }
+
+        /**
+         * Writes the file header followed by the group dictionary.
+         *
+         * @param kind The kind of entities the file holds
+         * @throws IOException If writing fails
+         */
+        void writeHeader(byte kind) throws IOException {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeByte(kind);
+
+            writeVarInt(out, groups.size());
+            for (StudyGroup group : groups) {
+                writeString(out, group.getName());
+                writeString(out, group.getDescription());
+            }
+        }
+
+        /**
+         * Writes a reference to a group of the dictionary.
+         *
+         * @param group The group, may be null
+         * @throws IOException If writing fails
+         */
+        void writeGroupRef(StudyGroup group) throws IOException {
+            int id = GroupRegistry.idOf(group);
+            writeVarInt(out, id == GroupRegistry.NO_GROUP ? 0 : groupRefs.get(id) + 1);
+        }
+    }
+
+    /**
+     * The Decoder class reads the file header and the group dictionary and resolves references to it.
+     * Groups are resolved to their canonical instances in the {@link GroupRegistry}.
+     */
+    private static class Decoder {
+        /** The stream to read from. */
+        private final DataInputStream in;
+
+        /** The format version of the stream. */
+        private final int version;
+
+        /** The users of the user table, only present in version 1 files. */
+        private User[] users;
+
+        /** The groups of the dictionary. */
+        private final StudyGroup[] groups;
+
+        /**
+         * Constructs a Decoder and reads the header and dictionary from the stream.
+         *
+         * @param in   The stream to read from
+         * @param kind The kind of entities the file is expected to hold
+         * @throws IOException If the header does not match or the dictionary cannot be read
+         */
+        Decoder(DataInputStream in, byte kind) throws IOException {
+            this.in = in;
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Invalid data format");
+            }
+            version = in.readUnsignedByte();
+            if (version > VERSION) {
+                throw new IOException("Unsupported data format version " + version);
+            }
+            if (in.readByte() != kind) {
+                throw new IOException("Invalid data format - unexpected content");
+            }
+
+            if (version == 1) {
+                groups = readVersion1Tables();
+                return;
+            }
+            groups = new StudyGroup[readVarInt(in)];
+            for (int i = 0; i < groups.length; i++) {
+                String name = readString(in);
+                groups[i] = GroupRegistry.intern(name, readString(in));
+            }
+        }
+
+        /**
+         * Reads the user and group tables of a version 1 file.
+         *
+         * @return The groups of the group table
+         * @throws IOException If the tables cannot be read
+         */
+        private StudyGroup[] readVersion1Tables() throws IOException {
+            users = new User[readVarInt(in)];
+            int[] userGroups = new int[users.length];
+            for (int i = 0; i < users.length; i++) {
+                int id = in.readInt();
+                String name = readString(in);
+                String surname = readString(in);
+                String username = readString(in);
+                String password = readString(in);
+                users[i] = new User(name, surname, id, username, password);
+                userGroups[i] = readVarInt(in);
+            }
+
+            StudyGroup[] table = new StudyGroup[readVarInt(in)];
+            for (int i = 0; i < table.length; i++) {
+                String name = readString(in);
+                StudyGroup group = GroupRegistry.intern(name, readString(in));
+                int members = readVarInt(in);
+                for (int m = 0; m < members; m++) {
+                    User member = resolve(users, readVarInt(in));
+                    if (member != null) {
+                        group.addMember(member);
+                    }
+                }
+                table[i] = group;
+            }
+
+            for (int i = 0; i < users.length; i++) {
+                users[i].setGroup(resolve(table, userGroups[i]));
+            }
+            return table;
+        }
+
+        /**
+         * Reads a user and records it as a member of its groups.
+         *
+         * @return The user read
+         * @throws IOException If the user cannot be read
+         */
+        User readUser() throws IOException {
+            if (version == 1) {
+                return resolve(users, readVarInt(in));
+            }
+            int id = in.readInt();
+            String name = readString(in);
+            String surname = readString(in);
+            String username = readString(in);
+            String password = readString(in);
+            User user = new User(name, surname, id, username, password);
+            int groupCount = version < 4 ? 1 : readVarInt(in);
+            for (int g = 0; g < groupCount; g++) {
+                StudyGroup group = readGroupRef();
+                if (group != null) {
+                    user.joinGroup(group);
+                    group.addMemberId(id);
+                }
+            }
+            return user;
+        }
+
+        /**
+         * Reads a study group together with its member IDs.
+         *
+         * @return The canonical group read
+         * @throws IOException If the group cannot be read
+         */
+        StudyGroup readGroup() throws IOException {
+            StudyGroup group = readGroupRef();
+            if (version == 1) {
+                return group;
+            }
+            if (version == 2) {
+                int members = readVarInt(in);
+                for (int m = 0; m < members; m++) {
+                    group.addMemberId(in.readInt());
+                }
+                return group;
+            }
+            for (int memberId : MemberBitmap.readFrom(in).toArray()) {
+                group.addMemberId(memberId);
+            }
+            return group;
+        }
+
+        /**
+         * Reads a reference to a group of the dictionary.
+         *
+         * @return The referenced group, or null
+         * @throws IOException If the reference is invalid
+         */
+        StudyGroup readGroupRef() throws IOException {
+            return resolve(groups, readVarInt(in));
+        }
+
+        /**
+         * Resolves a reference against a table.
+         *
+         * @param table The table
+         * @param ref   The reference, 0 for null and otherwise the table position plus one
+         * @param <T>   The type of the table entries
+         * @return The referenced entry, or null
+         * @throws IOException If the reference is outside the table
+         */
+        private static <T> T resolve(T[] table, int ref) throws IOException {
+            if (ref == 0) {
+                return null;
+            }
+            if (ref < 0 || ref > table.length) {
+                throw new IOException("Invalid data format - dangling reference");
+            }
+            return table[ref - 1];
+        }
+    }
+}
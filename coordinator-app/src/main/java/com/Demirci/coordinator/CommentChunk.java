@@ -0,0 +1,543 @@
+/**
+ * The com.Divan.coordinator package contains classes and interfaces related to coordination tasks
+ * in the application developed by Rana Melih.
+ * 
+ * This package serves as a coordination module facilitating communication and orchestration
+ * among different components of the application.
+ * 
+ * Classes within this package might include implementations of coordinator patterns,
+ * such as the mediator pattern, or other coordination strategies.
+ * 
+ * @author Rana Melih
+ * @version 1.0.3
+ * @since 2024-03-28
+ */
+package com.Demirci.coordinator;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The CommentChunk class stores the comments of a discussion column by column: the author IDs and
+ * timestamps in parallel primitive arrays and the texts as UTF-8 bytes one after another in a single
+ * byte array, with the offset of each text in a third array.
+ *
+ * A comment therefore costs four bytes for its author, eight for its timestamp, four for its offset and
+ * the UTF-8 bytes of its text, instead of a String object, its character array and a list entry. Texts
+ * are decoded when they are read. Like an ArrayList, the class is not thread-safe.
+ *
+ * Comments can reply to earlier comments, which makes the comments of a discussion a forest of
+ * threads. Besides the parent of each comment, the chunk keeps the thread order: the comments in
+ * depth-first order, each followed by its replies. The replies of a comment, however deep, therefore
+ * take one contiguous range of the thread order, so a thread is loaded or collapsed by reading or
+ * skipping a range. The thread order is computed in one linear pass over the parents the first time
+ * it is needed after comments were added.
+ */
+public class CommentChunk {
+    /** The author ID of comments whose author is not known, such as comments of older versions. */
+    public static final int UNKNOWN_AUTHOR = -1;
+
+    /** The parent of comments that do not reply to another comment. */
+    public static final int NO_PARENT = -1;
+
+    /** The number of comments a chunk has room for when it is created. */
+    private static final int INITIAL_CAPACITY = 4;
+
+    /** The author ID of each comment. */
+    private int[] authorIds = new int[INITIAL_CAPACITY];
+
+    /** The time each comment was written, in milliseconds since the epoch. */
+    private long[] timestamps = new long[INITIAL_CAPACITY];
+
+    /** The offset of the text of each comment in {@link #text}, followed by the end of the last text. */
+    private int[] offsets = new int[INITIAL_CAPACITY + 1];
+
+    /** The UTF-8 bytes of the texts. */
+    private byte[] text = new byte[INITIAL_CAPACITY * 16];
+
+    /** The sequence number of the comment each comment replies to, always an earlier one, or {@link #NO_PARENT}. */
+    private int[] parents = new int[INITIAL_CAPACITY];
+
+    /** The number of comments. */
+    private int size;
+
+    /** The number of comments the thread order was computed for. */
+    private int threadedSize;
+
+    /** The sequence numbers of the comments in thread order. */
+    private int[] threadOrder = new int[0];
+
+    /** The position of each comment in {@link #threadOrder}. */
+    private int[] threadPositions = new int[0];
+
+    /** The position in {@link #threadOrder} after the last reply of each comment. */
+    private int[] subtreeEnds = new int[0];
+
+    /** The number of ancestors of each comment. */
+    private int[] depths = new int[0];
+
+    /**
+     * The CommentChunk.Comment class is a copy of one comment of a chunk, created when a page of
+     * comments is read.
+     */
+    public static class Comment {
+        /** The sequence number of the comment in its discussion, starting at 0. */
+        private final int sequence;
+
+        /** The ID of the author. */
+        private final int authorId;
+
+        /** The time the comment was written. */
+        private final long timestamp;
+
+        /** The text. */
+        private final String text;
+
+        /** The sequence number of the comment this one replies to, or {@link CommentChunk#NO_PARENT}. */
+        private final int parent;
+
+        /** The number of ancestors of the comment. */
+        private final int depth;
+
+        /**
+         * Constructs a Comment.
+         *
+         * @param sequence  The sequence number of the comment in its discussion
+         * @param authorId  The ID of the author, or {@link CommentChunk#UNKNOWN_AUTHOR}
+         * @param timestamp The time the comment was written, in milliseconds since the epoch
+         * @param text      The text
+         * @param parent    The sequence number of the comment this one replies to, or {@link CommentChunk#NO_PARENT}
+         * @param depth     The number of ancestors of the comment
+         */
+        public Comment(int sequence, int authorId, long timestamp, String text, int parent, int depth) {
+            this.sequence = sequence;
+            this.authorId = authorId;
+            this.timestamp = timestamp;
+            this.text = text;
+            this.parent = parent;
+            this.depth = depth;
+        }
+
+        /**
+         * Gets the sequence number of the comment, which is its cursor in a page.
+         *
+         * @return The sequence number, starting at 0
+         */
+        public int getSequence() {
+            return sequence;
+        }
+
+        /**
+         * Gets the author of the comment.
+         *
+         * @return The ID of the author, or {@link CommentChunk#UNKNOWN_AUTHOR}
+         */
+        public int getAuthorId() {
+            return authorId;
+        }
+
+        /**
+         * Gets the time the comment was written.
+         *
+         * @return The time in milliseconds since the epoch, or 0 if it is not known
+         */
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        /**
+         * Gets the text of the comment.
+         *
+         * @return The text
+         */
+        public String getText() {
+            return text;
+        }
+
+        /**
+         * Gets the comment this one replies to.
+         *
+         * @return The sequence number of the parent, or {@link CommentChunk#NO_PARENT}
+         */
+        public int getParent() {
+            return parent;
+        }
+
+        /**
+         * Gets the depth of the comment in its thread.
+         *
+         * @return 0 for a comment that does not reply to another, 1 for a reply to it, and so on
+         */
+        public int getDepth() {
+            return depth;
+        }
+    }
+
+    /**
+     * Gets the number of comments.
+     *
+     * @return The number of comments
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Adds a comment.
+     *
+     * @param authorId  The ID of the user who wrote the comment, or {@link #UNKNOWN_AUTHOR}
+     * @param timestamp The time the comment was written, in milliseconds since the epoch
+     * @param comment   The text of the comment
+     */
+    public void add(int authorId, long timestamp, String comment) {
+        add(NO_PARENT, authorId, timestamp, comment.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Adds a reply to a comment.
+     *
+     * @param parent    The sequence number of the comment replied to
+     * @param authorId  The ID of the user who wrote the reply, or {@link #UNKNOWN_AUTHOR}
+     * @param timestamp The time the reply was written, in milliseconds since the epoch
+     * @param comment   The text of the reply
+     * @return The sequence number of the reply
+     */
+    public int reply(int parent, int authorId, long timestamp, String comment) {
+        checkIndex(parent);
+        add(parent, authorId, timestamp, comment.getBytes(StandardCharsets.UTF_8));
+        return size - 1;
+    }
+
+    /**
+     * Gets the comment a comment replies to.
+     *
+     * @param index The position of the comment
+     * @return The sequence number of the parent, or {@link #NO_PARENT}
+     */
+    public int getParent(int index) {
+        checkIndex(index);
+        return parents[index];
+    }
+
+    /**
+     * Gets the number of replies to a comment, including replies to replies.
+     *
+     * @param index The position of the comment
+     * @return The number of comments in the thread below the comment
+     */
+    public int getReplyCount(int index) {
+        checkIndex(index);
+        computeThreadOrder();
+        return subtreeEnds[index] - threadPositions[index] - 1;
+    }
+
+    /**
+     * Gets the position of a comment in the thread order.
+     *
+     * @param index The position of the comment
+     * @return The position in thread order; its replies follow it up to {@link #getThreadEnd(int)}
+     */
+    public int getThreadPosition(int index) {
+        checkIndex(index);
+        computeThreadOrder();
+        return threadPositions[index];
+    }
+
+    /**
+     * Gets the position in the thread order after the last reply to a comment. Reading from there
+     * skips the replies, which collapses the thread of the comment.
+     *
+     * @param index The position of the comment
+     * @return The end of the range of the comment and its replies in thread order, exclusive
+     */
+    public int getThreadEnd(int index) {
+        checkIndex(index);
+        computeThreadOrder();
+        return subtreeEnds[index];
+    }
+
+    /**
+     * Gets the author of a comment.
+     *
+     * @param index The position of the comment
+     * @return The ID of the user who wrote the comment, or {@link #UNKNOWN_AUTHOR}
+     */
+    public int getAuthorId(int index) {
+        checkIndex(index);
+        return authorIds[index];
+    }
+
+    /**
+     * Gets the time a comment was written.
+     *
+     * @param index The position of the comment
+     * @return The time in milliseconds since the epoch, or 0 if it is not known
+     */
+    public long getTimestamp(int index) {
+        checkIndex(index);
+        return timestamps[index];
+    }
+
+    /**
+     * Gets the text of a comment.
+     *
+     * @param index The position of the comment
+     * @return The text, decoded from its UTF-8 bytes
+     */
+    public String getText(int index) {
+        checkIndex(index);
+        return new String(text, offsets[index], offsets[index + 1] - offsets[index], StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads a page of comments. Only the comments of the page are decoded.
+     *
+     * @param cursor The sequence number of the first comment of the page, {@link Page#FIRST} for the first page
+     * @param limit  The maximum number of comments
+     * @return The page
+     */
+    public Page<Comment> page(int cursor, int limit) {
+        int from = Math.max(cursor, Page.FIRST);
+        int to = (int) Math.min(size, (long) from + limit);
+        computeThreadOrder();
+        List<Comment> comments = new ArrayList<>(Math.max(0, to - from));
+        for (int i = from; i < to; i++) {
+            comments.add(comment(i));
+        }
+        return new Page<>(comments, to < size ? to : Page.END);
+    }
+
+    /**
+     * Reads a page of comments in thread order, each comment followed by its replies.
+     *
+     * @param cursor The position in thread order of the first comment of the page, {@link Page#FIRST}
+     *               for the first page
+     * @param limit  The maximum number of comments
+     * @return The page
+     */
+    public Page<Comment> threadPage(int cursor, int limit) {
+        return threadRange(Math.max(cursor, Page.FIRST), size, limit);
+    }
+
+    /**
+     * Reads a page of a comment and its replies in thread order. The thread is one contiguous range
+     * of the thread order, so the page is read without looking at other comments.
+     *
+     * @param index  The sequence number of the comment
+     * @param cursor The position in thread order of the first comment of the page, or {@link Page#FIRST}
+     *               to start with the comment itself
+     * @param limit  The maximum number of comments
+     * @return The page
+     */
+    public Page<Comment> subtreePage(int index, int cursor, int limit) {
+        checkIndex(index);
+        computeThreadOrder();
+        return threadRange(Math.max(cursor, threadPositions[index]), subtreeEnds[index], limit);
+    }
+
+    /**
+     * Writes the chunk as the comment count followed by the author, timestamp, text and parent columns.
+     *
+     * @param out The stream to write to
+     * @throws IOException If writing fails
+     */
+    public void writeTo(DataOutputStream out) throws IOException {
+        BinaryCodec.writeVarInt(out, size);
+        for (int i = 0; i < size; i++) {
+            out.writeInt(authorIds[i]);
+        }
+        for (int i = 0; i < size; i++) {
+            out.writeLong(timestamps[i]);
+        }
+        for (int i = 0; i < size; i++) {
+            BinaryCodec.writeVarInt(out, offsets[i + 1] - offsets[i]);
+        }
+        out.write(text, 0, offsets[size]);
+        for (int i = 0; i < size; i++) {
+            BinaryCodec.writeVarInt(out, parents[i] + 1);
+        }
+    }
+
+    /**
+     * Reads a chunk written by {@link #writeTo(DataOutputStream)}.
+     *
+     * @param in The stream to read from
+     * @return The chunk read
+     * @throws IOException If the stream does not hold a valid chunk
+     */
+    public static CommentChunk readFrom(DataInputStream in) throws IOException {
+        return readFrom(in, true);
+    }
+
+    /**
+     * Reads a chunk written by {@link #writeTo(DataOutputStream)}, or by an older version without the
+     * parent column.
+     *
+     * @param in       The stream to read from
+     * @param threaded Whether the chunk has a parent column
+     * @return The chunk read
+     * @throws IOException If the stream does not hold a valid chunk
+     */
+    public static CommentChunk readFrom(DataInputStream in, boolean threaded) throws IOException {
+        int count = BinaryCodec.readVarInt(in);
+        if (count < 0) {
+            throw new IOException("Invalid comment count " + count);
+        }
+        CommentChunk chunk = new CommentChunk();
+        chunk.ensureCapacity(count, 0);
+        for (int i = 0; i < count; i++) {
+            chunk.authorIds[i] = in.readInt();
+        }
+        for (int i = 0; i < count; i++) {
+            chunk.timestamps[i] = in.readLong();
+        }
+        long length = 0;
+        for (int i = 0; i < count; i++) {
+            length += BinaryCodec.readVarInt(in);
+            if (length > Integer.MAX_VALUE) {
+                throw new IOException("Invalid comment length");
+            }
+            chunk.offsets[i + 1] = (int) length;
+        }
+        chunk.ensureCapacity(count, (int) length);
+        in.readFully(chunk.text, 0, (int) length);
+        for (int i = 0; i < count; i++) {
+            int parent = threaded ? BinaryCodec.readVarInt(in) - 1 : NO_PARENT;
+            if (parent < NO_PARENT || parent >= i) {
+                throw new IOException("Invalid reply to comment " + parent);
+            }
+            chunk.parents[i] = parent;
+        }
+        chunk.size = count;
+        return chunk;
+    }
+
+    /**
+     * Adds a comment given as UTF-8 bytes.
+     *
+     * @param parent    The comment replied to, or {@link #NO_PARENT}
+     * @param authorId  The ID of the author
+     * @param timestamp The time the comment was written
+     * @param bytes     The UTF-8 bytes of the text
+     */
+    private void add(int parent, int authorId, long timestamp, byte[] bytes) {
+        int end = offsets[size];
+        ensureCapacity(size + 1, end + bytes.length);
+        parents[size] = parent;
+        authorIds[size] = authorId;
+        timestamps[size] = timestamp;
+        System.arraycopy(bytes, 0, text, end, bytes.length);
+        offsets[size + 1] = end + bytes.length;
+        size++;
+    }
+
+    /**
+     * Grows the arrays, at least doubling them, to hold a number of comments and text bytes.
+     *
+     * @param comments The number of comments
+     * @param bytes    The number of text bytes
+     */
+    private void ensureCapacity(int comments, int bytes) {
+        if (comments > authorIds.length) {
+            int capacity = Math.max(comments, authorIds.length * 2);
+            authorIds = Arrays.copyOf(authorIds, capacity);
+            timestamps = Arrays.copyOf(timestamps, capacity);
+            offsets = Arrays.copyOf(offsets, capacity + 1);
+            parents = Arrays.copyOf(parents, capacity);
+        }
+        if (bytes > text.length) {
+            text = Arrays.copyOf(text, Math.max(bytes, text.length * 2));
+        }
+    }
+
+    /**
+     * Reads a page of a range of the thread order.
+     *
+     * @param from  The first position of the page
+     * @param end   The end of the range, exclusive
+     * @param limit The maximum number of comments
+     * @return The page, with {@link Page#END} as next cursor if it reaches the end of the range
+     */
+    private Page<Comment> threadRange(int from, int end, int limit) {
+        computeThreadOrder();
+        int to = (int) Math.min(end, (long) from + limit);
+        List<Comment> comments = new ArrayList<>(Math.max(0, to - from));
+        for (int position = from; position < to; position++) {
+            comments.add(comment(threadOrder[position]));
+        }
+        return new Page<>(comments, to < end ? to : Page.END);
+    }
+
+    /**
+     * Copies a comment.
+     *
+     * @param index The sequence number of the comment
+     * @return The copy
+     */
+    private Comment comment(int index) {
+        return new Comment(index, authorIds[index], timestamps[index], getText(index), parents[index], depths[index]);
+    }
+
+    /**
+     * Computes the thread order if comments were added since it was last computed. As every comment
+     * replies to an earlier one, the sizes of the threads are summed up in one backward pass, and each
+     * comment is placed after its parent and the earlier replies to it in one forward pass.
+     */
+    private void computeThreadOrder() {
+        if (threadedSize == size) {
+            return;
+        }
+        int[] order = new int[size];
+        int[] positions = new int[size];
+        int[] ends = new int[size];
+        int[] levels = new int[size];
+        // ends holds the size of each thread first, then its end
+        for (int i = size - 1; i >= 0; i--) {
+            ends[i]++;
+            if (parents[i] != NO_PARENT) {
+                ends[parents[i]] += ends[i];
+            }
+        }
+        // nextReply holds the position of the next reply to each comment
+        int[] nextReply = new int[size];
+        int nextRoot = 0;
+        for (int i = 0; i < size; i++) {
+            int parent = parents[i];
+            int position;
+            if (parent == NO_PARENT) {
+                position = nextRoot;
+                nextRoot += ends[i];
+                levels[i] = 0;
+            } else {
+                position = nextReply[parent];
+                nextReply[parent] += ends[i];
+                levels[i] = levels[parent] + 1;
+            }
+            positions[i] = position;
+            nextReply[i] = position + 1;
+            ends[i] += position;
+            order[position] = i;
+        }
+        threadOrder = order;
+        threadPositions = positions;
+        subtreeEnds = ends;
+        depths = levels;
+        threadedSize = size;
+    }
+
+    /**
+     * Checks that a position holds a comment.
+     *
+     * @param index The position
+     */
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+/**
+ * The com.Divan.coordinator package contains classes and interfaces related to coordination tasks
+ * in the application developed by Rana Melih.
+ * 
+ * This package serves as a coordination module facilitating communication and orchestration
+ * among different components of the application.
+ * 
+ * Classes within this package might include implementations of coordinator patterns,
+ * such as the mediator pattern, or other coordination strategies.
+ * 
+ * @author Rana Melih
+ * @version 1.0.3
+ * @since 2024-03-28
+ */
+package com.Demirci.coordinator;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The ConnectionContext class holds the state of one client connection in server mode: the
+ * logged-in user and the streams used to talk to the client.
+ *
+ * The context is bound to the thread serving the connection, so code running for a client can
+ * find its user and output without them being passed around.
+ */
+public class ConnectionContext {
+    /** The context bound to the current thread, if any. */
+    private static final ThreadLocal<ConnectionContext> current = new ThreadLocal<>();
+
+    /** The output stream of the client. */
+    private final OutputStream out;
+
+    /** Whether writing to the client has failed. */
+    private volatile boolean error;
+
+    /** The user logged in on this connection, or null before login. */
+    private volatile User user;
+
+    /**
+     * Constructs a ConnectionContext writing to the given stream.
+     *
+     * @param out The output stream of the client
+     */
+    public ConnectionContext(OutputStream out) {
+        this.out = out;
+    }
+
+    /**
+     * Gets the context bound to the current thread.
+     *
+     * @return The current context, or null if the thread is not serving a connection
+     */
+    public static ConnectionContext current() {
+        return current.get();
+    }
+
+    /**
+     * Binds a context to the current thread.
+     *
+     * @param context The context to bind
+     */
+    public static void bind(ConnectionContext context) {
+        current.set(context);
+    }
+
+    /**
+     * Removes the context bound to the current thread.
+     */
+    public static void unbind() {
+        current.remove();
+    }
+
+    /**
+     * Gets the output stream of the client.
+     *
+     * @return The output stream
+     */
+    public OutputStream getOut() {
+        return out;
+    }
+
+    /**
+     * Writes text to the client in UTF-8.
+     *
+     * @param text The text to write
+     */
+    public void write(String text) {
+        write(text.getBytes(StandardCharsets.UTF_8), 0, -1);
+    }
+
+    /**
+     * Writes bytes to the client.
+     *
+     * @param buffer The bytes to write
+     * @param offset The position of the first byte
+     * @param length The number of bytes, or -1 to write up to the end of the buffer
+     */
+    public void write(byte[] buffer, int offset, int length) {
+        try {
+            out.write(buffer, offset, length < 0 ? buffer.length - offset : length);
+        } catch (IOException e) {
+            error = true;
+        }
+    }
+
+    /**
+     * Sends the buffered output to the client.
+     */
+    public void flush() {
+        try {
+            out.flush();
+        } catch (IOException e) {
+            error = true;
+        }
+    }
+
+    /**
+     * Checks whether writing to the client has failed.
+     *
+     * @return true if a write has failed, false otherwise
+     */
+    public boolean checkError() {
+        return error;
+    }
+
+    /**
+     * Gets the user logged in on this connection.
+     *
+     * @return The user, or null before login
+     */
+    public User getUser() {
+        return user;
+    }
+
+    /**
+     * Sets the user logged in on this connection.
+     *
+     * @param user The logged-in user
+     */
+    public void setUser(User user) {
+        this.user = user;
+    }
+}
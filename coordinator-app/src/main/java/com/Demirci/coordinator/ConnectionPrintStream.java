@@ -0,0 +1,248 @@
+/**
+ * The com.Divan.coordinator package contains classes and interfaces related to coordination tasks
+ * in the application developed by Rana Melih.
+ * 
+ * This package serves as a coordination module facilitating communication and orchestration
+ * among different components of the application.
+ * 
+ * Classes within this package might include implementations of coordinator patterns,
+ * such as the mediator pattern, or other coordination strategies.
+ * 
+ * @author Rana Melih
+ * @version 1.0.3
+ * @since 2024-03-28
+ */
+package com.Demirci.coordinator;
+
+import java.io.PrintStream;
+import java.util.Locale;
+
+/**
+ * The ConnectionPrintStream class is installed as {@code System.out} in server mode and sends
+ * everything printed by a thread to the client of the connection bound to that thread.
+ *
+ * Threads without a connection, such as the server itself, print to the original standard output.
+ * Text for a client is encoded here and written to the client's buffered socket stream, so a
+ * connection needs no encoder or character buffers of its own, clients never share a lock, and a
+ * slow client cannot hold up the output of others. Lines are flushed to the client as they end, and
+ * text without a line break, such as a prompt, when the connection waits for the client's answer.
+ */
+public class ConnectionPrintStream extends PrintStream {
+    /** The line separator written by the println methods. */
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
+    /** The stream used by threads that are not serving a connection. */
+    private final PrintStream fallback;
+
+    /**
+     * Constructs a ConnectionPrintStream.
+     *
+     * @param fallback The stream used by threads that are not serving a connection
+     */
+    public ConnectionPrintStream(PrintStream fallback) {
+        super(fallback, true);
+        this.fallback = fallback;
+    }
+
+    /**
+     * Prints text to the client of the current thread, or to the fallback stream.
+     *
+     * @param text    The text to print
+     * @param newline Whether to end the line and flush
+     */
+    private void emit(String text, boolean newline) {
+        ConnectionContext context = ConnectionContext.current();
+        if (context == null) {
+            if (newline) {
+                fallback.println(text);
+            } else {
+                fallback.print(text);
+            }
+            return;
+        }
+        context.write(newline ? text + LINE_SEPARATOR : text);
+        if (newline) {
+            context.flush();
+        }
+    }
+
+    @Override
+    public void write(int b) {
+        ConnectionContext context = ConnectionContext.current();
+        if (context == null) {
+            fallback.write(b);
+        } else {
+            context.write(new byte[] {(byte) b}, 0, 1);
+        }
+    }
+
+    @Override
+    public void write(byte[] buf, int off, int len) {
+        ConnectionContext context = ConnectionContext.current();
+        if (context == null) {
+            fallback.write(buf, off, len);
+        } else {
+            context.write(buf, off, len);
+        }
+    }
+
+    @Override
+    public void flush() {
+        ConnectionContext context = ConnectionContext.current();
+        if (context == null) {
+            fallback.flush();
+        } else {
+            context.flush();
+        }
+    }
+
+    @Override
+    public void print(boolean b) {
+        emit(String.valueOf(b), false);
+    }
+
+    @Override
+    public void print(char c) {
+        emit(String.valueOf(c), false);
+    }
+
+    @Override
+    public void print(int i) {
+        emit(String.valueOf(i), false);
+    }
+
+    @Override
+    public void print(long l) {
+        emit(String.valueOf(l), false);
+    }
+
+    @Override
+    public void print(float f) {
+        emit(String.valueOf(f), false);
+    }
+
+    @Override
+    public void print(double d) {
+        emit(String.valueOf(d), false);
+    }
+
+    @Override
+    public void print(char[] s) {
+        emit(String.valueOf(s), false);
+    }
+
+    @Override
+    public void print(String s) {
+        emit(String.valueOf(s), false);
+    }
+
+    @Override
+    public void print(Object obj) {
+        emit(String.valueOf(obj), false);
+    }
+
+    @Override
+    public void println() {
+        emit("", true);
+    }
+
+    @Override
+    public void println(boolean b) {
+        emit(String.valueOf(b), true);
+    }
+
+    @Override
+    public void println(char c) {
+        emit(String.valueOf(c), true);
+    }
+
+    @Override
+    public void println(int i) {
+        emit(String.valueOf(i), true);
+    }
+
+    @Override
+    public void println(long l) {
+        emit(String.valueOf(l), true);
+    }
+
+    @Override
+    public void println(float f) {
+        emit(String.valueOf(f), true);
+    }
+
+    @Override
+    public void println(double d) {
+        emit(String.valueOf(d), true);
+    }
+
+    @Override
+    public void println(char[] s) {
+        emit(String.valueOf(s), true);
+    }
+
+    @Override
+    public void println(String s) {
+        emit(String.valueOf(s), true);
+    }
+
+    @Override
+    public void println(Object obj) {
+        emit(String.valueOf(obj), true);
+    }
+
+    @Override
+    public PrintStream format(String format, Object... args) {
+        emit(String.format(format, args), false);
+        return this;
+    }
+
+    @Override
+    public PrintStream format(Locale l, String format, Object... args) {
+        emit(String.format(l, format, args), false);
+        return this;
+    }
+
+    @Override
+    public PrintStream printf(String format, Object... args) {
+        return format(format, args);
+    }
+
+    @Override
+    public PrintStream printf(Locale l, String format, Object... args) {
+        return format(l, format, args);
+    }
+
+    @Override
+    public PrintStream append(CharSequence csq) {
+        emit(String.valueOf(csq), false);
+        return this;
+    }
+
+    @Override
+    public PrintStream append(CharSequence csq, int start, int end) {
+        emit(String.valueOf(csq == null ? "null" : csq).subSequence(start, end).toString(), false);
+        return this;
+    }
+
+    @Override
+    public PrintStream append(char c) {
+        emit(String.valueOf(c), false);
+        return this;
+    }
+
+    @Override
+    public boolean checkError() {
+        ConnectionContext context = ConnectionContext.current();
+        return context == null ? fallback.checkError() : context.checkError();
+    }
+
+    /**
+     * Closes nothing: the client streams are closed with their connections and the fallback stream
+     * is the standard output of the process.
+     */
+    @Override
+    public void close() {
+        flush();
+    }
+}
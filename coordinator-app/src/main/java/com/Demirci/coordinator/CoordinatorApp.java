@@ -14,9 +14,13 @@
  */
 package com.Demirci.coordinator;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Scanner;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
 
 import javax.swing.tree.DefaultTreeCellEditor.EditorContainer;
 
@@ -31,7 +35,7 @@ public class CoordinatorApp {
     /** Scanner object for user input. */
     private static Scanner scanner = new Scanner(System.in);
     
-    /** The currently logged-in user. */
+    /** The currently logged-in user of the console. Connections in server mode keep their own user. */
     public static User currentUser;
     
     /** The session manager for managing sessions. */
@@ -52,6 +56,63 @@ public class CoordinatorApp {
     /** List of sessions in the application. */
     public static List<Session> sessions = new ArrayList<Session>();
 
+    /** Number of threads used to load the data files at startup. */
+    private static final int LOADER_THREADS = 4;
+
+    /** Maximum number of discussions suggested when a topic is not found. */
+    private static final int SEARCH_RESULTS = 5;
+
+    /** Maximum number of session times suggested when scheduling a session. */
+    private static final int SUGGESTED_SLOTS = 3;
+
+    /** Number of days ahead in which session times are suggested. */
+    private static final int SUGGESTION_DAYS = 28;
+
+    /** Length in minutes of the suggested session times. */
+    private static final long SUGGESTED_DURATION = 60;
+
+    /** Discussions still being loaded in the background, or null if they have been added to the manager. */
+    private static Future<List<Discussion>> pendingDiscussions;
+
+    /** Read watermarks still being loaded in the background, or null if they have been given to the manager. */
+    private static Future<ReadWatermarks> pendingWatermarks;
+
+    /** Resources still being loaded in the background, or null if they have been added to the manager. */
+    private static Future<List<Resource>> pendingResources;
+
+    /** Sessions still being loaded in the background, or null if they have been added to the manager. */
+    private static Future<List<Session>> pendingSessions;
+
+    /** The bus the new comments, sessions and resources of the groups are published on. */
+    public static final EventBus events = new EventBus();
+
+    /** The scheduler reminding members of upcoming sessions, or null if reminders are not sent. */
+    private static ReminderScheduler reminders;
+
+    /**
+     * Gets the user logged in on the current connection, or on the console outside of server mode.
+     *
+     * @return The logged-in user
+     */
+    public static User currentUser() {
+        ConnectionContext context = ConnectionContext.current();
+        return context != null ? context.getUser() : currentUser;
+    }
+
+    /**
+     * Sets the user logged in on the current connection, or on the console outside of server mode.
+     *
+     * @param user The logged-in user
+     */
+    static void setCurrentUser(User user) {
+        ConnectionContext context = ConnectionContext.current();
+        if (context != null) {
+            context.setUser(user);
+        } else {
+            currentUser = user;
+        }
+    }
+
     /**
      * Clears the console screen.
      */
@@ -65,8 +126,18 @@ public class CoordinatorApp {
      * @param scanner Scanner object for user input
      */
     public static void mainMenu(Scanner scanner) {
+        MenuStep.run(CoordinatorApp::mainMenuStep, scanner);
+    }
+
+    /**
+     * Menu step of {@link #mainMenu(Scanner)}.
+     *
+     * @param scanner Scanner object for user input
+     * @return The next menu step, or null to leave the menus
+     */
+    static MenuStep mainMenuStep(Scanner scanner) {
         clearScreen();
-        System.out.println("--- Main Menu ---            Logged in as: " + currentUser.getUsername());
+        System.out.println("--- Main Menu ---            Logged in as: " + currentUser().getUsername());
         System.out.println("1. Group Management");
         System.out.println("2. Session Scheduling");
         System.out.println("3. Resource Sharing");
@@ -76,22 +147,20 @@ public class CoordinatorApp {
 
         switch (choice) {
             case 1:
-                groupManagementMenu(scanner);
-                break;
+                return CoordinatorApp::groupManagementMenuStep;
             case 2:
-                sessionSchedulingMenu(scanner);
-                break;
+                return CoordinatorApp::sessionSchedulingMenuStep;
             case 3:
-                resourceSharingMenu(scanner);
-                break;
+                return CoordinatorApp::resourceSharingMenuStep;
             case 4:
-                discussionBoardMenu(scanner);
-                break;
+                return CoordinatorApp::discussionBoardMenuStep;
             case 5:
                 System.out.println("Exiting the program...");
+                PersistenceService.flush();
                 scanner.close();
-                return;
+                return null;
         }
+        return null;
     }
     
     /**
@@ -99,6 +168,16 @@ public class CoordinatorApp {
      * @param scanner Scanner object for user input
      */
     public static void groupManagementMenu(Scanner scanner) {
+        MenuStep.run(CoordinatorApp::groupManagementMenuStep, scanner);
+    }
+
+    /**
+     * Menu step of {@link #groupManagementMenu(Scanner)}.
+     *
+     * @param scanner Scanner object for user input
+     * @return The next menu step, or null to leave the menus
+     */
+    static MenuStep groupManagementMenuStep(Scanner scanner) {
         clearScreen();
         System.out.println("--- Group Management Menu ---");
         System.out.println("1. Create Study Group");
@@ -108,15 +187,13 @@ public class CoordinatorApp {
 
         switch (choice) {
             case 1:
-                StudyGroup.createStudyGroup(scanner);
-                break;
+                return StudyGroup::createStudyGroupStep;
             case 2:
-            	StudyGroup.viewStudyGroup(scanner);
-                break;
+            	return StudyGroup::viewStudyGroupStep;
             case 3:
-            	mainMenu(scanner);
-                return;
+            	return CoordinatorApp::mainMenuStep;
         }
+        return null;
     }
 
     /**
@@ -124,8 +201,27 @@ public class CoordinatorApp {
      * @param scanner Scanner object for user input
      */
     public static void sessionSchedulingMenu(Scanner scanner) {
+        MenuStep.run(CoordinatorApp::sessionSchedulingMenuStep, scanner);
+    }
+
+    /**
+     * Menu step of {@link #sessionSchedulingMenu(Scanner)}.
+     *
+     * @param scanner Scanner object for user input
+     * @return The next menu step, or null to leave the menus
+     */
+    static MenuStep sessionSchedulingMenuStep(Scanner scanner) {
+        awaitSessions();
         clearScreen();
         System.out.println("--- Session Scheduling Menu ---");
+        if (currentUser() != null && currentUser().getGroup() != null) {
+            long now = Session.toTime(LocalDateTime.now());
+            Session next = sessionManager.findNextSessionForGroups(currentUser().getGroupIds(), now);
+            if (next != null) {
+                String when = next.isRecurring() ? Session.formatTime(next.nextOccurrence(now)) : next.getDate();
+                System.out.println("Next session of your groups: " + next.getTitle() + " on " + when);
+            }
+        }
         System.out.println("1. Schedule Session");
         System.out.println("2. View Sessions");
         System.out.println("3. Edit Sessions");
@@ -134,40 +230,37 @@ public class CoordinatorApp {
 
         switch (choice) {
             case 1:
-            	if(currentUser.getGroup()!= null)
+            	if(currentUser().getGroup()!= null)
             	{
-                    scheduleSession(scanner);
+                    return CoordinatorApp::scheduleSessionStep;
             	}
             	else {
             	System.out.println("You dont have a group");
-            	sessionSchedulingMenu(scanner);
+            	return CoordinatorApp::sessionSchedulingMenuStep;
             	}
-                break;
             case 2:
-            	if(currentUser.getGroup()!= null)
+            	if(currentUser().getGroup()!= null)
             	{
-            		viewSessions(scanner);
+            		return CoordinatorApp::viewSessionsStep;
             	}
             	else {
             	System.out.println("You dont have a group");
-            	sessionSchedulingMenu(scanner);
+            	return CoordinatorApp::sessionSchedulingMenuStep;
               
             	}
-                break;
             case 3:
-            	if(currentUser.getGroup()!= null)
+            	if(currentUser().getGroup()!= null)
             	{
-            		editSessionDetails(scanner);
+            		return CoordinatorApp::editSessionDetailsStep;
             	}
             	else {
             	System.out.println("You dont have a group");
-            	sessionSchedulingMenu(scanner);
+            	return CoordinatorApp::sessionSchedulingMenuStep;
             	}
-            	break;
             case 4:
-                mainMenu(scanner);
-                break;
+                return CoordinatorApp::mainMenuStep;
         }
+        return null;
     }
 
     /**
@@ -175,20 +268,77 @@ public class CoordinatorApp {
      * @param scanner Scanner object for user input
      */
     public static void scheduleSession(Scanner scanner) {
+        MenuStep.run(CoordinatorApp::scheduleSessionStep, scanner);
+    }
+
+    /**
+     * Menu step of {@link #scheduleSession(Scanner)}.
+     *
+     * @param scanner Scanner object for user input
+     * @return The next menu step, or null to leave the menus
+     */
+    static MenuStep scheduleSessionStep(Scanner scanner) {
         clearScreen();
         System.out.println("--- Schedule Session ---");
         // Implement session scheduling logic here
         System.out.println("Enter session title:");
         String title = scanner.next();
+        suggestSessionTimes(currentUser().getGroup());
         System.out.println("Enter session date:");
         String date = scanner.next();
         System.out.println("Enter session description:");
         String description = scanner.next();
-        Session session = new Session(title, date, currentUser.getGroup(), description);
-        sessions.add(session);
-        SessionManager.writeSessionsToFile(sessions);
+        Session session = new Session(title, date, currentUser().getGroup(), description);
+        for (SessionManager.Conflict conflict : sessionManager.findConflicts(session)) {
+            System.out.println("Conflicts with session " + conflict.getSession().getTitle() + " on "
+                    + conflict.getSession().getDate() + " for: " + usernames(conflict.getMemberIds()));
+        }
+        synchronized (sessionManager) {
+            sessions.add(session);
+            SessionManager.appendSession(sessions, session);
+        }
+        SessionManager.syncLog();
+        events.publish(GroupEvent.SESSION, session.getGroupId(), session.getTitle(), "Session scheduled for " + session.getDate());
         System.out.println("Session scheduled successfully!");
-        sessionSchedulingMenu(scanner);
+        return CoordinatorApp::sessionSchedulingMenuStep;
+    }
+
+    /**
+     * Prints the times in the coming weeks that the most members of a group can attend, as dates
+     * that can be entered for a new session.
+     *
+     * @param group The study group
+     */
+    private static void suggestSessionTimes(StudyGroup group) {
+        long now = Session.toTime(LocalDateTime.now());
+        List<SlotFinder.Slot> slots = sessionManager.findSlots(group, now, now + SUGGESTION_DAYS * 24 * 60L,
+                SUGGESTED_DURATION, SUGGESTED_SLOTS);
+        if (slots.isEmpty()) {
+            return;
+        }
+        int members = group.getMemberCount();
+        System.out.println("Times most of your group can attend:");
+        for (SlotFinder.Slot slot : slots) {
+            System.out.println("- " + slot.toDate() + " (" + slot.getAttendees() + " of " + members + " members)");
+        }
+    }
+
+    /**
+     * Lists the usernames of users.
+     *
+     * @param userIds The IDs of the users
+     * @return The usernames separated by commas, with the ID in place of the name of an unknown user
+     */
+    private static String usernames(int[] userIds) {
+        StringBuilder names = new StringBuilder();
+        for (int userId : userIds) {
+            if (names.length() > 0) {
+                names.append(", ");
+            }
+            User user = Account.findUserById(userId);
+            names.append(user != null ? user.getUsername() : String.valueOf(userId));
+        }
+        return names.toString();
     }
 
     /**
@@ -196,27 +346,30 @@ public class CoordinatorApp {
      * @param scanner Scanner object for user input
      */
     public static void viewSessions(Scanner scanner) {
+        MenuStep.run(CoordinatorApp::viewSessionsStep, scanner);
+    }
+
+    /**
+     * Menu step of {@link #viewSessions(Scanner)}.
+     *
+     * @param scanner Scanner object for user input
+     * @return The next menu step, or null to leave the menus
+     */
+    static MenuStep viewSessionsStep(Scanner scanner) {
     	scanner.nextLine();
         clearScreen();
       
         
         System.out.println("--- View Session Details ---");
-        sessionManager.displaySessionsForGroup(currentUser.getGroup());
+        sessionManager.displaySessionsForUser(currentUser());
         System.out.println("Enter the title of the resource you want to view details for (or type 'cancel' to return to the menu):");
         String titleChoice = scanner.nextLine();
         if (titleChoice.equalsIgnoreCase("cancel")) {
-            sessionSchedulingMenu(scanner); // Return to resource sharing menu if user cancels
-            return;
+            return CoordinatorApp::sessionSchedulingMenuStep; // Return to resource sharing menu if user cancels
         }
 
         // Search for the resource with the specified title and group
-        Session sessionToShow = null;
-        for (Session session : sessionManager.getSessions()) {
-            if (session.getTitle().equalsIgnoreCase(titleChoice) && session.getGroup().getName().equals(currentUser.getGroup().getName())) {
-                sessionToShow = session;
-                break;
-            }
-        }
+        Session sessionToShow = sessionManager.findSessionForGroups(titleChoice, currentUser().getGroupIds());
 
         // If resource is found, display its details
         if (sessionToShow != null) {
@@ -229,7 +382,7 @@ public class CoordinatorApp {
 
         // After viewing resource details, return to resource sharing menu
         scanner.nextLine(); // Consume newline character
-        return;
+        return null;
     }
     
     /**
@@ -242,25 +395,29 @@ public class CoordinatorApp {
      * @param scanner The Scanner object used for input.
      */
     public static void editSessionDetails(Scanner scanner) {
+        MenuStep.run(CoordinatorApp::editSessionDetailsStep, scanner);
+    }
+
+    /**
+     * Menu step of {@link #editSessionDetails(Scanner)}.
+     *
+     * @param scanner Scanner object for user input
+     * @return The next menu step, or null to leave the menus
+     */
+    static MenuStep editSessionDetailsStep(Scanner scanner) {
         scanner.nextLine(); // Consume newline character
         clearScreen();
         System.out.println("--- Edit Session Details ---");
-        sessionManager.displaySessionsForGroup(currentUser.getGroup());
+        sessionManager.displaySessionsForUser(currentUser());
         System.out.println("Enter the title of the session you want to edit details for (or type 'cancel' to return to the menu):");
         String titleChoice = scanner.nextLine();
         if (titleChoice.equalsIgnoreCase("cancel")) {
             scanner.nextLine(); // Consume newline character
-            return;
+            return null;
         }
 
         // Search for the session with the specified title and group
-        Session sessionToEdit = null;
-        for (Session session : sessionManager.getSessions()) {
-            if (session.getTitle().equalsIgnoreCase(titleChoice) && session.getGroup().getName().equals(currentUser.getGroup().getName())) {
-                sessionToEdit = session;
-                break;
-            }
-        }
+        Session sessionToEdit = sessionManager.findSessionForGroups(titleChoice, currentUser().getGroupIds());
 
         // If session is found, ask for new details and perform editing
         if (sessionToEdit != null) {
@@ -272,10 +429,15 @@ public class CoordinatorApp {
             String newDescription = scanner.nextLine();
 
             // Perform editing
-            sessionToEdit.setTitle(newTitle);
-            sessionToEdit.setDate(newDate);
-            sessionToEdit.setDescription(newDescription);
-            SessionManager.writeSessionsToFile(sessionManager.getSessions());
+            synchronized (sessionManager) {
+                sessionToEdit.setTitle(newTitle);
+                sessionToEdit.setDate(newDate);
+                sessionToEdit.setDescription(newDescription);
+                SessionManager.recordSessionEdit(sessionManager.getSessions(), sessionToEdit);
+            }
+            SessionManager.syncLog();
+            events.publish(GroupEvent.SESSION, sessionToEdit.getGroupId(), sessionToEdit.getTitle(),
+                    "Session changed to " + sessionToEdit.getDate());
             System.out.println("Session details edited successfully!");
         } else {
             System.out.println("Session not found or you don't have access to edit this session.");
@@ -283,7 +445,7 @@ public class CoordinatorApp {
 
         // After editing session details, return to main menu
         scanner.nextLine(); // Consume newline character
-        return;
+        return null;
     }
 
     /**
@@ -292,6 +454,17 @@ public class CoordinatorApp {
      * @param scanner Scanner object for user input
      */
     public static void resourceSharingMenu(Scanner scanner) {
+        MenuStep.run(CoordinatorApp::resourceSharingMenuStep, scanner);
+    }
+
+    /**
+     * Menu step of {@link #resourceSharingMenu(Scanner)}.
+     *
+     * @param scanner Scanner object for user input
+     * @return The next menu step, or null to leave the menus
+     */
+    static MenuStep resourceSharingMenuStep(Scanner scanner) {
+        awaitResources();
         clearScreen();
         System.out.println("--- Resource Sharing Menu ---");
         System.out.println("1. Share Resource");
@@ -302,39 +475,36 @@ public class CoordinatorApp {
 
         switch (choice) {
             case 1:
-            	if(currentUser.getGroup()!= null)
+            	if(currentUser().getGroup()!= null)
             	{
-                    shareResource(scanner);
+                    return CoordinatorApp::shareResourceStep;
             	}
             	else {
             	System.out.println("You dont have a group");
-            	resourceSharingMenu(scanner);
+            	return CoordinatorApp::resourceSharingMenuStep;
             	}
-                break;
             case 2:
-            	if(currentUser.getGroup()!= null)
+            	if(currentUser().getGroup()!= null)
             	{
-                    viewResourceDetails(scanner);
+                    return CoordinatorApp::viewResourceDetailsStep;
             	}
             	else {
             	System.out.println("You dont have a group");
-            	resourceSharingMenu(scanner);
+            	return CoordinatorApp::resourceSharingMenuStep;
             	}
-                break;
             case 3:
-            	if(currentUser.getGroup()!= null)
+            	if(currentUser().getGroup()!= null)
             	{
-            		editResourceDetails(scanner);
+            		return CoordinatorApp::editResourceDetailsStep;
             	}
             	else {
             	System.out.println("You dont have a group");
-            	resourceSharingMenu(scanner);
+            	return CoordinatorApp::resourceSharingMenuStep;
             	}
-            	break;
             case 4:
-                mainMenu(scanner);
-                break;
+                return CoordinatorApp::mainMenuStep;
         }
+        return null;
     }
 
     /**
@@ -343,6 +513,16 @@ public class CoordinatorApp {
      * @param scanner Scanner object for user input
      */
     public static void shareResource(Scanner scanner) {
+        MenuStep.run(CoordinatorApp::shareResourceStep, scanner);
+    }
+
+    /**
+     * Menu step of {@link #shareResource(Scanner)}.
+     *
+     * @param scanner Scanner object for user input
+     * @return The next menu step, or null to leave the menus
+     */
+    static MenuStep shareResourceStep(Scanner scanner) {
         clearScreen();
         System.out.println("--- Share Resource ---");
         // Implement resource sharing logic here
@@ -352,11 +532,14 @@ public class CoordinatorApp {
         String description = scanner.next();
         System.out.println("Enter resource link:");
         String link = scanner.next();
-        Resource resource = new Resource(title, description, link, currentUser.getGroup());
-        resources.add(resource);
-        ResourceManager.writeResourcesToFile(resources);
+        Resource resource = new Resource(title, description, link, currentUser().getGroup());
+        synchronized (resourceManager) {
+            resources.add(resource);
+        }
+        resourceManager.saveLater(resources);
+        events.publish(GroupEvent.RESOURCE, resource.getGroupId(), resource.getTitle(), "Resource shared: " + resource.getLink());
         // After sharing resource, return to resource sharing menu
-        resourceSharingMenu(scanner);
+        return CoordinatorApp::resourceSharingMenuStep;
     }
 
     /**
@@ -365,25 +548,28 @@ public class CoordinatorApp {
      * @param scanner Scanner object for user input
      */
     public static void viewResourceDetails(Scanner scanner) {
+        MenuStep.run(CoordinatorApp::viewResourceDetailsStep, scanner);
+    }
+
+    /**
+     * Menu step of {@link #viewResourceDetails(Scanner)}.
+     *
+     * @param scanner Scanner object for user input
+     * @return The next menu step, or null to leave the menus
+     */
+    static MenuStep viewResourceDetailsStep(Scanner scanner) {
         scanner.nextLine();
         clearScreen();
         System.out.println("--- View Resource Details ---");
-        resourceManager.displayResourcesForGroup(currentUser.getGroup());
+        resourceManager.displayResourcesForUser(currentUser());
         System.out.println("Enter the title of the resource you want to view details for (or type 'cancel' to return to the menu):");
         String titleChoice = scanner.nextLine();
         if (titleChoice.equalsIgnoreCase("cancel")) {
-            resourceSharingMenu(scanner); // Return to resource sharing menu if user cancels
-            return;
+            return CoordinatorApp::resourceSharingMenuStep; // Return to resource sharing menu if user cancels
         }
 
         // Search for the resource with the specified title and group
-        Resource resourceToShow = null;
-        for (Resource resource : resourceManager.getResources()) {
-            if (resource.getTitle().equalsIgnoreCase(titleChoice) && resource.getGroup().getName().equals(currentUser.getGroup().getName())) {
-                resourceToShow = resource;
-                break;
-            }
-        }
+        Resource resourceToShow = resourceManager.findResourceForGroups(titleChoice, currentUser().getGroupIds());
 
         // If resource is found, display its details
         if (resourceToShow != null) {
@@ -396,7 +582,7 @@ public class CoordinatorApp {
 
         // After viewing resource details, return to resource sharing menu
         scanner.nextLine(); // Consume newline character
-        return;
+        return null;
     }
     /**
      * @brief Allows the user to edit details of a resource.
@@ -408,24 +594,28 @@ public class CoordinatorApp {
      * @param scanner The Scanner object used for input.
      */
     public static void editResourceDetails(Scanner scanner) {
+        MenuStep.run(CoordinatorApp::editResourceDetailsStep, scanner);
+    }
+
+    /**
+     * Menu step of {@link #editResourceDetails(Scanner)}.
+     *
+     * @param scanner Scanner object for user input
+     * @return The next menu step, or null to leave the menus
+     */
+    static MenuStep editResourceDetailsStep(Scanner scanner) {
         scanner.nextLine(); // Consume newline character
         clearScreen();
         System.out.println("--- Edit Resource Details ---");
-        resourceManager.displayResourcesForGroup(currentUser.getGroup());
+        resourceManager.displayResourcesForUser(currentUser());
         System.out.println("Enter the title of the resource you want to edit details for (or type 'cancel' to return to the menu):");
         String titleChoice = scanner.nextLine();
         if (titleChoice.equalsIgnoreCase("cancel")) {
-            return;
+            return null;
         }
 
         // Search for the resource with the specified title and group
-        Resource resourceToEdit = null;
-        for (Resource resource : resourceManager.getResources()) {
-            if (resource.getTitle().equalsIgnoreCase(titleChoice) && resource.getGroup().getName().equals(currentUser.getGroup().getName())) {
-                resourceToEdit = resource;
-                break;
-            }
-        }
+        Resource resourceToEdit = resourceManager.findResourceForGroups(titleChoice, currentUser().getGroupIds());
 
         // If resource is found, ask for new details and perform editing
         if (resourceToEdit != null) {
@@ -437,10 +627,14 @@ public class CoordinatorApp {
             String newLink = scanner.nextLine();
 
             // Perform editing
-            resourceToEdit.setTitle(newTitle);
-            resourceToEdit.setDescription(newDescription);
-            resourceToEdit.setLink(newLink);
-            ResourceManager.writeResourcesToFile(resourceManager.getResources());
+            synchronized (resourceManager) {
+                resourceToEdit.setTitle(newTitle);
+                resourceToEdit.setDescription(newDescription);
+                resourceToEdit.setLink(newLink);
+            }
+            resourceManager.saveLater(resourceManager.getResources());
+            events.publish(GroupEvent.RESOURCE, resourceToEdit.getGroupId(), resourceToEdit.getTitle(),
+                    "Resource changed: " + resourceToEdit.getLink());
             System.out.println("Resource details edited successfully!");
         } else {
             System.out.println("Resource not found or you don't have access to edit this resource.");
@@ -448,7 +642,7 @@ public class CoordinatorApp {
 
         // After editing resource details, return to main menu
         scanner.nextLine(); // Consume newline character
-        return;
+        return null;
     }
     
     /**
@@ -457,50 +651,89 @@ public class CoordinatorApp {
      * @param scanner Scanner object for user input
      */
     public static void discussionBoardMenu(Scanner scanner) {
+        MenuStep.run(CoordinatorApp::discussionBoardMenuStep, scanner);
+    }
+
+    /**
+     * Menu step of {@link #discussionBoardMenu(Scanner)}.
+     *
+     * @param scanner Scanner object for user input
+     * @return The next menu step, or null to leave the menus
+     */
+    static MenuStep discussionBoardMenuStep(Scanner scanner) {
+        awaitDiscussions();
         clearScreen();
         System.out.println("--- Discussion Board Menu ---");
+        User user = currentUser();
+        if (user != null) {
+            List<Discussion> unread = discussionManager.getNewDiscussions(user.getId(), user.getGroupIds());
+            if (!unread.isEmpty()) {
+                System.out.println("New comments in your groups:");
+                for (Discussion discussion : unread) {
+                    System.out.println("  " + discussion.getTopic() + " (" + discussionManager.getUnreadCount(user.getId(), discussion) + " new)");
+                }
+            }
+        }
         System.out.println("1. Create Discussion");
         System.out.println("2. View Discussions");
         System.out.println("3. Edit Discussion");
         System.out.println("4. Back to Main Menu");
+        System.out.println("5. Discussion History");
         int choice = scanner.nextInt();
 
         switch (choice) {
             case 1:
-            	if(currentUser.getGroup()!= null)
+            	if(currentUser().getGroup()!= null)
             	{
-                    createDiscussion(scanner);
+                    return CoordinatorApp::createDiscussionStep;
             	}
             	else {
             	System.out.println("You dont have a group");
-            	discussionBoardMenu(scanner);
+            	return CoordinatorApp::discussionBoardMenuStep;
             	}
-                break;
             case 2:
-            	if(currentUser.getGroup()!= null)
+            	if(currentUser().getGroup()!= null)
             	{
-            		viewDiscussions(scanner);
+            		return CoordinatorApp::viewDiscussionsStep;
             	}
             	else {
             	System.out.println("You dont have a group");
-            	discussionBoardMenu(scanner);
+            	return CoordinatorApp::discussionBoardMenuStep;
             	}
                 
-                break;
             case 3:
-            	if(currentUser.getGroup()!= null)
+            	if(currentUser().getGroup()!= null)
             	{
-            		editDiscussionDetails(scanner);
+            		return CoordinatorApp::editDiscussionDetailsStep;
             	}
             	else {
             	System.out.println("You dont have a group");
-            	discussionBoardMenu(scanner);
+            	return CoordinatorApp::discussionBoardMenuStep;
             	}
-            	break;
             case 4:
-                mainMenu(scanner);
-                break;
+                return CoordinatorApp::mainMenuStep;
+            case 5:
+                if (currentUser().getGroup() != null) {
+                    return CoordinatorApp::discussionHistoryStep;
+                }
+                System.out.println("You dont have a group");
+                return CoordinatorApp::discussionBoardMenuStep;
         }
+        return null;
+    }
+
+    /**
+     * Menu step showing the discussions of the current user's groups in thread order, with the
+     * comments the user has not read yet marked as new. Nothing is recorded as read.
+     *
+     * @param scanner Scanner object for user input
+     * @return The discussion board menu step
+     */
+    static MenuStep discussionHistoryStep(Scanner scanner) {
+        clearScreen();
+        System.out.println("--- Discussion History ---");
+        discussionManager.displayHistoryForUser(currentUser());
+        return CoordinatorApp::discussionBoardMenuStep;
     }
 
     /**
@@ -509,18 +742,30 @@ public class CoordinatorApp {
      * @param scanner Scanner object for user input
      */
     public static void createDiscussion(Scanner scanner) {
+        MenuStep.run(CoordinatorApp::createDiscussionStep, scanner);
+    }
+
+    /**
+     * Menu step of {@link #createDiscussion(Scanner)}.
+     *
+     * @param scanner Scanner object for user input
+     * @return The next menu step, or null to leave the menus
+     */
+    static MenuStep createDiscussionStep(Scanner scanner) {
         clearScreen();
         System.out.println("--- Create Discussion ---");
         // Implement discussion creation logic here
         System.out.println("Enter discussion topic:");
         String topic = scanner.next();
-        Discussion discussion = new Discussion(topic, currentUser.getGroup());
+        Discussion discussion = new Discussion(topic, currentUser().getGroup());
         //discussionManager.addDiscussion(discussion);
         System.out.println("Discussion created successfully!");
-        discussions.add(discussion);
-        DiscussionManager.writeDiscussionsToFile(discussions);
+        synchronized (discussionManager) {
+            discussions.add(discussion);
+        }
+        discussionManager.saveLater(discussions);
         // After creating discussion, return to discussion board menu
-        discussionBoardMenu(scanner);
+        return CoordinatorApp::discussionBoardMenuStep;
     }
 
     /**
@@ -528,43 +773,87 @@ public class CoordinatorApp {
      * @param scanner Scanner object for user input
      */
     public static void viewDiscussions(Scanner scanner) {
+        MenuStep.run(CoordinatorApp::viewDiscussionsStep, scanner);
+    }
+
+    /**
+     * Menu step of {@link #viewDiscussions(Scanner)}.
+     *
+     * @param scanner Scanner object for user input
+     * @return The next menu step, or null to leave the menus
+     */
+    static MenuStep viewDiscussionsStep(Scanner scanner) {
         clearScreen();
         System.out.println("--- View Discussions ---");
         // Implement logic to view discussions here
-        discussionManager.displayDiscussionsForGroup(currentUser.getGroup()); // Display discussions for the current user's group
+        discussionManager.displayDiscussionsForUser(currentUser()); // Display discussions for the current user's groups
 
         System.out.println("Enter the topic of the discussion you want to comment on (or type 'cancel' to return to the menu):");
         String topicChoice = scanner.nextLine();
         topicChoice = scanner.nextLine();
         if (topicChoice.equalsIgnoreCase("cancel")) {
-            discussionBoardMenu(scanner); // Return to discussion board menu if user cancels
-            return;
+            return CoordinatorApp::discussionBoardMenuStep; // Return to discussion board menu if user cancels
         }
 
         // Search for the discussion with the specified topic
-        Discussion discussionToComment = null;
-        for (Discussion discussion : discussionManager.getDiscussions()) {
-            if (discussion.getTopic().equalsIgnoreCase(topicChoice)) {
-                discussionToComment = discussion;
-                break;
-            }
-        }
+        Discussion discussionToComment = discussionManager.findDiscussionForGroups(topicChoice, currentUser().getGroupIds());
 
         // If discussion is found, prompt for comment and add it
         if (discussionToComment != null) {
-            System.out.println("Enter your comment:");
+            System.out.println("Enter your comment (start it with #number to reply to a comment):");
             String comment = scanner.nextLine();
-            discussionToComment.addComment(comment);
-            discussionManager.writeDiscussionsToFile(discussions);
+            synchronized (discussionManager) {
+                boolean caughtUp = discussionManager.getUnreadCount(currentUser().getId(), discussionToComment) == 0;
+                int parent = replyTarget(comment, discussionToComment.getCommentChunk().size());
+                if (parent == CommentChunk.NO_PARENT) {
+                    discussionToComment.addComment(currentUser().getId(), System.currentTimeMillis(), comment);
+                } else {
+                    String reply = comment.substring(comment.indexOf(' ') + 1).trim();
+                    discussionToComment.addReply(parent, currentUser().getId(), System.currentTimeMillis(), reply);
+                }
+                // A user who had seen every other comment has read the whole discussion
+                if (caughtUp) {
+                    discussionManager.markRead(currentUser().getId(), discussionToComment);
+                }
+            }
+            discussionManager.saveLater(discussions);
             System.out.println("Comment added successfully!");
         } else {
             System.out.println("Discussion not found.");
+            List<Discussion> matches = discussionManager.searchDiscussions(topicChoice, currentUser().getGroupIds(), SEARCH_RESULTS);
+            if (!matches.isEmpty()) {
+                System.out.println("Discussions of your groups matching your search:");
+                for (Discussion match : matches) {
+                    System.out.println("Topic: " + match.getTopic());
+                }
+            }
         }
 
         // After viewing discussions, return to discussion board menu
-        discussionBoardMenu(scanner);
+        return CoordinatorApp::discussionBoardMenuStep;
     }
     
+    /**
+     * Finds the comment a new comment replies to, written as #number followed by a space at its start.
+     *
+     * @param comment  The new comment
+     * @param comments The number of comments of the discussion
+     * @return The sequence number of the comment replied to, or {@link CommentChunk#NO_PARENT}
+     */
+    static int replyTarget(String comment, int comments) {
+        int space = comment.indexOf(' ');
+        if (!comment.startsWith("#") || space < 2 || space > 10) {
+            return CommentChunk.NO_PARENT;
+        }
+        for (int i = 1; i < space; i++) {
+            if (!Character.isDigit(comment.charAt(i))) {
+                return CommentChunk.NO_PARENT;
+            }
+        }
+        int parent = Integer.parseInt(comment.substring(1, space));
+        return parent < comments ? parent : CommentChunk.NO_PARENT;
+    }
+
     /**
      * @brief Allows the user to edit details of a discussion.
      * 
@@ -574,24 +863,28 @@ public class CoordinatorApp {
      * @param scanner The Scanner object used for input.
      */
     public static void editDiscussionDetails(Scanner scanner) {
+        MenuStep.run(CoordinatorApp::editDiscussionDetailsStep, scanner);
+    }
+
+    /**
+     * Menu step of {@link #editDiscussionDetails(Scanner)}.
+     *
+     * @param scanner Scanner object for user input
+     * @return The next menu step, or null to leave the menus
+     */
+    static MenuStep editDiscussionDetailsStep(Scanner scanner) {
         scanner.nextLine(); // Consume newline character
         clearScreen();
         System.out.println("--- Edit Discussion Details ---");
-        discussionManager.displayDiscussionsForGroup(currentUser.getGroup());
+        discussionManager.displayHistoryForUser(currentUser());
         System.out.println("Enter the title of the discussion you want to edit details for (or type 'cancel' to return to the menu):");
         String titleChoice = scanner.nextLine();
         if (titleChoice.equalsIgnoreCase("cancel")) {
-            return;
+            return null;
         }
 
         // Search for the discussion with the specified title and group
-        Discussion discussionToEdit = null;
-        for (Discussion discussion : discussionManager.getDiscussions()) {
-            if (discussion.getTopic().equalsIgnoreCase(titleChoice) && discussion.getGroup().getName().equals(currentUser.getGroup().getName())) {
-                discussionToEdit = discussion;
-                break;
-            }
-        }
+        Discussion discussionToEdit = discussionManager.findDiscussionForGroups(titleChoice, currentUser().getGroupIds());
 
         // If discussion is found, ask for new details and perform editing
         if (discussionToEdit != null) {
@@ -599,8 +892,10 @@ public class CoordinatorApp {
             String newTopic = scanner.nextLine();
 
             // Perform editing
-            discussionToEdit.setTopic(newTopic);
-            DiscussionManager.writeDiscussionsToFile(discussionManager.getDiscussions());
+            synchronized (discussionManager) {
+                discussionToEdit.setTopic(newTopic);
+            }
+            discussionManager.saveLater(discussionManager.getDiscussions());
             System.out.println("Discussion topic edited successfully!");
         } else {
             System.out.println("Discussion not found or you don't have access to edit this discussion.");
@@ -608,55 +903,181 @@ public class CoordinatorApp {
 
         // After editing resource details, return to main menu
         scanner.nextLine(); // Consume newline character
+        return null;
     }
     
     /**
      * Main load point of the CoordinatorApp program.
      * Initializes the application by loading data and starting the main menu.
      * 
+     * The data files are loaded concurrently. The login prompt is shown as soon as the users are
+     * loaded, and the other data is added to its manager when its menu is first opened.
      */
     public static void loadAll(Scanner scanner) {
         // Load initial data from files
-        account.loadUsersFromFile("users.bin");
-        discussions = discussionManager.readDiscussionsFromFile();
-        resources = resourceManager.readResourcesFromFile();
-        sessions = sessionManager.readSessionsFromFile();
+        StartupLoader loader = new StartupLoader(LOADER_THREADS);
+        Future<Void> users = startLoading(loader);
+
+        // Perform user login and start the main menu
+        StartupLoader.await(users, null);
+        loader.ready("Login");
+        setCurrentUser(account.loginMenu(scanner));
+        mainMenu(scanner);
+    }
 
-        // Add loaded data to respective managers
-        if(discussions != null) {
-        for (Discussion discussion1 : discussions) {
-            discussionManager.addDiscussion(discussion1);
+    /**
+     * Loads the data for server mode and waits until the users are loaded, so connections can log in.
+     */
+    static void loadForServer() {
+        StartupLoader loader = new StartupLoader(LOADER_THREADS);
+        StartupLoader.await(startLoading(loader), null);
+        loader.ready("Server");
+    }
+
+    /**
+     * Serves one client connection in server mode: runs the login menu and then the main menu
+     * with the given input.
+     *
+     * @param scanner Scanner object for the input of the connection
+     */
+    static void serveConnection(Scanner scanner) {
+        setCurrentUser(account.loginMenu(scanner));
+        mainMenu(scanner);
+    }
+
+    /**
+     * Starts loading all data files concurrently. The discussions, resources and sessions are
+     * added to their managers when their menu is first opened.
+     *
+     * @param loader The loader to run the loads on
+     * @return A future that completes when the users are loaded
+     */
+    private static Future<Void> startLoading(StartupLoader loader) {
+        Future<Void> users = loader.submit("users", new Callable<Void>() {
+            @Override
+            public Void call() {
+                account.loadUsersFromFile("users.bin");
+                return null;
+            }
+        });
+        pendingDiscussions = loader.submit("discussions", new Callable<List<Discussion>>() {
+            @Override
+            public List<Discussion> call() {
+                return DiscussionManager.readDiscussionsFromFile();
+            }
+        });
+        pendingWatermarks = loader.submit("watermarks", new Callable<ReadWatermarks>() {
+            @Override
+            public ReadWatermarks call() {
+                return ReadWatermarks.readFromFile();
+            }
+        });
+        pendingResources = loader.submit("resources", new Callable<List<Resource>>() {
+            @Override
+            public List<Resource> call() {
+                return ResourceManager.readResourcesFromFile();
+            }
+        });
+        pendingSessions = loader.submit("sessions", new Callable<List<Session>>() {
+            @Override
+            public List<Session> call() {
+                return SessionManager.readSessionsFromFile();
+            }
+        });
+        if (reminders != null) {
+            // Reminders need the sessions before their menu is first opened
+            loader.submit("reminders", new Callable<Void>() {
+                @Override
+                public Void call() {
+                    awaitSessions();
+                    return null;
+                }
+            });
         }
+        loader.shutdown();
+
+        // The lists are filled when the loads are awaited
+        discussions = discussionManager.getDiscussions();
+        resources = resourceManager.getResources();
+        sessions = sessionManager.getSessions();
+        return users;
+    }
+
+    /**
+     * Waits for the discussions loaded at startup and adds them to the discussion manager.
+     */
+    private static synchronized void awaitDiscussions() {
+        if (pendingDiscussions == null) {
+            return;
         }
-        if(resources != null) {
-        for (Resource resource : resources) {
-            resourceManager.addResource(resource);
+        List<Discussion> loaded = StartupLoader.await(pendingDiscussions, new ArrayList<Discussion>());
+        pendingDiscussions = null;
+        if (pendingWatermarks != null) {
+            discussionManager.setWatermarks(StartupLoader.await(pendingWatermarks, new ReadWatermarks()));
+            pendingWatermarks = null;
         }
+        for (Discussion discussion : loaded) {
+            discussionManager.addDiscussion(discussion);
         }
-        if(sessions != null) {
-        for (Session session : sessions) {
-            sessionManager.addSession(session);
+    }
+
+    /**
+     * Waits for the resources loaded at startup and adds them to the resource manager.
+     */
+    private static synchronized void awaitResources() {
+        if (pendingResources == null) {
+            return;
         }
+        List<Resource> loaded = StartupLoader.await(pendingResources, new ArrayList<Resource>());
+        pendingResources = null;
+        for (Resource resource : loaded) {
+            resourceManager.addResource(resource);
         }
+    }
 
-        // Update lists with the added data
-        discussions = discussionManager.getDiscussions();
-        resources = resourceManager.getResources();
-        sessions = sessionManager.getSessions();
+    /**
+     * Waits for the sessions loaded at startup and adds them to the session manager.
+     */
+    private static synchronized void awaitSessions() {
+        if (pendingSessions == null) {
+            return;
+        }
+        List<Session> loaded = StartupLoader.await(pendingSessions, new ArrayList<Session>());
+        pendingSessions = null;
+        for (Session session : loaded) {
+            sessionManager.addSession(session);
+        }
+    }
 
-        // Perform user login and start the main menu
-        currentUser = account.loginMenu(scanner);
-        mainMenu(scanner);
+    /**
+     * Starts reminding the members of study groups of their upcoming sessions. The reminders are
+     * written to {@link ReminderScheduler#OUTBOX_FILE}.
+     */
+    static synchronized void startReminders() {
+        if (reminders == null) {
+            reminders = new ReminderScheduler(new OutboxReminderSink(ReminderScheduler.OUTBOX_FILE));
+            sessionManager.setReminders(reminders);
+            reminders.start();
+        }
     }
 
     /**
      * Main entry point of the CoordinatorApp program.
      * Initializes the application by loading data and starting the main menu.
+     * With {@code --server [port] [events port]} the application is hosted for many users over TCP
+     * instead, and the events of their groups are pushed to them as Server-Sent Events.
      * 
-     * @param args Command line arguments (not used)
+     * @param args Command line arguments
+     * @throws Exception If the server cannot be started
      */
     @SuppressWarnings("static-access")
-    public static void main(String[] args) {
+    public static void main(String[] args) throws Exception {
+        startReminders();
+        discussionManager.setEvents(events);
+        if (args.length > 0 && args[0].equals("--server")) {
+            CoordinatorServer.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
     	loadAll(scanner);
     }
 }
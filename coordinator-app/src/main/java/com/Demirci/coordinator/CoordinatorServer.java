@@ -0,0 +1,259 @@
+/**
+ * The com.Divan.coordinator package contains classes and interfaces related to coordination tasks
+ * in the application developed by Rana Melih.
+ * 
+ * This package serves as a coordination module facilitating communication and orchestration
+ * among different components of the application.
+ * 
+ * Classes within this package might include implementations of coordinator patterns,
+ * such as the mediator pattern, or other coordination strategies.
+ * 
+ * @author Rana Melih
+ * @version 1.0.3
+ * @since 2024-03-28
+ */
+package com.Demirci.coordinator;
+
+import java.io.BufferedOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.InputMismatchException;
+import java.util.NoSuchElementException;
+import java.util.Scanner;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The CoordinatorServer class hosts one coordinator instance for many users over TCP.
+ *
+ * Every connection speaks the same line-based protocol as the console: the client sends one
+ * answer per line and receives the menus as text. Each connection is served by its own thread
+ * with a small stack, and has its own {@link ConnectionContext} holding the logged-in user and
+ * output stream. All connections share the managers of {@link CoordinatorApp}.
+ */
+public class CoordinatorServer {
+    /** Logger used to report connections. */
+    private static final Logger logger = LoggerFactory.getLogger(CoordinatorServer.class);
+
+    /** The port used when none is given on the command line. */
+    public static final int DEFAULT_PORT = 5050;
+
+    /** Stack size of a connection thread. Idle connections only use a few frames of it. */
+    private static final long CONNECTION_STACK_SIZE = 256 * 1024;
+
+    /** Size of the output buffer of a connection. */
+    private static final int OUTPUT_BUFFER_SIZE = 1024;
+
+    /** Pause after a failed accept, so that a lasting failure such as running out of file descriptors does not spin. */
+    private static final long ACCEPT_BACKOFF_MS = 100;
+
+    /** The socket accepting connections. */
+    private final ServerSocket serverSocket;
+
+    /** The number of connections accepted so far, used to name their threads. */
+    private final AtomicInteger connections = new AtomicInteger();
+
+    /** The number of connections currently open. */
+    private final AtomicInteger openConnections = new AtomicInteger();
+
+    /** The thread accepting connections. */
+    private Thread acceptor;
+
+    /**
+     * Constructs a CoordinatorServer listening on the given port.
+     *
+     * @param port The port to listen on, or 0 to pick a free port
+     * @throws IOException If the port cannot be opened
+     */
+    public CoordinatorServer(int port) throws IOException {
+        this.serverSocket = new ServerSocket();
+        serverSocket.setReuseAddress(true);
+        serverSocket.bind(new InetSocketAddress(port), 1024);
+    }
+
+    /**
+     * Gets the port the server is listening on.
+     *
+     * @return The local port
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Gets the number of connections currently open.
+     *
+     * @return The number of open connections
+     */
+    public int getOpenConnections() {
+        return openConnections.get();
+    }
+
+    /**
+     * Loads the application data and starts accepting connections in the background.
+     */
+    public void start() {
+        CoordinatorApp.loadForServer();
+        if (!(System.out instanceof ConnectionPrintStream)) {
+            System.setOut(new ConnectionPrintStream(System.out));
+        }
+        acceptor = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                acceptConnections();
+            }
+        }, "coordinator-acceptor");
+        acceptor.start();
+        logger.info("Coordinator server listening on port {}", getPort());
+    }
+
+    /**
+     * Waits until the server stops accepting connections.
+     *
+     * @throws InterruptedException If the wait is interrupted
+     */
+    public void join() throws InterruptedException {
+        acceptor.join();
+    }
+
+    /**
+     * Stops accepting connections and writes pending changes. Open connections are served until their clients leave.
+     */
+    public void close() {
+        try {
+            serverSocket.close();
+        } catch (IOException e) {
+            System.err.println("Error: Could not close server socket - " + e.getMessage());
+        }
+        PersistenceService.flush();
+    }
+
+    /**
+     * Accepts connections until the server socket is closed, starting a thread for each of them.
+     */
+    private void acceptConnections() {
+        while (!serverSocket.isClosed()) {
+            final Socket socket;
+            try {
+                socket = serverSocket.accept();
+            } catch (IOException e) {
+                if (!serverSocket.isClosed()) {
+                    System.err.println("Error: Could not accept connection - " + e.getMessage());
+                    try {
+                        Thread.sleep(ACCEPT_BACKOFF_MS);
+                    } catch (InterruptedException interrupted) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+                continue;
+            }
+            Thread thread = new Thread(null, new Runnable() {
+                @Override
+                public void run() {
+                    serve(socket);
+                }
+            }, "client-" + connections.incrementAndGet(), CONNECTION_STACK_SIZE);
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    /**
+     * Serves one connection: binds a context for it to the current thread and runs the login and
+     * main menus on the streams of the socket.
+     *
+     * @param socket The socket of the connection
+     */
+    private void serve(Socket socket) {
+        openConnections.incrementAndGet();
+        String client = String.valueOf(socket.getRemoteSocketAddress());
+        logger.info("Client connected: {}", client);
+        try {
+            socket.setKeepAlive(true);
+            socket.setTcpNoDelay(true);
+            OutputStream out = new BufferedOutputStream(socket.getOutputStream(), OUTPUT_BUFFER_SIZE);
+            Scanner scanner = new Scanner(new InputStreamReader(flushingBeforeReads(socket.getInputStream(), out), StandardCharsets.UTF_8));
+            ConnectionContext.bind(new ConnectionContext(out));
+            CoordinatorApp.serveConnection(scanner);
+            out.flush();
+        } catch (InputMismatchException e) {
+            System.err.println("Error: Invalid input from " + client);
+        } catch (NoSuchElementException | SocketException e) {
+            // The client closed the connection
+        } catch (RuntimeException | IOException e) {
+            System.err.println("Error: Connection " + client + " failed - " + e);
+        } finally {
+            ConnectionContext.unbind();
+            try {
+                socket.close();
+            } catch (IOException Ignored) {
+            }
+            openConnections.decrementAndGet();
+            logger.info("Client disconnected: {}", client);
+        }
+    }
+
+    /**
+     * Wraps the input of a connection so that the output to the client is flushed before every read
+     * that would wait for the client. Prompts printed without a line break, such as "Username: ", are
+     * then seen by the client before the connection waits for its answer.
+     *
+     * @param in  The input stream of the client
+     * @param out The output stream of the client
+     * @return The wrapped input stream
+     */
+    private static InputStream flushingBeforeReads(InputStream in, final OutputStream out) {
+        return new FilterInputStream(in) {
+            @Override
+            public int read() throws IOException {
+                flushIfWaiting();
+                return super.read();
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                flushIfWaiting();
+                return super.read(buffer, offset, length);
+            }
+
+            /**
+             * Flushes the output if no input is ready yet.
+             *
+             * @throws IOException If the output cannot be flushed
+             */
+            private void flushIfWaiting() throws IOException {
+                if (in.available() == 0) {
+                    out.flush();
+                }
+            }
+        };
+    }
+
+    /**
+     * Starts the server on the port given as the first argument, or on {@link #DEFAULT_PORT}, and the
+     * event stream on the port given as the second argument, or on {@link EventStreamServer#DEFAULT_PORT}.
+     *
+     * @param args Command line arguments
+     * @throws Exception If the server cannot be started
+     */
+    public static void main(String[] args) throws Exception {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        int eventsPort = args.length > 1 ? Integer.parseInt(args[1]) : EventStreamServer.DEFAULT_PORT;
+        CoordinatorServer server = new CoordinatorServer(port);
+        EventStreamServer eventStream = new EventStreamServer(eventsPort, CoordinatorApp.events);
+        server.start();
+        eventStream.start();
+        server.join();
+    }
+}
@@ -14,14 +14,19 @@
  */
 package com.Demirci.coordinator;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
-import java.util.ArrayList;
+import java.util.AbstractList;
 import java.util.List;
 
 /**
  * Represents a discussion topic along with comments and the associated study group.
+ *
+ * Each comment records its author and the time it was written, and may reply to an earlier comment.
+ * The comments are kept in a {@link CommentChunk} rather than as one object per comment.
  */
-public class Discussion implements Serializable {
+public class Discussion implements Serializable, GroupOwned {
 	/**
 	 * Serializable identifier for object persistence.
 	 */
@@ -33,14 +38,59 @@ public class Discussion implements Serializable {
 	private String topic;
 
 	/**
-	 * A list of comments or remarks related to the coordinator.
+	 * The ID of the discussion, or 0 until it is added to a {@link DiscussionManager}.
 	 */
-	private List<String> comments;
+	private transient int id;
 
 	/**
-	 * The study group associated with the coordinator.
+	 * The comments of the discussion with their authors and timestamps.
 	 */
-	private StudyGroup group;
+	private transient CommentChunk comments;
+
+	/**
+	 * The ID of the study group associated with the coordinator.
+	 */
+	private transient int groupId;
+
+	/**
+	 * The study group read from a file written by an older version, registered on first access.
+	 */
+	private transient StudyGroup legacyGroup;
+
+	/**
+	 * The full-text index kept up to date with the topic and comments, or null if not indexed.
+	 */
+	transient DiscussionIndex index;
+
+	/**
+	 * The document number of the discussion in {@link #index}.
+	 */
+	transient int indexNumber;
+
+	/**
+	 * The activity list the discussion is kept in, or null if it is not tracked.
+	 */
+	transient DiscussionActivity activity;
+
+	/**
+	 * The number of times the discussion was added to {@link #activity} and not removed.
+	 */
+	transient int activityReferences;
+
+	/**
+	 * The stamp of the last change of the discussion in {@link #activity}.
+	 */
+	transient int lastActivity;
+
+	/**
+	 * The discussion of the same group that was active next, or null if this one is the latest.
+	 */
+	transient Discussion newer;
+
+	/**
+	 * The discussion of the same group that was active before, or null if this one is the oldest.
+	 */
+	transient Discussion older;
 
     /**
      * Constructs a Discussion object with the specified topic and associated study group.
@@ -50,8 +100,8 @@ public class Discussion implements Serializable {
      */
     public Discussion(String topic, StudyGroup group) {
         this.topic = topic;
-        this.group = group;
-        this.comments = new ArrayList<>();
+        this.groupId = GroupRegistry.register(group);
+        this.comments = new CommentChunk();
     }
 
     /**
@@ -64,21 +114,101 @@ public class Discussion implements Serializable {
     }
 
     /**
-     * Gets the list of comments in the discussion.
+     * Gets the ID of the discussion, which read watermarks refer to.
+     *
+     * @return The ID, or 0 if the discussion has not been added to a {@link DiscussionManager}
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Sets the ID of the discussion, when it is read or added to a {@link DiscussionManager}.
+     *
+     * @param id The ID
+     */
+    void setId(int id) {
+        this.id = id;
+    }
+
+    /**
+     * Gets the texts of the comments in the discussion.
      *
-     * @return The list of comments
+     * @return A read-only list of the comment texts, decoded as they are read
      */
     public List<String> getComments() {
+        return new AbstractList<String>() {
+            @Override
+            public String get(int index) {
+                return comments.getText(index);
+            }
+
+            @Override
+            public int size() {
+                return comments.size();
+            }
+        };
+    }
+
+    /**
+     * Gets the comments of the discussion with their authors and timestamps.
+     *
+     * @return The comments, which callers must not change
+     */
+    public CommentChunk getCommentChunk() {
         return comments;
     }
 
     /**
-     * Adds a comment to the discussion.
+     * Adds a comment of an unknown author, written now, to the discussion.
      *
      * @param comment The comment to add
      */
     public void addComment(String comment) {
-        comments.add(comment);
+        addComment(CommentChunk.UNKNOWN_AUTHOR, System.currentTimeMillis(), comment);
+    }
+
+    /**
+     * Adds a comment to the discussion and to the full-text index of the discussion.
+     *
+     * @param authorId  The ID of the user who wrote the comment, or {@link CommentChunk#UNKNOWN_AUTHOR}
+     * @param timestamp The time the comment was written, in milliseconds since the epoch
+     * @param comment   The comment to add
+     */
+    public void addComment(int authorId, long timestamp, String comment) {
+        comments.add(authorId, timestamp, comment);
+        commentAdded(comment);
+    }
+
+    /**
+     * Adds a reply to a comment of the discussion and to the full-text index of the discussion.
+     *
+     * @param parent    The sequence number of the comment replied to
+     * @param authorId  The ID of the user who wrote the reply, or {@link CommentChunk#UNKNOWN_AUTHOR}
+     * @param timestamp The time the reply was written, in milliseconds since the epoch
+     * @param comment   The reply to add
+     * @return The sequence number of the reply
+     */
+    public int addReply(int parent, int authorId, long timestamp, String comment) {
+        int sequence = comments.reply(parent, authorId, timestamp, comment);
+        commentAdded(comment);
+        return sequence;
+    }
+
+    /**
+     * Adds a new comment to the full-text index of the discussion and marks the discussion as active.
+     *
+     * @param comment The comment
+     */
+    private void commentAdded(String comment) {
+        DiscussionIndex current = index;
+        if (current != null) {
+            current.commentAdded(this, comment);
+        }
+        DiscussionActivity currentActivity = activity;
+        if (currentActivity != null) {
+            currentActivity.touch(this);
+        }
     }
 
     /**
@@ -87,7 +217,20 @@ public class Discussion implements Serializable {
      * @return The associated study group
      */
     public StudyGroup getGroup() {
-        return group;
+        return GroupRegistry.get(getGroupId());
+    }
+
+    /**
+     * Gets the ID of the study group associated with the discussion.
+     *
+     * @return The group ID, or {@link GroupRegistry#NO_GROUP} if there is no group
+     */
+    public int getGroupId() {
+        if (legacyGroup != null) {
+            groupId = GroupRegistry.intern(legacyGroup).getId();
+            legacyGroup = null;
+        }
+        return groupId;
     }
 
 	 /**
@@ -96,6 +239,42 @@ public class Discussion implements Serializable {
      * @param title The new topic to be set.
      */
     public void setTopic(String topic) {
+        String oldTopic = this.topic;
         this.topic = topic;
+        DiscussionIndex current = index;
+        if (current != null) {
+            current.topicChanged(this, oldTopic, topic);
+        }
+    }
+
+    /**
+     * Replaces the comments with ones read from a file, before the discussion is indexed.
+     *
+     * @param comments The comments
+     */
+    void setComments(CommentChunk comments) {
+        this.comments = comments;
+    }
+
+    /**
+     * Reads a discussion written with Java serialization by an older version of the application.
+     *
+     * @param in The stream to read from
+     * @throws IOException            If reading fails
+     * @throws ClassNotFoundException If a class of the stream cannot be found
+     */
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        ObjectInputStream.GetField fields = in.readFields();
+        topic = (String) fields.get("topic", null);
+        List<String> legacyComments = (List<String>) fields.get("comments", null);
+        comments = new CommentChunk();
+        if (legacyComments != null) {
+            for (String comment : legacyComments) {
+                comments.add(CommentChunk.UNKNOWN_AUTHOR, 0, comment);
+            }
+        }
+        groupId = GroupRegistry.NO_GROUP;
+        legacyGroup = (StudyGroup) fields.get("group", null);
     }
 }
@@ -0,0 +1,164 @@
+/**
+ * The com.Divan.coordinator package contains classes and interfaces related to coordination tasks
+ * in the application developed by Rana Melih.
+ * 
+ * This package serves as a coordination module facilitating communication and orchestration
+ * among different components of the application.
+ * 
+ * Classes within this package might include implementations of coordinator patterns,
+ * such as the mediator pattern, or other coordination strategies.
+ * 
+ * @author Rana Melih
+ * @version 1.0.3
+ * @since 2024-03-28
+ */
+package com.Demirci.coordinator;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * The DiscussionActivity class keeps the discussions of every study group in the order they were last
+ * active, most recently active first, and stamps every change with an increasing number.
+ *
+ * The discussions of a group form a doubly linked list through the discussions themselves, so a new
+ * comment moves its discussion to the front in constant time. A reader remembers the stamp up to which
+ * it has seen everything and walks the list from the front until it reaches a discussion not changed
+ * since then, so it only visits the discussions that changed in the meantime.
+ */
+public class DiscussionActivity {
+    /** The most recently active discussion of each group. */
+    private final IntHashMap<Discussion> latest = new IntHashMap<>();
+
+    /** The stamp of the last change. */
+    private int stamp;
+
+    /**
+     * Adds a discussion as the most recently active one of its group. A discussion follows one list;
+     * a list it was moved away from no longer tracks it.
+     *
+     * @param discussion The discussion to add
+     */
+    public void add(Discussion discussion) {
+        DiscussionActivity previous = discussion.activity;
+        if (previous != null && previous != this) {
+            previous.remove(discussion);
+        }
+        synchronized (this) {
+            if (discussion.activity == this) {
+                discussion.activityReferences++;
+                return;
+            }
+            discussion.activity = this;
+            discussion.activityReferences = 1;
+            link(discussion);
+        }
+    }
+
+    /**
+     * Removes a discussion. A discussion added more than once is tracked until it is removed as often.
+     *
+     * @param discussion The discussion to remove
+     */
+    public synchronized void remove(Discussion discussion) {
+        if (discussion.activity != this || --discussion.activityReferences > 0) {
+            return;
+        }
+        unlink(discussion);
+        discussion.activity = null;
+    }
+
+    /**
+     * Marks a discussion as the most recently active one of its group and calls {@link #touched(Discussion)}.
+     *
+     * @param discussion The discussion that changed
+     */
+    public void touch(Discussion discussion) {
+        synchronized (this) {
+            if (discussion.activity != this) {
+                return;
+            }
+            unlink(discussion);
+            link(discussion);
+        }
+        touched(discussion);
+    }
+
+    /**
+     * Called after a tracked discussion got a new comment, without holding the lock of the list.
+     * Does nothing by default.
+     *
+     * @param discussion The discussion
+     */
+    protected void touched(Discussion discussion) {
+    }
+
+    /**
+     * Gets the stamp of the last change.
+     *
+     * @return The stamp, 0 if nothing has changed yet
+     */
+    public synchronized int getStamp() {
+        return stamp;
+    }
+
+    /**
+     * Collects the discussions of a group that changed after a stamp and match a condition, most
+     * recently active first. The condition is tested while no discussion can change.
+     *
+     * @param groupId The ID of the study group
+     * @param since   The stamp after which discussions are visited
+     * @param filter  The condition, such as having comments a user has not read
+     * @param matches The list the matching discussions are added to
+     * @return The latest stamp at or before which no visited discussion changed that matches the
+     *         condition, which is the stamp to visit from next time if nothing that changed before
+     *         {@code since} matches either
+     */
+    public synchronized int collectChanged(int groupId, int since, Predicate<Discussion> filter, List<Discussion> matches) {
+        int caughtUp = stamp;
+        for (Discussion discussion = latest.get(groupId); discussion != null && discussion.lastActivity > since;
+                discussion = discussion.older) {
+            if (filter.test(discussion)) {
+                matches.add(discussion);
+                caughtUp = discussion.lastActivity - 1;
+            }
+        }
+        return caughtUp;
+    }
+
+    /**
+     * Links a discussion at the front of the list of its group with a new stamp.
+     *
+     * @param discussion The discussion
+     */
+    private void link(Discussion discussion) {
+        Discussion head = latest.get(discussion.getGroupId());
+        discussion.lastActivity = ++stamp;
+        discussion.newer = null;
+        discussion.older = head;
+        if (head != null) {
+            head.newer = discussion;
+        }
+        latest.put(discussion.getGroupId(), discussion);
+    }
+
+    /**
+     * Unlinks a discussion from the list of its group.
+     *
+     * @param discussion The discussion
+     */
+    private void unlink(Discussion discussion) {
+        if (discussion.older != null) {
+            discussion.older.newer = discussion.newer;
+        }
+        if (discussion.newer != null) {
+            discussion.newer.older = discussion.older;
+        } else if (discussion.older != null) {
+            latest.put(discussion.getGroupId(), discussion.older);
+        } else {
+            latest.remove(discussion.getGroupId());
+        }
+        discussion.newer = null;
+        discussion.older = null;
+    }
+}
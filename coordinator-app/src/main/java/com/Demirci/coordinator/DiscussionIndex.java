@@ -0,0 +1,344 @@
+/**
+ * The com.Divan.coordinator package contains classes and interfaces related to coordination tasks
+ * in the application developed by Rana Melih.
+ * 
+ * This package serves as a coordination module facilitating communication and orchestration
+ * among different components of the application.
+ * 
+ * Classes within this package might include implementations of coordinator patterns,
+ * such as the mediator pattern, or other coordination strategies.
+ * 
+ * @author Rana Melih
+ * @version 1.0.3
+ * @since 2024-03-28
+ */
+package com.Demirci.coordinator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * The DiscussionIndex class is an inverted full-text index over the topics and comments of discussions.
+ *
+ * Text is split into lowercase words of letters and digits. For every study group the index maps
+ * each word to a posting list holding the discussions of the group that contain it, with a weight
+ * counting how often it occurs. A word in the topic counts {@link #TOPIC_WEIGHT} times.
+ * Discussions notify the index when a comment is added or the topic changes, so the index is kept up
+ * to date incrementally and a search only reads the posting lists of the searched words.
+ */
+public class DiscussionIndex {
+    /** The weight of a word occurring in the topic, relative to a word in a comment. */
+    public static final int TOPIC_WEIGHT = 3;
+
+    /** The words of each study group, by group ID. */
+    private final IntHashMap<GroupWords> groups = new IntHashMap<>();
+
+    /** The indexed discussions by document number; freed numbers hold null. */
+    private Discussion[] documents = new Discussion[16];
+
+    /** How many times each document was added, so that duplicates in a list are counted. */
+    private int[] references = new int[16];
+
+    /** Document numbers freed by removed discussions, reused before new ones. */
+    private int[] freeNumbers = new int[16];
+
+    /** The number of entries in {@link #freeNumbers}. */
+    private int freeCount;
+
+    /** The next document number that was never used. */
+    private int nextNumber;
+
+    /**
+     * The words of one study group.
+     */
+    private static final class GroupWords {
+        /** The posting list of each word. */
+        final Map<String, Postings> words = new HashMap<>();
+
+        /** The number of discussions of the group in the index. */
+        int documents;
+    }
+
+    /**
+     * The discussions containing one word, sorted by document number, with the weight of the word in each.
+     */
+    private static final class Postings {
+        /** The document numbers. */
+        int[] documents = new int[4];
+
+        /** The weight of the word in each document. */
+        int[] weights = new int[4];
+
+        /** The number of entries. */
+        int size;
+
+        /**
+         * Adds weight to the entry of a document, creating the entry if needed.
+         *
+         * @param document The document number
+         * @param weight   The weight to add
+         */
+        void add(int document, int weight) {
+            int position = Arrays.binarySearch(documents, 0, size, document);
+            if (position >= 0) {
+                weights[position] += weight;
+                return;
+            }
+            position = -position - 1;
+            if (size == documents.length) {
+                documents = Arrays.copyOf(documents, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            System.arraycopy(documents, position, documents, position + 1, size - position);
+            System.arraycopy(weights, position, weights, position + 1, size - position);
+            documents[position] = document;
+            weights[position] = weight;
+            size++;
+        }
+
+        /**
+         * Removes weight from the entry of a document, dropping the entry when no weight is left.
+         *
+         * @param document The document number
+         * @param weight   The weight to remove
+         */
+        void remove(int document, int weight) {
+            int position = Arrays.binarySearch(documents, 0, size, document);
+            if (position < 0) {
+                return;
+            }
+            weights[position] -= weight;
+            if (weights[position] <= 0) {
+                System.arraycopy(documents, position + 1, documents, position, size - position - 1);
+                System.arraycopy(weights, position + 1, weights, position, size - position - 1);
+                size--;
+            }
+        }
+    }
+
+    /**
+     * A discussion matching a search, with its score.
+     */
+    private static final class Hit {
+        /** The document number. */
+        final int document;
+
+        /** The relevance score. */
+        final double score;
+
+        /**
+         * Constructs a Hit.
+         *
+         * @param document The document number
+         * @param score    The relevance score
+         */
+        Hit(int document, double score) {
+            this.document = document;
+            this.score = score;
+        }
+    }
+
+    /**
+     * Adds a discussion with its topic and comments to the index.
+     *
+     * @param discussion The discussion to add
+     */
+    public synchronized void add(Discussion discussion) {
+        if (discussion.index == this) {
+            references[discussion.indexNumber]++;
+            return;
+        }
+        int number = freeCount > 0 ? freeNumbers[--freeCount] : nextNumber++;
+        if (number == documents.length) {
+            documents = Arrays.copyOf(documents, number * 2);
+            references = Arrays.copyOf(references, number * 2);
+        }
+        documents[number] = discussion;
+        references[number] = 1;
+        // A discussion follows one index; an index it was moved away from ignores it from now on
+        discussion.index = this;
+        discussion.indexNumber = number;
+
+        GroupWords group = groups.get(discussion.getGroupId());
+        if (group == null) {
+            group = new GroupWords();
+            groups.put(discussion.getGroupId(), group);
+        }
+        group.documents++;
+        addText(group, number, discussion.getTopic(), TOPIC_WEIGHT);
+        for (String comment : discussion.getComments()) {
+            addText(group, number, comment, 1);
+        }
+    }
+
+    /**
+     * Removes a discussion from the index.
+     *
+     * @param discussion The discussion to remove
+     */
+    public synchronized void remove(Discussion discussion) {
+        if (discussion.index != this || --references[discussion.indexNumber] > 0) {
+            return;
+        }
+        int number = discussion.indexNumber;
+        GroupWords group = groups.get(discussion.getGroupId());
+        removeText(group, number, discussion.getTopic(), TOPIC_WEIGHT);
+        for (String comment : discussion.getComments()) {
+            removeText(group, number, comment, 1);
+        }
+        if (--group.documents == 0) {
+            groups.remove(discussion.getGroupId());
+        }
+        documents[number] = null;
+        if (freeCount == freeNumbers.length) {
+            freeNumbers = Arrays.copyOf(freeNumbers, freeCount * 2);
+        }
+        freeNumbers[freeCount++] = number;
+        discussion.index = null;
+    }
+
+    /**
+     * Indexes a comment that was added to a discussion.
+     *
+     * @param discussion The discussion
+     * @param comment    The new comment
+     */
+    synchronized void commentAdded(Discussion discussion, String comment) {
+        if (discussion.index == this) {
+            addText(groups.get(discussion.getGroupId()), discussion.indexNumber, comment, 1);
+        }
+    }
+
+    /**
+     * Replaces the words of the old topic of a discussion with those of the new one.
+     *
+     * @param discussion The discussion
+     * @param oldTopic   The previous topic
+     * @param newTopic   The new topic
+     */
+    synchronized void topicChanged(Discussion discussion, String oldTopic, String newTopic) {
+        if (discussion.index == this) {
+            GroupWords group = groups.get(discussion.getGroupId());
+            removeText(group, discussion.indexNumber, oldTopic, TOPIC_WEIGHT);
+            addText(group, discussion.indexNumber, newTopic, TOPIC_WEIGHT);
+        }
+    }
+
+    /**
+     * Searches the discussions of a study group for the words of a query. Discussions are ranked by
+     * the sum over the query words they contain of (1 + ln weight) * ln(1 + discussions / postings),
+     * so rare words and words in the topic count most. Equal scores keep the older discussion first.
+     *
+     * @param query   The words to search for
+     * @param groupId The ID of the study group to search
+     * @param limit   The maximum number of results
+     * @return The matching discussions, best match first
+     */
+    public synchronized List<Discussion> search(String query, int groupId, int limit) {
+        GroupWords group = groups.get(groupId);
+        if (group == null || limit <= 0) {
+            return Collections.emptyList();
+        }
+        IntHashMap<double[]> scores = new IntHashMap<>();
+        for (String word : new LinkedHashSet<>(tokenize(query))) {
+            Postings postings = group.words.get(word);
+            if (postings == null) {
+                continue;
+            }
+            double idf = Math.log(1 + (double) group.documents / postings.size);
+            for (int i = 0; i < postings.size; i++) {
+                double[] score = scores.get(postings.documents[i]);
+                if (score == null) {
+                    score = new double[1];
+                    scores.put(postings.documents[i], score);
+                }
+                score[0] += (1 + Math.log(postings.weights[i])) * idf;
+            }
+        }
+
+        // Keep the best hits in a heap whose head is the worst of them
+        PriorityQueue<Hit> best = new PriorityQueue<>(limit + 1, (a, b) -> a.score != b.score
+                ? Double.compare(a.score, b.score) : Integer.compare(b.document, a.document));
+        for (int document : scores.keys()) {
+            best.add(new Hit(document, scores.get(document)[0]));
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+        Discussion[] results = new Discussion[best.size()];
+        for (int i = results.length - 1; i >= 0; i--) {
+            results[i] = documents[best.poll().document];
+        }
+        return new ArrayList<>(Arrays.asList(results));
+    }
+
+    /**
+     * Splits text into lowercase words made of letters and digits.
+     *
+     * @param text The text to split, may be null
+     * @return The words in the order they occur
+     */
+    public static List<String> tokenize(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null) {
+            return words;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                words.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Adds the words of a text to the posting lists of a group.
+     *
+     * @param group    The words of the group
+     * @param document The document number
+     * @param text     The text
+     * @param weight   The weight of each occurrence
+     */
+    private static void addText(GroupWords group, int document, String text, int weight) {
+        for (String word : tokenize(text)) {
+            Postings postings = group.words.get(word);
+            if (postings == null) {
+                postings = new Postings();
+                group.words.put(word, postings);
+            }
+            postings.add(document, weight);
+        }
+    }
+
+    /**
+     * Removes the words of a text from the posting lists of a group.
+     *
+     * @param group    The words of the group
+     * @param document The document number
+     * @param text     The text
+     * @param weight   The weight of each occurrence
+     */
+    private static void removeText(GroupWords group, int document, String text, int weight) {
+        for (String word : tokenize(text)) {
+            Postings postings = group.words.get(word);
+            if (postings != null) {
+                postings.remove(document, weight);
+                if (postings.size == 0) {
+                    group.words.remove(word);
+                }
+            }
+        }
+    }
+}
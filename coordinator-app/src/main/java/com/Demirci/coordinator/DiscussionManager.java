@@ -14,30 +14,91 @@
  */
 package com.Demirci.coordinator;
 
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
 import java.io.IOException;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 
 /**
  * The DiscussionManager class manages discussions, including adding discussions, displaying discussions for a group,
  * and reading/writing discussions to/from a file.
+ *
+ * Every discussion gets an ID when it is added, which the {@link ReadWatermarks} of the users refer to.
+ * To find the discussions with comments a user has not read, the manager walks the discussions of
+ * each group in the order they were last active and stops at the point up to which the user was
+ * found to have read everything before, so only discussions that changed since are visited.
+ *
+ * The methods are synchronized so that one manager can be shared by all connections in server mode.
+ * Callers that change the list returned by {@link #getDiscussions()} synchronize on the manager.
  */
 public class DiscussionManager {
     /** The file path for storing discussions. */
     public static final String DISCUSSIONS_FILE = "Discussions.bin";
+
+    /** The number of comments shown per discussion when discussions are displayed. */
+    public static final int COMMENT_PAGE_SIZE = 20;
+
+    /** The deepest level of replies that is still indented further. */
+    private static final int MAX_INDENT = 8;
     
-    /** The list of discussions managed by this manager. */
-    private List<Discussion> discussions;
+    /** The list of discussions managed by this manager, indexed by group. */
+    private GroupIndexedList<Discussion> discussions;
+
+    /** Full-text index over the topics and comments of the discussions in the list. */
+    private final DiscussionIndex index = new DiscussionIndex();
+
+    /** The discussions of each group in the order they were last active. */
+    private final DiscussionActivity activity = new DiscussionActivity() {
+        @Override
+        protected void touched(Discussion discussion) {
+            EventBus current = events;
+            if (current != null) {
+                publishLastComment(current, discussion);
+            }
+        }
+    };
+
+    /** The bus new comments are published on, or null if they are not published. */
+    private volatile EventBus events;
+
+    /** The number of comments of each discussion each user has read. */
+    private ReadWatermarks watermarks = new ReadWatermarks();
+
+    /**
+     * The activity stamp up to which each user has read all discussions of a group, by
+     * {@link LongIntHashMap#key(int, int)} of user ID and group ID.
+     */
+    private LongIntHashMap caughtUp = new LongIntHashMap();
+
+    /** The highest ID given to a discussion. */
+    private int lastId;
 
     /**
      * Constructs a new DiscussionManager object with an empty list of discussions.
      */
     public DiscussionManager() {
-        this.discussions = new ArrayList<>();
+        this.discussions = new GroupIndexedList<Discussion>() {
+            @Override
+            protected void entityAdded(Discussion discussion) {
+                if (discussion.getId() == 0) {
+                    discussion.setId(++lastId);
+                } else {
+                    lastId = Math.max(lastId, discussion.getId());
+                }
+                index.add(discussion);
+                activity.add(discussion);
+            }
+
+            @Override
+            protected void entityRemoved(Discussion discussion) {
+                index.remove(discussion);
+                activity.remove(discussion);
+            }
+        };
     }
 
     /**
@@ -45,7 +106,7 @@ public class DiscussionManager {
      *
      * @param discussion The discussion to be added
      */
-    public void addDiscussion(Discussion discussion) {
+    public synchronized void addDiscussion(Discussion discussion) {
         discussions.add(discussion);
     }
 
@@ -54,36 +115,380 @@ public class DiscussionManager {
      *
      * @return The list of discussions
      */
-    public List<Discussion> getDiscussions() {
+    public synchronized List<Discussion> getDiscussions() {
         return discussions;
     }
 
     /**
-     * Displays discussions belonging to a specific study group.
+     * Retrieves the discussions of a specific study group.
      *
-     * @param group The study group for which discussions are to be displayed
+     * @param groupId The ID of the study group
+     * @return A copy of the discussions of the group, in the order they were added
      */
-    public void displayDiscussionsForGroup(StudyGroup group) {
-        System.out.println("Discussions for group " + group.getName() + ":");
-        boolean foundDiscussion = false;
+    public synchronized List<Discussion> getDiscussionsForGroup(int groupId) {
+        return new ArrayList<>(discussions.forGroup(groupId));
+    }
+
+    /**
+     * Retrieves the discussions of several study groups, such as all groups of a user.
+     *
+     * @param groupIds The IDs of the study groups
+     * @return The discussions of the groups, group by group in the order of the IDs
+     */
+    public synchronized List<Discussion> getDiscussionsForGroups(int[] groupIds) {
+        List<Discussion> groupDiscussions = new ArrayList<>();
+        for (int groupId : groupIds) {
+            groupDiscussions.addAll(discussions.forGroup(groupId));
+        }
+        return groupDiscussions;
+    }
+
+    /**
+     * Finds a discussion by topic, ignoring case.
+     *
+     * @param topic The topic of the discussion
+     * @return The first matching discussion, or null if there is no discussion with that topic
+     */
+    public synchronized Discussion findDiscussion(String topic) {
         for (Discussion discussion : discussions) {
-            if (discussion.getGroup().getName().equals(group.getName())) {
+            if (discussion.getTopic().equalsIgnoreCase(topic)) {
+                return discussion;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Finds a discussion of a study group by topic, ignoring case.
+     *
+     * @param topic   The topic of the discussion
+     * @param groupId The ID of the study group
+     * @return The first matching discussion, or null if the group has no discussion with that topic
+     */
+    public synchronized Discussion findDiscussionForGroup(String topic, int groupId) {
+        for (Discussion discussion : discussions.forGroup(groupId)) {
+            if (discussion.getTopic().equalsIgnoreCase(topic)) {
+                return discussion;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Finds a discussion of any of several study groups by topic, ignoring case.
+     *
+     * @param topic    The topic of the discussion
+     * @param groupIds The IDs of the study groups
+     * @return The first matching discussion, or null if none of the groups has a discussion with that topic
+     */
+    public synchronized Discussion findDiscussionForGroups(String topic, int[] groupIds) {
+        for (int groupId : groupIds) {
+            Discussion discussion = findDiscussionForGroup(topic, groupId);
+            if (discussion != null) {
+                return discussion;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Searches the topics and comments of the discussions of a study group for keywords.
+     *
+     * @param query   The keywords to search for
+     * @param groupId The ID of the study group
+     * @param limit   The maximum number of results
+     * @return The matching discussions, best match first
+     */
+    public synchronized List<Discussion> searchDiscussions(String query, int groupId, int limit) {
+        return index.search(query, groupId, limit);
+    }
+
+    /**
+     * Searches the discussions of several study groups for keywords. Scores are only comparable within
+     * one group, so the results are listed group by group in the order of the IDs.
+     *
+     * @param query    The keywords to search for
+     * @param groupIds The IDs of the study groups
+     * @param limit    The maximum number of results
+     * @return The matching discussions, best match of each group first
+     */
+    public synchronized List<Discussion> searchDiscussions(String query, int[] groupIds, int limit) {
+        List<Discussion> matches = new ArrayList<>();
+        for (int groupId : groupIds) {
+            if (matches.size() >= limit) {
+                break;
+            }
+            matches.addAll(index.search(query, groupId, limit - matches.size()));
+        }
+        return matches;
+    }
+
+    /**
+     * Replaces the read watermarks, such as with the ones loaded from a file.
+     *
+     * @param watermarks The watermarks
+     */
+    public synchronized void setWatermarks(ReadWatermarks watermarks) {
+        this.watermarks = watermarks;
+        this.caughtUp = new LongIntHashMap();
+    }
+
+    /**
+     * Sets the bus new comments of the discussions of the list are published on.
+     *
+     * @param events The bus, or null to stop publishing
+     */
+    public void setEvents(EventBus events) {
+        this.events = events;
+    }
+
+    /**
+     * Gets the number of comments of a discussion a user has not read yet.
+     *
+     * @param userId     The ID of the user
+     * @param discussion The discussion
+     * @return The number of new comments
+     */
+    public synchronized int getUnreadCount(int userId, Discussion discussion) {
+        return Math.max(0, discussion.getCommentChunk().size() - watermarks.get(userId, discussion.getId()));
+    }
+
+    /**
+     * Records that a user has read all comments a discussion has now.
+     *
+     * @param userId     The ID of the user
+     * @param discussion The discussion
+     */
+    public synchronized void markRead(int userId, Discussion discussion) {
+        watermarks.advance(userId, discussion.getId(), discussion.getCommentChunk().size());
+    }
+
+    /**
+     * Finds the discussions of several study groups with comments a user has not read, such as all
+     * groups of the user. Only the discussions that changed since the user was last found to have
+     * read everything of a group are visited, not the discussions nor comments before.
+     *
+     * @param userId   The ID of the user
+     * @param groupIds The IDs of the study groups
+     * @return The discussions with new comments, group by group, most recently active first
+     */
+    public synchronized List<Discussion> getNewDiscussions(final int userId, int[] groupIds) {
+        List<Discussion> unread = new ArrayList<>();
+        for (int groupId : groupIds) {
+            long key = LongIntHashMap.key(userId, groupId);
+            int since = activity.collectChanged(groupId, caughtUp.get(key),
+                    discussion -> getUnreadCount(userId, discussion) > 0, unread);
+            caughtUp.put(key, since);
+        }
+        return unread;
+    }
+
+    /**
+     * Reads a page of the comments of a discussion.
+     *
+     * @param discussion The discussion
+     * @param cursor     The sequence number of the first comment of the page, {@link Page#FIRST} for the first page
+     * @param limit      The maximum number of comments
+     * @return The page, oldest comment first
+     */
+    public synchronized Page<CommentChunk.Comment> getComments(Discussion discussion, int cursor, int limit) {
+        return discussion.getCommentChunk().page(cursor, limit);
+    }
+
+    /**
+     * Reads a page of the comments of a discussion in thread order, each comment followed by its replies.
+     *
+     * @param discussion The discussion
+     * @param cursor     The position in thread order of the first comment of the page, {@link Page#FIRST}
+     *                   for the first page
+     * @param limit      The maximum number of comments
+     * @return The page
+     */
+    public synchronized Page<CommentChunk.Comment> getThread(Discussion discussion, int cursor, int limit) {
+        return discussion.getCommentChunk().threadPage(cursor, limit);
+    }
+
+    /**
+     * Reads a page of a comment and the replies to it, in thread order.
+     *
+     * @param discussion The discussion
+     * @param sequence   The sequence number of the comment
+     * @param cursor     The position in thread order of the first comment of the page, {@link Page#FIRST}
+     *                   to start with the comment itself
+     * @param limit      The maximum number of comments
+     * @return The page
+     */
+    public synchronized Page<CommentChunk.Comment> getReplies(Discussion discussion, int sequence, int cursor, int limit) {
+        return discussion.getCommentChunk().subtreePage(sequence, cursor, limit);
+    }
+
+    /**
+     * Displays the discussions of all study groups of a user with the comments the user has not read
+     * yet, at most {@link #COMMENT_PAGE_SIZE} of each discussion starting with the oldest, and records
+     * the displayed ones as read. The next call continues with the comments that did not fit.
+     *
+     * @param user The user whose groups' discussions are displayed
+     */
+    public synchronized void displayDiscussionsForUser(User user) {
+        for (StudyGroup group : user.getGroups()) {
+            System.out.println("Discussions for group " + group.getName() + ":");
+            List<Discussion> groupDiscussions = discussions.forGroup(GroupRegistry.idOf(group));
+            for (Discussion discussion : groupDiscussions) {
                 System.out.println("Topic: " + discussion.getTopic());
                 System.out.println("Comments:");
-                for (String comment : discussion.getComments()) {
-                    System.out.println("- " + CoordinatorApp.currentUser.getUsername() + " : " + comment);
+                CommentChunk comments = discussion.getCommentChunk();
+                int size = comments.size();
+                int read = Math.min(watermarks.get(user.getId(), discussion.getId()), size);
+                if (read == size) {
+                    System.out.println("(no new comments, " + size + " in total)");
+                    continue;
+                }
+                System.out.println("(" + (size - read) + " new comments)");
+                Page<CommentChunk.Comment> page = comments.page(read, COMMENT_PAGE_SIZE);
+                for (CommentChunk.Comment comment : page.getItems()) {
+                    String line = "- #" + comment.getSequence() + " " + authorName(comment.getAuthorId()) + " : "
+                            + comment.getText();
+                    if (comment.getParent() != CommentChunk.NO_PARENT) {
+                        line += " (reply to #" + comment.getParent() + ")";
+                    }
+                    System.out.println(line);
+                }
+                int shown = page.hasMore() ? page.getNextCursor() : size;
+                if (shown < size) {
+                    System.out.println("(" + (size - shown) + " more new comments, view the discussions again to see them)");
                 }
-                foundDiscussion = true;
+                watermarks.advance(user.getId(), discussion.getId(), shown);
             }
-            
-            else {
-            	System.out.println("Your group doesn't have any discussions");
-            	}
-        }
-        
-        
-       
-    
+            if (groupDiscussions.isEmpty()) {
+                System.out.println("Your group doesn't have any discussions");
+            }
+        }
+    }
+
+    /**
+     * Displays discussions belonging to a specific study group, with the last
+     * {@link #COMMENT_PAGE_SIZE} comments of each discussion in thread order. Replies are indented
+     * below the comment they reply to, or name it if it is older, and every comment shows the number
+     * to reply to it with.
+     *
+     * @param group The study group for which discussions are to be displayed
+     */
+    public void displayDiscussionsForGroup(StudyGroup group) {
+        displayDiscussionsForGroup(group, null);
+    }
+
+    /**
+     * Displays discussions belonging to a specific study group like {@link #displayDiscussionsForGroup(StudyGroup)},
+     * and marks the comments a user has not read yet as new. Nothing is recorded as read.
+     *
+     * @param group The study group for which discussions are to be displayed
+     * @param user  The user whose new comments are marked, or null to mark none
+     */
+    public synchronized void displayDiscussionsForGroup(StudyGroup group, User user) {
+        System.out.println("Discussions for group " + group.getName() + ":");
+        List<Discussion> groupDiscussions = discussions.forGroup(GroupRegistry.idOf(group));
+        for (Discussion discussion : groupDiscussions) {
+            System.out.println("Topic: " + discussion.getTopic());
+            System.out.println("Comments:");
+            final CommentChunk comments = discussion.getCommentChunk();
+            int size = comments.size();
+            int read = user == null ? size : watermarks.get(user.getId(), discussion.getId());
+            int earlier = Math.max(0, size - COMMENT_PAGE_SIZE);
+            if (earlier > 0) {
+                System.out.println("(" + earlier + " earlier comments)");
+            }
+            // The newest comments are shown in thread order, so a late reply to an old comment is
+            // shown too, in its thread
+            List<CommentChunk.Comment> latest = new ArrayList<>(comments.page(earlier, COMMENT_PAGE_SIZE).getItems());
+            latest.sort(Comparator.comparingInt(comment -> comments.getThreadPosition(comment.getSequence())));
+            for (CommentChunk.Comment comment : latest) {
+                StringBuilder line = new StringBuilder();
+                for (int level = 0; level < Math.min(comment.getDepth(), MAX_INDENT); level++) {
+                    line.append("  ");
+                }
+                line.append("- #").append(comment.getSequence()).append(' ').append(authorName(comment.getAuthorId()))
+                        .append(" : ").append(comment.getText());
+                if (comment.getParent() != CommentChunk.NO_PARENT && comment.getParent() < earlier) {
+                    line.append(" (reply to #").append(comment.getParent()).append(')');
+                }
+                if (comment.getSequence() >= read) {
+                    line.append(" (new)");
+                }
+                System.out.println(line);
+            }
+        }
+        if (groupDiscussions.isEmpty()) {
+            System.out.println("Your group doesn't have any discussions");
+        }
+    }
+
+    /**
+     * Displays the discussions of all study groups of a user in thread order, like
+     * {@link #displayDiscussionsForGroup(StudyGroup, User)}, with the comments the user has not read
+     * yet marked as new.
+     *
+     * @param user The user whose groups' discussions are displayed
+     */
+    public synchronized void displayHistoryForUser(User user) {
+        for (StudyGroup group : user.getGroups()) {
+            displayDiscussionsForGroup(group, user);
+        }
+    }
+
+    /**
+     * Publishes the last comment of a discussion as a {@link GroupEvent#COMMENT} event.
+     *
+     * @param events     The bus
+     * @param discussion The discussion that got the comment
+     */
+    private static void publishLastComment(EventBus events, Discussion discussion) {
+        CommentChunk comments = discussion.getCommentChunk();
+        int last = comments.size() - 1;
+        if (last < 0) {
+            return;
+        }
+        events.publish(GroupEvent.COMMENT, discussion.getGroupId(), discussion.getTopic(),
+                authorName(comments.getAuthorId(last)) + ": " + comments.getText(last));
+    }
+
+    /**
+     * Gets the name shown as the author of a comment.
+     *
+     * @param authorId The ID of the author
+     * @return The username of the author, or "unknown" if the author is not known
+     */
+    private static String authorName(int authorId) {
+        User author = authorId == CommentChunk.UNKNOWN_AUTHOR ? null : Account.findUserById(authorId);
+        return author != null ? author.getUsername() : "unknown";
+    }
+
+    /**
+     * Saves a list of discussions in the background. Changes saved within one write interval of
+     * {@link PersistenceService} are written to the file together.
+     *
+     * @param discussions The list to save, changed only while holding the lock of this manager
+     */
+    public void saveLater(final List<Discussion> discussions) {
+        PersistenceService.markDirty(DISCUSSIONS_FILE, () -> saveSnapshot(discussions));
+    }
+
+    /**
+     * Writes a list of discussions to the file. The discussions are encoded under the manager lock,
+     * as comments are only added while holding it, and the file is written without blocking changes.
+     *
+     * @param discussions The list to save
+     */
+    private void saveSnapshot(List<Discussion> discussions) {
+        final ByteArrayOutputStream snapshot = new ByteArrayOutputStream();
+        synchronized (this) {
+            try (DataOutputStream out = new DataOutputStream(snapshot)) {
+                BinaryCodec.writeDiscussions(out, discussions);
+            } catch (IOException e) {
+                System.err.println("Error: Could not save " + DISCUSSIONS_FILE + " - " + e.getMessage());
+                return;
+            }
+        }
+        writeDiscussions(out -> snapshot.writeTo(out));
     }
 
     /**
@@ -92,22 +497,66 @@ public class DiscussionManager {
      * @param discussions The list of discussions to be written to file
      */
     public static void writeDiscussionsToFile(List<Discussion> discussions) {
-        try (ObjectOutputStream outputStream = new ObjectOutputStream(new FileOutputStream(DISCUSSIONS_FILE))) {
-            outputStream.writeObject(discussions);
+        if (writeDiscussions(discussions)) {
             System.out.println("Discussions have been saved to " + DISCUSSIONS_FILE);
-        } catch (Exception Ignored) {
         }
     }
 
     /**
-     * Reads the list of discussions from a file.
+     * Writes the list of discussions to the file without reporting it.
+     *
+     * @param discussions The list of discussions to be written to file
+     * @return true if the file was written, false otherwise
+     */
+    private static boolean writeDiscussions(final List<Discussion> discussions) {
+        return writeDiscussions(out -> BinaryCodec.writeDiscussions(out, discussions));
+    }
+
+    /**
+     * Writes the discussions file without reporting it.
+     *
+     * @param content The encoded discussions
+     * @return true if the file was written, false otherwise
+     */
+    private static synchronized boolean writeDiscussions(FileUtility.Content content) {
+        try {
+            FileUtility.writeAtomically(new File(DISCUSSIONS_FILE), content);
+            return true;
+        } catch (IOException e) {
+            System.err.println("Error: Could not save " + DISCUSSIONS_FILE + " - " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Reads the list of discussions from a file. Discussions still waiting to be saved in the
+     * background are written first.
      *
      * @return The list of discussions read from the file
      */
     public static List<Discussion> readDiscussionsFromFile() {
-        try (ObjectInputStream inputStream = new ObjectInputStream(new FileInputStream(DISCUSSIONS_FILE))) {
-            @SuppressWarnings("unchecked")
-            List<Discussion> discussions = (List<Discussion>) inputStream.readObject();
+        PersistenceService.flush(DISCUSSIONS_FILE);
+        return readDiscussions();
+    }
+
+    /**
+     * Reads the list of discussions from the file without flushing pending saves.
+     *
+     * @return The list of discussions read from the file
+     */
+    private static synchronized List<Discussion> readDiscussions() {
+        File file = new File(DISCUSSIONS_FILE);
+        if (BinaryCodec.isLegacyFormat(file)) {
+            List<Discussion> discussions = FileUtility.readLegacyList(file);
+            if (discussions == null) {
+                return new ArrayList<>();
+            }
+            writeDiscussionsToFile(discussions);
+            return discussions;
+        }
+
+        try (DataInputStream inputStream = BinaryCodec.openForReading(file)) {
+            List<Discussion> discussions = BinaryCodec.readDiscussions(inputStream);
             System.out.println("Discussions have been loaded from " + DISCUSSIONS_FILE);
             return discussions;
         } catch (Exception Ignored) {
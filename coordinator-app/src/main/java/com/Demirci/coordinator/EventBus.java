@@ -0,0 +1,258 @@
+/**
+ * The com.Divan.coordinator package contains classes and interfaces related to coordination tasks
+ * in the application developed by Rana Melih.
+ * 
+ * This package serves as a coordination module facilitating communication and orchestration
+ * among different components of the application.
+ * 
+ * Classes within this package might include implementations of coordinator patterns,
+ * such as the mediator pattern, or other coordination strategies.
+ * 
+ * @author Rana Melih
+ * @version 1.0.3
+ * @since 2024-03-28
+ */
+package com.Demirci.coordinator;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The EventBus class delivers the events of study groups, such as new comments, sessions and
+ * resources, to the subscribers of the groups within the process.
+ *
+ * Every subscription has a bounded queue. Publishing never waits: the publisher is a menu or
+ * connection thread that may hold the lock of a manager, so a slow subscriber must not hold it up.
+ * When the queue of a subscription is full, further events for it are dropped and counted, and the
+ * subscriber learns how many it missed with {@link Subscription#takeDropped()}, so it can reload
+ * instead of showing a feed with silent gaps. The subscriptions of each group are kept in an array
+ * that is copied when a subscription is added or closed, so publishing only visits the subscribers
+ * of the group of the event, without locking them out.
+ */
+public class EventBus {
+    /** The queue capacity of a subscription when none is given. */
+    public static final int DEFAULT_QUEUE_CAPACITY = 256;
+
+    /** The subscriptions of each group. */
+    private final IntHashMap<Subscription[]> subscribers = new IntHashMap<>();
+
+    /** The number of the last event published. */
+    private final AtomicLong lastId = new AtomicLong();
+
+    /**
+     * The EventBus.Subscription class receives the events of some study groups through a bounded queue.
+     */
+    public class Subscription implements AutoCloseable {
+        /** The IDs of the groups subscribed to. */
+        private final int[] groupIds;
+
+        /** The queued events, a ring buffer. */
+        private final GroupEvent[] queue;
+
+        /** The position of the oldest queued event. */
+        private int head;
+
+        /** The number of queued events. */
+        private int count;
+
+        /** The number of events dropped since {@link #takeDropped()} was last called. */
+        private long dropped;
+
+        /** Whether the subscription has been closed. */
+        private boolean closed;
+
+        /**
+         * Constructs a Subscription.
+         *
+         * @param groupIds The IDs of the groups subscribed to
+         * @param capacity The maximum number of queued events
+         */
+        private Subscription(int[] groupIds, int capacity) {
+            this.groupIds = groupIds.clone();
+            this.queue = new GroupEvent[capacity];
+        }
+
+        /**
+         * Queues an event, or drops it if the queue is full.
+         *
+         * @param event The event
+         * @return true if the event was queued
+         */
+        private synchronized boolean offer(GroupEvent event) {
+            if (closed) {
+                return false;
+            }
+            if (count == queue.length) {
+                dropped++;
+                return false;
+            }
+            queue[(head + count) % queue.length] = event;
+            count++;
+            notifyAll();
+            return true;
+        }
+
+        /**
+         * Takes the oldest queued event, waiting for one if the queue is empty.
+         *
+         * @param timeout The maximum time to wait
+         * @param unit    The unit of the timeout
+         * @return The event, or null if none arrived in time or the subscription was closed
+         * @throws InterruptedException If the wait is interrupted
+         */
+        public synchronized GroupEvent poll(long timeout, TimeUnit unit) throws InterruptedException {
+            long deadline = System.nanoTime() + unit.toNanos(timeout);
+            while (count == 0 && !closed) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return null;
+                }
+                TimeUnit.NANOSECONDS.timedWait(this, remaining);
+            }
+            if (count == 0) {
+                return null;
+            }
+            GroupEvent event = queue[head];
+            queue[head] = null;
+            head = (head + 1) % queue.length;
+            count--;
+            return event;
+        }
+
+        /**
+         * Gets the number of queued events.
+         *
+         * @return The number of events waiting to be taken
+         */
+        public synchronized int size() {
+            return count;
+        }
+
+        /**
+         * Gets and resets the number of events dropped because the queue was full.
+         *
+         * @return The number of events dropped since the last call
+         */
+        public synchronized long takeDropped() {
+            long result = dropped;
+            dropped = 0;
+            return result;
+        }
+
+        /**
+         * Checks whether the subscription has been closed.
+         *
+         * @return true if the subscription no longer receives events
+         */
+        public synchronized boolean isClosed() {
+            return closed;
+        }
+
+        /**
+         * Stops receiving events and wakes up a waiting {@link #poll(long, TimeUnit)}.
+         */
+        @Override
+        public void close() {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                notifyAll();
+            }
+            unsubscribe(this);
+        }
+    }
+
+    /**
+     * Subscribes to the events of study groups with a queue of {@link #DEFAULT_QUEUE_CAPACITY} events.
+     *
+     * @param groupIds The IDs of the groups, such as all groups of a user
+     * @return The subscription, to be closed when no longer needed
+     */
+    public Subscription subscribe(int[] groupIds) {
+        return subscribe(groupIds, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * Subscribes to the events of study groups.
+     *
+     * @param groupIds The IDs of the groups, such as all groups of a user
+     * @param capacity The maximum number of events queued for the subscriber
+     * @return The subscription, to be closed when no longer needed
+     */
+    public synchronized Subscription subscribe(int[] groupIds, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Queue capacity must be positive");
+        }
+        Subscription subscription = new Subscription(groupIds, capacity);
+        for (int groupId : subscription.groupIds) {
+            Subscription[] current = subscribers.get(groupId);
+            Subscription[] updated = current == null ? new Subscription[1] : Arrays.copyOf(current, current.length + 1);
+            updated[updated.length - 1] = subscription;
+            subscribers.put(groupId, updated);
+        }
+        return subscription;
+    }
+
+    /**
+     * Publishes an event to the subscribers of its group. Never waits for a subscriber.
+     *
+     * @param type    The type of the event, such as {@link GroupEvent#COMMENT}
+     * @param groupId The ID of the study group
+     * @param subject What the event is about
+     * @param text    The text of the event
+     * @return The event
+     */
+    public GroupEvent publish(String type, int groupId, String subject, String text) {
+        GroupEvent event = new GroupEvent(lastId.incrementAndGet(), type, groupId, subject, text);
+        Subscription[] targets;
+        synchronized (this) {
+            targets = subscribers.get(groupId);
+        }
+        if (targets != null) {
+            for (Subscription subscription : targets) {
+                subscription.offer(event);
+            }
+        }
+        return event;
+    }
+
+    /**
+     * Gets the number of subscriptions to a study group.
+     *
+     * @param groupId The ID of the study group
+     * @return The number of open subscriptions including the group
+     */
+    public synchronized int getSubscriberCount(int groupId) {
+        Subscription[] current = subscribers.get(groupId);
+        return current == null ? 0 : current.length;
+    }
+
+    /**
+     * Removes a closed subscription from its groups.
+     *
+     * @param subscription The subscription
+     */
+    private synchronized void unsubscribe(Subscription subscription) {
+        for (int groupId : subscription.groupIds) {
+            Subscription[] current = subscribers.get(groupId);
+            if (current == null) {
+                continue;
+            }
+            Subscription[] updated = new Subscription[current.length];
+            int kept = 0;
+            for (Subscription other : current) {
+                if (other != subscription) {
+                    updated[kept++] = other;
+                }
+            }
+            if (kept == 0) {
+                subscribers.remove(groupId);
+            } else if (kept < current.length) {
+                subscribers.put(groupId, Arrays.copyOf(updated, kept));
+            }
+        }
+    }
+}
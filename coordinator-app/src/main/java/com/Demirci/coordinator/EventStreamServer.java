@@ -0,0 +1,292 @@
+/**
+ * The com.Divan.coordinator package contains classes and interfaces related to coordination tasks
+ * in the application developed by Rana Melih.
+ * 
+ * This package serves as a coordination module facilitating communication and orchestration
+ * among different components of the application.
+ * 
+ * Classes within this package might include implementations of coordinator patterns,
+ * such as the mediator pattern, or other coordination strategies.
+ * 
+ * @author Rana Melih
+ * @version 1.0.3
+ * @since 2024-03-28
+ */
+package com.Demirci.coordinator;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * The EventStreamServer class pushes the events of the {@link EventBus} to connected members as
+ * Server-Sent Events, so they see new comments, sessions and resources of their groups without
+ * polling.
+ *
+ * A client sends {@code GET /events} with the username and password of its user as HTTP Basic
+ * authentication, and receives the events of the groups of that user as a {@code text/event-stream}
+ * until it disconnects. Each stream has its own subscription and is written by its own thread, so a
+ * slow client only fills its own queue; the events it misses are reported as an {@code overflow}
+ * event with their number, after which the client should reload. A comment line is sent when no
+ * event arrived for a while, so that broken connections are noticed.
+ *
+ * The groups of the user are checked again at least every {@link #MEMBERSHIP_CHECK_MILLIS}
+ * milliseconds and before every event: events of a group the user left are never sent, and the
+ * stream resubscribes to follow the groups the user joined or left.
+ */
+public class EventStreamServer {
+    /** Logger used to report streams. */
+    private static final Logger logger = LoggerFactory.getLogger(EventStreamServer.class);
+
+    /** The port used when none is given on the command line. */
+    public static final int DEFAULT_PORT = 5051;
+
+    /** The path of the event stream. */
+    public static final String EVENTS_PATH = "/events";
+
+    /** Seconds without events after which a keep-alive comment is sent. */
+    private static final long KEEP_ALIVE_SECONDS = 15;
+
+    /** Milliseconds after which a waiting stream checks whether the groups of its user changed. */
+    static final long MEMBERSHIP_CHECK_MILLIS = 1000;
+
+    /** The HTTP server. */
+    private final HttpServer server;
+
+    /** The bus the events are taken from. */
+    private final EventBus events;
+
+    /** The threads writing the streams, one per open stream. */
+    private final ExecutorService streams;
+
+    /** The number of streams currently open. */
+    private final AtomicInteger openStreams = new AtomicInteger();
+
+    /**
+     * Constructs an EventStreamServer listening on the given port.
+     *
+     * @param port   The port to listen on, or 0 to pick a free port
+     * @param events The bus the events are taken from
+     * @throws IOException If the port cannot be opened
+     */
+    public EventStreamServer(int port, EventBus events) throws IOException {
+        this.events = events;
+        this.server = HttpServer.create(new InetSocketAddress(port), 0);
+        final AtomicInteger threads = new AtomicInteger();
+        this.streams = Executors.newCachedThreadPool(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable task) {
+                Thread thread = new Thread(task, "event-stream-" + threads.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        server.setExecutor(streams);
+        server.createContext(EVENTS_PATH, new HttpHandler() {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                serve(exchange);
+            }
+        });
+    }
+
+    /**
+     * Gets the port the server is listening on.
+     *
+     * @return The local port
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Gets the number of streams currently open.
+     *
+     * @return The number of open streams
+     */
+    public int getOpenStreams() {
+        return openStreams.get();
+    }
+
+    /**
+     * Starts accepting streams in the background.
+     */
+    public void start() {
+        server.start();
+        logger.info("Event stream listening on port {}", getPort());
+    }
+
+    /**
+     * Stops accepting streams and closes the open ones.
+     */
+    public void close() {
+        server.stop(0);
+        streams.shutdownNow();
+    }
+
+    /**
+     * Serves one request: authenticates the user and streams the events of the user's groups.
+     *
+     * @param exchange The request and response
+     * @throws IOException If the response cannot be written
+     */
+    private void serve(HttpExchange exchange) throws IOException {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            User user = authenticate(exchange.getRequestHeaders().getFirst("Authorization"));
+            if (user == null) {
+                exchange.getResponseHeaders().set("WWW-Authenticate", "Basic realm=\"coordinator\"");
+                exchange.sendResponseHeaders(401, -1);
+                return;
+            }
+            exchange.getResponseHeaders().set("Content-Type", "text/event-stream; charset=utf-8");
+            exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+            exchange.sendResponseHeaders(200, 0);
+            stream(user, exchange.getResponseBody());
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Writes the events of the groups of a user to a stream until the client disconnects.
+     *
+     * @param user The user
+     * @param body The response body
+     */
+    private void stream(User user, OutputStream body) {
+        openStreams.incrementAndGet();
+        logger.info("Event stream opened for {}", user.getUsername());
+        // Subscribe before telling the client it is connected, so that no later event is missed
+        int[] subscribed = sortedGroupIds(user);
+        EventBus.Subscription subscription = events.subscribe(subscribed);
+        try (Writer out = new OutputStreamWriter(body, StandardCharsets.UTF_8)) {
+            out.write(": connected\n\n");
+            out.flush();
+            Set<Long> sent = new HashSet<>();
+            long idleSince = System.nanoTime();
+            while (!Thread.currentThread().isInterrupted()) {
+                int[] groupIds = sortedGroupIds(user);
+                long dropped = 0;
+                boolean written = false;
+                if (!Arrays.equals(groupIds, subscribed)) {
+                    // Subscribe to the new groups before leaving the old subscription, so that no event
+                    // is missed, and skip the events that were queued for both
+                    EventBus.Subscription previous = subscription;
+                    subscription = events.subscribe(groupIds);
+                    subscribed = groupIds;
+                    sent.clear();
+                    previous.close();
+                    dropped += previous.takeDropped();
+                    for (GroupEvent event = previous.poll(0, TimeUnit.MILLISECONDS); event != null;
+                            event = previous.poll(0, TimeUnit.MILLISECONDS)) {
+                        if (write(out, user, event)) {
+                            sent.add(event.getId());
+                            written = true;
+                        }
+                    }
+                }
+                GroupEvent event = subscription.poll(MEMBERSHIP_CHECK_MILLIS, TimeUnit.MILLISECONDS);
+                dropped += subscription.takeDropped();
+                if (dropped > 0) {
+                    out.write("event: overflow\ndata: " + dropped + "\n\n");
+                }
+                if (event != null && !sent.remove(event.getId()) && write(out, user, event)) {
+                    written = true;
+                }
+                if (dropped > 0 || written) {
+                    idleSince = System.nanoTime();
+                } else if (System.nanoTime() - idleSince >= TimeUnit.SECONDS.toNanos(KEEP_ALIVE_SECONDS)) {
+                    out.write(": keep-alive\n\n");
+                    idleSince = System.nanoTime();
+                } else {
+                    continue;
+                }
+                out.flush();
+            }
+        } catch (IOException e) {
+            // The client closed the connection
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            subscription.close();
+            openStreams.decrementAndGet();
+            logger.info("Event stream closed for {}", user.getUsername());
+        }
+    }
+
+    /**
+     * Gets the IDs of the groups of a user in ascending order, to compare them with the subscribed ones.
+     *
+     * @param user The user
+     * @return The sorted group IDs
+     */
+    private static int[] sortedGroupIds(User user) {
+        int[] groupIds = user.getGroupIds();
+        Arrays.sort(groupIds);
+        return groupIds;
+    }
+
+    /**
+     * Writes an event to a stream if the user is still a member of its group.
+     *
+     * @param out   The stream
+     * @param user  The user
+     * @param event The event
+     * @return true if the event was written
+     * @throws IOException If the client closed the connection
+     */
+    private static boolean write(Writer out, User user, GroupEvent event) throws IOException {
+        if (!user.isInGroup(event.getGroupId())) {
+            return false;
+        }
+        out.write("id: " + event.getId() + "\nevent: " + event.getType() + "\ndata: " + event.toJson() + "\n\n");
+        return true;
+    }
+
+    /**
+     * Finds the user of an HTTP Basic authorization header.
+     *
+     * @param authorization The value of the Authorization header, may be null
+     * @return The user, or null if the header is missing or the username or password is wrong
+     */
+    static User authenticate(String authorization) {
+        if (authorization == null || !authorization.regionMatches(true, 0, "Basic ", 0, 6)) {
+            return null;
+        }
+        String credentials;
+        try {
+            credentials = new String(Base64.getDecoder().decode(authorization.substring(6).trim()), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        int colon = credentials.indexOf(':');
+        if (colon < 0) {
+            return null;
+        }
+        User user = Account.findUserByUsername(credentials.substring(0, colon));
+        return user != null && user.getPassword().equals(credentials.substring(colon + 1)) ? user : null;
+    }
+}
@@ -14,11 +14,19 @@
  */
 package com.Demirci.coordinator;
 
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.List;
 
 /**
@@ -29,16 +37,30 @@ public class FileUtility {
     /** File path for storing and loading study groups. */
     public static final String GROUPS_FILE = "Studygroups.bin";
 
+    /**
+     * Writes the contents of a file to a stream.
+     */
+    public interface Content {
+        /**
+         * Writes the contents.
+         *
+         * @param out The stream to write to
+         * @throws IOException If writing fails
+         */
+        void writeTo(DataOutputStream out) throws IOException;
+    }
+
     /**
      * Writes the list of study groups to a binary file.
      *
      * @param groups The list of study groups to write to file
      */
-    public static void writeGroupsToFile(List<StudyGroup> groups) {
-        try (ObjectOutputStream outputStream = new ObjectOutputStream(new FileOutputStream(GROUPS_FILE))) {
-            outputStream.writeObject(groups);
+    public static synchronized void writeGroupsToFile(final List<StudyGroup> groups) {
+        try {
+            writeAtomically(new File(GROUPS_FILE), out -> BinaryCodec.writeGroups(out, groups));
             System.out.println("Study groups have been saved to " + GROUPS_FILE);
-        } catch (Exception Ignored) {
+        } catch (IOException e) {
+            System.err.println("Error: Could not save " + GROUPS_FILE + " - " + e.getMessage());
         }
     }
 
@@ -48,13 +70,99 @@ public class FileUtility {
      * @return The list of study groups read from file, or null if an error occurs
      */
     public static List<StudyGroup> readGroupsFromFile() {
-        try (ObjectInputStream inputStream = new ObjectInputStream(new FileInputStream(GROUPS_FILE))) {
-            @SuppressWarnings("unchecked")
-			List<StudyGroup> groups = (List<StudyGroup>) inputStream.readObject();
+        File file = new File(GROUPS_FILE);
+        if (BinaryCodec.isLegacyFormat(file)) {
+            List<StudyGroup> groups = readLegacyList(file);
+            if (groups != null) {
+                writeGroupsToFile(groups);
+            }
+            return groups;
+        }
+        try (DataInputStream inputStream = BinaryCodec.openForReading(file)) {
+            List<StudyGroup> groups = BinaryCodec.readGroups(inputStream);
             System.out.println("Study groups have been loaded from " + GROUPS_FILE);
             return groups;
         } catch (Exception Ignored) {
             return null;
         }
     }
+
+    /**
+     * Replaces the contents of a file without ever leaving a partly written file behind. The new
+     * contents are written to a temporary file next to it, forced to disk and renamed over the file.
+     *
+     * @param file    The file to replace
+     * @param content The new contents
+     * @throws IOException If the file cannot be written; the old contents are then left unchanged
+     */
+    public static void writeAtomically(File file, Content content) throws IOException {
+        File temp = File.createTempFile(file.getName(), ".tmp", file.getAbsoluteFile().getParentFile());
+        try {
+            writeDurably(temp, content);
+            replace(temp, file);
+        } finally {
+            if (temp.exists()) {
+                temp.delete();
+            }
+        }
+    }
+
+    /**
+     * Writes a file and forces its contents to disk before returning.
+     *
+     * @param file    The file to write
+     * @param content The contents to write
+     * @throws IOException If the file cannot be written
+     */
+    public static void writeDurably(File file, Content content) throws IOException {
+        try (FileOutputStream fileStream = new FileOutputStream(file);
+             DataOutputStream outputStream = new DataOutputStream(new BufferedOutputStream(fileStream, 64 * 1024))) {
+            content.writeTo(outputStream);
+            outputStream.flush();
+            fileStream.getFD().sync();
+        }
+    }
+
+    /**
+     * Renames a file written with {@link #writeDurably(File, Content)} over another file in one step
+     * and forces the rename to disk.
+     *
+     * @param source The file holding the new contents
+     * @param target The file to replace
+     * @throws IOException If the file cannot be renamed
+     */
+    public static void replace(File source, File target) throws IOException {
+        try {
+            Files.move(source.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+        File directory = target.getAbsoluteFile().getParentFile();
+        try (FileChannel channel = FileChannel.open(directory.toPath(), StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException Ignored) {
+            // Directories cannot be opened for syncing on every platform
+        }
+    }
+
+    /**
+     * Reads a list written with Java object serialization by an older version of the application.
+     * Callers migrate the data by writing it back in the current format.
+     *
+     * @param file The file to read
+     * @param <T>  The type of the list elements
+     * @return The list read from the file, or null if the file does not hold a list
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> List<T> readLegacyList(File file) {
+        try (ObjectInputStream inputStream = new ObjectInputStream(new FileInputStream(file))) {
+            Object obj = inputStream.readObject();
+            if (obj instanceof List) {
+                System.out.println("Migrating " + file.getName() + " to the current file format");
+                return (List<T>) obj;
+            }
+        } catch (Exception Ignored) {
+        }
+        return null;
+    }
 }
@@ -0,0 +1,90 @@
+/**
+ * The com.Divan.coordinator package contains classes and interfaces related to coordination tasks
+ * in the application developed by Rana Melih.
+ * 
+ * This package serves as a coordination module facilitating communication and orchestration
+ * among different components of the application.
+ * 
+ * Classes within this package might include implementations of coordinator patterns,
+ * such as the mediator pattern, or other coordination strategies.
+ * 
+ * @author Rana Melih
+ * @version 1.0.3
+ * @since 2024-03-28
+ */
+package com.Demirci.coordinator;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+
+/**
+ * The GroupCommit class lets concurrent callers share one run of a task that writes the current
+ * state of a file to disk.
+ *
+ * A caller that arrives while the task is running waits for it to finish and then runs it once
+ * more on behalf of everyone who arrived in the meantime. That later run writes every change those
+ * callers made, so many changes share one write and one fsync.
+ */
+public class GroupCommit {
+    /**
+     * A task writing the current state to disk.
+     */
+    public interface Task {
+        /**
+         * Runs the task.
+         *
+         * @throws IOException If writing fails
+         */
+        void run() throws IOException;
+    }
+
+    /** Number of commits requested so far. */
+    private long requested;
+
+    /** The number of requests covered by the last successful run. */
+    private long completed;
+
+    /** Whether a caller is running the task. */
+    private boolean running;
+
+    /**
+     * Returns once a run of the task that started after this call has completed, running the task
+     * on this thread if no other caller is doing so.
+     *
+     * @param task The task writing the current state to disk
+     * @throws IOException If the run made by this caller failed, or the wait was interrupted
+     */
+    public void commit(Task task) throws IOException {
+        long target;
+        synchronized (this) {
+            long ticket = ++requested;
+            while (running && completed < ticket) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while waiting for a commit");
+                }
+            }
+            if (completed >= ticket) {
+                return;
+            }
+            running = true;
+            target = requested;
+        }
+
+        boolean succeeded = false;
+        try {
+            task.run();
+            succeeded = true;
+        } finally {
+            synchronized (this) {
+                running = false;
+                if (succeeded) {
+                    completed = target;
+                }
+                notifyAll();
+            }
+        }
+    }
+}
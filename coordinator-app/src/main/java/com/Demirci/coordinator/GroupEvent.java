@@ -0,0 +1,155 @@
+/**
+ * The com.Divan.coordinator package contains classes and interfaces related to coordination tasks
+ * in the application developed by Rana Melih.
+ * 
+ * This package serves as a coordination module facilitating communication and orchestration
+ * among different components of the application.
+ * 
+ * Classes within this package might include implementations of coordinator patterns,
+ * such as the mediator pattern, or other coordination strategies.
+ * 
+ * @author Rana Melih
+ * @version 1.0.3
+ * @since 2024-03-28
+ */
+package com.Demirci.coordinator;
+
+/**
+ * The GroupEvent class is a change within a study group that is published on the {@link EventBus},
+ * such as a new comment, session or resource.
+ */
+public class GroupEvent {
+    /** Event type for a comment added to a discussion. */
+    public static final String COMMENT = "comment";
+
+    /** Event type for a session scheduled or edited. */
+    public static final String SESSION = "session";
+
+    /** Event type for a resource shared or edited. */
+    public static final String RESOURCE = "resource";
+
+    /** The number of the event, increasing in the order events are published. */
+    private final long id;
+
+    /** The type of the event, such as {@link #COMMENT}. */
+    private final String type;
+
+    /** The ID of the study group the event belongs to. */
+    private final int groupId;
+
+    /** What the event is about, such as the topic of the discussion. */
+    private final String subject;
+
+    /** The text of the event, such as the comment. */
+    private final String text;
+
+    /**
+     * Constructs a GroupEvent.
+     *
+     * @param id      The number of the event
+     * @param type    The type of the event
+     * @param groupId The ID of the study group
+     * @param subject What the event is about
+     * @param text    The text of the event
+     */
+    public GroupEvent(long id, String type, int groupId, String subject, String text) {
+        this.id = id;
+        this.type = type;
+        this.groupId = groupId;
+        this.subject = subject;
+        this.text = text;
+    }
+
+    /**
+     * Gets the number of the event.
+     *
+     * @return The number, increasing in the order events are published
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Gets the type of the event.
+     *
+     * @return The type, such as {@link #COMMENT}
+     */
+    public String getType() {
+        return type;
+    }
+
+    /**
+     * Gets the ID of the study group the event belongs to.
+     *
+     * @return The group ID
+     */
+    public int getGroupId() {
+        return groupId;
+    }
+
+    /**
+     * Gets what the event is about.
+     *
+     * @return The subject, such as the topic of a discussion or the title of a session
+     */
+    public String getSubject() {
+        return subject;
+    }
+
+    /**
+     * Gets the text of the event.
+     *
+     * @return The text
+     */
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * Writes the event as a JSON object.
+     *
+     * @return The JSON text, on a single line
+     */
+    public String toJson() {
+        StudyGroup group = GroupRegistry.get(groupId);
+        StringBuilder json = new StringBuilder();
+        json.append("{\"id\":").append(id).append(",\"type\":");
+        appendString(json, type);
+        json.append(",\"group\":");
+        appendString(json, group != null ? group.getName() : null);
+        json.append(",\"subject\":");
+        appendString(json, subject);
+        json.append(",\"text\":");
+        appendString(json, text);
+        return json.append('}').toString();
+    }
+
+    /**
+     * Appends a string as a JSON string literal.
+     *
+     * @param json  The JSON text
+     * @param value The string, may be null
+     */
+    private static void appendString(StringBuilder json, String value) {
+        if (value == null) {
+            json.append("null");
+            return;
+        }
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                json.append('\\').append(c);
+            } else if (c == '\n') {
+                json.append("\\n");
+            } else if (c == '\r') {
+                json.append("\\r");
+            } else if (c < 0x20) {
+                json.append(String.format("\\u%04x", (int) c));
+            } else {
+                json.append(c);
+            }
+        }
+        json.append('"');
+    }
+}
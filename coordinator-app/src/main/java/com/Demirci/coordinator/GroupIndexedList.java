@@ -0,0 +1,183 @@
+/**
+ * The com.Divan.coordinator package contains classes and interfaces related to coordination tasks
+ * in the application developed by Rana Melih.
+ * 
+ * This package serves as a coordination module facilitating communication and orchestration
+ * among different components of the application.
+ * 
+ * Classes within this package might include implementations of coordinator patterns,
+ * such as the mediator pattern, or other coordination strategies.
+ * 
+ * @author Rana Melih
+ * @version 1.0.3
+ * @since 2024-03-28
+ */
+package com.Demirci.coordinator;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The GroupIndexedList class is a list of group-owned entities that keeps an index from group ID
+ * to the entities of that group.
+ *
+ * Every change to the list goes through {@link #add(int, GroupOwned)}, {@link #set(int, GroupOwned)}
+ * or {@link #remove(int)}, so the index stays in sync no matter how the list is modified.
+ * The entities of a group are kept in the same relative order as in the list.
+ *
+ * @param <T> The type of the entities
+ */
+public class GroupIndexedList<T extends GroupOwned> extends AbstractList<T> {
+    /** The entities in insertion order. */
+    private final List<T> entities;
+
+    /** Index of entities by the ID of their group. */
+    private final IntHashMap<List<T>> byGroup;
+
+    /**
+     * Constructs an empty GroupIndexedList.
+     */
+    public GroupIndexedList() {
+        this.entities = new ArrayList<>();
+        this.byGroup = new IntHashMap<>();
+    }
+
+    /**
+     * Retrieves the entities belonging to a study group.
+     *
+     * @param groupId The ID of the group
+     * @return An unmodifiable view of the group's entities, in list order
+     */
+    public List<T> forGroup(int groupId) {
+        List<T> group = byGroup.get(groupId);
+        return group == null ? Collections.<T>emptyList() : Collections.unmodifiableList(group);
+    }
+
+    @Override
+    public T get(int index) {
+        return entities.get(index);
+    }
+
+    @Override
+    public int size() {
+        return entities.size();
+    }
+
+    @Override
+    public void add(int index, T entity) {
+        entities.add(index, entity);
+        if (index == entities.size() - 1) {
+            index(entity);
+        } else {
+            reindex();
+        }
+        modCount++;
+        entityAdded(entity);
+    }
+
+    @Override
+    public T set(int index, T entity) {
+        T previous = entities.set(index, entity);
+        List<T> group = byGroup.get(previous.getGroupId());
+        int position = uniquePosition(group, previous);
+        if (position >= 0 && previous.getGroupId() == entity.getGroupId()) {
+            group.set(position, entity);
+        } else {
+            reindex();
+        }
+        entityRemoved(previous);
+        entityAdded(entity);
+        return previous;
+    }
+
+    @Override
+    public T remove(int index) {
+        T removed = entities.remove(index);
+        List<T> group = byGroup.get(removed.getGroupId());
+        int position = uniquePosition(group, removed);
+        if (position >= 0) {
+            group.remove(position);
+            if (group.isEmpty()) {
+                byGroup.remove(removed.getGroupId());
+            }
+        } else {
+            reindex();
+        }
+        modCount++;
+        entityRemoved(removed);
+        return removed;
+    }
+
+    @Override
+    public void clear() {
+        List<T> removed = new ArrayList<>(entities);
+        entities.clear();
+        byGroup.clear();
+        modCount++;
+        for (T entity : removed) {
+            entityRemoved(entity);
+        }
+    }
+
+    /**
+     * Called after an entity was added to the list. Subclasses override it to maintain further indexes.
+     *
+     * @param entity The added entity
+     */
+    protected void entityAdded(T entity) {
+    }
+
+    /**
+     * Called after an entity was removed from the list. Subclasses override it to maintain further indexes.
+     *
+     * @param entity The removed entity
+     */
+    protected void entityRemoved(T entity) {
+    }
+
+    /**
+     * Appends an entity to the list of its group.
+     *
+     * @param entity The entity to index
+     */
+    private void index(T entity) {
+        List<T> group = byGroup.get(entity.getGroupId());
+        if (group == null) {
+            group = new ArrayList<>();
+            byGroup.put(entity.getGroupId(), group);
+        }
+        group.add(entity);
+    }
+
+    /**
+     * Rebuilds the index from the list.
+     */
+    private void reindex() {
+        byGroup.clear();
+        for (T entity : entities) {
+            index(entity);
+        }
+    }
+
+    /**
+     * Finds the position of an entity in a group list by identity.
+     *
+     * @param group  The group list to search
+     * @param entity The entity to find
+     * @return The position of the entity, or -1 if it is not in the group list exactly once
+     */
+    private static <T> int uniquePosition(List<T> group, T entity) {
+        int position = -1;
+        for (int i = 0; i < group.size(); i++) {
+            if (group.get(i) == entity) {
+                if (position >= 0) {
+                    return -1;
+                }
+                position = i;
+            }
+        }
+        return position;
+    }
+}
@@ -0,0 +1,262 @@
+/**
+ * The com.Divan.coordinator package contains classes and interfaces related to coordination tasks
+ * in the application developed by Rana Melih.
+ * 
+ * This package serves as a coordination module facilitating communication and orchestration
+ * among different components of the application.
+ * 
+ * Classes within this package might include implementations of coordinator patterns,
+ * such as the mediator pattern, or other coordination strategies.
+ * 
+ * @author Rana Melih
+ * @version 1.0.3
+ * @since 2024-03-28
+ */
+package com.Demirci.coordinator;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The GroupMembership class changes the members of study groups in batches.
+ *
+ * Each operation updates both sides of the membership, the member bitmaps of the groups and the
+ * group lists of the affected users, and then writes the users file and the study groups file once, however many members were changed.
+ */
+public class GroupMembership {
+    /** File path of the users file. */
+    private static final String USERS_FILE = "users.bin";
+
+    /** Whether the study groups saved by earlier runs have been registered in this run. */
+    private static boolean savedGroupsLoaded;
+
+    /**
+     * The GroupMembership.Assignment class holds the users to add to one study group, as used by
+     * {@link GroupMembership#importAssignments(List)}.
+     */
+    public static class Assignment {
+        /** The ID of the study group. */
+        private final int groupId;
+
+        /** The IDs of the users to add to the group. */
+        private final int[] userIds;
+
+        /**
+         * Constructs an Assignment.
+         *
+         * @param groupId The ID of the study group
+         * @param userIds The IDs of the users to add to the group
+         */
+        public Assignment(int groupId, int[] userIds) {
+            this.groupId = groupId;
+            this.userIds = userIds;
+        }
+
+        /**
+         * Gets the ID of the study group.
+         *
+         * @return The group ID
+         */
+        public int getGroupId() {
+            return groupId;
+        }
+
+        /**
+         * Gets the IDs of the users to add to the group.
+         *
+         * @return The user IDs
+         */
+        public int[] getUserIds() {
+            return userIds;
+        }
+    }
+
+    /**
+     * Adds users to a study group and saves the changes once.
+     *
+     * @param group The study group
+     * @param users The users to add
+     * @return The number of users that were not members before
+     */
+    public static int addMembers(StudyGroup group, Collection<User> users) {
+        synchronized (StudyGroup.class) {
+            loadSavedGroups();
+            StudyGroup canonical = GroupRegistry.intern(group);
+            int added = 0;
+            for (User user : users) {
+                added += join(canonical, user);
+            }
+            save(added > 0);
+            return added;
+        }
+    }
+
+    /**
+     * Adds users to a study group by ID and saves the changes once. Unknown user IDs are skipped.
+     *
+     * @param group   The study group
+     * @param userIds The IDs of the users to add
+     * @return The number of users that were not members before
+     */
+    public static int addMembers(StudyGroup group, int[] userIds) {
+        return addMembers(group, findUsers(userIds));
+    }
+
+    /**
+     * Removes users from a study group and saves the changes once. Users whose current group is the
+     * study group continue with their next group.
+     *
+     * @param group   The study group
+     * @param userIds The IDs of the users to remove
+     * @return The number of users that were members
+     */
+    public static int removeMembers(StudyGroup group, int[] userIds) {
+        synchronized (StudyGroup.class) {
+            loadSavedGroups();
+            StudyGroup canonical = GroupRegistry.intern(group);
+            int removed = 0;
+            for (int userId : userIds) {
+                if (canonical.removeMemberId(userId)) {
+                    removed++;
+                }
+                User user = Account.findUserById(userId);
+                if (user != null) {
+                    user.leaveGroup(canonical.getId());
+                }
+            }
+            save(removed > 0);
+            return removed;
+        }
+    }
+
+    /**
+     * Adds users to many study groups at once, such as at the start of a term, and saves the
+     * changes once. Assignments naming an unknown group and unknown user IDs are skipped.
+     *
+     * @param assignments The groups and the users to add to each of them
+     * @return The number of users added to a group they were not a member of
+     */
+    public static int importAssignments(List<Assignment> assignments) {
+        synchronized (StudyGroup.class) {
+            loadSavedGroups();
+            int added = 0;
+            for (Assignment assignment : assignments) {
+                StudyGroup group = GroupRegistry.get(assignment.getGroupId());
+                if (group == null) {
+                    System.err.println("Error: Study group not found - " + assignment.getGroupId());
+                    continue;
+                }
+                for (User user : findUsers(assignment.getUserIds())) {
+                    added += join(group, user);
+                }
+            }
+            save(added > 0);
+            return added;
+        }
+    }
+
+    /**
+     * Finds the study groups a user is a member of. The groups of a registered user are read from the
+     * user; only the groups of an unknown user ID are looked up in the member bitmaps of all groups.
+     *
+     * @param userId The ID of the user
+     * @return The groups containing the user
+     */
+    public static List<StudyGroup> groupsOf(int userId) {
+        User user = Account.findUserById(userId);
+        if (user != null) {
+            return user.getGroups();
+        }
+        List<StudyGroup> groups = new ArrayList<>();
+        for (StudyGroup group : GroupRegistry.getGroups()) {
+            if (group.hasMember(userId)) {
+                groups.add(group);
+            }
+        }
+        return groups;
+    }
+
+    /**
+     * Finds the users that are members of both of two study groups.
+     *
+     * @param a The first study group
+     * @param b The second study group
+     * @return The IDs of the common members in ascending order
+     */
+    public static int[] commonMembers(StudyGroup a, StudyGroup b) {
+        return MemberBitmap.and(a.copyMemberIds(), b.copyMemberIds()).toArray();
+    }
+
+    /**
+     * Finds the users that are members of at least one of several study groups.
+     *
+     * @param groups The study groups
+     * @return The IDs of the members in ascending order, each listed once
+     */
+    public static int[] membersOfAny(Collection<StudyGroup> groups) {
+        MemberBitmap members = new MemberBitmap();
+        for (StudyGroup group : groups) {
+            members = MemberBitmap.or(members, group.copyMemberIds());
+        }
+        return members.toArray();
+    }
+
+    /**
+     * Makes a user a member of a study group without saving.
+     *
+     * @param group The study group
+     * @param user  The user
+     * @return 1 if the user was not a member before, 0 otherwise
+     */
+    private static int join(StudyGroup group, User user) {
+        boolean member = group.hasMember(user.getId());
+        group.addMember(user);
+        user.joinGroup(group);
+        return member ? 0 : 1;
+    }
+
+    /**
+     * Registers the study groups of the groups file once per run, before the first change, so that
+     * saving writes the groups saved by earlier runs too, and their saved members cannot undo a change.
+     */
+    static void loadSavedGroups() {
+        synchronized (StudyGroup.class) {
+            if (!savedGroupsLoaded) {
+                savedGroupsLoaded = true;
+                FileUtility.readGroupsFromFile();
+            }
+        }
+    }
+
+    /**
+     * Writes the users file if members changed, and the study groups file with all registered groups.
+     *
+     * @param changed Whether any member was added or removed
+     */
+    private static void save(boolean changed) {
+        if (changed) {
+            Account.saveUsersToFile(USERS_FILE);
+        }
+        FileUtility.writeGroupsToFile(GroupRegistry.getGroups());
+    }
+
+    /**
+     * Looks up users by ID, skipping unknown IDs.
+     *
+     * @param userIds The IDs of the users
+     * @return The users found, in the order of the IDs
+     */
+    private static List<User> findUsers(int[] userIds) {
+        List<User> users = new ArrayList<>(userIds.length);
+        for (int userId : userIds) {
+            User user = Account.findUserById(userId);
+            if (user != null) {
+                users.add(user);
+            } else {
+                System.err.println("Error: User not found - " + userId);
+            }
+        }
+        return users;
+    }
+}
@@ -0,0 +1,27 @@
+/**
+ * The com.Divan.coordinator package contains classes and interfaces related to coordination tasks
+ * in the application developed by Rana Melih.
+ * 
+ * This package serves as a coordination module facilitating communication and orchestration
+ * among different components of the application.
+ * 
+ * Classes within this package might include implementations of coordinator patterns,
+ * such as the mediator pattern, or other coordination strategies.
+ * 
+ * @author Rana Melih
+ * @version 1.0.3
+ * @since 2024-03-28
+ */
+package com.Demirci.coordinator;
+
+/**
+ * The GroupOwned interface is implemented by entities that belong to a study group.
+ */
+public interface GroupOwned {
+    /**
+     * Retrieves the ID of the study group the entity belongs to.
+     *
+     * @return The group ID, or {@link GroupRegistry#NO_GROUP} if the entity has no group
+     */
+    int getGroupId();
+}
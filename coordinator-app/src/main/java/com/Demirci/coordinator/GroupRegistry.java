@@ -0,0 +1,171 @@
+/**
+ * The com.Divan.coordinator package contains classes and interfaces related to coordination tasks
+ * in the application developed by Rana Melih.
+ * 
+ * This package serves as a coordination module facilitating communication and orchestration
+ * among different components of the application.
+ * 
+ * Classes within this package might include implementations of coordinator patterns,
+ * such as the mediator pattern, or other coordination strategies.
+ * 
+ * @author Rana Melih
+ * @version 1.0.3
+ * @since 2024-03-28
+ */
+package com.Demirci.coordinator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The GroupRegistry class holds the single shared instance of every study group.
+ *
+ * Groups are identified by name, as they always have been in the menus. The first group registered
+ * under a name becomes the canonical instance and receives a small, dense integer ID. Sessions,
+ * resources, discussions and users store only that ID and resolve it here, so every part of the
+ * application sees the same group object and group checks are plain int comparisons.
+ */
+public class GroupRegistry {
+    /** ID used by entities that do not belong to any group. */
+    public static final int NO_GROUP = -1;
+
+    /** The canonical groups, indexed by their ID. */
+    private static final List<StudyGroup> groups = new ArrayList<>();
+
+    /**
+     * The canonical groups by ID for {@link #get(int)}, published again after every registration so
+     * that lookups read it without taking the lock. Entries past the last group are null.
+     */
+    private static volatile StudyGroup[] table = new StudyGroup[16];
+
+    /** The canonical groups, indexed by their name. */
+    private static final Map<String, StudyGroup> byName = new HashMap<>();
+
+    /**
+     * Returns the canonical instance for a group, registering the group if its name is new.
+     * The ID of the canonical instance is also assigned to the given group.
+     *
+     * @param group The group to intern, may be null
+     * @return The canonical group, or null if the given group is null
+     */
+    public static synchronized StudyGroup intern(StudyGroup group) {
+        if (group == null) {
+            return null;
+        }
+        if (group.getId() != NO_GROUP && group.getId() < groups.size()) {
+            StudyGroup registered = groups.get(group.getId());
+            if (registered == group || registered.getName().equals(group.getName())) {
+                return registered;
+            }
+        }
+        StudyGroup canonical = byName.get(group.getName());
+        if (canonical == null) {
+            canonical = group;
+            byName.put(group.getName(), group);
+            groups.add(group);
+            group.setId(groups.size() - 1);
+            publish(group);
+        }
+        group.setId(canonical.getId());
+        return canonical;
+    }
+
+    /**
+     * Registers a group and returns the ID of its canonical instance.
+     *
+     * @param group The group to register, may be null
+     * @return The ID of the group, or {@link #NO_GROUP} if the given group is null
+     */
+    public static synchronized int register(StudyGroup group) {
+        StudyGroup canonical = intern(group);
+        return canonical == null ? NO_GROUP : canonical.getId();
+    }
+
+    /**
+     * Returns the canonical group with the given name and description, creating it if necessary.
+     *
+     * @param name        The name of the group
+     * @param description The description used if the group has to be created
+     * @return The canonical group
+     */
+    public static synchronized StudyGroup intern(String name, String description) {
+        StudyGroup canonical = byName.get(name);
+        return canonical != null ? canonical : intern(new StudyGroup(name, description));
+    }
+
+    /**
+     * Gets the canonical group with the given ID.
+     *
+     * @param id The group ID
+     * @return The group, or null if no group has this ID
+     */
+    public static StudyGroup get(int id) {
+        StudyGroup[] current = table;
+        return id >= 0 && id < current.length ? current[id] : null;
+    }
+
+    /**
+     * Makes a newly registered group visible to {@link #get(int)}.
+     *
+     * @param group The group, whose ID has been assigned
+     */
+    private static void publish(StudyGroup group) {
+        StudyGroup[] current = table;
+        if (group.getId() >= current.length) {
+            current = Arrays.copyOf(current, Math.max(group.getId() + 1, current.length * 2));
+        }
+        current[group.getId()] = group;
+        // The volatile write publishes the new entry
+        table = current;
+    }
+
+    /**
+     * Gets the ID of a group without registering it.
+     *
+     * @param group The group, may be null
+     * @return The ID of the group, or {@link #NO_GROUP} if it is null or unknown
+     */
+    public static synchronized int idOf(StudyGroup group) {
+        if (group == null) {
+            return NO_GROUP;
+        }
+        if (group.getId() != NO_GROUP) {
+            return group.getId();
+        }
+        StudyGroup canonical = byName.get(group.getName());
+        return canonical == null ? NO_GROUP : canonical.getId();
+    }
+
+    /**
+     * Reads a page of the registered groups in ID order. As IDs are dense, the page is found without
+     * going through the groups before it.
+     *
+     * @param cursor The ID of the first group of the page, {@link Page#FIRST} for the first page
+     * @param limit  The maximum number of groups
+     * @return The page
+     */
+    public static synchronized Page<StudyGroup> getGroups(int cursor, int limit) {
+        return Page.of(groups, cursor, limit);
+    }
+
+    /**
+     * Gets all registered groups in ID order.
+     *
+     * @return A new list of the canonical groups
+     */
+    public static synchronized List<StudyGroup> getGroups() {
+        return new ArrayList<>(groups);
+    }
+
+    /**
+     * Forgets all registered groups, as if the application had just started.
+     */
+    static synchronized void clear() {
+        groups.clear();
+        byName.clear();
+        table = new StudyGroup[16];
+    }
+}
@@ -0,0 +1,179 @@
+/**
+ * The com.Divan.coordinator package contains classes and interfaces related to coordination tasks
+ * in the application developed by Rana Melih.
+ * 
+ * This package serves as a coordination module facilitating communication and orchestration
+ * among different components of the application.
+ * 
+ * Classes within this package might include implementations of coordinator patterns,
+ * such as the mediator pattern, or other coordination strategies.
+ * 
+ * @author Rana Melih
+ * @version 1.0.3
+ * @since 2024-03-28
+ */
+package com.Demirci.coordinator;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The IndexedUserList class is a list of users that keeps hash indexes by user ID and by username.
+ *
+ * Every change to the list goes through {@link #add(int, User)}, {@link #set(int, User)} or
+ * {@link #remove(int)}, so the indexes stay in sync no matter how the list is modified.
+ * When several users share an ID or username, the index points to the first one in the list,
+ * matching a linear search from the front.
+ */
+public class IndexedUserList extends AbstractList<User> {
+    /** The users in insertion order. */
+    private final List<User> users;
+
+    /** Index of users by their ID. */
+    private final IntHashMap<User> byId;
+
+    /** Index of users by their username. */
+    private final Map<String, User> byUsername;
+
+    /**
+     * Constructs an empty IndexedUserList.
+     */
+    public IndexedUserList() {
+        this.users = new ArrayList<>();
+        this.byId = new IntHashMap<>();
+        this.byUsername = new HashMap<>();
+    }
+
+    /**
+     * Constructs an IndexedUserList containing the given users and builds its indexes.
+     *
+     * @param initial The users to add to the list
+     */
+    public IndexedUserList(Collection<User> initial) {
+        this.users = new ArrayList<>(initial.size());
+        this.byId = new IntHashMap<>(initial.size());
+        this.byUsername = new HashMap<>(initial.size() * 4 / 3 + 1);
+        for (User user : initial) {
+            users.add(user);
+            index(user);
+        }
+    }
+
+    /**
+     * Finds a user by ID.
+     *
+     * @param id The ID to look up
+     * @return The user with the given ID, or null if there is none
+     */
+    public User findById(int id) {
+        return byId.get(id);
+    }
+
+    /**
+     * Finds a user by username.
+     *
+     * @param username The username to look up
+     * @return The user with the given username, or null if there is none
+     */
+    public User findByUsername(String username) {
+        return byUsername.get(username);
+    }
+
+    @Override
+    public User get(int index) {
+        return users.get(index);
+    }
+
+    @Override
+    public int size() {
+        return users.size();
+    }
+
+    @Override
+    public void add(int index, User user) {
+        users.add(index, user);
+        if (index == users.size() - 1) {
+            index(user);
+        } else {
+            reindex();
+        }
+        modCount++;
+    }
+
+    @Override
+    public User set(int index, User user) {
+        User previous = users.set(index, user);
+        unindex(previous);
+        index(user);
+        return previous;
+    }
+
+    @Override
+    public User remove(int index) {
+        User removed = users.remove(index);
+        unindex(removed);
+        modCount++;
+        return removed;
+    }
+
+    @Override
+    public void clear() {
+        users.clear();
+        byId.clear();
+        byUsername.clear();
+        modCount++;
+    }
+
+    /**
+     * Adds a user to the indexes unless an earlier user already occupies the keys.
+     *
+     * @param user The user to index
+     */
+    private void index(User user) {
+        byId.putIfAbsent(user.getId(), user);
+        if (user.getUsername() != null) {
+            byUsername.putIfAbsent(user.getUsername(), user);
+        }
+    }
+
+    /**
+     * Removes a user from the indexes and lets a remaining user with the same keys take its place.
+     *
+     * @param user The user that left the list
+     */
+    private void unindex(User user) {
+        boolean idIndexed = byId.get(user.getId()) == user;
+        boolean usernameIndexed = user.getUsername() != null && byUsername.get(user.getUsername()) == user;
+        if (idIndexed) {
+            byId.remove(user.getId());
+        }
+        if (usernameIndexed) {
+            byUsername.remove(user.getUsername());
+        }
+        if (idIndexed || usernameIndexed) {
+            for (User other : users) {
+                if (idIndexed && other.getId() == user.getId()) {
+                    byId.putIfAbsent(other.getId(), other);
+                }
+                if (usernameIndexed && user.getUsername().equals(other.getUsername())) {
+                    byUsername.putIfAbsent(other.getUsername(), other);
+                }
+            }
+        }
+    }
+
+    /**
+     * Rebuilds both indexes from the list.
+     */
+    private void reindex() {
+        byId.clear();
+        byUsername.clear();
+        for (User user : users) {
+            index(user);
+        }
+    }
+}
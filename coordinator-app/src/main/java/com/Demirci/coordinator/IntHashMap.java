@@ -0,0 +1,231 @@
+/**
+ * The com.Divan.coordinator package contains classes and interfaces related to coordination tasks
+ * in the application developed by Rana Melih.
+ * 
+ * This package serves as a coordination module facilitating communication and orchestration
+ * among different components of the application.
+ * 
+ * Classes within this package might include implementations of coordinator patterns,
+ * such as the mediator pattern, or other coordination strategies.
+ * 
+ * @author Rana Melih
+ * @version 1.0.3
+ * @since 2024-03-28
+ */
+package com.Demirci.coordinator;
+
+import java.util.Arrays;
+
+/**
+ * The IntHashMap class is a hash map with primitive int keys.
+ *
+ * Keys are stored in an int array and probed linearly, so lookups never box the key
+ * into an Integer. Null values are not supported, a null value marks an empty slot.
+ *
+ * @param <V> The type of the mapped values
+ */
+public class IntHashMap<V> {
+    /** Initial number of slots, always a power of two. */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /** The keys of the occupied slots. */
+    private int[] keys;
+
+    /** The values of the slots, null for empty slots. */
+    private Object[] values;
+
+    /** The number of mappings in the map. */
+    private int size;
+
+    /**
+     * Constructs an empty IntHashMap.
+     */
+    public IntHashMap() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty IntHashMap sized for the expected number of mappings.
+     *
+     * @param expectedSize The number of mappings the map should hold without resizing
+     */
+    public IntHashMap(int expectedSize) {
+        int capacity = INITIAL_CAPACITY;
+        while (capacity * 3 / 4 < expectedSize) {
+            capacity <<= 1;
+        }
+        this.keys = new int[capacity];
+        this.values = new Object[capacity];
+    }
+
+    /**
+     * Gets the number of mappings in the map.
+     *
+     * @return The number of mappings
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the value mapped to a key.
+     *
+     * @param key The key to look up
+     * @return The mapped value, or null if the key is not present
+     */
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+        int mask = keys.length - 1;
+        for (int slot = mix(key) & mask; values[slot] != null; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return (V) values[slot];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Checks whether a key is present in the map.
+     *
+     * @param key The key to check
+     * @return true if the key is present, false otherwise
+     */
+    public boolean containsKey(int key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Maps a key to a value, replacing any previous value.
+     *
+     * @param key   The key
+     * @param value The value, must not be null
+     * @return The previous value, or null if the key was not present
+     */
+    @SuppressWarnings("unchecked")
+    public V put(int key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Null values are not supported");
+        }
+        int mask = keys.length - 1;
+        int slot = mix(key) & mask;
+        while (values[slot] != null) {
+            if (keys[slot] == key) {
+                V previous = (V) values[slot];
+                values[slot] = value;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size > keys.length * 3 / 4) {
+            resize(keys.length << 1);
+        }
+        return null;
+    }
+
+    /**
+     * Maps a key to a value only if the key is not present yet.
+     *
+     * @param key   The key
+     * @param value The value, must not be null
+     * @return The existing value, or null if the value was added
+     */
+    public V putIfAbsent(int key, V value) {
+        V existing = get(key);
+        if (existing != null) {
+            return existing;
+        }
+        put(key, value);
+        return null;
+    }
+
+    /**
+     * Removes the mapping for a key.
+     *
+     * @param key The key to remove
+     * @return The removed value, or null if the key was not present
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(int key) {
+        int mask = keys.length - 1;
+        int slot = mix(key) & mask;
+        while (values[slot] != null && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        if (values[slot] == null) {
+            return null;
+        }
+        V removed = (V) values[slot];
+        values[slot] = null;
+        size--;
+
+        // Shift following entries of the probe sequence back into the freed slot
+        int next = (slot + 1) & mask;
+        while (values[next] != null) {
+            int home = mix(keys[next]) & mask;
+            if (((next - home) & mask) >= ((next - slot) & mask)) {
+                keys[slot] = keys[next];
+                values[slot] = values[next];
+                values[next] = null;
+                slot = next;
+            }
+            next = (next + 1) & mask;
+        }
+        return removed;
+    }
+
+    /**
+     * Removes all mappings from the map.
+     */
+    public void clear() {
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    /**
+     * Gets the keys of all mappings in slot order.
+     *
+     * @return A new array containing every key in the map
+     */
+    public int[] keys() {
+        int[] result = new int[size];
+        int count = 0;
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (values[slot] != null) {
+                result[count++] = keys[slot];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Rehashes all mappings into a table with the given number of slots.
+     *
+     * @param capacity The new number of slots, a power of two
+     */
+    @SuppressWarnings("unchecked")
+    private void resize(int capacity) {
+        int[] oldKeys = keys;
+        Object[] oldValues = values;
+        keys = new int[capacity];
+        values = new Object[capacity];
+        size = 0;
+        for (int slot = 0; slot < oldKeys.length; slot++) {
+            if (oldValues[slot] != null) {
+                put(oldKeys[slot], (V) oldValues[slot]);
+            }
+        }
+    }
+
+    /**
+     * Spreads the bits of a key so that sequential ids do not cluster in the table.
+     *
+     * @param key The key to hash
+     * @return The mixed hash of the key
+     */
+    private static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,201 @@
+/**
+ * The com.Divan.coordinator package contains classes and interfaces related to coordination tasks
+ * in the application developed by Rana Melih.
+ * 
+ * This package serves as a coordination module facilitating communication and orchestration
+ * among different components of the application.
+ * 
+ * Classes within this package might include implementations of coordinator patterns,
+ * such as the mediator pattern, or other coordination strategies.
+ * 
+ * @author Rana Melih
+ * @version 1.0.3
+ * @since 2024-03-28
+ */
+package com.Demirci.coordinator;
+
+/**
+ * The LongIntHashMap class is a hash map from primitive long keys to primitive int values.
+ *
+ * Keys and values are stored in two parallel arrays and probed linearly, so neither is ever boxed.
+ * A value of 0 marks an empty slot: {@link #get(long)} returns 0 for keys that are not present, and
+ * mapping a key to 0 removes it. This suits counters and watermarks, which start at 0.
+ */
+public class LongIntHashMap {
+    /** Initial number of slots, always a power of two. */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /** The keys of the occupied slots. */
+    private long[] keys;
+
+    /** The values of the slots, 0 for empty slots. */
+    private int[] values;
+
+    /** The number of mappings in the map. */
+    private int size;
+
+    /**
+     * Constructs an empty LongIntHashMap.
+     */
+    public LongIntHashMap() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty LongIntHashMap sized for the expected number of mappings.
+     *
+     * @param expectedSize The number of mappings the map should hold without resizing
+     */
+    public LongIntHashMap(int expectedSize) {
+        int capacity = INITIAL_CAPACITY;
+        while (capacity * 3 / 4 < expectedSize) {
+            capacity <<= 1;
+        }
+        this.keys = new long[capacity];
+        this.values = new int[capacity];
+    }
+
+    /**
+     * Combines two ints into one key, such as a user ID and a discussion ID.
+     *
+     * @param high The int stored in the upper half of the key
+     * @param low  The int stored in the lower half of the key
+     * @return The key
+     */
+    public static long key(int high, int low) {
+        return ((long) high << 32) | (low & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Gets the number of mappings in the map.
+     *
+     * @return The number of mappings
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the value mapped to a key.
+     *
+     * @param key The key to look up
+     * @return The mapped value, or 0 if the key is not present
+     */
+    public int get(long key) {
+        int mask = keys.length - 1;
+        for (int slot = mix(key) & mask; values[slot] != 0; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return values[slot];
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Maps a key to a value, replacing any previous value.
+     *
+     * @param key   The key
+     * @param value The value, 0 to remove the key
+     * @return The previous value, or 0 if the key was not present
+     */
+    public int put(long key, int value) {
+        if (value == 0) {
+            return remove(key);
+        }
+        int mask = keys.length - 1;
+        int slot = mix(key) & mask;
+        while (values[slot] != 0) {
+            if (keys[slot] == key) {
+                int previous = values[slot];
+                values[slot] = value;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size > keys.length * 3 / 4) {
+            resize(keys.length << 1);
+        }
+        return 0;
+    }
+
+    /**
+     * Removes the mapping for a key.
+     *
+     * @param key The key to remove
+     * @return The removed value, or 0 if the key was not present
+     */
+    public int remove(long key) {
+        int mask = keys.length - 1;
+        int slot = mix(key) & mask;
+        while (values[slot] != 0 && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        if (values[slot] == 0) {
+            return 0;
+        }
+        int removed = values[slot];
+        values[slot] = 0;
+        size--;
+
+        // Shift following entries of the probe sequence back into the freed slot
+        int next = (slot + 1) & mask;
+        while (values[next] != 0) {
+            int home = mix(keys[next]) & mask;
+            if (((next - home) & mask) >= ((next - slot) & mask)) {
+                keys[slot] = keys[next];
+                values[slot] = values[next];
+                values[next] = 0;
+                slot = next;
+            }
+            next = (next + 1) & mask;
+        }
+        return removed;
+    }
+
+    /**
+     * Gets the keys of all mappings in slot order.
+     *
+     * @return A new array containing every key in the map
+     */
+    public long[] keys() {
+        long[] result = new long[size];
+        int count = 0;
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (values[slot] != 0) {
+                result[count++] = keys[slot];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Rehashes all mappings into a table with the given number of slots.
+     *
+     * @param capacity The new number of slots, a power of two
+     */
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new long[capacity];
+        values = new int[capacity];
+        size = 0;
+        for (int slot = 0; slot < oldKeys.length; slot++) {
+            if (oldValues[slot] != 0) {
+                put(oldKeys[slot], oldValues[slot]);
+            }
+        }
+    }
+
+    /**
+     * Spreads the bits of a key so that keys differing only in one half do not cluster in the table.
+     *
+     * @param key The key to hash
+     * @return The mixed hash of the key
+     */
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,278 @@
+/**
+ * The com.Divan.coordinator package contains classes and interfaces related to coordination tasks
+ * in the application developed by Rana Melih.
+ * 
+ * This package serves as a coordination module facilitating communication and orchestration
+ * among different components of the application.
+ * 
+ * Classes within this package might include implementations of coordinator patterns,
+ * such as the mediator pattern, or other coordination strategies.
+ * 
+ * @author Rana Melih
+ * @version 1.0.3
+ * @since 2024-03-28
+ */
+package com.Demirci.coordinator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The LongIntervalTree class stores values for half-open intervals of primitive long keys and finds
+ * the intervals overlapping a range.
+ *
+ * The intervals are kept in a treap ordered by their start, in which every node also knows the
+ * largest end in its subtree. A query only descends into subtrees that can hold an overlapping
+ * interval, so it takes logarithmic time on average plus the time to report the overlaps.
+ *
+ * @param <V> The type of the values
+ */
+public class LongIntervalTree<V> {
+    /** Source of the random node priorities. */
+    private final Random random = new Random();
+
+    /** The root node, or null if the tree is empty. */
+    private Node<V> root;
+
+    /** The number of intervals. */
+    private int size;
+
+    /**
+     * A node of the treap.
+     *
+     * @param <V> The type of the value
+     */
+    private static final class Node<V> {
+        /** The start of the interval, inclusive. */
+        final long start;
+
+        /** The end of the interval, exclusive. */
+        final long end;
+
+        /** The value. */
+        final V value;
+
+        /** The heap priority of the node. */
+        final int priority;
+
+        /** The largest end of the intervals in the subtree of the node. */
+        long maxEnd;
+
+        /** The subtree of intervals starting earlier. */
+        Node<V> left;
+
+        /** The subtree of intervals starting at the same time or later. */
+        Node<V> right;
+
+        /**
+         * Constructs a Node.
+         *
+         * @param start    The start of the interval
+         * @param end      The end of the interval
+         * @param value    The value
+         * @param priority The heap priority
+         */
+        Node(long start, long end, V value, int priority) {
+            this.start = start;
+            this.end = end;
+            this.value = value;
+            this.priority = priority;
+            this.maxEnd = end;
+        }
+    }
+
+    /**
+     * Gets the number of intervals.
+     *
+     * @return The number of intervals
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Adds an interval.
+     *
+     * @param start The start of the interval, inclusive
+     * @param end   The end of the interval, exclusive
+     * @param value The value
+     */
+    public void add(long start, long end, V value) {
+        root = insert(root, new Node<>(start, end, value, random.nextInt()));
+        size++;
+    }
+
+    /**
+     * Removes one interval with the given start whose value is the given object.
+     *
+     * @param start The start of the interval
+     * @param value The value, compared by identity
+     * @return true if an interval was removed, false if there was none
+     */
+    public boolean remove(long start, V value) {
+        int before = size;
+        root = delete(root, start, value);
+        return size < before;
+    }
+
+    /**
+     * Gets the values of the intervals overlapping a range, in start order.
+     *
+     * @param from The start of the range, inclusive
+     * @param to   The end of the range, exclusive
+     * @return The values of the intervals that start before the range ends and end after it starts
+     */
+    public List<V> overlapping(long from, long to) {
+        List<V> values = new ArrayList<>();
+        collect(root, from, to, values);
+        return values;
+    }
+
+    /**
+     * Inserts a node into a subtree.
+     *
+     * @param node  The root of the subtree
+     * @param added The node to insert
+     * @return The new root of the subtree
+     */
+    private Node<V> insert(Node<V> node, Node<V> added) {
+        if (node == null) {
+            return added;
+        }
+        if (added.start < node.start) {
+            node.left = insert(node.left, added);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, added);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        update(node);
+        return node;
+    }
+
+    /**
+     * Deletes a node from a subtree.
+     *
+     * @param node  The root of the subtree
+     * @param start The start of the interval
+     * @param value The value, compared by identity
+     * @return The new root of the subtree
+     */
+    private Node<V> delete(Node<V> node, long start, V value) {
+        if (node == null) {
+            return null;
+        }
+        if (start < node.start) {
+            node.left = delete(node.left, start, value);
+        } else if (start > node.start) {
+            node.right = delete(node.right, start, value);
+        } else if (node.value == value) {
+            size--;
+            return merge(node.left, node.right);
+        } else {
+            // Rotations can leave intervals with the same start on both sides
+            int before = size;
+            node.left = delete(node.left, start, value);
+            if (size == before) {
+                node.right = delete(node.right, start, value);
+            }
+        }
+        update(node);
+        return node;
+    }
+
+    /**
+     * Merges two subtrees whose intervals all start no later in the first one than in the second one.
+     *
+     * @param left  The first subtree
+     * @param right The second subtree
+     * @return The root of the merged subtree
+     */
+    private Node<V> merge(Node<V> left, Node<V> right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            update(left);
+            return left;
+        }
+        right.left = merge(left, right.left);
+        update(right);
+        return right;
+    }
+
+    /**
+     * Collects the values of the intervals of a subtree overlapping a range.
+     *
+     * @param node   The root of the subtree
+     * @param from   The start of the range, inclusive
+     * @param to     The end of the range, exclusive
+     * @param values The list to add the values to
+     */
+    private void collect(Node<V> node, long from, long to, List<V> values) {
+        if (node == null || node.maxEnd <= from) {
+            return;
+        }
+        collect(node.left, from, to, values);
+        if (node.start >= to) {
+            return;
+        }
+        if (node.end > from) {
+            values.add(node.value);
+        }
+        collect(node.right, from, to, values);
+    }
+
+    /**
+     * Rotates a subtree to the right.
+     *
+     * @param node The root of the subtree
+     * @return The new root of the subtree
+     */
+    private Node<V> rotateRight(Node<V> node) {
+        Node<V> left = node.left;
+        node.left = left.right;
+        left.right = node;
+        update(node);
+        return left;
+    }
+
+    /**
+     * Rotates a subtree to the left.
+     *
+     * @param node The root of the subtree
+     * @return The new root of the subtree
+     */
+    private Node<V> rotateLeft(Node<V> node) {
+        Node<V> right = node.right;
+        node.right = right.left;
+        right.left = node;
+        update(node);
+        return right;
+    }
+
+    /**
+     * Recomputes the largest end of a subtree from its children.
+     *
+     * @param node The root of the subtree
+     */
+    private void update(Node<V> node) {
+        long maxEnd = node.end;
+        if (node.left != null && node.left.maxEnd > maxEnd) {
+            maxEnd = node.left.maxEnd;
+        }
+        if (node.right != null && node.right.maxEnd > maxEnd) {
+            maxEnd = node.right.maxEnd;
+        }
+        node.maxEnd = maxEnd;
+    }
+}
@@ -0,0 +1,213 @@
+/**
+ * The com.Divan.coordinator package contains classes and interfaces related to coordination tasks
+ * in the application developed by Rana Melih.
+ * 
+ * This package serves as a coordination module facilitating communication and orchestration
+ * among different components of the application.
+ * 
+ * Classes within this package might include implementations of coordinator patterns,
+ * such as the mediator pattern, or other coordination strategies.
+ * 
+ * @author Rana Melih
+ * @version 1.0.3
+ * @since 2024-03-28
+ */
+package com.Demirci.coordinator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The LongSkipList class is a sorted multimap from primitive long keys to values, stored as a skip list.
+ *
+ * Entries are kept in key order; entries with equal keys stay in the order they were added.
+ * Adding, removing and finding the first entry at or after a key take logarithmic time on average,
+ * and a range is read by walking the bottom level from there.
+ *
+ * @param <V> The type of the values
+ */
+public class LongSkipList<V> {
+    /** The maximum number of levels. */
+    private static final int MAX_LEVEL = 16;
+
+    /** The head node, holding no entry. */
+    private final Node<V> head = new Node<>(Long.MIN_VALUE, null, MAX_LEVEL);
+
+    /** Source of the random node levels. */
+    private final Random random = new Random();
+
+    /** The number of levels in use. */
+    private int level = 1;
+
+    /** The number of entries. */
+    private int size;
+
+    /**
+     * A node of the skip list.
+     *
+     * @param <V> The type of the value
+     */
+    private static final class Node<V> {
+        /** The key. */
+        final long key;
+
+        /** The value. */
+        final V value;
+
+        /** The next node on each level of this node. */
+        final Node<V>[] next;
+
+        /**
+         * Constructs a Node.
+         *
+         * @param key    The key
+         * @param value  The value
+         * @param levels The number of levels of the node
+         */
+        Node(long key, V value, int levels) {
+            this.key = key;
+            this.value = value;
+            this.next = newNodes(levels);
+        }
+    }
+
+    /**
+     * Gets the number of entries.
+     *
+     * @return The number of entries
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Adds an entry after all entries with the same key.
+     *
+     * @param key   The key
+     * @param value The value
+     */
+    public void add(long key, V value) {
+        Node<V>[] update = newNodes(MAX_LEVEL);
+        Node<V> node = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (node.next[i] != null && node.next[i].key <= key) {
+                node = node.next[i];
+            }
+            update[i] = node;
+        }
+        int levels = randomLevel();
+        for (int i = level; i < levels; i++) {
+            update[i] = head;
+        }
+        level = Math.max(level, levels);
+        Node<V> added = new Node<>(key, value, levels);
+        for (int i = 0; i < levels; i++) {
+            added.next[i] = update[i].next[i];
+            update[i].next[i] = added;
+        }
+        size++;
+    }
+
+    /**
+     * Removes one entry with the given key whose value is the given object.
+     *
+     * @param key   The key
+     * @param value The value, compared by identity
+     * @return true if an entry was removed, false if there was none
+     */
+    public boolean remove(long key, V value) {
+        Node<V>[] update = newNodes(MAX_LEVEL);
+        Node<V> node = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (node.next[i] != null && node.next[i].key < key) {
+                node = node.next[i];
+            }
+            update[i] = node;
+        }
+        // Walk the entries with the same key; each one passed precedes the target on all of its levels
+        Node<V> target = update[0].next[0];
+        while (target != null && target.key == key && target.value != value) {
+            for (int i = 0; i < target.next.length; i++) {
+                update[i] = target;
+            }
+            target = target.next[0];
+        }
+        if (target == null || target.key != key) {
+            return false;
+        }
+        for (int i = 0; i < target.next.length; i++) {
+            update[i].next[i] = target.next[i];
+        }
+        while (level > 1 && head.next[level - 1] == null) {
+            level--;
+        }
+        size--;
+        return true;
+    }
+
+    /**
+     * Gets the value of the first entry with a key at or after the given key.
+     *
+     * @param from The smallest key to consider
+     * @return The value, or null if there is no such entry
+     */
+    public V first(long from) {
+        Node<V> node = ceiling(from);
+        return node == null ? null : node.value;
+    }
+
+    /**
+     * Gets the values of the entries with keys in a range, in key order.
+     *
+     * @param from  The smallest key, inclusive
+     * @param to    The largest key, exclusive
+     * @param limit The maximum number of values
+     * @return The values in the range
+     */
+    public List<V> range(long from, long to, int limit) {
+        List<V> values = new ArrayList<>();
+        for (Node<V> node = ceiling(from); node != null && node.key < to && values.size() < limit; node = node.next[0]) {
+            values.add(node.value);
+        }
+        return values;
+    }
+
+    /**
+     * Finds the first node with a key at or after the given key.
+     *
+     * @param key The key
+     * @return The node, or null if there is none
+     */
+    private Node<V> ceiling(long key) {
+        Node<V> node = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (node.next[i] != null && node.next[i].key < key) {
+                node = node.next[i];
+            }
+        }
+        return node.next[0];
+    }
+
+    /**
+     * Picks the number of levels of a new node, each further level with probability 1/4.
+     *
+     * @return The number of levels
+     */
+    private int randomLevel() {
+        int levels = 1 + Integer.numberOfTrailingZeros(random.nextInt() | (1 << 30)) / 2;
+        return Math.min(levels, MAX_LEVEL);
+    }
+
+    /**
+     * Creates an array of node references.
+     *
+     * @param <V>    The type of the values of the nodes
+     * @param length The length of the array
+     * @return The array
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <V> Node<V>[] newNodes(int length) {
+        return new Node[length];
+    }
+}
@@ -0,0 +1,523 @@
+/**
+ * The com.Divan.coordinator package contains classes and interfaces related to coordination tasks
+ * in the application developed by Rana Melih.
+ * 
+ * This package serves as a coordination module facilitating communication and orchestration
+ * among different components of the application.
+ * 
+ * Classes within this package might include implementations of coordinator patterns,
+ * such as the mediator pattern, or other coordination strategies.
+ * 
+ * @author Rana Melih
+ * @version 1.0.3
+ * @since 2024-03-28
+ */
+package com.Demirci.coordinator;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * The MemberBitmap class is a compressed bitmap of user IDs, organized like a roaring bitmap.
+ *
+ * IDs are split into their upper and lower 16 bits. For every upper half in use there is one
+ * container holding the lower halves: a sorted array while it holds at most {@link #ARRAY_LIMIT}
+ * values, and a plain 65536-bit bitmap once it holds more. Small groups therefore cost two bytes per
+ * member, large ones at most one bit per possible ID, and membership tests, unions and intersections
+ * work on whole containers at a time.
+ */
+public class MemberBitmap {
+    /** The largest number of values kept in an array container. */
+    static final int ARRAY_LIMIT = 4096;
+
+    /** Number of 64-bit words of a bitmap container. */
+    private static final int WORDS = 1024;
+
+    /** Serialized container type of an array container. */
+    private static final byte ARRAY = 0;
+
+    /** Serialized container type of a bitmap container. */
+    private static final byte BITMAP = 1;
+
+    /** The upper 16 bits of the IDs of each container, in ascending order. */
+    private char[] keys = new char[0];
+
+    /** The containers, parallel to {@link #keys}. */
+    private Container[] containers = new Container[0];
+
+    /** The number of containers in use. */
+    private int size;
+
+    /**
+     * The lower 16 bits of the IDs sharing one upper half.
+     */
+    private static final class Container {
+        /** The sorted values of an array container, or null for a bitmap container. */
+        char[] values;
+
+        /** The words of a bitmap container, or null for an array container. */
+        long[] words;
+
+        /** The number of values in the container. */
+        int cardinality;
+
+        /**
+         * Constructs an empty array container.
+         */
+        Container() {
+            this.values = new char[4];
+        }
+
+        /**
+         * Checks whether the container holds a value.
+         *
+         * @param low The value
+         * @return true if the value is present
+         */
+        boolean contains(char low) {
+            if (words != null) {
+                return (words[low >>> 6] & (1L << low)) != 0;
+            }
+            return Arrays.binarySearch(values, 0, cardinality, low) >= 0;
+        }
+
+        /**
+         * Adds a value.
+         *
+         * @param low The value
+         * @return true if the value was not present before
+         */
+        boolean add(char low) {
+            if (words != null) {
+                long bit = 1L << low;
+                if ((words[low >>> 6] & bit) != 0) {
+                    return false;
+                }
+                words[low >>> 6] |= bit;
+                cardinality++;
+                return true;
+            }
+            int position = Arrays.binarySearch(values, 0, cardinality, low);
+            if (position >= 0) {
+                return false;
+            }
+            if (cardinality == ARRAY_LIMIT) {
+                toBitmap();
+                return add(low);
+            }
+            position = -position - 1;
+            if (cardinality == values.length) {
+                values = Arrays.copyOf(values, Math.min(ARRAY_LIMIT, cardinality * 2));
+            }
+            System.arraycopy(values, position, values, position + 1, cardinality - position);
+            values[position] = low;
+            cardinality++;
+            return true;
+        }
+
+        /**
+         * Removes a value.
+         *
+         * @param low The value
+         * @return true if the value was present
+         */
+        boolean remove(char low) {
+            if (words != null) {
+                long bit = 1L << low;
+                if ((words[low >>> 6] & bit) == 0) {
+                    return false;
+                }
+                words[low >>> 6] &= ~bit;
+                if (--cardinality <= ARRAY_LIMIT) {
+                    toArray();
+                }
+                return true;
+            }
+            int position = Arrays.binarySearch(values, 0, cardinality, low);
+            if (position < 0) {
+                return false;
+            }
+            System.arraycopy(values, position + 1, values, position, cardinality - position - 1);
+            cardinality--;
+            return true;
+        }
+
+        /**
+         * Writes the values into an array of IDs.
+         *
+         * @param high   The upper 16 bits of the IDs
+         * @param target The array to fill
+         * @param offset The position of the first value
+         */
+        void copyTo(int high, int[] target, int offset) {
+            if (words == null) {
+                for (int i = 0; i < cardinality; i++) {
+                    target[offset++] = high | values[i];
+                }
+                return;
+            }
+            for (int w = 0; w < WORDS; w++) {
+                long word = words[w];
+                while (word != 0) {
+                    target[offset++] = high | (w << 6) | Long.numberOfTrailingZeros(word);
+                    word &= word - 1;
+                }
+            }
+        }
+
+        /**
+         * Converts an array container into a bitmap container.
+         */
+        void toBitmap() {
+            words = new long[WORDS];
+            for (int i = 0; i < cardinality; i++) {
+                words[values[i] >>> 6] |= 1L << values[i];
+            }
+            values = null;
+        }
+
+        /**
+         * Converts a bitmap container into an array container.
+         */
+        void toArray() {
+            char[] array = new char[Math.max(4, cardinality)];
+            int n = 0;
+            for (int w = 0; w < WORDS; w++) {
+                long word = words[w];
+                while (word != 0) {
+                    array[n++] = (char) ((w << 6) | Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+            values = array;
+            words = null;
+        }
+
+        /**
+         * Computes the intersection with another container.
+         *
+         * @param other The other container
+         * @return A new container, possibly empty
+         */
+        Container and(Container other) {
+            Container result = new Container();
+            if (words != null && other.words != null) {
+                result.words = new long[WORDS];
+                for (int w = 0; w < WORDS; w++) {
+                    result.words[w] = words[w] & other.words[w];
+                    result.cardinality += Long.bitCount(result.words[w]);
+                }
+                result.values = null;
+                if (result.cardinality <= ARRAY_LIMIT) {
+                    result.toArray();
+                }
+                return result;
+            }
+            if (words == null && other.words == null) {
+                result.values = new char[Math.max(4, Math.min(cardinality, other.cardinality))];
+                int i = 0;
+                int j = 0;
+                while (i < cardinality && j < other.cardinality) {
+                    if (values[i] < other.values[j]) {
+                        i++;
+                    } else if (values[i] > other.values[j]) {
+                        j++;
+                    } else {
+                        result.values[result.cardinality++] = values[i];
+                        i++;
+                        j++;
+                    }
+                }
+                return result;
+            }
+            Container array = words == null ? this : other;
+            Container bitmap = array == this ? other : this;
+            result.values = new char[Math.max(4, array.cardinality)];
+            for (int i = 0; i < array.cardinality; i++) {
+                if (bitmap.contains(array.values[i])) {
+                    result.values[result.cardinality++] = array.values[i];
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Computes the union with another container.
+         *
+         * @param other The other container
+         * @return A new container
+         */
+        Container or(Container other) {
+            Container result = new Container();
+            if (words == null && other.words == null && cardinality + other.cardinality <= ARRAY_LIMIT) {
+                result.values = new char[Math.max(4, cardinality + other.cardinality)];
+                int i = 0;
+                int j = 0;
+                while (i < cardinality || j < other.cardinality) {
+                    char next;
+                    if (j == other.cardinality || (i < cardinality && values[i] < other.values[j])) {
+                        next = values[i++];
+                    } else if (i == cardinality || other.values[j] < values[i]) {
+                        next = other.values[j++];
+                    } else {
+                        next = values[i++];
+                        j++;
+                    }
+                    result.values[result.cardinality++] = next;
+                }
+                return result;
+            }
+            result.words = new long[WORDS];
+            result.values = null;
+            for (Container part : new Container[] { this, other }) {
+                if (part.words != null) {
+                    for (int w = 0; w < WORDS; w++) {
+                        result.words[w] |= part.words[w];
+                    }
+                } else {
+                    for (int k = 0; k < part.cardinality; k++) {
+                        result.words[part.values[k] >>> 6] |= 1L << part.values[k];
+                    }
+                }
+            }
+            for (int w = 0; w < WORDS; w++) {
+                result.cardinality += Long.bitCount(result.words[w]);
+            }
+            if (result.cardinality <= ARRAY_LIMIT) {
+                result.toArray();
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Checks whether an ID is in the bitmap.
+     *
+     * @param id The ID
+     * @return true if the ID is present
+     */
+    public boolean contains(int id) {
+        int index = indexOf((char) (id >>> 16));
+        return index >= 0 && containers[index].contains((char) id);
+    }
+
+    /**
+     * Adds an ID to the bitmap.
+     *
+     * @param id The ID
+     * @return true if the ID was not present before
+     */
+    public boolean add(int id) {
+        char high = (char) (id >>> 16);
+        int index = indexOf(high);
+        if (index < 0) {
+            index = -index - 1;
+            insert(index, high, new Container());
+        }
+        return containers[index].add((char) id);
+    }
+
+    /**
+     * Removes an ID from the bitmap.
+     *
+     * @param id The ID
+     * @return true if the ID was present
+     */
+    public boolean remove(int id) {
+        int index = indexOf((char) (id >>> 16));
+        if (index < 0 || !containers[index].remove((char) id)) {
+            return false;
+        }
+        if (containers[index].cardinality == 0) {
+            System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+            System.arraycopy(containers, index + 1, containers, index, size - index - 1);
+            containers[--size] = null;
+        }
+        return true;
+    }
+
+    /**
+     * Gets the number of IDs in the bitmap.
+     *
+     * @return The number of IDs
+     */
+    public int cardinality() {
+        int cardinality = 0;
+        for (int i = 0; i < size; i++) {
+            cardinality += containers[i].cardinality;
+        }
+        return cardinality;
+    }
+
+    /**
+     * Gets the IDs in the bitmap in ascending order of their unsigned value.
+     *
+     * @return A new array holding the IDs
+     */
+    public int[] toArray() {
+        int[] ids = new int[cardinality()];
+        int offset = 0;
+        for (int i = 0; i < size; i++) {
+            containers[i].copyTo(keys[i] << 16, ids, offset);
+            offset += containers[i].cardinality;
+        }
+        return ids;
+    }
+
+    /**
+     * Computes the IDs present in both bitmaps.
+     *
+     * @param a The first bitmap
+     * @param b The second bitmap
+     * @return A new bitmap holding the intersection
+     */
+    public static MemberBitmap and(MemberBitmap a, MemberBitmap b) {
+        MemberBitmap result = new MemberBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < a.size && j < b.size) {
+            if (a.keys[i] < b.keys[j]) {
+                i++;
+            } else if (a.keys[i] > b.keys[j]) {
+                j++;
+            } else {
+                Container container = a.containers[i].and(b.containers[j]);
+                if (container.cardinality > 0) {
+                    result.insert(result.size, a.keys[i], container);
+                }
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Computes the IDs present in either bitmap.
+     *
+     * @param a The first bitmap
+     * @param b The second bitmap
+     * @return A new bitmap holding the union
+     */
+    public static MemberBitmap or(MemberBitmap a, MemberBitmap b) {
+        MemberBitmap result = new MemberBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < a.size || j < b.size) {
+            if (j == b.size || (i < a.size && a.keys[i] < b.keys[j])) {
+                result.insert(result.size, a.keys[i], a.containers[i].or(new Container()));
+                i++;
+            } else if (i == a.size || b.keys[j] < a.keys[i]) {
+                result.insert(result.size, b.keys[j], b.containers[j].or(new Container()));
+                j++;
+            } else {
+                result.insert(result.size, a.keys[i], a.containers[i].or(b.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Writes the bitmap to a stream.
+     *
+     * @param out The stream to write to
+     * @throws IOException If writing fails
+     */
+    public void writeTo(DataOutputStream out) throws IOException {
+        BinaryCodec.writeVarInt(out, size);
+        for (int i = 0; i < size; i++) {
+            Container container = containers[i];
+            out.writeChar(keys[i]);
+            if (container.words == null) {
+                out.writeByte(ARRAY);
+                BinaryCodec.writeVarInt(out, container.cardinality);
+                for (int k = 0; k < container.cardinality; k++) {
+                    out.writeChar(container.values[k]);
+                }
+            } else {
+                out.writeByte(BITMAP);
+                for (long word : container.words) {
+                    out.writeLong(word);
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads a bitmap written by {@link #writeTo(DataOutputStream)}.
+     *
+     * @param in The stream to read from
+     * @return The bitmap read
+     * @throws IOException If the stream does not hold a valid bitmap
+     */
+    public static MemberBitmap readFrom(DataInputStream in) throws IOException {
+        MemberBitmap bitmap = new MemberBitmap();
+        int count = BinaryCodec.readVarInt(in);
+        for (int i = 0; i < count; i++) {
+            char high = in.readChar();
+            if (i > 0 && high <= bitmap.keys[i - 1]) {
+                throw new IOException("Bitmap containers are out of order");
+            }
+            Container container = new Container();
+            byte type = in.readByte();
+            if (type == ARRAY) {
+                int cardinality = BinaryCodec.readVarInt(in);
+                if (cardinality > ARRAY_LIMIT) {
+                    throw new IOException("Invalid bitmap container size " + cardinality);
+                }
+                for (int k = 0; k < cardinality; k++) {
+                    container.add(in.readChar());
+                }
+            } else if (type == BITMAP) {
+                container.toBitmap();
+                for (int w = 0; w < WORDS; w++) {
+                    container.words[w] = in.readLong();
+                    container.cardinality += Long.bitCount(container.words[w]);
+                }
+            } else {
+                throw new IOException("Invalid bitmap container type " + type);
+            }
+            if (container.cardinality > 0) {
+                bitmap.insert(bitmap.size, high, container);
+            }
+        }
+        return bitmap;
+    }
+
+    /**
+     * Finds the container of an upper half.
+     *
+     * @param high The upper 16 bits
+     * @return The index of the container, or (-(insertion point) - 1) if there is none
+     */
+    private int indexOf(char high) {
+        // Most IDs share the upper half 0, so check the first container before searching
+        if (size > 0 && keys[0] == high) {
+            return 0;
+        }
+        return Arrays.binarySearch(keys, 0, size, high);
+    }
+
+    /**
+     * Inserts a container.
+     *
+     * @param index     The position of the container
+     * @param high      The upper 16 bits of its IDs
+     * @param container The container
+     */
+    private void insert(int index, char high, Container container) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, Math.max(4, size * 2));
+            containers = Arrays.copyOf(containers, Math.max(4, size * 2));
+        }
+        System.arraycopy(keys, index, keys, index + 1, size - index);
+        System.arraycopy(containers, index, containers, index + 1, size - index);
+        keys[index] = high;
+        containers[index] = container;
+        size++;
+    }
+}
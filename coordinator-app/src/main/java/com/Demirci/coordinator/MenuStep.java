@@ -0,0 +1,48 @@
+/**
+ * The com.Divan.coordinator package contains classes and interfaces related to coordination tasks
+ * in the application developed by Rana Melih.
+ * 
+ * This package serves as a coordination module facilitating communication and orchestration
+ * among different components of the application.
+ * 
+ * Classes within this package might include implementations of coordinator patterns,
+ * such as the mediator pattern, or other coordination strategies.
+ * 
+ * @author Rana Melih
+ * @version 1.0.3
+ * @since 2024-03-28
+ */
+package com.Demirci.coordinator;
+
+import java.util.Scanner;
+
+/**
+ * The MenuStep interface represents one screen of the menus: it shows the screen, reads the
+ * user's choice and returns the screen to show next.
+ *
+ * Menus are run by {@link #run(MenuStep, Scanner)}, which calls one step after another in a loop.
+ * Moving between menus therefore never nests calls, and a session can go on for any number of
+ * screens with a constant stack depth.
+ */
+public interface MenuStep {
+    /**
+     * Shows the screen and handles the user's input.
+     *
+     * @param scanner Scanner object for user input
+     * @return The next step to run, or null to leave the menus
+     */
+    MenuStep show(Scanner scanner);
+
+    /**
+     * Runs menu steps until one of them leaves the menus.
+     *
+     * @param first   The step to start with
+     * @param scanner Scanner object for user input
+     */
+    static void run(MenuStep first, Scanner scanner) {
+        MenuStep step = first;
+        while (step != null) {
+            step = step.show(scanner);
+        }
+    }
+}
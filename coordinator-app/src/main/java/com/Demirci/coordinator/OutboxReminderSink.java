@@ -0,0 +1,60 @@
+/**
+ * The com.Divan.coordinator package contains classes and interfaces related to coordination tasks
+ * in the application developed by Rana Melih.
+ * 
+ * This package serves as a coordination module facilitating communication and orchestration
+ * among different components of the application.
+ * 
+ * Classes within this package might include implementations of coordinator patterns,
+ * such as the mediator pattern, or other coordination strategies.
+ * 
+ * @author Rana Melih
+ * @version 1.0.3
+ * @since 2024-03-28
+ */
+package com.Demirci.coordinator;
+
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The OutboxReminderSink class appends reminders to a text file, one line per member, for another
+ * process to pick up and send. Each line holds the member ID, the start of the session, the title of
+ * the session and the message, separated by tabs.
+ */
+public class OutboxReminderSink implements ReminderSink {
+    /** The path of the outbox file. */
+    private final String file;
+
+    /**
+     * Constructs an OutboxReminderSink.
+     *
+     * @param file The path of the outbox file, created if it does not exist
+     */
+    public OutboxReminderSink(String file) {
+        this.file = file;
+    }
+
+    /**
+     * Appends one line per member to the outbox.
+     *
+     * @param reminder  The reminder
+     * @param memberIds The IDs of the members to remind
+     */
+    @Override
+    public synchronized void deliver(ReminderScheduler.Reminder reminder, int[] memberIds) {
+        String line = "\t" + Session.formatTime(reminder.getStart()) + "\t" + reminder.getSession().getTitle()
+                + "\t" + reminder.getMessage() + "\n";
+        try (Writer out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file, true), StandardCharsets.UTF_8))) {
+            for (int memberId : memberIds) {
+                out.write(memberId + line);
+            }
+        } catch (IOException e) {
+            System.err.println("Error: Could not write reminders to " + file + " - " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,115 @@
+/**
+ * The com.Divan.coordinator package contains classes and interfaces related to coordination tasks
+ * in the application developed by Rana Melih.
+ * 
+ * This package serves as a coordination module facilitating communication and orchestration
+ * among different components of the application.
+ * 
+ * Classes within this package might include implementations of coordinator patterns,
+ * such as the mediator pattern, or other coordination strategies.
+ * 
+ * @author Rana Melih
+ * @version 1.0.3
+ * @since 2024-03-28
+ */
+package com.Demirci.coordinator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The Page class is one page of a listing read with a cursor, such as the comments of a discussion
+ * or the study groups of the registry.
+ *
+ * A cursor is the key of the first item of a page: the sequence number of a comment or the ID of a
+ * group. The first page starts at {@link #FIRST} and each page tells the cursor of the page after it,
+ * so a listing is read page by page without building the whole list, and items added at the end do
+ * not shift the pages already read.
+ *
+ * @param <T> The type of the items
+ */
+public class Page<T> {
+    /** The cursor of the first page. */
+    public static final int FIRST = 0;
+
+    /** The next cursor of the last page. */
+    public static final int END = -1;
+
+    /** The items of the page. */
+    private final List<T> items;
+
+    /** The cursor of the next page, or {@link #END}. */
+    private final int nextCursor;
+
+    /**
+     * The Page.Source interface reads the pages of a listing.
+     *
+     * @param <T> The type of the items
+     */
+    public interface Source<T> {
+        /**
+         * Reads a page.
+         *
+         * @param cursor The cursor of the page, {@link #FIRST} for the first page
+         * @param limit  The maximum number of items
+         * @return The page
+         */
+        Page<T> read(int cursor, int limit);
+    }
+
+    /**
+     * Constructs a Page.
+     *
+     * @param items      The items of the page
+     * @param nextCursor The cursor of the next page, or {@link #END} if this is the last page
+     */
+    public Page(List<T> items, int nextCursor) {
+        this.items = Collections.unmodifiableList(items);
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Gets the items of the page.
+     *
+     * @return The items, in listing order
+     */
+    public List<T> getItems() {
+        return items;
+    }
+
+    /**
+     * Gets the cursor of the next page.
+     *
+     * @return The cursor, or {@link #END} if this is the last page
+     */
+    public int getNextCursor() {
+        return nextCursor;
+    }
+
+    /**
+     * Checks whether there is a page after this one.
+     *
+     * @return true if there are more items
+     */
+    public boolean hasMore() {
+        return nextCursor != END;
+    }
+
+    /**
+     * Reads a page of a list whose cursors are the positions of its items. Only the items of the
+     * page are copied.
+     *
+     * @param list   The list
+     * @param cursor The position of the first item of the page
+     * @param limit  The maximum number of items
+     * @param <T>    The type of the items
+     * @return The page
+     */
+    public static <T> Page<T> of(List<T> list, int cursor, int limit) {
+        int from = Math.max(cursor, FIRST);
+        int to = (int) Math.min(list.size(), (long) from + limit);
+        List<T> items = from < to ? new ArrayList<>(list.subList(from, to)) : new ArrayList<T>();
+        return new Page<>(items, to < list.size() ? to : END);
+    }
+}
@@ -0,0 +1,181 @@
+/**
+ * The com.Divan.coordinator package contains classes and interfaces related to coordination tasks
+ * in the application developed by Rana Melih.
+ * 
+ * This package serves as a coordination module facilitating communication and orchestration
+ * among different components of the application.
+ * 
+ * Classes within this package might include implementations of coordinator patterns,
+ * such as the mediator pattern, or other coordination strategies.
+ * 
+ * @author Rana Melih
+ * @version 1.0.3
+ * @since 2024-03-28
+ */
+package com.Demirci.coordinator;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The PersistenceService class writes the data files of the application in the background.
+ *
+ * A change marks its store dirty and returns immediately. A daemon thread writes every dirty store
+ * once per {@link #WRITE_INTERVAL_MS}, so a burst of changes is coalesced into a single write.
+ * Pending writes are flushed before a store is read back and when the application shuts down.
+ */
+public class PersistenceService {
+    /** Interval between two background writes of the same store, in milliseconds. */
+    public static final long WRITE_INTERVAL_MS = 100;
+
+    /** Logger used to report background writes. */
+    private static final Logger logger = LoggerFactory.getLogger(PersistenceService.class);
+
+    /** The stores known to the service, by name. */
+    private static final Map<String, Store> stores = new ConcurrentHashMap<>();
+
+    /** The thread writing dirty stores, started with the first change. */
+    private static ScheduledExecutorService executor;
+
+    /**
+     * The write state of one store.
+     */
+    private static final class Store {
+        /** Lock held while the store is written, so that writes of one store never overlap. */
+        final Object writeLock = new Object();
+
+        /** The task writing the store. */
+        Runnable writer;
+
+        /** Number of changes marked so far. */
+        long version;
+
+        /** The version contained in the last completed write. */
+        long written;
+
+        /** The time the oldest unwritten change was marked, in nanoseconds. */
+        long pendingSince;
+    }
+
+    /**
+     * Marks a store dirty. The writer runs on the background thread within {@link #WRITE_INTERVAL_MS},
+     * together with every other change marked before it starts.
+     *
+     * @param name   The name of the store, usually its file name
+     * @param writer The task writing the current state of the store
+     */
+    public static void markDirty(String name, Runnable writer) {
+        Store store = stores.computeIfAbsent(name, key -> new Store());
+        synchronized (store) {
+            store.writer = writer;
+            if (store.version == store.written) {
+                store.pendingSince = System.nanoTime();
+            }
+            store.version++;
+        }
+        start();
+    }
+
+    /**
+     * Writes a store now if it has unwritten changes, waiting for a background write in progress.
+     *
+     * @param name The name of the store
+     */
+    public static void flush(String name) {
+        Store store = stores.get(name);
+        if (store != null) {
+            write(name, store);
+        }
+    }
+
+    /**
+     * Writes every store that has unwritten changes.
+     */
+    public static void flush() {
+        for (Map.Entry<String, Store> entry : stores.entrySet()) {
+            write(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Gets how long the oldest unwritten change has been waiting.
+     *
+     * @return The age of the oldest unwritten change in milliseconds, or 0 if all changes are written
+     */
+    public static long getPendingLagMillis() {
+        long now = System.nanoTime();
+        long lag = 0;
+        for (Store store : stores.values()) {
+            synchronized (store) {
+                if (store.version != store.written) {
+                    lag = Math.max(lag, now - store.pendingSince);
+                }
+            }
+        }
+        return TimeUnit.NANOSECONDS.toMillis(lag);
+    }
+
+    /**
+     * Writes a store if it has unwritten changes.
+     *
+     * @param name  The name of the store
+     * @param store The store to write
+     */
+    private static void write(String name, Store store) {
+        synchronized (store.writeLock) {
+            Runnable writer;
+            long version;
+            long coalesced;
+            synchronized (store) {
+                if (store.version == store.written) {
+                    return;
+                }
+                writer = store.writer;
+                version = store.version;
+                coalesced = store.version - store.written;
+            }
+            long start = System.nanoTime();
+            try {
+                writer.run();
+            } catch (RuntimeException e) {
+                System.err.println("Error: Writing " + name + " failed - " + e);
+                return;
+            }
+            synchronized (store) {
+                store.written = version;
+                if (store.version != version) {
+                    // Changes marked during the write are not contained in it
+                    store.pendingSince = start;
+                }
+            }
+            logger.debug("Wrote {} in {} ms ({} changes)", name,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), coalesced);
+        }
+    }
+
+    /**
+     * Starts the background thread and the shutdown flush, unless they are already running.
+     */
+    private static synchronized void start() {
+        if (executor != null) {
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable task) {
+                Thread thread = new Thread(task, "persistence-writer");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        executor.scheduleWithFixedDelay(PersistenceService::flush, WRITE_INTERVAL_MS, WRITE_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        Runtime.getRuntime().addShutdownHook(new Thread(PersistenceService::flush, "persistence-shutdown"));
+    }
+}
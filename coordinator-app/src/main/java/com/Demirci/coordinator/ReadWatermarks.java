@@ -0,0 +1,225 @@
+/**
+ * The com.Divan.coordinator package contains classes and interfaces related to coordination tasks
+ * in the application developed by Rana Melih.
+ * 
+ * This package serves as a coordination module facilitating communication and orchestration
+ * among different components of the application.
+ * 
+ * Classes within this package might include implementations of coordinator patterns,
+ * such as the mediator pattern, or other coordination strategies.
+ * 
+ * @author Rana Melih
+ * @version 1.0.3
+ * @since 2024-03-28
+ */
+package com.Demirci.coordinator;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * The ReadWatermarks class records, for every user and discussion, how many comments of the discussion
+ * the user has read. Comments are only ever appended, so that number is a watermark: the comments with
+ * a lower sequence number are read and the others are new.
+ *
+ * The watermarks are kept in a {@link LongIntHashMap} keyed by user ID and discussion ID. Every change
+ * is appended to an {@link AppendOnlyLog} as a record of a few bytes; the whole map is only written
+ * again, in the background, when the log has grown larger than the last snapshot. Watermarks only
+ * move forward, so replaying a record on top of a newer snapshot changes nothing.
+ */
+public class ReadWatermarks {
+    /** The file path for storing the snapshot of the watermarks. */
+    public static final String WATERMARKS_FILE = "Watermarks.bin";
+
+    /** The file path for the log of watermarks moved since the last snapshot. */
+    public static final String WATERMARKS_LOG_FILE = "Watermarks.log";
+
+    /** Log size in bytes below which the log is never compacted into a new snapshot. */
+    private static final long COMPACTION_THRESHOLD = 64 * 1024;
+
+    /** The number of comments read, by {@link LongIntHashMap#key(int, int)} of user ID and discussion ID. */
+    private final LongIntHashMap marks;
+
+    /** The snapshot file, or null if the watermarks are not saved. */
+    private final File file;
+
+    /** The log of the changes since the snapshot, or null if the watermarks are not saved. */
+    private final AppendOnlyLog log;
+
+    /**
+     * Constructs an empty set of watermarks that is kept in memory only.
+     */
+    public ReadWatermarks() {
+        this(new LongIntHashMap(), null, null);
+    }
+
+    /**
+     * Constructs a set of watermarks.
+     *
+     * @param marks   The watermarks
+     * @param file    The snapshot file, or null if the watermarks are not saved
+     * @param logFile The log file, or null if the watermarks are not saved
+     */
+    private ReadWatermarks(LongIntHashMap marks, File file, File logFile) {
+        this.marks = marks;
+        this.file = file;
+        this.log = logFile != null ? new AppendOnlyLog(logFile) : null;
+    }
+
+    /**
+     * Reads the watermarks from the snapshot file and replays the log on top of it. Changes are saved
+     * to the same files.
+     *
+     * @return The watermarks, empty if there are no files yet
+     */
+    public static ReadWatermarks readFromFile() {
+        File file = new File(WATERMARKS_FILE);
+        LongIntHashMap marks = new LongIntHashMap();
+        if (file.exists()) {
+            try (DataInputStream in = BinaryCodec.openForReading(file)) {
+                marks = BinaryCodec.readWatermarks(in);
+            } catch (IOException e) {
+                System.err.println("Error: Could not read " + WATERMARKS_FILE + " - " + e.getMessage());
+            }
+        }
+        ReadWatermarks watermarks = new ReadWatermarks(marks, file, new File(WATERMARKS_LOG_FILE));
+        if (watermarks.log.exists()) {
+            try {
+                for (byte[] record : watermarks.log.readRecords()) {
+                    DataInputStream in = new DataInputStream(new ByteArrayInputStream(record));
+                    watermarks.raise(LongIntHashMap.key(in.readInt(), in.readInt()), in.readInt());
+                }
+            } catch (IOException e) {
+                System.err.println("Error: Could not read " + WATERMARKS_LOG_FILE + " - " + e.getMessage());
+            }
+        }
+        return watermarks;
+    }
+
+    /**
+     * Gets the number of comments of a discussion a user has read.
+     *
+     * @param userId       The ID of the user
+     * @param discussionId The ID of the discussion
+     * @return The number of comments read, 0 if the user has not read the discussion
+     */
+    public synchronized int get(int userId, int discussionId) {
+        return marks.get(LongIntHashMap.key(userId, discussionId));
+    }
+
+    /**
+     * Records that a user has read the comments of a discussion up to a number. A watermark never
+     * moves back.
+     *
+     * @param userId       The ID of the user
+     * @param discussionId The ID of the discussion
+     * @param count        The number of comments read
+     * @return true if the watermark moved, false if the user had already read that far
+     */
+    public synchronized boolean advance(int userId, int discussionId, int count) {
+        if (!raise(LongIntHashMap.key(userId, discussionId), count)) {
+            return false;
+        }
+        if (log != null) {
+            append(userId, discussionId, count);
+        }
+        return true;
+    }
+
+    /**
+     * Gets the number of watermarks.
+     *
+     * @return The number of pairs of user and discussion with comments read
+     */
+    public synchronized int size() {
+        return marks.size();
+    }
+
+    /**
+     * Moves a watermark forward.
+     *
+     * @param key   The key of the user and discussion
+     * @param count The number of comments read
+     * @return true if the watermark moved
+     */
+    private boolean raise(long key, int count) {
+        if (count <= marks.get(key)) {
+            return false;
+        }
+        marks.put(key, count);
+        return true;
+    }
+
+    /**
+     * Appends a moved watermark to the log. A snapshot is written right away when there is no log
+     * yet, and in the background when the log has grown larger than the snapshot.
+     *
+     * @param userId       The ID of the user
+     * @param discussionId The ID of the discussion
+     * @param count        The number of comments read
+     */
+    private void append(int userId, int discussionId, int count) {
+        if (!log.exists()) {
+            writeSnapshot();
+            return;
+        }
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(12);
+            try (DataOutputStream out = new DataOutputStream(bytes)) {
+                out.writeInt(userId);
+                out.writeInt(discussionId);
+                out.writeInt(count);
+            }
+            log.append(bytes.toByteArray());
+        } catch (IOException e) {
+            writeSnapshot();
+            return;
+        }
+        if (log.size() > Math.max(COMPACTION_THRESHOLD, file.length())) {
+            PersistenceService.markDirty(WATERMARKS_FILE, this::compact);
+        }
+    }
+
+    /**
+     * Writes a snapshot of all watermarks and starts a new, empty log on top of it.
+     */
+    private void writeSnapshot() {
+        try {
+            FileUtility.writeAtomically(file, out -> BinaryCodec.writeWatermarks(out, marks));
+            log.reset(marks.size());
+        } catch (IOException e) {
+            System.err.println("Error: Could not save " + WATERMARKS_FILE + " - " + e.getMessage());
+        }
+    }
+
+    /**
+     * Compacts the log in the background. The snapshot is encoded under the lock but written without
+     * it; records appended meanwhile are carried over to the new log.
+     */
+    private void compact() {
+        final ByteArrayOutputStream snapshot = new ByteArrayOutputStream();
+        long logLength;
+        int count;
+        synchronized (this) {
+            try (DataOutputStream out = new DataOutputStream(snapshot)) {
+                BinaryCodec.writeWatermarks(out, marks);
+            } catch (IOException e) {
+                return;
+            }
+            logLength = log.size();
+            count = marks.size();
+        }
+        try {
+            FileUtility.writeAtomically(file, out -> snapshot.writeTo(out));
+            synchronized (this) {
+                log.rebase(count, logLength);
+            }
+        } catch (IOException e) {
+            System.err.println("Error: Could not compact " + WATERMARKS_FILE + " - " + e.getMessage());
+        }
+    }
+}
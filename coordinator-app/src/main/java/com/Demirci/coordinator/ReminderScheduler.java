@@ -0,0 +1,261 @@
+/**
+ * The com.Divan.coordinator package contains classes and interfaces related to coordination tasks
+ * in the application developed by Rana Melih.
+ * 
+ * This package serves as a coordination module facilitating communication and orchestration
+ * among different components of the application.
+ * 
+ * Classes within this package might include implementations of coordinator patterns,
+ * such as the mediator pattern, or other coordination strategies.
+ * 
+ * @author Rana Melih
+ * @version 1.0.3
+ * @since 2024-03-28
+ */
+package com.Demirci.coordinator;
+
+import java.time.LocalDateTime;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * The ReminderScheduler class reminds the members of a study group of the group's upcoming sessions,
+ * {@link #LEAD_MINUTES} minutes before each session starts.
+ *
+ * The next occurrence of every session is kept as a timeout on a {@link TimingWheel} ticking once a
+ * minute, so scheduling, rescheduling and cancelling a reminder take constant time however many are
+ * pending. A {@link SessionManager} reschedules the reminder of a session when the session is added or
+ * removed or its date changes. A daemon thread advances the wheel and hands expired reminders to a
+ * {@link ReminderSink}; after a recurring session is reminded, its next occurrence is scheduled.
+ */
+public class ReminderScheduler {
+    /** The file the application writes reminders to. */
+    public static final String OUTBOX_FILE = "Reminders.outbox";
+
+    /** The number of minutes before the start of a session that its members are reminded. */
+    public static final long LEAD_MINUTES = 60;
+
+    /** Interval between two checks of the clock by the background thread, in milliseconds. */
+    private static final long CHECK_INTERVAL_MS = 1000;
+
+    /** The sink receiving the reminders. */
+    private final ReminderSink sink;
+
+    /** The clock, in minutes as returned by {@link Session#toTime(LocalDateTime)}. */
+    private final LongSupplier clock;
+
+    /** The pending reminders, by the minute they are due. */
+    private final TimingWheel<Reminder> wheel;
+
+    /** The pending reminder of each session. */
+    private final Map<Session, TimingWheel.Timeout<Reminder>> pending = new IdentityHashMap<>();
+
+    /** The thread advancing the wheel, or null if it has not been started. */
+    private ScheduledExecutorService executor;
+
+    /**
+     * The ReminderScheduler.Reminder class is a reminder of one occurrence of a session.
+     */
+    public static class Reminder {
+        /** The session. */
+        private final Session session;
+
+        /** The start time of the occurrence. */
+        private final long start;
+
+        /** The time the reminder is due. */
+        private final long time;
+
+        /**
+         * Constructs a Reminder.
+         *
+         * @param session The session
+         * @param start   The start time of the occurrence
+         * @param time    The time the reminder is due
+         */
+        public Reminder(Session session, long start, long time) {
+            this.session = session;
+            this.start = start;
+            this.time = time;
+        }
+
+        /**
+         * Gets the session.
+         *
+         * @return The session
+         */
+        public Session getSession() {
+            return session;
+        }
+
+        /**
+         * Gets the start time of the occurrence.
+         *
+         * @return The start time, as returned by {@link Session#getTime()}
+         */
+        public long getStart() {
+            return start;
+        }
+
+        /**
+         * Gets the time the reminder is due. It is later than {@link #LEAD_MINUTES} before the start if
+         * the session was scheduled less than that in advance, and is the time of delivery for a
+         * reminder delivered late.
+         *
+         * @return The time, as returned by {@link Session#getTime()}
+         */
+        public long getTime() {
+            return time;
+        }
+
+        /**
+         * Gets the text of the reminder, such as "Session Review starts in 1 hour".
+         *
+         * @return The message
+         */
+        public String getMessage() {
+            long minutes = start - time;
+            String in = minutes == 60 ? "1 hour" : minutes == 1 ? "1 minute" : minutes + " minutes";
+            return "Session " + session.getTitle() + " starts in " + in;
+        }
+    }
+
+    /**
+     * Constructs a ReminderScheduler on the system clock.
+     *
+     * @param sink The sink receiving the reminders
+     */
+    public ReminderScheduler(ReminderSink sink) {
+        this(sink, () -> Session.toTime(LocalDateTime.now()));
+    }
+
+    /**
+     * Constructs a ReminderScheduler.
+     *
+     * @param sink  The sink receiving the reminders
+     * @param clock The clock, in minutes as returned by {@link Session#toTime(LocalDateTime)}
+     */
+    public ReminderScheduler(ReminderSink sink, LongSupplier clock) {
+        this.sink = sink;
+        this.clock = clock;
+        this.wheel = new TimingWheel<>(clock.getAsLong());
+    }
+
+    /**
+     * Schedules the reminder of the next occurrence of a session, replacing the pending one.
+     *
+     * @param session The session
+     */
+    public synchronized void schedule(Session session) {
+        cancel(session);
+        scheduleFrom(session, Math.max(wheel.getCurrentTime(), clock.getAsLong()) + 1);
+    }
+
+    /**
+     * Cancels the pending reminder of a session.
+     *
+     * @param session The session
+     * @return true if a reminder was pending
+     */
+    public synchronized boolean cancel(Session session) {
+        TimingWheel.Timeout<Reminder> timeout = pending.remove(session);
+        return timeout != null && wheel.cancel(timeout);
+    }
+
+    /**
+     * Gets the number of pending reminders.
+     *
+     * @return The number of sessions with a pending reminder
+     */
+    public synchronized int size() {
+        return wheel.size();
+    }
+
+    /**
+     * Delivers the reminders due up to the current time of the clock. A reminder found late, such as
+     * after the computer slept, tells the time left from now, and is dropped if its occurrence has
+     * already started. A reminder the sink fails to deliver is reported and does not stop the others.
+     *
+     * @return The number of reminders delivered
+     */
+    public int deliverDue() {
+        long now = clock.getAsLong();
+        List<Reminder> due;
+        synchronized (this) {
+            due = wheel.advance(now);
+            for (Reminder reminder : due) {
+                pending.remove(reminder.getSession());
+                if (reminder.getSession().isRecurring()) {
+                    scheduleFrom(reminder.getSession(), reminder.getStart() + 1);
+                }
+            }
+        }
+        int delivered = 0;
+        for (Reminder reminder : due) {
+            if (reminder.getStart() <= now) {
+                continue;
+            }
+            if (reminder.getTime() < now) {
+                reminder = new Reminder(reminder.getSession(), reminder.getStart(), now);
+            }
+            StudyGroup group = reminder.getSession().getGroup();
+            try {
+                sink.deliver(reminder, group != null ? group.getMemberIds() : new int[0]);
+                delivered++;
+            } catch (RuntimeException e) {
+                // An exception would also stop the background thread from running again
+                System.err.println("Error: Could not deliver the reminder of " + reminder.getSession().getTitle() + " - " + e);
+            }
+        }
+        return delivered;
+    }
+
+    /**
+     * Starts a daemon thread delivering reminders as they become due.
+     */
+    public synchronized void start() {
+        if (executor != null) {
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable task) {
+                Thread thread = new Thread(task, "reminder-scheduler");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        executor.scheduleWithFixedDelay(this::deliverDue, CHECK_INTERVAL_MS, CHECK_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the background thread. Pending reminders are kept.
+     */
+    public synchronized void stop() {
+        if (executor != null) {
+            executor.shutdown();
+            executor = null;
+        }
+    }
+
+    /**
+     * Schedules the reminder of the first occurrence of a session starting at or after a time.
+     *
+     * @param session The session
+     * @param from    The earliest start time
+     */
+    private void scheduleFrom(Session session, long from) {
+        long start = session.nextOccurrence(from);
+        if (start == Session.NO_TIME) {
+            return;
+        }
+        long time = Math.max(start - LEAD_MINUTES, wheel.getCurrentTime() + 1);
+        pending.put(session, wheel.schedule(time, new Reminder(session, start, time)));
+    }
+}
@@ -0,0 +1,29 @@
+/**
+ * The com.Divan.coordinator package contains classes and interfaces related to coordination tasks
+ * in the application developed by Rana Melih.
+ * 
+ * This package serves as a coordination module facilitating communication and orchestration
+ * among different components of the application.
+ * 
+ * Classes within this package might include implementations of coordinator patterns,
+ * such as the mediator pattern, or other coordination strategies.
+ * 
+ * @author Rana Melih
+ * @version 1.0.3
+ * @since 2024-03-28
+ */
+package com.Demirci.coordinator;
+
+/**
+ * The ReminderSink interface receives the reminders of the {@link ReminderScheduler}, for example to
+ * write them to an outbox or to send them to the members of a group.
+ */
+public interface ReminderSink {
+    /**
+     * Delivers a reminder. Called on the thread of the scheduler, without holding its lock.
+     *
+     * @param reminder  The reminder
+     * @param memberIds The IDs of the members of the session's group when the reminder fired
+     */
+    void deliver(ReminderScheduler.Reminder reminder, int[] memberIds);
+}
@@ -14,6 +14,8 @@
  */
 package com.Demirci.coordinator;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
@@ -21,7 +23,7 @@ import java.util.List;
 /**
  * The Resource class represents a resource item that can be shared within a study group.
  */
-public class Resource implements Serializable {
+public class Resource implements Serializable, GroupOwned {
 	/**
 	 * Serializable identifier for object persistence.
 	 */
@@ -43,9 +45,14 @@ public class Resource implements Serializable {
 	private String link;
 
 	/**
-	 * The study group associated with the coordinator.
+	 * The ID of the study group associated with the coordinator.
 	 */
-	private StudyGroup group;
+	private transient int groupId;
+
+	/**
+	 * The study group read from a file written by an older version, registered on first access.
+	 */
+	private transient StudyGroup legacyGroup;
 
 	/**
 	 * A list of additional resources related to the coordinator.
@@ -64,7 +71,7 @@ public class Resource implements Serializable {
         this.title = title;
         this.description = description;
         this.link = link;
-        this.group = group;
+        this.groupId = GroupRegistry.register(group);
         this.resources = new ArrayList<>();
     }
 
@@ -101,7 +108,20 @@ public class Resource implements Serializable {
      * @return The study group associated with the resource
      */
     public StudyGroup getGroup() {
-        return group;
+        return GroupRegistry.get(getGroupId());
+    }
+
+    /**
+     * Gets the ID of the study group associated with the resource.
+     *
+     * @return The group ID, or {@link GroupRegistry#NO_GROUP} if there is no group
+     */
+    public int getGroupId() {
+        if (legacyGroup != null) {
+            groupId = GroupRegistry.intern(legacyGroup).getId();
+            legacyGroup = null;
+        }
+        return groupId;
     }
     
     /**
@@ -130,4 +150,25 @@ public class Resource implements Serializable {
     public void setDescription(String description) {
         this.description = description;
     }
+
+    /**
+     * Reads a resource written with Java serialization by an older version of the application.
+     *
+     * @param in The stream to read from
+     * @throws IOException            If reading fails
+     * @throws ClassNotFoundException If a class of the stream cannot be found
+     */
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        ObjectInputStream.GetField fields = in.readFields();
+        title = (String) fields.get("title", null);
+        description = (String) fields.get("description", null);
+        link = (String) fields.get("link", null);
+        resources = (List<String>) fields.get("resources", null);
+        if (resources == null) {
+            resources = new ArrayList<>();
+        }
+        groupId = GroupRegistry.NO_GROUP;
+        legacyGroup = (StudyGroup) fields.get("group", null);
+    }
 }
@@ -20,13 +20,16 @@ import java.util.List;
 
 /**
  * The ResourceManager class manages the resources in the system.
+ *
+ * The methods are synchronized so that one manager can be shared by all connections in server mode.
+ * Callers that change the list returned by {@link #getResources()} synchronize on the manager.
  */
 public class ResourceManager {
     /** The file path for saving and loading resources. */
     public static final String RESOURCES_FILE = "Resources.bin";
     
-    /** The list of resources managed by this manager. */
-    private List<Resource> resources;
+    /** The list of resources managed by this manager, indexed by group. */
+    private GroupIndexedList<Resource> resources;
     
     /** The file object representing the resources file. */
     private static File file = new File(RESOURCES_FILE);
@@ -35,7 +38,7 @@ public class ResourceManager {
      * Constructs a new ResourceManager object.
      */
     public ResourceManager() {
-        this.resources = new ArrayList<>();
+        this.resources = new GroupIndexedList<>();
     }
 
     /**
@@ -43,7 +46,7 @@ public class ResourceManager {
      *
      * @param resource The resource to add
      */
-    public void addResource(Resource resource) {
+    public synchronized void addResource(Resource resource) {
         resources.add(resource);
     }
 
@@ -52,56 +55,178 @@ public class ResourceManager {
      *
      * @return The list of resources
      */
-    public List<Resource> getResources() {
+    public synchronized List<Resource> getResources() {
         return resources;
     }
 
+    /**
+     * Retrieves the resources of a specific study group.
+     *
+     * @param groupId The ID of the study group
+     * @return A copy of the resources of the group, in the order they were added
+     */
+    public synchronized List<Resource> getResourcesForGroup(int groupId) {
+        return new ArrayList<>(resources.forGroup(groupId));
+    }
+
+    /**
+     * Retrieves the resources of several study groups, such as all groups of a user.
+     *
+     * @param groupIds The IDs of the study groups
+     * @return The resources of the groups, group by group in the order of the IDs
+     */
+    public synchronized List<Resource> getResourcesForGroups(int[] groupIds) {
+        List<Resource> groupResources = new ArrayList<>();
+        for (int groupId : groupIds) {
+            groupResources.addAll(resources.forGroup(groupId));
+        }
+        return groupResources;
+    }
+
+    /**
+     * Finds a resource of a study group by title, ignoring case.
+     *
+     * @param title   The title of the resource
+     * @param groupId The ID of the study group
+     * @return The first matching resource, or null if the group has no resource with that title
+     */
+    public synchronized Resource findResourceForGroup(String title, int groupId) {
+        for (Resource resource : resources.forGroup(groupId)) {
+            if (resource.getTitle().equalsIgnoreCase(title)) {
+                return resource;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Finds a resource of any of several study groups by title, ignoring case.
+     *
+     * @param title    The title of the resource
+     * @param groupIds The IDs of the study groups
+     * @return The first matching resource, or null if none of the groups has a resource with that title
+     */
+    public synchronized Resource findResourceForGroups(String title, int[] groupIds) {
+        for (int groupId : groupIds) {
+            Resource resource = findResourceForGroup(title, groupId);
+            if (resource != null) {
+                return resource;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Displays the resources of all study groups of a user.
+     *
+     * @param user The user whose groups' resources are displayed
+     */
+    public synchronized void displayResourcesForUser(User user) {
+        for (StudyGroup group : user.getGroups()) {
+            displayResourcesForGroup(group);
+        }
+    }
+
     /**
      * Displays the resources available for a specific study group.
      *
      * @param group The study group to display resources for
      */
-    public void displayResourcesForGroup(StudyGroup group) {
+    public synchronized void displayResourcesForGroup(StudyGroup group) {
         System.out.println("Resources for group " + group.getName() + ":");
-        boolean foundResources = false;
-        for (Resource resource : resources) {
-            if (resource.getGroup().getName().equals(group.getName())) {
-                foundResources = true;
-                System.out.println("Title: " + resource.getTitle());
-            }
+        List<Resource> groupResources = resources.forGroup(GroupRegistry.idOf(group));
+        for (Resource resource : groupResources) {
+            System.out.println("Title: " + resource.getTitle());
         }
-        if (!foundResources) {
+        if (groupResources.isEmpty()) {
             System.out.println("Your group doesn't have any resources.");
         }
     }
 
+    /**
+     * Saves a list of resources in the background. Changes saved within one write interval of
+     * {@link PersistenceService} are written to the file together.
+     *
+     * @param resources The list to save, changed only while holding the lock of this manager
+     */
+    public void saveLater(final List<Resource> resources) {
+        PersistenceService.markDirty(RESOURCES_FILE, () -> saveSnapshot(resources));
+    }
+
+    /**
+     * Writes a copy of a list of resources to the file. The copy is taken under the manager lock so
+     * that the file is written without blocking changes to the list.
+     *
+     * @param resources The list to save
+     */
+    private void saveSnapshot(List<Resource> resources) {
+        List<Resource> snapshot;
+        synchronized (this) {
+            snapshot = new ArrayList<>(resources);
+        }
+        writeResources(snapshot);
+    }
+
     /**
      * Writes the resources to a file.
      *
      * @param resources The list of resources to write to the file
      */
     public static void writeResourcesToFile(List<Resource> resources) {
-        try (ObjectOutputStream outputStream = new ObjectOutputStream(new FileOutputStream(file))) {
-            outputStream.writeObject(resources);
+        if (writeResources(resources)) {
             System.out.println("Resources have been saved to " + RESOURCES_FILE);
-        } catch (Exception Ignored) {
         }
     }
 
     /**
-     * Reads resources from the file.
+     * Writes the resources to the file without reporting it.
+     *
+     * @param resources The list of resources to write to the file
+     * @return true if the file was written, false otherwise
+     */
+    private static synchronized boolean writeResources(final List<Resource> resources) {
+        try {
+            FileUtility.writeAtomically(file, out -> BinaryCodec.writeResources(out, resources));
+            return true;
+        } catch (IOException e) {
+            System.err.println("Error: Could not save " + RESOURCES_FILE + " - " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Reads resources from the file. Resources still waiting to be saved in the background are
+     * written first.
      *
      * @return The list of resources read from the file
      */
     public static List<Resource> readResourcesFromFile() {
+        PersistenceService.flush(RESOURCES_FILE);
+        return readResources();
+    }
+
+    /**
+     * Reads resources from the file without flushing pending saves.
+     *
+     * @return The list of resources read from the file
+     */
+    private static synchronized List<Resource> readResources() {
         if (!file.exists()) {
             System.out.println("Resources file does not exist.");
             return new ArrayList<>();
         }
 
-        try (ObjectInputStream inputStream = new ObjectInputStream(new FileInputStream(file))) {
-            @SuppressWarnings("unchecked")
-            List<Resource> resources = (List<Resource>) inputStream.readObject();
+        if (BinaryCodec.isLegacyFormat(file)) {
+            List<Resource> resources = FileUtility.readLegacyList(file);
+            if (resources == null) {
+                return new ArrayList<>();
+            }
+            writeResourcesToFile(resources);
+            return resources;
+        }
+
+        try (DataInputStream inputStream = BinaryCodec.openForReading(file)) {
+            List<Resource> resources = BinaryCodec.readResources(inputStream);
             System.out.println("Resources have been loaded from " + RESOURCES_FILE);
             return resources;
         } catch (Exception Ignored) {
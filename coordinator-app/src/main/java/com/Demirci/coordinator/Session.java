@@ -14,25 +14,80 @@
  */
 package com.Demirci.coordinator;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
  * The Session class represents a session in the system.
+ *
+ * The date is kept as entered and is parsed once into a start and an end time, counted in minutes
+ * since 1970-01-01 00:00 on the local calendar. Dates are understood as yyyy-MM-dd, dd.MM.yyyy or
+ * dd/MM/yyyy, optionally followed by T or a space and HH:mm; other dates have no start time.
+ *
+ * The date can name an end after a / or --, as in ISO 8601 intervals: either another date, or only
+ * HH:mm for the day the session starts, such as 2024-03-05T10:00/12:00. A date without an end lasts
+ * {@link #DEFAULT_DURATION} minutes from a time of day, or the whole day if it has none.
+ *
+ * A recurring session is one session whose date is followed by a recurrence rule after a semicolon,
+ * written like an iCalendar RRULE: FREQ=DAILY or FREQ=WEEKLY, optionally with INTERVAL=n, COUNT=n or
+ * UNTIL=date, such as 2024-03-05T10:00/12:00;FREQ=WEEKLY;COUNT=15. The rule is stored once with the
+ * date, and occurrences are computed only for the time range asked for.
  */
-public class Session implements Serializable {
+public class Session implements Serializable, GroupOwned {
     /** The serial version UID for serialization. */
     private static final long serialVersionUID = 1L;
 
+    /** The start time of a session whose date could not be parsed. */
+    public static final long NO_TIME = Long.MIN_VALUE;
+
+    /** The length in minutes of a session whose date has a time of day but no end. */
+    public static final long DEFAULT_DURATION = 60;
+
+    /** The number of minutes in a day. */
+    private static final long MINUTES_PER_DAY = 24 * 60;
+
+    /** The number of minutes in a week. */
+    private static final long MINUTES_PER_WEEK = 7 * MINUTES_PER_DAY;
+
     /** The title of the session. */
     private String title;
 
     /** The date of the session. */
     private String date;
 
-    /** The study group associated with the session. */
-    private StudyGroup group;
+    /** The start time parsed from the date, or {@link #NO_TIME}. */
+    private transient long time;
+
+    /** The end time parsed from the date, exclusive, or {@link #NO_TIME}. */
+    private transient long endTime;
+
+    /** The minutes between the starts of two occurrences, or 0 if the session does not recur. */
+    private transient long period;
+
+    /** The start time of the last occurrence, or {@link Long#MAX_VALUE} if the session recurs forever. */
+    private transient long lastTime;
+
+    /** The timeline keeping the session in start time order, or null if there is none. */
+    transient SessionTimeline timeline;
+
+    /** How many times the session was added to {@link #timeline}. */
+    transient int timelineReferences;
+
+    /** The position of the session in the saved sessions and the session log, or -1 if it was not saved yet. */
+    transient int logIndex = -1;
+
+    /** The ID of the study group associated with the session. */
+    private transient int groupId;
+
+    /** The study group read from a file written by an older version, registered on first access. */
+    private transient StudyGroup legacyGroup;
 
     /** A description of the session. */
     private String description;
@@ -51,7 +106,8 @@ public class Session implements Serializable {
     public Session(String title, String date, StudyGroup group, String description) {
         this.title = title;
         this.date = date;
-        this.group = group;
+        parseDate();
+        this.groupId = GroupRegistry.register(group);
         this.description = description;
         this.sessions = new ArrayList<>();
     }
@@ -74,13 +130,150 @@ public class Session implements Serializable {
         return date;
     }
 
+    /**
+     * Retrieves the recurrence rule of the session.
+     *
+     * @return The rule following the date, or null if the session does not recur
+     */
+    public String getRecurrence() {
+        int semicolon = date == null ? -1 : date.indexOf(';');
+        return semicolon < 0 ? null : date.substring(semicolon + 1).trim();
+    }
+
+    /**
+     * Checks whether the session recurs.
+     *
+     * @return true if the date has a valid recurrence rule
+     */
+    public boolean isRecurring() {
+        return period > 0;
+    }
+
+    /**
+     * Retrieves the start time of the session, the start of the first occurrence of a recurring session.
+     *
+     * @return The start time in minutes since 1970-01-01 00:00 local time, or {@link #NO_TIME}
+     */
+    public long getTime() {
+        return time;
+    }
+
+    /**
+     * Retrieves the end time of the session.
+     *
+     * @return The end time in minutes since 1970-01-01 00:00 local time, exclusive, or {@link #NO_TIME}
+     */
+    public long getEndTime() {
+        return endTime;
+    }
+
+    /**
+     * Retrieves the time between the starts of two occurrences of the session.
+     *
+     * @return The period in minutes, or 0 if the session does not recur
+     */
+    public long getPeriod() {
+        return period;
+    }
+
+    /**
+     * Retrieves the end of the last occurrence of the session.
+     *
+     * @return The end time of the last occurrence, {@link Long#MAX_VALUE} if the session recurs forever,
+     *         or {@link #NO_TIME}
+     */
+    public long getLastEndTime() {
+        if (time == NO_TIME || lastTime == Long.MAX_VALUE) {
+            return time == NO_TIME ? NO_TIME : Long.MAX_VALUE;
+        }
+        return lastTime + (endTime - time);
+    }
+
+    /**
+     * Finds the first occurrence of the session starting at or after a time.
+     *
+     * @param from The earliest start time
+     * @return The start time of the occurrence, or {@link #NO_TIME} if there is none
+     */
+    public long nextOccurrence(long from) {
+        if (time == NO_TIME) {
+            return NO_TIME;
+        }
+        if (from <= time) {
+            return time;
+        }
+        if (period == 0) {
+            return NO_TIME;
+        }
+        long start = time + (Math.floorDiv(from - time - 1, period) + 1) * period;
+        return start <= lastTime ? start : NO_TIME;
+    }
+
+    /**
+     * Lists the occurrences of the session overlapping a time range.
+     *
+     * @param from  The start of the range, inclusive
+     * @param to    The end of the range, exclusive
+     * @param limit The maximum number of occurrences
+     * @return The start times of the occurrences, earliest first
+     */
+    public long[] occurrencesBetween(long from, long to, int limit) {
+        if (time == NO_TIME) {
+            return new long[0];
+        }
+        long duration = endTime - time;
+        long first = 0;
+        if (period > 0 && from - duration > time) {
+            first = Math.floorDiv(from - duration - time, period) + 1;
+        }
+        long[] starts = new long[Math.min(limit, 16)];
+        int count = 0;
+        for (long k = first; count < limit; k++) {
+            long start = time + k * period;
+            if (start >= to || start > lastTime || (k > 0 && period == 0)) {
+                break;
+            }
+            if (start + duration > from) {
+                if (count == starts.length) {
+                    starts = Arrays.copyOf(starts, Math.min(limit, count * 2));
+                }
+                starts[count++] = start;
+            }
+        }
+        return Arrays.copyOf(starts, count);
+    }
+
+    /**
+     * Checks whether the session overlaps a time range.
+     *
+     * @param from The start of the range, inclusive
+     * @param to   The end of the range, exclusive
+     * @return true if the session has a start time and one of its occurrences overlaps the range
+     */
+    public boolean overlaps(long from, long to) {
+        return occurrencesBetween(from, to, 1).length > 0;
+    }
+
     /**
      * Retrieves the study group associated with the session.
      *
      * @return The study group associated with the session
      */
     public StudyGroup getGroup() {
-        return group;
+        return GroupRegistry.get(getGroupId());
+    }
+
+    /**
+     * Gets the ID of the study group associated with the session.
+     *
+     * @return The group ID, or {@link GroupRegistry#NO_GROUP} if there is no group
+     */
+    public int getGroupId() {
+        if (legacyGroup != null) {
+            groupId = GroupRegistry.intern(legacyGroup).getId();
+            legacyGroup = null;
+        }
+        return groupId;
     }
 
     /**
@@ -107,7 +300,16 @@ public class Session implements Serializable {
      * @param date The new date to be set.
      */
     public void setDate(String date) {
+        long oldTime = this.time;
+        long oldEndTime = this.endTime;
+        long oldPeriod = this.period;
+        long oldLastTime = this.lastTime;
         this.date = date;
+        parseDate();
+        SessionTimeline current = timeline;
+        if (current != null && (oldTime != time || oldEndTime != endTime || oldPeriod != period || oldLastTime != lastTime)) {
+            current.timeChanged(this, oldTime);
+        }
     }
 
     /**
@@ -118,4 +320,303 @@ public class Session implements Serializable {
     public void setDescription(String description) {
         this.description = description;
     }
+
+    /**
+     * Reads a session written with Java serialization by an older version of the application.
+     *
+     * @param in The stream to read from
+     * @throws IOException            If reading fails
+     * @throws ClassNotFoundException If a class of the stream cannot be found
+     */
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        ObjectInputStream.GetField fields = in.readFields();
+        title = (String) fields.get("title", null);
+        date = (String) fields.get("date", null);
+        parseDate();
+        description = (String) fields.get("description", null);
+        sessions = (List<String>) fields.get("sessions", null);
+        if (sessions == null) {
+            sessions = new ArrayList<>();
+        }
+        groupId = GroupRegistry.NO_GROUP;
+        legacyGroup = (StudyGroup) fields.get("group", null);
+    }
+
+    /**
+     * Converts a local date and time to a start time.
+     *
+     * @param dateTime The date and time
+     * @return The start time in minutes since 1970-01-01 00:00 local time
+     */
+    public static long toTime(LocalDateTime dateTime) {
+        return Math.floorDiv(dateTime.toEpochSecond(ZoneOffset.UTC), 60);
+    }
+
+    /**
+     * Formats a time as yyyy-MM-ddTHH:mm.
+     *
+     * @param time The time, in minutes since 1970-01-01 00:00 local time
+     * @return The formatted time
+     */
+    public static String formatTime(long time) {
+        return LocalDateTime.ofEpochSecond(time * 60, 0, ZoneOffset.UTC).toString();
+    }
+
+    /**
+     * Parses the date into the start and end time and the recurrence.
+     */
+    private void parseDate() {
+        long[] parsed = parseInterval(date);
+        time = parsed[0];
+        endTime = parsed[1];
+        period = parsed[2];
+        lastTime = parsed[3];
+    }
+
+    /**
+     * Parses a session date into a start time. A date without a time of day starts at midnight.
+     *
+     * @param date The date as entered
+     * @return The start time, or {@link #NO_TIME} if the date is not in one of the understood formats
+     */
+    public static long parseTime(String date) {
+        return parseInterval(date)[0];
+    }
+
+    /**
+     * Parses a session date into an end time.
+     *
+     * @param date The date as entered
+     * @return The end time, exclusive, or {@link #NO_TIME} if the date is not in one of the understood formats
+     */
+    public static long parseEndTime(String date) {
+        return parseInterval(date)[1];
+    }
+
+    /**
+     * Parses a session date into a start and an end time and a recurrence.
+     *
+     * @param date The date as entered
+     * @return The start and the end time, the period and the start of the last occurrence; the times
+     *         are {@link #NO_TIME} if the date is not understood or ends before it starts
+     */
+    private static long[] parseInterval(String date) {
+        long[] none = { NO_TIME, NO_TIME, 0, NO_TIME };
+        if (date == null) {
+            return none;
+        }
+        String text = date.trim();
+        String rule = null;
+        int semicolon = text.indexOf(';');
+        if (semicolon >= 0) {
+            rule = text.substring(semicolon + 1);
+            text = text.substring(0, semicolon).trim();
+        }
+        // The date of dd/MM/yyyy contains slashes itself, so an interval separator comes after it
+        int split = text.indexOf('/', 10);
+        int dashes = text.indexOf("--", 10);
+        int separatorLength = 1;
+        if (dashes >= 0 && (split < 0 || dashes < split)) {
+            split = dashes;
+            separatorLength = 2;
+        }
+        String startText = split < 0 ? text : text.substring(0, split).trim();
+        long start = parseDateTime(startText);
+        if (start == NO_TIME) {
+            return none;
+        }
+        long end = parseEnd(text, split, separatorLength, startText, start);
+        if (end == NO_TIME) {
+            return none;
+        }
+        if (rule == null) {
+            return new long[] { start, end, 0, start };
+        }
+        long[] recurrence = parseRecurrence(rule, start);
+        if (recurrence == null) {
+            return none;
+        }
+        return new long[] { start, end, recurrence[0], recurrence[1] };
+    }
+
+    /**
+     * Parses the end of a session date.
+     *
+     * @param text            The date without a recurrence rule
+     * @param split           The position of the separator before the end, or -1 if there is no end
+     * @param separatorLength The length of the separator
+     * @param startText       The start part of the date
+     * @param start           The start time
+     * @return The end time, or {@link #NO_TIME} if the end is not understood or before the start
+     */
+    private static long parseEnd(String text, int split, int separatorLength, String startText, long start) {
+        if (split < 0) {
+            return start + (startText.length() == 10 ? MINUTES_PER_DAY : DEFAULT_DURATION);
+        }
+        String endText = text.substring(split + separatorLength).trim();
+        long end;
+        if (endText.length() == 5 && digits(endText, 0, 2) && endText.charAt(2) == ':' && digits(endText, 3, 5)) {
+            int hour = number(endText, 0, 2);
+            int minute = number(endText, 3, 5);
+            if (hour > 23 || minute > 59) {
+                return NO_TIME;
+            }
+            end = Math.floorDiv(start, MINUTES_PER_DAY) * MINUTES_PER_DAY + hour * 60 + minute;
+            if (end <= start) {
+                // A session ending at a time of day earlier than its start runs past midnight
+                end += MINUTES_PER_DAY;
+            }
+        } else {
+            end = parseDateTime(endText);
+            if (end != NO_TIME && endText.length() == 10) {
+                // An end date without a time of day includes that whole day
+                end += MINUTES_PER_DAY;
+            }
+        }
+        return end == NO_TIME || end <= start ? NO_TIME : end;
+    }
+
+    /**
+     * Parses a recurrence rule.
+     *
+     * @param rule  The rule, parts like FREQ=WEEKLY separated by semicolons
+     * @param start The start time of the first occurrence
+     * @return The period and the start time of the last occurrence, or null if the rule is not understood
+     */
+    private static long[] parseRecurrence(String rule, long start) {
+        long period = 0;
+        long interval = 1;
+        long count = 0;
+        long until = NO_TIME;
+        for (String part : rule.split(";")) {
+            part = part.trim();
+            if (part.isEmpty()) {
+                continue;
+            }
+            int equals = part.indexOf('=');
+            if (equals < 0) {
+                return null;
+            }
+            String key = part.substring(0, equals).trim().toUpperCase();
+            String value = part.substring(equals + 1).trim();
+            if (key.equals("FREQ") && value.equalsIgnoreCase("DAILY")) {
+                period = MINUTES_PER_DAY;
+            } else if (key.equals("FREQ") && value.equalsIgnoreCase("WEEKLY")) {
+                period = MINUTES_PER_WEEK;
+            } else if ((key.equals("INTERVAL") || key.equals("COUNT"))
+                    && !value.isEmpty() && value.length() <= 6 && digits(value, 0, value.length())) {
+                long number = number(value, 0, value.length());
+                if (number == 0) {
+                    return null;
+                }
+                if (key.equals("INTERVAL")) {
+                    interval = number;
+                } else {
+                    count = number;
+                }
+            } else if (key.equals("UNTIL")) {
+                until = parseDateTime(value);
+                if (until == NO_TIME) {
+                    return null;
+                }
+                if (value.length() == 10) {
+                    // An end date without a time of day includes that whole day
+                    until += MINUTES_PER_DAY - 1;
+                }
+            } else {
+                return null;
+            }
+        }
+        if (period == 0) {
+            return null;
+        }
+        period *= interval;
+        long last = count > 0 ? start + (count - 1) * period : Long.MAX_VALUE;
+        if (until != NO_TIME) {
+            if (until < start) {
+                return null;
+            }
+            last = Math.min(last, start + (until - start) / period * period);
+        }
+        return new long[] { period, last };
+    }
+
+    /**
+     * Parses a date with an optional time of day. A date without a time of day means midnight.
+     *
+     * @param text The date, without surrounding spaces
+     * @return The time, or {@link #NO_TIME} if the date is not in one of the understood formats
+     */
+    private static long parseDateTime(String text) {
+        if (text.length() < 10) {
+            return NO_TIME;
+        }
+        int year;
+        int month;
+        int day;
+        char separator = text.charAt(2);
+        if (digits(text, 0, 4) && text.charAt(4) == '-' && digits(text, 5, 7) && text.charAt(7) == '-' && digits(text, 8, 10)) {
+            year = number(text, 0, 4);
+            month = number(text, 5, 7);
+            day = number(text, 8, 10);
+        } else if ((separator == '.' || separator == '/') && digits(text, 0, 2) && text.charAt(5) == separator
+                && digits(text, 3, 5) && digits(text, 6, 10)) {
+            day = number(text, 0, 2);
+            month = number(text, 3, 5);
+            year = number(text, 6, 10);
+        } else {
+            return NO_TIME;
+        }
+        int hour = 0;
+        int minute = 0;
+        if (text.length() != 10) {
+            char timeSeparator = text.charAt(10);
+            if (text.length() != 16 || (timeSeparator != 'T' && timeSeparator != ' ')
+                    || !digits(text, 11, 13) || text.charAt(13) != ':' || !digits(text, 14, 16)) {
+                return NO_TIME;
+            }
+            hour = number(text, 11, 13);
+            minute = number(text, 14, 16);
+        }
+        try {
+            return toTime(LocalDateTime.of(year, month, day, hour, minute));
+        } catch (DateTimeException e) {
+            return NO_TIME;
+        }
+    }
+
+    /**
+     * Checks that a part of a text consists of ASCII digits.
+     *
+     * @param text The text
+     * @param from The start of the part, inclusive
+     * @param to   The end of the part, exclusive
+     * @return true if every character of the part is a digit
+     */
+    private static boolean digits(String text, int from, int to) {
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Reads a number made of ASCII digits.
+     *
+     * @param text The text
+     * @param from The start of the number, inclusive
+     * @param to   The end of the number, exclusive
+     * @return The number
+     */
+    private static int number(String text, int from, int to) {
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            value = value * 10 + (text.charAt(i) - '0');
+        }
+        return value;
+    }
 }
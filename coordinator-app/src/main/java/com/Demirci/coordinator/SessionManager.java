@@ -16,26 +16,147 @@ package com.Demirci.coordinator;
 
 import java.io.*;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * The SessionManager class handles the management of sessions in the system.
+ *
+ * The methods are synchronized so that one manager can be shared by all connections in server mode.
+ * Callers that change the list returned by {@link #getSessions()} synchronize on the manager.
  */
 public class SessionManager {
     /** The file path for sessions serialization. */
     public static final String SESSIONS_FILE = "Sessions.bin";
     
-    /** The list of sessions managed by this manager. */
-    private List<Session> sessions;
+    /** The list of sessions managed by this manager, indexed by group. */
+    private GroupIndexedList<Session> sessions;
+
+    /** The sessions of the list ordered by start time. */
+    private final SessionTimeline timeline = new SessionTimeline() {
+        @Override
+        protected void sessionMoved(Session session) {
+            ReminderScheduler current = reminders;
+            if (current != null) {
+                current.schedule(session);
+            }
+        }
+    };
+
+    /** The scheduler reminding members of the sessions of the list, or null if there is none. */
+    private volatile ReminderScheduler reminders;
+
+    /** The file path for the log of session changes made since the last snapshot. */
+    public static final String SESSIONS_LOG_FILE = "Sessions.log";
+
+    /** Log size in bytes below which the log is never compacted into a new snapshot. */
+    private static final long COMPACTION_THRESHOLD = 256 * 1024;
+
+    /** The number of occurrences of a recurring session checked for conflicts, a year of daily sessions. */
+    static final int MAX_CONFLICT_OCCURRENCES = 366;
+
+    /** Log record type for a newly added session. */
+    private static final byte RECORD_ADD = 1;
+
+    /** Log record type for an edited session. */
+    private static final byte RECORD_EDIT = 2;
 
     /** The file object representing the sessions file. */
     private static File file = new File(SESSIONS_FILE);
 
+    /** The log of session changes made since the sessions file was written. */
+    private static AppendOnlyLog log = new AppendOnlyLog(new File(SESSIONS_LOG_FILE));
+
+    /**
+     * A copy of the sessions to compact in the background, taken while the list could not change,
+     * or null if no compaction is pending.
+     */
+    private static List<Session> compactionList;
+
+    /** The length of the log when {@link #compactionList} was copied. */
+    private static long compactionLogLength;
+
+    /** Number of snapshots written by {@link #writeSessionsToFile(List)}, used to drop outdated compactions. */
+    private static long generation;
+
+    /**
+     * The SessionManager.Conflict class describes a scheduled session that overlaps a new session,
+     * together with the members the two sessions have in common.
+     */
+    public static class Conflict {
+        /** The scheduled session. */
+        private final Session session;
+
+        /** The IDs of the users expected at both sessions. */
+        private final int[] memberIds;
+
+        /**
+         * Constructs a Conflict.
+         *
+         * @param session   The scheduled session
+         * @param memberIds The IDs of the users expected at both sessions
+         */
+        public Conflict(Session session, int[] memberIds) {
+            this.session = session;
+            this.memberIds = memberIds;
+        }
+
+        /**
+         * Gets the scheduled session.
+         *
+         * @return The session
+         */
+        public Session getSession() {
+            return session;
+        }
+
+        /**
+         * Gets the users expected at both sessions.
+         *
+         * @return The user IDs in ascending order
+         */
+        public int[] getMemberIds() {
+            return memberIds;
+        }
+    }
+
     /**
      * Constructs a new SessionManager object with an empty list of sessions.
      */
     public SessionManager() {
-        this.sessions = new ArrayList<>();
+        this.sessions = new GroupIndexedList<Session>() {
+            @Override
+            protected void entityAdded(Session session) {
+                timeline.add(session);
+                if (reminders != null) {
+                    reminders.schedule(session);
+                }
+            }
+
+            @Override
+            protected void entityRemoved(Session session) {
+                timeline.remove(session);
+                // A session listed more than once keeps its reminder until its last entry is removed
+                if (reminders != null && session.timeline == null) {
+                    reminders.cancel(session);
+                }
+            }
+        };
+    }
+
+    /**
+     * Sets the scheduler reminding members of the sessions and schedules the reminders of the
+     * sessions already in the list. From then on, reminders follow the sessions as they are added,
+     * removed or moved to another date.
+     *
+     * @param reminders The reminder scheduler
+     */
+    public synchronized void setReminders(ReminderScheduler reminders) {
+        this.reminders = reminders;
+        for (Session session : sessions) {
+            reminders.schedule(session);
+        }
     }
 
     /**
@@ -43,7 +164,7 @@ public class SessionManager {
      *
      * @param session The session to be added.
      */
-    public void addSession(Session session) {
+    public synchronized void addSession(Session session) {
         sessions.add(session);
     }
 
@@ -52,62 +173,540 @@ public class SessionManager {
      *
      * @return The list of sessions.
      */
-    public List<Session> getSessions() {
+    public synchronized List<Session> getSessions() {
         return sessions;
     }
 
+    /**
+     * Retrieves the sessions of a specific study group.
+     *
+     * @param groupId The ID of the study group.
+     * @return A copy of the sessions of the group, in the order they were added.
+     */
+    public synchronized List<Session> getSessionsForGroup(int groupId) {
+        return new ArrayList<>(sessions.forGroup(groupId));
+    }
+
+    /**
+     * Retrieves the sessions of several study groups, such as all groups of a user.
+     *
+     * @param groupIds The IDs of the study groups.
+     * @return The sessions of the groups, group by group in the order of the IDs.
+     */
+    public synchronized List<Session> getSessionsForGroups(int[] groupIds) {
+        List<Session> groupSessions = new ArrayList<>();
+        for (int groupId : groupIds) {
+            groupSessions.addAll(sessions.forGroup(groupId));
+        }
+        return groupSessions;
+    }
+
+    /**
+     * Finds a session of a study group by title, ignoring case.
+     *
+     * @param title   The title of the session.
+     * @param groupId The ID of the study group.
+     * @return The first matching session, or null if the group has no session with that title.
+     */
+    public synchronized Session findSessionForGroup(String title, int groupId) {
+        for (Session session : sessions.forGroup(groupId)) {
+            if (session.getTitle().equalsIgnoreCase(title)) {
+                return session;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Finds a session of any of several study groups by title, ignoring case.
+     *
+     * @param title    The title of the session.
+     * @param groupIds The IDs of the study groups.
+     * @return The first matching session, or null if none of the groups has a session with that title.
+     */
+    public synchronized Session findSessionForGroups(String title, int[] groupIds) {
+        for (int groupId : groupIds) {
+            Session session = findSessionForGroup(title, groupId);
+            if (session != null) {
+                return session;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Retrieves the sessions starting in a time range, across all groups.
+     *
+     * @param from  The earliest start time, inclusive, as returned by {@link Session#getTime()}.
+     * @param to    The latest start time, exclusive.
+     * @param limit The maximum number of sessions.
+     * @return The sessions in the range, earliest first.
+     */
+    public synchronized List<Session> getSessionsBetween(long from, long to, int limit) {
+        return timeline.between(from, to, limit);
+    }
+
+    /**
+     * Retrieves the sessions of a specific study group starting in a time range.
+     *
+     * @param groupId The ID of the study group.
+     * @param from    The earliest start time, inclusive, as returned by {@link Session#getTime()}.
+     * @param to      The latest start time, exclusive.
+     * @param limit   The maximum number of sessions.
+     * @return The sessions of the group in the range, earliest first.
+     */
+    public synchronized List<Session> getSessionsForGroupBetween(int groupId, long from, long to, int limit) {
+        return timeline.between(groupId, from, to, limit);
+    }
+
+    /**
+     * Retrieves the upcoming sessions of a specific study group.
+     *
+     * @param groupId The ID of the study group.
+     * @param from    The current time, as returned by {@link Session#toTime(java.time.LocalDateTime)}.
+     * @param limit   The maximum number of sessions.
+     * @return The sessions of the group starting at or after the given time, earliest first.
+     */
+    public synchronized List<Session> getUpcomingSessionsForGroup(int groupId, long from, int limit) {
+        return timeline.between(groupId, from, Long.MAX_VALUE, limit);
+    }
+
+    /**
+     * Finds the next session of a specific study group.
+     *
+     * @param groupId The ID of the study group.
+     * @param from    The current time, as returned by {@link Session#toTime(java.time.LocalDateTime)}.
+     * @return The first session of the group starting at or after the given time, or null if there is none.
+     */
+    public synchronized Session findNextSessionForGroup(int groupId, long from) {
+        return timeline.next(groupId, from);
+    }
+
+    /**
+     * Finds the next session of any of several study groups.
+     *
+     * @param groupIds The IDs of the study groups.
+     * @param from     The current time, as returned by {@link Session#toTime(java.time.LocalDateTime)}.
+     * @return The first session of the groups with an occurrence starting at or after the given time, or
+     *         null if there is none.
+     */
+    public synchronized Session findNextSessionForGroups(int[] groupIds, long from) {
+        Session next = null;
+        for (int groupId : groupIds) {
+            Session session = timeline.next(groupId, from);
+            if (session != null && (next == null || session.nextOccurrence(from) < next.nextOccurrence(from))) {
+                next = session;
+            }
+        }
+        return next;
+    }
+
+    /**
+     * Finds the scheduled sessions that overlap a session and share members with it.
+     *
+     * The groups of all members of the session's group are collected first, so that the interval tree
+     * of each of these groups is queried once, however many members it has in common with the session's
+     * group. The members affected by an overlapping session are the intersection of the member bitmaps
+     * of the two groups. A recurring session is checked over its first {@link #MAX_CONFLICT_OCCURRENCES}
+     * occurrences.
+     *
+     * @param session The session, which does not need to be in the list yet.
+     * @return The conflicts, ordered by the start time of the scheduled session.
+     */
+    public synchronized List<Conflict> findConflicts(Session session) {
+        List<Conflict> conflicts = new ArrayList<>();
+        StudyGroup group = session.getGroup();
+        if (group == null || session.getTime() == Session.NO_TIME) {
+            return conflicts;
+        }
+        long duration = session.getEndTime() - session.getTime();
+        long[] occurrences = session.occurrencesBetween(session.getTime(), Long.MAX_VALUE, MAX_CONFLICT_OCCURRENCES);
+        long spanEnd = occurrences[occurrences.length - 1] + duration;
+        MemberBitmap members = group.copyMemberIds();
+        MemberBitmap groupIds = new MemberBitmap();
+        groupIds.add(session.getGroupId());
+        for (int memberId : members.toArray()) {
+            User member = Account.findUserById(memberId);
+            if (member != null) {
+                for (int groupId : member.getGroupIds()) {
+                    groupIds.add(groupId);
+                }
+            }
+        }
+        for (int groupId : groupIds.toArray()) {
+            List<Session> overlapping = timeline.overlapping(groupId, session.getTime(), spanEnd);
+            overlapping.remove(session);
+            if (session.isRecurring()) {
+                overlapping.removeIf(scheduled -> !overlapsAny(scheduled, occurrences, duration));
+            }
+            StudyGroup other = GroupRegistry.get(groupId);
+            if (overlapping.isEmpty() || other == null) {
+                continue;
+            }
+            int[] shared = groupId == session.getGroupId() ? members.toArray()
+                    : MemberBitmap.and(members, other.copyMemberIds()).toArray();
+            if (shared.length == 0) {
+                continue;
+            }
+            for (Session scheduled : overlapping) {
+                conflicts.add(new Conflict(scheduled, shared));
+            }
+        }
+        Collections.sort(conflicts, (a, b) -> Long.compare(a.getSession().getTime(), b.getSession().getTime()));
+        return conflicts;
+    }
+
+    /**
+     * Checks whether a session overlaps any of a list of occurrences.
+     *
+     * @param session     The session
+     * @param occurrences The start times of the occurrences
+     * @param duration    The length of each occurrence in minutes
+     * @return true if the session overlaps one of the occurrences
+     */
+    private static boolean overlapsAny(Session session, long[] occurrences, long duration) {
+        for (long start : occurrences) {
+            if (session.overlaps(start, start + duration)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Finds the times within a horizon that the most members of a study group can attend. A member is
+     * busy during the sessions of all of the member's groups.
+     *
+     * @param group    The study group
+     * @param from     The start of the horizon, as returned by {@link Session#toTime(java.time.LocalDateTime)}
+     * @param to       The end of the horizon, exclusive
+     * @param duration The length of the session in minutes
+     * @param limit    The maximum number of slots
+     * @return The slots, the most attended first
+     */
+    public List<SlotFinder.Slot> findSlots(StudyGroup group, long from, long to, long duration, int limit) {
+        SlotFinder finder = new SlotFinder(from, to);
+        int[] memberIds = group.getMemberIds();
+        int[][] memberGroups = new int[memberIds.length][];
+        IntHashMap<Integer> positions = new IntHashMap<>();
+        List<long[]> groupBusy = new ArrayList<>();
+        synchronized (this) {
+            for (int m = 0; m < memberIds.length; m++) {
+                User member = Account.findUserById(memberIds[m]);
+                int[] groupIds = member != null ? member.getGroupIds() : new int[] { group.getId() };
+                memberGroups[m] = new int[groupIds.length];
+                for (int g = 0; g < groupIds.length; g++) {
+                    Integer position = positions.get(groupIds[g]);
+                    if (position == null) {
+                        position = groupBusy.size();
+                        positions.put(groupIds[g], position);
+                        groupBusy.add(finder.busyTimes(timeline.overlapping(groupIds[g], finder.getFrom(), finder.getTo())));
+                    }
+                    memberGroups[m][g] = position;
+                }
+            }
+        }
+        return finder.find(groupBusy.toArray(new long[0][]), memberGroups, duration, limit);
+    }
+
+    /**
+     * Displays the sessions of all study groups of a user.
+     *
+     * @param user The user whose groups' sessions are displayed.
+     */
+    public synchronized void displaySessionsForUser(User user) {
+        for (StudyGroup group : user.getGroups()) {
+            displaySessionsForGroup(group);
+        }
+    }
+
     /**
      * Displays sessions for a specific study group.
      *
      * @param group The study group for which sessions will be displayed.
      */
-    public void displaySessionsForGroup(StudyGroup group) {
+    public synchronized void displaySessionsForGroup(StudyGroup group) {
         System.out.println("Sessions for group " + group.getName() + ":");
-        boolean foundSessions = false;
-        for (Session session : sessions) {
-            if (session.getGroup().getName().equals(group.getName())) {
-                foundSessions = true;
-                System.out.println("Title: " + session.getTitle());
-            }
+        List<Session> groupSessions = sessions.forGroup(GroupRegistry.idOf(group));
+        for (Session session : groupSessions) {
+            System.out.println("Title: " + session.getTitle());
         }
-        if (!foundSessions) {
+        if (groupSessions.isEmpty()) {
             System.out.println("Your group doesn't have any session.");
         }
     }
 
     /**
-     * Writes sessions to a file.
+     * Writes a snapshot of all sessions to the sessions file and starts a new, empty log on top of it.
+     * This is the compaction step of the session log; routine changes go through
+     * {@link #appendSession(List, Session)} and {@link #recordSessionEdit(List, Session)}.
      *
      * @param sessions The list of sessions to be written to the file.
      */
-    public static void writeSessionsToFile(List<Session> sessions) {
+    public static synchronized void writeSessionsToFile(final List<Session> sessions) {
+        generation++;
+        compactionList = null;
+        for (int i = 0; i < sessions.size(); i++) {
+            sessions.get(i).logIndex = i;
+        }
+        final long snapshotId = newSnapshotId();
+        try {
+            FileUtility.writeAtomically(file, out -> writeSnapshot(out, sessions, snapshotId));
+        } catch (IOException e) {
+            System.err.println("Error: Could not save " + SESSIONS_FILE + " - " + e.getMessage());
+            return;
+        }
+        try {
+            log.reset(sessions.size(), snapshotId);
+        } catch (IOException e) {
+            // The log of the old snapshot no longer matches, so the next change writes a new snapshot
+            System.err.println("Error: Could not reset " + SESSIONS_LOG_FILE + " - " + e.getMessage());
+            log.delete();
+        }
+    }
+
+    /**
+     * Waits until the session changes logged so far are on disk. Callers that wait at the same time
+     * share one fsync of the log.
+     */
+    public static void syncLog() {
+        try {
+            log.sync();
+        } catch (IOException e) {
+            System.err.println("Error: Could not sync " + SESSIONS_LOG_FILE + " - " + e.getMessage());
+        }
+    }
+
+    /**
+     * Appends a newly scheduled session to the session log instead of rewriting the whole file.
+     * The session must already be the last element of the given list.
+     *
+     * @param sessions The full list of sessions, used when the log needs to be compacted; the caller
+     *                 holds the lock that guards its changes.
+     * @param session  The session that was added.
+     */
+    public static synchronized void appendSession(List<Session> sessions, Session session) {
+        session.logIndex = sessions.size() - 1;
+        appendRecord(sessions, RECORD_ADD, session.logIndex, session);
+    }
+
+    /**
+     * Appends the new state of an edited session to the session log. The position of the session is
+     * the one it was saved or loaded at; the list is only searched if the session is not there.
+     *
+     * @param sessions The full list of sessions containing the edited session; the caller holds the
+     *                 lock that guards its changes.
+     * @param session  The session that was edited.
+     */
+    public static synchronized void recordSessionEdit(List<Session> sessions, Session session) {
+        int index = session.logIndex;
+        if (index < 0 || index >= sessions.size() || sessions.get(index) != session) {
+            index = sessions.indexOf(session);
+            if (index < 0) {
+                return;
+            }
+            session.logIndex = index;
+        }
+        appendRecord(sessions, RECORD_EDIT, index, session);
+    }
+
+    /**
+     * Appends one record to the session log. A new snapshot is written right away when there is no
+     * usable log yet, and in the background when the log has grown larger than the snapshot.
+     *
+     * @param sessions The full list of sessions, which the caller keeps from changing during the call.
+     * @param type     The record type.
+     * @param index    The position of the session in the list.
+     * @param session  The session to record.
+     */
+    private static void appendRecord(List<Session> sessions, byte type, int index, Session session) {
+        if (!log.exists()) {
+            writeSessionsToFile(sessions);
+            return;
+        }
         try {
-            ObjectOutputStream outputStream = new ObjectOutputStream(new FileOutputStream(file));
-            outputStream.writeObject(sessions);
-            outputStream.close();
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (DataOutputStream out = new DataOutputStream(bytes)) {
+                out.writeByte(type);
+                out.writeInt(index);
+                BinaryCodec.writeSessions(out, Collections.singletonList(session));
+            }
+            log.append(bytes.toByteArray());
         } catch (Exception ignored) {
+            writeSessionsToFile(sessions);
+            return;
+        }
+        if (compactionList == null && log.size() > Math.max(COMPACTION_THRESHOLD, file.length())) {
+            // The caller holds the lock of the list, so the copy matches the log up to here; records
+            // appended later are carried over to the new log
+            compactionList = new ArrayList<>(sessions);
+            compactionLogLength = log.size();
+            PersistenceService.markDirty(SESSIONS_FILE, SessionManager::compact);
         }
     }
 
     /**
-     * Reads sessions from a file.
+     * Compacts the session log in the background. The copy of the sessions handed over by
+     * {@link #appendRecord(List, byte, int, Session)} is written without holding a lock, so sessions
+     * keep being logged meanwhile; those records are carried over to the new log.
+     */
+    private static void compact() {
+        final List<Session> snapshot;
+        long logLength;
+        long startGeneration;
+        synchronized (SessionManager.class) {
+            snapshot = compactionList;
+            compactionList = null;
+            if (snapshot == null) {
+                return;
+            }
+            logLength = compactionLogLength;
+            startGeneration = generation;
+        }
+
+        final long snapshotId = newSnapshotId();
+        File temp = new File(SESSIONS_FILE + ".tmp");
+        try {
+            FileUtility.writeDurably(temp, out -> writeSnapshot(out, snapshot, snapshotId));
+        } catch (IOException e) {
+            System.err.println("Error: Could not compact " + SESSIONS_FILE + " - " + e.getMessage());
+            temp.delete();
+            return;
+        }
+        synchronized (SessionManager.class) {
+            if (generation != startGeneration) {
+                temp.delete();
+                return;
+            }
+            try {
+                FileUtility.replace(temp, file);
+                log.rebase(snapshot.size(), snapshotId, logLength);
+            } catch (IOException e) {
+                System.err.println("Error: Could not compact " + SESSIONS_FILE + " - " + e.getMessage());
+                temp.delete();
+            }
+        }
+    }
+
+    /**
+     * Writes a snapshot of the sessions followed by its ID.
+     *
+     * @param out        The stream to write to.
+     * @param sessions   The sessions.
+     * @param snapshotId The ID of the snapshot, which the log written on top of it stores as well.
+     * @throws IOException If writing fails.
+     */
+    private static void writeSnapshot(DataOutputStream out, List<Session> sessions, long snapshotId) throws IOException {
+        BinaryCodec.writeSessions(out, sessions);
+        out.writeLong(snapshotId);
+    }
+
+    /**
+     * Creates the ID of a new snapshot. IDs are random, so a new snapshot does not get the ID of an
+     * earlier one in practice.
+     *
+     * @return A random ID other than 0, which stands for a snapshot without ID.
+     */
+    private static long newSnapshotId() {
+        long snapshotId;
+        do {
+            snapshotId = ThreadLocalRandom.current().nextLong();
+        } while (snapshotId == 0 || snapshotId == -1);
+        return snapshotId;
+    }
+
+    /**
+     * Reads sessions from a file by loading the latest snapshot and replaying the session log on top of it.
+     * A compaction waiting in the background is not needed for this, the log already holds every change.
+     * A log whose snapshot ID differs from the one of the snapshot was left over from an older snapshot,
+     * for example by a crash before the log was reset, and is discarded instead of replayed.
      *
      * @return The list of sessions read from the file.
      */
-    public static List<Session> readSessionsFromFile() {
-        if (!file.exists()) {
+    public static synchronized List<Session> readSessionsFromFile() {
+        if (!file.exists() && !log.exists()) {
             System.out.println("Sessions file does not exist.");
             return new ArrayList<>();
         }
 
-        try (ObjectInputStream inputStream = new ObjectInputStream(new FileInputStream(file))) {
-            @SuppressWarnings("unchecked")
-            List<Session> sessions = (List<Session>) inputStream.readObject();
-            System.out.println("Sessions have been loaded from " + SESSIONS_FILE);
-            return sessions;
-        } catch (Exception ignored) {
-            return new ArrayList<>();
+        List<Session> sessions = new ArrayList<>();
+        long snapshotId = 0;
+        boolean legacy = BinaryCodec.isLegacyFormat(file);
+        if (legacy) {
+            List<Session> snapshot = FileUtility.readLegacyList(file);
+            if (snapshot == null) {
+                return new ArrayList<>();
+            }
+            sessions.addAll(snapshot);
+        } else if (file.exists()) {
+            try (DataInputStream inputStream = BinaryCodec.openForReading(file)) {
+                sessions.addAll(BinaryCodec.readSessions(inputStream));
+                try {
+                    snapshotId = inputStream.readLong();
+                } catch (EOFException e) {
+                    // Snapshots written before snapshot IDs were introduced end here
+                }
+            } catch (Exception ignored) {
+                return new ArrayList<>();
+            }
+        }
+
+        long baseCount = log.readBaseCount();
+        if (log.exists() && (log.readSnapshotId() != snapshotId || baseCount < 0 || baseCount > sessions.size())) {
+            System.err.println("Error: " + SESSIONS_LOG_FILE + " does not belong to " + SESSIONS_FILE + " and is discarded");
+            try {
+                log.reset(sessions.size(), snapshotId);
+            } catch (IOException e) {
+                log.delete();
+            }
+        } else if (log.exists()) {
+            // A log without snapshot ID started before the latest snapshot only adds what the snapshot is missing
+            try {
+                for (byte[] record : log.readRecords()) {
+                    try {
+                        replayRecord(sessions, record);
+                    } catch (IOException | ClassNotFoundException | RuntimeException e) {
+                        System.err.println("Error: Could not replay a record of " + SESSIONS_LOG_FILE + " - " + e);
+                    }
+                }
+            } catch (IOException e) {
+                System.err.println("Error: Could not read " + SESSIONS_LOG_FILE + " - " + e.getMessage());
+            }
         }
+        for (int i = 0; i < sessions.size(); i++) {
+            sessions.get(i).logIndex = i;
+        }
+        if (legacy) {
+            writeSessionsToFile(sessions);
+        }
+        System.out.println("Sessions have been loaded from " + SESSIONS_FILE);
+        return sessions;
     }
-}
 
+    /**
+     * Applies a single session log record to the list of sessions.
+     *
+     * @param sessions The list of sessions to update.
+     * @param record   The record payload.
+     * @throws IOException            If the record cannot be decoded.
+     * @throws ClassNotFoundException If a record written by an older version names an unknown class.
+     */
+    private static void replayRecord(List<Session> sessions, byte[] record) throws IOException, ClassNotFoundException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(record));
+        byte type = in.readByte();
+        int index = in.readInt();
+        Session session;
+        if (BinaryCodec.isLegacyFormat(record, 5)) {
+            session = (Session) new ObjectInputStream(in).readObject();
+        } else {
+            session = BinaryCodec.readSessions(in).get(0);
+        }
+        if (type == RECORD_ADD) {
+            if (index >= sessions.size()) {
+                sessions.add(session);
+            }
+        } else if (type == RECORD_EDIT && index < sessions.size()) {
+            sessions.set(index, session);
+        }
+    }
+}
@@ -0,0 +1,291 @@
+/**
+ * The com.Divan.coordinator package contains classes and interfaces related to coordination tasks
+ * in the application developed by Rana Melih.
+ * 
+ * This package serves as a coordination module facilitating communication and orchestration
+ * among different components of the application.
+ * 
+ * Classes within this package might include implementations of coordinator patterns,
+ * such as the mediator pattern, or other coordination strategies.
+ * 
+ * @author Rana Melih
+ * @version 1.0.3
+ * @since 2024-03-28
+ */
+package com.Demirci.coordinator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The SessionTimeline class keeps sessions ordered by their start time, for all sessions and for the
+ * sessions of each study group, and keeps the time span of the sessions of each study group in an
+ * interval tree to find overlapping sessions.
+ *
+ * Sessions whose date could not be parsed have no start time and are left out. A session notifies
+ * the timeline when its date changes, so the order is kept up to date without parsing dates again.
+ *
+ * A recurring session is kept once, in a list of recurring sessions instead of the skip lists, and
+ * spans all its occurrences in the interval tree. Its occurrences are computed for the range of each
+ * query, so a series costs one entry however many times it repeats.
+ */
+public class SessionTimeline {
+    /** All sessions with a start time, by start time. */
+    private final LongSkipList<Session> all = new LongSkipList<>();
+
+    /** The sessions of each study group with a start time, by group ID. */
+    private final IntHashMap<LongSkipList<Session>> byGroup = new IntHashMap<>();
+
+    /** The time spans of the sessions of each study group with a start time, by group ID. */
+    private final IntHashMap<LongIntervalTree<Session>> spansByGroup = new IntHashMap<>();
+
+    /** All recurring sessions with a start time. */
+    private final List<Session> recurring = new ArrayList<>();
+
+    /** The recurring sessions of each study group with a start time, by group ID. */
+    private final IntHashMap<List<Session>> recurringByGroup = new IntHashMap<>();
+
+    /**
+     * Adds a session to the timeline.
+     *
+     * @param session The session to add
+     */
+    public synchronized void add(Session session) {
+        if (session.timeline != this) {
+            // A session follows one timeline; a timeline it was moved away from ignores it from now on
+            session.timeline = this;
+            session.timelineReferences = 0;
+        }
+        session.timelineReferences++;
+        insert(session, session.getTime());
+    }
+
+    /**
+     * Removes a session from the timeline.
+     *
+     * @param session The session to remove
+     */
+    public synchronized void remove(Session session) {
+        if (session.timeline != this) {
+            return;
+        }
+        delete(session, session.getTime());
+        if (--session.timelineReferences == 0) {
+            session.timeline = null;
+        }
+    }
+
+    /**
+     * Moves a session whose start or end time changed to its new place.
+     *
+     * @param session The session
+     * @param oldTime The start time before the change; the session is removed from the recurring
+     *                sessions whether it recurred before or not
+     */
+    synchronized void timeChanged(Session session, long oldTime) {
+        if (session.timeline != this) {
+            return;
+        }
+        for (int i = 0; i < session.timelineReferences; i++) {
+            delete(session, oldTime);
+            insert(session, session.getTime());
+        }
+        sessionMoved(session);
+    }
+
+    /**
+     * Called after a session of the timeline was moved to a new start or end time or recurrence.
+     * Subclasses override it to follow changes of the dates.
+     *
+     * @param session The session
+     */
+    protected void sessionMoved(Session session) {
+    }
+
+    /**
+     * Gets the sessions starting in a time range.
+     *
+     * @param from  The earliest start time, inclusive
+     * @param to    The latest start time, exclusive
+     * @param limit The maximum number of sessions
+     * @return The sessions in the range, earliest first
+     */
+    public synchronized List<Session> between(long from, long to, int limit) {
+        return withOccurrences(all.range(from, to, limit), recurring, from, to, limit);
+    }
+
+    /**
+     * Gets the sessions of a study group starting in a time range.
+     *
+     * @param groupId The ID of the study group
+     * @param from    The earliest start time, inclusive
+     * @param to      The latest start time, exclusive
+     * @param limit   The maximum number of sessions
+     * @return The sessions of the group in the range, by their first occurrence in the range
+     */
+    public synchronized List<Session> between(int groupId, long from, long to, int limit) {
+        LongSkipList<Session> group = byGroup.get(groupId);
+        List<Session> sessions = group == null ? new ArrayList<Session>() : group.range(from, to, limit);
+        return withOccurrences(sessions, recurringByGroup.get(groupId), from, to, limit);
+    }
+
+    /**
+     * Gets the first session of a study group starting at or after a time.
+     *
+     * @param groupId The ID of the study group
+     * @param from    The earliest start time
+     * @return The session, or null if the group has no later session; use
+     *         {@link Session#nextOccurrence(long)} for the start time of a recurring session
+     */
+    public synchronized Session next(int groupId, long from) {
+        LongSkipList<Session> group = byGroup.get(groupId);
+        Session next = group == null ? null : group.first(from);
+        List<Session> series = recurringByGroup.get(groupId);
+        if (series != null) {
+            for (Session session : series) {
+                long start = session.nextOccurrence(from);
+                if (start != Session.NO_TIME && (next == null || start < next.nextOccurrence(from))) {
+                    next = session;
+                }
+            }
+        }
+        return next;
+    }
+
+    /**
+     * Gets the sessions of a study group overlapping a time range.
+     *
+     * @param groupId The ID of the study group
+     * @param from    The start of the range, inclusive
+     * @param to      The end of the range, exclusive
+     * @return The sessions of the group that start before the range ends and end after it starts,
+     *         earliest first
+     */
+    public synchronized List<Session> overlapping(int groupId, long from, long to) {
+        LongIntervalTree<Session> spans = spansByGroup.get(groupId);
+        if (spans == null) {
+            return new ArrayList<Session>();
+        }
+        List<Session> sessions = spans.overlapping(from, to);
+        if (!recurring.isEmpty()) {
+            // The span of a series covers the gaps between its occurrences
+            sessions.removeIf(session -> session.isRecurring() && !session.overlaps(from, to));
+        }
+        return sessions;
+    }
+
+    /**
+     * Adds the recurring sessions with an occurrence in a time range to the sessions starting in it.
+     *
+     * @param sessions The sessions starting in the range, earliest first
+     * @param series   The recurring sessions, or null if there are none
+     * @param from     The earliest start time, inclusive
+     * @param to       The latest start time, exclusive
+     * @param limit    The maximum number of sessions
+     * @return The sessions, by their first occurrence in the range
+     */
+    private static List<Session> withOccurrences(List<Session> sessions, List<Session> series, long from, long to, int limit) {
+        if (series == null || series.isEmpty()) {
+            return sessions;
+        }
+        for (Session session : series) {
+            long start = session.nextOccurrence(from);
+            if (start != Session.NO_TIME && start < to) {
+                sessions.add(session);
+            }
+        }
+        Collections.sort(sessions, Comparator.comparingLong(session -> session.nextOccurrence(from)));
+        return sessions.size() > limit ? new ArrayList<>(sessions.subList(0, limit)) : sessions;
+    }
+
+    /**
+     * Inserts a session into the skip lists and the interval trees.
+     *
+     * @param session The session
+     * @param time    The start time of the session
+     */
+    private void insert(Session session, long time) {
+        if (time == Session.NO_TIME) {
+            return;
+        }
+        if (session.isRecurring()) {
+            recurring.add(session);
+            List<Session> series = recurringByGroup.get(session.getGroupId());
+            if (series == null) {
+                series = new ArrayList<>();
+                recurringByGroup.put(session.getGroupId(), series);
+            }
+            series.add(session);
+        } else {
+            all.add(time, session);
+            LongSkipList<Session> group = byGroup.get(session.getGroupId());
+            if (group == null) {
+                group = new LongSkipList<>();
+                byGroup.put(session.getGroupId(), group);
+            }
+            group.add(time, session);
+        }
+        LongIntervalTree<Session> spans = spansByGroup.get(session.getGroupId());
+        if (spans == null) {
+            spans = new LongIntervalTree<>();
+            spansByGroup.put(session.getGroupId(), spans);
+        }
+        spans.add(time, session.getLastEndTime(), session);
+    }
+
+    /**
+     * Deletes a session from the skip lists and the interval trees.
+     *
+     * @param session The session
+     * @param time    The start time the session was inserted with
+     */
+    private void delete(Session session, long time) {
+        if (time == Session.NO_TIME) {
+            return;
+        }
+        // The session may have stopped or started recurring since it was inserted
+        all.remove(time, session);
+        LongSkipList<Session> group = byGroup.get(session.getGroupId());
+        if (group != null) {
+            group.remove(time, session);
+            if (group.size() == 0) {
+                byGroup.remove(session.getGroupId());
+            }
+        }
+        if (removeSame(recurring, session)) {
+            List<Session> series = recurringByGroup.get(session.getGroupId());
+            if (series != null) {
+                removeSame(series, session);
+                if (series.isEmpty()) {
+                    recurringByGroup.remove(session.getGroupId());
+                }
+            }
+        }
+        LongIntervalTree<Session> spans = spansByGroup.get(session.getGroupId());
+        if (spans != null) {
+            spans.remove(time, session);
+            if (spans.size() == 0) {
+                spansByGroup.remove(session.getGroupId());
+            }
+        }
+    }
+
+    /**
+     * Removes a session from a list by identity.
+     *
+     * @param sessions The list
+     * @param session  The session
+     * @return true if the session was in the list
+     */
+    private static boolean removeSame(List<Session> sessions, Session session) {
+        for (int i = sessions.size() - 1; i >= 0; i--) {
+            if (sessions.get(i) == session) {
+                sessions.remove(i);
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,347 @@
+/**
+ * The com.Divan.coordinator package contains classes and interfaces related to coordination tasks
+ * in the application developed by Rana Melih.
+ * 
+ * This package serves as a coordination module facilitating communication and orchestration
+ * among different components of the application.
+ * 
+ * Classes within this package might include implementations of coordinator patterns,
+ * such as the mediator pattern, or other coordination strategies.
+ * 
+ * @author Rana Melih
+ * @version 1.0.3
+ * @since 2024-03-28
+ */
+package com.Demirci.coordinator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * The SlotFinder class finds the times within a horizon that the most members of a study group can
+ * attend.
+ *
+ * The horizon is divided into slots of {@link #SLOT_MINUTES} minutes, and the busy times of each group
+ * are a bitset with one bit per slot. A member is free when none of the member's groups is busy, and
+ * can attend a session starting in a slot when the member is free for all slots of its duration;
+ * shifting and combining whole words of the bitset answers this for 64 slots at a time. The members
+ * who can attend are counted with bit-sliced counters, one bitset per bit of the count, and large
+ * groups are counted in parallel chunks.
+ *
+ * Sessions only start and end within the day hours from {@link #DAY_START} to {@link #DAY_END}.
+ */
+public class SlotFinder {
+    /** The length of a slot in minutes. */
+    public static final int SLOT_MINUTES = 15;
+
+    /** The earliest time of day a session starts, in minutes. */
+    public static final int DAY_START = 8 * 60;
+
+    /** The latest time of day a session ends, in minutes. */
+    public static final int DAY_END = 22 * 60;
+
+    /** The number of minutes in a day. */
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    /** The number of members counted by one task. */
+    private static final int CHUNK = 128;
+
+    /** The number of members from which the counting is split into parallel tasks. */
+    private static final int PARALLEL_THRESHOLD = 2 * CHUNK;
+
+    /** The start of the first slot, in minutes as returned by {@link Session#getTime()}. */
+    private final long from;
+
+    /** The number of slots in the horizon. */
+    private final int slots;
+
+    /** The number of 64-bit words of a bitset. */
+    private final int words;
+
+    /**
+     * The SlotFinder.Slot class is a proposed session time with the number of members who can attend.
+     */
+    public static class Slot {
+        /** The start time. */
+        private final long start;
+
+        /** The end time, exclusive. */
+        private final long end;
+
+        /** The number of members who are free for the whole slot. */
+        private final int attendees;
+
+        /**
+         * Constructs a Slot.
+         *
+         * @param start     The start time
+         * @param end       The end time, exclusive
+         * @param attendees The number of members who are free for the whole slot
+         */
+        public Slot(long start, long end, int attendees) {
+            this.start = start;
+            this.end = end;
+            this.attendees = attendees;
+        }
+
+        /**
+         * Gets the start time.
+         *
+         * @return The start time, as returned by {@link Session#getTime()}
+         */
+        public long getStart() {
+            return start;
+        }
+
+        /**
+         * Gets the end time.
+         *
+         * @return The end time, exclusive
+         */
+        public long getEnd() {
+            return end;
+        }
+
+        /**
+         * Gets the number of members who can attend.
+         *
+         * @return The number of members who are free for the whole slot
+         */
+        public int getAttendees() {
+            return attendees;
+        }
+
+        /**
+         * Formats the slot as a session date, such as 2024-03-05T10:00/11:00.
+         *
+         * @return The slot as a start/end interval
+         */
+        public String toDate() {
+            return Session.formatTime(start) + "/" + Session.formatTime(end).substring(11);
+        }
+    }
+
+    /**
+     * Constructs a SlotFinder for a horizon.
+     *
+     * @param from The start of the horizon, rounded up to a whole slot
+     * @param to   The end of the horizon, exclusive
+     */
+    public SlotFinder(long from, long to) {
+        this.from = Math.floorDiv(from + SLOT_MINUTES - 1, SLOT_MINUTES) * SLOT_MINUTES;
+        this.slots = (int) Math.max(0, (to - this.from) / SLOT_MINUTES);
+        this.words = (slots + 63) / 64;
+    }
+
+    /**
+     * Gets the start of the horizon.
+     *
+     * @return The start of the first slot
+     */
+    public long getFrom() {
+        return from;
+    }
+
+    /**
+     * Gets the end of the horizon.
+     *
+     * @return The end of the last slot, exclusive
+     */
+    public long getTo() {
+        return from + (long) slots * SLOT_MINUTES;
+    }
+
+    /**
+     * Builds the busy bitset of sessions.
+     *
+     * @param sessions The sessions
+     * @return A bitset with the slots set that overlap an occurrence of one of the sessions
+     */
+    public long[] busyTimes(List<Session> sessions) {
+        long[] busy = new long[words];
+        long to = getTo();
+        for (Session session : sessions) {
+            long duration = session.getEndTime() - session.getTime();
+            for (long start : session.occurrencesBetween(from, to, Integer.MAX_VALUE)) {
+                long first = Math.max(0, Math.floorDiv(start - from, SLOT_MINUTES));
+                long last = Math.min(slots, Math.floorDiv(start + duration - from + SLOT_MINUTES - 1, SLOT_MINUTES));
+                for (long slot = first; slot < last; slot++) {
+                    busy[(int) (slot >>> 6)] |= 1L << slot;
+                }
+            }
+        }
+        return busy;
+    }
+
+    /**
+     * Finds the slots that the most members can attend. The slots returned do not overlap each other.
+     *
+     * @param groupBusy    The busy bitsets of the groups, as built by {@link #busyTimes(List)}
+     * @param memberGroups For each member, the positions in groupBusy of the member's groups
+     * @param duration     The length of a session in minutes, rounded up to whole slots
+     * @param limit        The maximum number of slots
+     * @return The slots, the most attended first and the earliest first among equally attended ones
+     */
+    public List<Slot> find(final long[][] groupBusy, final int[][] memberGroups, long duration, int limit) {
+        final int length = (int) Math.max(1, (duration + SLOT_MINUTES - 1) / SLOT_MINUTES);
+        final long[] starts = allowedStarts(length);
+        int chunks = (memberGroups.length + CHUNK - 1) / CHUNK;
+        IntStream tasks = IntStream.range(0, chunks);
+        if (memberGroups.length >= PARALLEL_THRESHOLD) {
+            tasks = tasks.parallel();
+        }
+        int[] counts = tasks
+                .mapToObj(chunk -> count(groupBusy, memberGroups, chunk * CHUNK,
+                        Math.min(memberGroups.length, (chunk + 1) * CHUNK), length, starts))
+                .reduce(new int[slots], SlotFinder::sum);
+        return best(counts, length, limit);
+    }
+
+    /**
+     * Counts for every slot the members of a range who can attend a session starting in it.
+     *
+     * @param groupBusy    The busy bitsets of the groups
+     * @param memberGroups For each member, the positions of the member's groups
+     * @param first        The first member of the range
+     * @param end          The end of the range, exclusive
+     * @param length       The number of slots of a session
+     * @param starts       The slots in which a session may start
+     * @return The number of members of the range who can attend, by slot
+     */
+    private int[] count(long[][] groupBusy, int[][] memberGroups, int first, int end, int length, long[] starts) {
+        int levels = 32 - Integer.numberOfLeadingZeros(end - first);
+        long[][] counters = new long[levels][words];
+        long[] free = new long[words];
+        long[] shifted = new long[words];
+        for (int member = first; member < end; member++) {
+            Arrays.fill(free, -1L);
+            for (int group : memberGroups[member]) {
+                long[] busy = groupBusy[group];
+                for (int w = 0; w < words; w++) {
+                    free[w] &= ~busy[w];
+                }
+            }
+            // Keep the slots followed by enough free slots, doubling the checked length each round
+            int covered = 1;
+            while (covered < length) {
+                int shift = Math.min(covered, length - covered);
+                shiftDown(free, shift, shifted);
+                for (int w = 0; w < words; w++) {
+                    free[w] &= shifted[w];
+                }
+                covered += shift;
+            }
+            // Add the bitset to the bit-sliced counters
+            for (int w = 0; w < words; w++) {
+                long carry = free[w] & starts[w];
+                for (int level = 0; carry != 0 && level < levels; level++) {
+                    long overflow = counters[level][w] & carry;
+                    counters[level][w] ^= carry;
+                    carry = overflow;
+                }
+            }
+        }
+        int[] counts = new int[slots];
+        for (int level = 0; level < levels; level++) {
+            for (int w = 0; w < words; w++) {
+                long bits = counters[level][w];
+                while (bits != 0) {
+                    counts[(w << 6) | Long.numberOfTrailingZeros(bits)] += 1 << level;
+                    bits &= bits - 1;
+                }
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Picks the most attended slots that do not overlap each other.
+     *
+     * @param counts The number of members who can attend, by slot
+     * @param length The number of slots of a session
+     * @param limit  The maximum number of slots
+     * @return The slots
+     */
+    private List<Slot> best(int[] counts, int length, int limit) {
+        List<Integer> candidates = new ArrayList<>();
+        for (int slot = 0; slot < slots; slot++) {
+            if (counts[slot] > 0) {
+                candidates.add(slot);
+            }
+        }
+        candidates.sort((a, b) -> counts[a] != counts[b] ? Integer.compare(counts[b], counts[a]) : Integer.compare(a, b));
+        List<Slot> best = new ArrayList<>();
+        List<Integer> taken = new ArrayList<>();
+        for (int slot : candidates) {
+            if (best.size() >= limit) {
+                break;
+            }
+            boolean overlaps = false;
+            for (int other : taken) {
+                if (Math.abs(slot - other) < length) {
+                    overlaps = true;
+                    break;
+                }
+            }
+            if (!overlaps) {
+                taken.add(slot);
+                long start = from + (long) slot * SLOT_MINUTES;
+                best.add(new Slot(start, start + (long) length * SLOT_MINUTES, counts[slot]));
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Builds the bitset of the slots in which a session may start: it has to end within the horizon
+     * and within the day hours of the day it starts.
+     *
+     * @param length The number of slots of a session
+     * @return The bitset of allowed starts
+     */
+    private long[] allowedStarts(int length) {
+        long[] starts = new long[words];
+        for (int slot = 0; slot + length <= slots; slot++) {
+            int minute = (int) Math.floorMod(from + (long) slot * SLOT_MINUTES, (long) MINUTES_PER_DAY);
+            if (minute >= DAY_START && minute + length * SLOT_MINUTES <= DAY_END) {
+                starts[slot >>> 6] |= 1L << slot;
+            }
+        }
+        return starts;
+    }
+
+    /**
+     * Moves every bit of a bitset to a lower slot, so that slot i receives the bit of slot i + shift.
+     *
+     * @param bits   The bitset
+     * @param shift  The number of slots to move by
+     * @param target The bitset to write the result to
+     */
+    private void shiftDown(long[] bits, int shift, long[] target) {
+        int wordShift = shift >>> 6;
+        int bitShift = shift & 63;
+        for (int w = 0; w < words; w++) {
+            int source = w + wordShift;
+            long low = source < words ? bits[source] : 0;
+            long high = source + 1 < words ? bits[source + 1] : 0;
+            target[w] = bitShift == 0 ? low : (low >>> bitShift) | (high << (64 - bitShift));
+        }
+    }
+
+    /**
+     * Adds the counts of one range of members to the counts of another.
+     *
+     * @param a The first counts
+     * @param b The second counts
+     * @return The sums, by slot
+     */
+    private static int[] sum(int[] a, int[] b) {
+        int[] sums = new int[a.length];
+        for (int i = 0; i < a.length; i++) {
+            sums[i] = a[i] + b[i];
+        }
+        return sums;
+    }
+}
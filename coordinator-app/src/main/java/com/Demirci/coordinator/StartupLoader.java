@@ -0,0 +1,120 @@
+/**
+ * The com.Divan.coordinator package contains classes and interfaces related to coordination tasks
+ * in the application developed by Rana Melih.
+ * 
+ * This package serves as a coordination module facilitating communication and orchestration
+ * among different components of the application.
+ * 
+ * Classes within this package might include implementations of coordinator patterns,
+ * such as the mediator pattern, or other coordination strategies.
+ * 
+ * @author Rana Melih
+ * @version 1.0.3
+ * @since 2024-03-28
+ */
+package com.Demirci.coordinator;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The StartupLoader class runs the data loads of the application concurrently on a bounded pool
+ * of daemon threads and reports how long each of them took.
+ *
+ * Loads are submitted as tasks and their results are collected through the returned futures, so
+ * callers can wait for the data they need first and pick up the rest when it is first used.
+ */
+public class StartupLoader {
+    /** Logger used to report load times. */
+    private static final Logger logger = LoggerFactory.getLogger(StartupLoader.class);
+
+    /** The executor running the load tasks. */
+    private final ExecutorService executor;
+
+    /** The time the loader was created, in nanoseconds. */
+    private final long startNanos;
+
+    /**
+     * Constructs a StartupLoader with the given number of threads.
+     *
+     * @param threads The maximum number of loads running at the same time
+     */
+    public StartupLoader(int threads) {
+        final AtomicInteger counter = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable task) {
+                Thread thread = new Thread(task, "startup-loader-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        this.startNanos = System.nanoTime();
+    }
+
+    /**
+     * Submits a load task. The time the task took is logged when it completes.
+     *
+     * @param name The name of the loaded data, used in the log
+     * @param task The task loading the data
+     * @param <T>  The type of the loaded data
+     * @return A future holding the loaded data
+     */
+    public <T> Future<T> submit(final String name, final Callable<T> task) {
+        return executor.submit(new Callable<T>() {
+            @Override
+            public T call() throws Exception {
+                long start = System.nanoTime();
+                T result = task.call();
+                logger.info("Loaded {} in {} ms", name, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                return result;
+            }
+        });
+    }
+
+    /**
+     * Logs that a part of the application is ready, with the time elapsed since the loader was created.
+     *
+     * @param what A description of what is ready
+     */
+    public void ready(String what) {
+        logger.info("{} ready after {} ms", what, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+    }
+
+    /**
+     * Stops accepting new tasks. Tasks already submitted still run to completion.
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Waits for a load to complete and returns its result.
+     *
+     * @param future   The future of the load
+     * @param fallback The value to return if the load failed or the wait was interrupted
+     * @param <T>      The type of the loaded data
+     * @return The loaded data, or the fallback value
+     */
+    public static <T> T await(Future<T> future, T fallback) {
+        try {
+            T result = future.get();
+            return result != null ? result : fallback;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return fallback;
+        } catch (ExecutionException e) {
+            System.err.println("Error: Loading failed - " + e.getCause());
+            return fallback;
+        }
+    }
+}
@@ -14,6 +14,8 @@
  */
 package com.Demirci.coordinator;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
@@ -26,14 +28,20 @@ public class StudyGroup implements Serializable {
     /** The serial version UID for serialization. */
 	private static final long serialVersionUID = 1L;
 
+    /** The ID assigned by the {@link GroupRegistry}, or {@link GroupRegistry#NO_GROUP} before registration. */
+    private transient int id = GroupRegistry.NO_GROUP;
+
     /** The name of the study group. */
     private String name;
 
     /** A brief description of the study group. */
     private String description;
 
-    /** The list of members in the study group. */
-    private List<User> members;
+    /** The IDs of the members of the study group. */
+    private transient MemberBitmap memberIds;
+
+    /** Members read from a file written by an older version, converted to IDs on first access. */
+    private transient List<User> legacyMembers;
 
     /**
      * Constructs a StudyGroup object with the specified name and description.
@@ -44,7 +52,25 @@ public class StudyGroup implements Serializable {
     public StudyGroup(String name, String description) {
         this.name = name;
         this.description = description;
-        this.members = new ArrayList<>();
+        this.memberIds = new MemberBitmap();
+    }
+
+    /**
+     * Gets the ID of the study group.
+     *
+     * @return The ID of the study group, or {@link GroupRegistry#NO_GROUP} if it is not registered.
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Sets the ID of the study group. Only the {@link GroupRegistry} assigns IDs.
+     *
+     * @param id The ID of the study group.
+     */
+    void setId(int id) {
+        this.id = id;
     }
 
     /**
@@ -66,27 +92,151 @@ public class StudyGroup implements Serializable {
     }
 
     /**
-     * Gets the list of members in the study group.
+     * Gets the list of members in the study group, resolved through the registered users.
      *
      * @return The list of members in the study group.
      */
     public List<User> getMembers() {
+        List<User> members = new ArrayList<>();
+        for (int memberId : getMemberIds()) {
+            User member = Account.findUserById(memberId);
+            if (member != null) {
+                members.add(member);
+            }
+        }
         return members;
     }
 
+    /**
+     * Gets the IDs of the members in the study group.
+     *
+     * @return A new array containing the member IDs in ascending order.
+     */
+    public int[] getMemberIds() {
+        StudyGroup group = canonical();
+        synchronized (group) {
+            group.convertLegacyMembers();
+            return group.memberIds.toArray();
+        }
+    }
+
+    /**
+     * Gets the number of members in the study group.
+     *
+     * @return The number of members.
+     */
+    public int getMemberCount() {
+        StudyGroup group = canonical();
+        synchronized (group) {
+            group.convertLegacyMembers();
+            return group.memberIds.cardinality();
+        }
+    }
+
+    /**
+     * Gets a copy of the member bitmap of the study group, for combining the members of several groups.
+     *
+     * @return A new bitmap containing the member IDs.
+     */
+    MemberBitmap copyMemberIds() {
+        StudyGroup group = canonical();
+        synchronized (group) {
+            group.convertLegacyMembers();
+            return MemberBitmap.or(group.memberIds, new MemberBitmap());
+        }
+    }
+
+    /**
+     * Checks whether a user is a member of the study group.
+     *
+     * @param userId The ID of the user.
+     * @return true if the user is a member, false otherwise.
+     */
+    public boolean hasMember(int userId) {
+        StudyGroup group = canonical();
+        synchronized (group) {
+            group.convertLegacyMembers();
+            return group.memberIds.contains(userId);
+        }
+    }
+
     /**
      * Adds a member to the study group.
      *
      * @param member The user to add as a member of the study group.
      */
     public void addMember(User member) {
-        members.add(member);
+        addMemberId(member.getId());
     }
 
-    // Methods for managing study groups
+    /**
+     * Adds a member to the study group by ID. Adding a user that is already a member has no effect.
+     *
+     * @param userId The ID of the user to add.
+     */
+    public void addMemberId(int userId) {
+        StudyGroup group = canonical();
+        synchronized (group) {
+            group.convertLegacyMembers();
+            group.memberIds.add(userId);
+        }
+    }
+
+    /**
+     * Removes a member from the study group by ID. Removing a user that is not a member has no effect.
+     *
+     * @param userId The ID of the user to remove.
+     * @return true if the user was a member, false otherwise.
+     */
+    public boolean removeMemberId(int userId) {
+        StudyGroup group = canonical();
+        synchronized (group) {
+            group.convertLegacyMembers();
+            return group.memberIds.remove(userId);
+        }
+    }
 
-    // Define static list of study groups
-    static List<StudyGroup> groups1 = new ArrayList<>();
+    /**
+     * Gets the registered instance that holds the state of this group.
+     *
+     * @return The canonical group, or this group if it is not registered.
+     */
+    private StudyGroup canonical() {
+        StudyGroup group = GroupRegistry.get(id);
+        return group != null && group != this && group.name.equals(name) ? group : this;
+    }
+
+    /**
+     * Converts members read from an older file format to member IDs.
+     */
+    private void convertLegacyMembers() {
+        if (legacyMembers != null) {
+            List<User> members = legacyMembers;
+            legacyMembers = null;
+            for (User member : members) {
+                addMemberId(member.getId());
+            }
+        }
+    }
+
+    /**
+     * Reads a study group written with Java serialization by an older version of the application.
+     *
+     * @param in The stream to read from.
+     * @throws IOException            If reading fails.
+     * @throws ClassNotFoundException If a class of the stream cannot be found.
+     */
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        ObjectInputStream.GetField fields = in.readFields();
+        name = (String) fields.get("name", null);
+        description = (String) fields.get("description", null);
+        id = GroupRegistry.NO_GROUP;
+        memberIds = new MemberBitmap();
+        legacyMembers = (List<User>) fields.get("members", null);
+    }
+
+    // Methods for managing study groups
 
     /**
      * Creates a new study group by taking input from the user.
@@ -94,6 +244,16 @@ public class StudyGroup implements Serializable {
      * @param scanner The Scanner object for user input.
      */
     public static void createStudyGroup(Scanner scanner) {
+        MenuStep.run(StudyGroup::createStudyGroupStep, scanner);
+    }
+
+    /**
+     * Menu step of {@link #createStudyGroup(Scanner)}.
+     *
+     * @param scanner Scanner object for user input
+     * @return The next menu step, or null to leave the menus
+     */
+    static MenuStep createStudyGroupStep(Scanner scanner) {
         CoordinatorApp.clearScreen();
         System.out.println("---- Study Group ----");
 
@@ -109,6 +269,7 @@ public class StudyGroup implements Serializable {
         Account.displayUsernamesWithIDs();
 
         List<User> groupMembers = new ArrayList<>();
+        MemberBitmap selected = new MemberBitmap();
 
         while (true) {
             // Select users to add to the group
@@ -123,7 +284,7 @@ public class StudyGroup implements Serializable {
                 int id = Integer.parseInt(input);
                 User user = Account.findUserById(id);
                 if (user != null) {
-                    if (!groupMembers.contains(user)) {
+                    if (selected.add(id)) {
                         // Add user to the group members list
                         groupMembers.add(user);
 
@@ -140,40 +301,45 @@ public class StudyGroup implements Serializable {
         }
 
         // Create the study group with the provided details and members
-        StudyGroup studyGroup = new StudyGroup(groupName, groupDescription);
-        for (User member : groupMembers) {
-            studyGroup.addMember(member);
-            member.setGroup(studyGroup);
-            Account.saveUsersToFile("users.bin");
-        }
-
-        groups1.add(studyGroup);
-        FileUtility.writeGroupsToFile(groups1);
+        StudyGroup studyGroup = GroupRegistry.intern(new StudyGroup(groupName, groupDescription));
+        GroupMembership.addMembers(studyGroup, groupMembers);
 
         System.out.println("Study group created successfully!");
         System.out.println("1. Create another study group");
         System.out.println("2. Back to menu");
         int choice = scanner.nextInt(); // Assuming getValidChoice is defined elsewhere
         if (choice == 1) {
-            createStudyGroup(scanner);
+            return StudyGroup::createStudyGroupStep;
         } else {
-            CoordinatorApp.groupManagementMenu(scanner); // Assuming groupManagementMenu is defined elsewhere
+            return CoordinatorApp::groupManagementMenuStep; // Assuming groupManagementMenu is defined elsewhere
         }
     }
 
     /**
-     * Displays the study groups for viewing.
+     * Displays the study groups for viewing. The groups file is loaded once per run to register the
+     * saved groups, which are then listed page by page from the {@link GroupRegistry}, so a view never
+     * reads more groups than it shows.
      *
      * @param scanner The Scanner object for user input.
      */
     public static void viewStudyGroup(Scanner scanner) {
-        List<StudyGroup> loadedGroups = FileUtility.readGroupsFromFile();
-        if (loadedGroups != null && !loadedGroups.isEmpty()) {
+        MenuStep.run(StudyGroup::viewStudyGroupStep, scanner);
+    }
+
+    /**
+     * Menu step of {@link #viewStudyGroup(Scanner)}.
+     *
+     * @param scanner Scanner object for user input
+     * @return The next menu step, or null to leave the menus
+     */
+    static MenuStep viewStudyGroupStep(Scanner scanner) {
+        GroupMembership.loadSavedGroups();
+        if (!GroupRegistry.getGroups(Page.FIRST, 1).getItems().isEmpty()) {
             CoordinatorApp.clearScreen();
-            ViewGroups.viewGroups(loadedGroups, scanner);
+            return ViewGroups.viewGroupsStep(GroupRegistry::getGroups, Page.FIRST);
         } else {
             System.out.println("No study groups found.");
-            CoordinatorApp.groupManagementMenu(scanner);
+            return CoordinatorApp::groupManagementMenuStep;
         }
     }
 
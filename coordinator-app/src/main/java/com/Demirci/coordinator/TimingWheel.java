@@ -0,0 +1,297 @@
+/**
+ * The com.Divan.coordinator package contains classes and interfaces related to coordination tasks
+ * in the application developed by Rana Melih.
+ * 
+ * This package serves as a coordination module facilitating communication and orchestration
+ * among different components of the application.
+ * 
+ * Classes within this package might include implementations of coordinator patterns,
+ * such as the mediator pattern, or other coordination strategies.
+ * 
+ * @author Rana Melih
+ * @version 1.0.3
+ * @since 2024-03-28
+ */
+package com.Demirci.coordinator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The TimingWheel class is a hierarchical timing wheel: a set of timeouts that expire at a tick of a
+ * clock, such as a minute, with constant time to schedule and to cancel a timeout.
+ *
+ * The wheel has {@link #LEVELS} levels of {@link #SLOTS} slots. A slot of level 0 holds the timeouts of
+ * one tick, a slot of level 1 those of {@link #SLOTS} ticks, and so on. A timeout is put on the lowest
+ * level whose slots are fine enough to tell it apart from the current time. When the clock enters the
+ * range of a slot of a higher level, the timeouts of that slot are cascaded down to the finer levels,
+ * so each timeout is moved at most once per level. Timeouts too far in the future for the highest level
+ * wait in an overflow list. Each slot is a doubly linked list, so a timeout unlinks itself when cancelled.
+ *
+ * The class is not thread-safe; callers synchronize access to a wheel.
+ *
+ * @param <V> The type of the values of the timeouts
+ */
+public class TimingWheel<V> {
+    /** The number of bits of the slot index of one level. */
+    private static final int SLOT_BITS = 6;
+
+    /** The number of slots of each level. */
+    public static final int SLOTS = 1 << SLOT_BITS;
+
+    /** The number of levels; with ticks of a minute, the levels cover about two thousand years. */
+    public static final int LEVELS = 5;
+
+    /** The slots of each level, each the sentinel of a circular list. */
+    private final Timeout<V>[][] wheels;
+
+    /** The sentinel of the list of timeouts beyond the highest level. */
+    private final Timeout<V> overflow = new Timeout<>(0, null);
+
+    /** The last tick that has been processed. */
+    private long current;
+
+    /** The number of pending timeouts. */
+    private int size;
+
+    /**
+     * The TimingWheel.Timeout class is a pending value of the wheel and the handle to cancel it.
+     *
+     * @param <V> The type of the value
+     */
+    public static final class Timeout<V> {
+        /** The tick at which the timeout expires. */
+        private final long deadline;
+
+        /** The value. */
+        private final V value;
+
+        /** The previous timeout of the slot, or null if the timeout is not pending. */
+        private Timeout<V> prev;
+
+        /** The next timeout of the slot, or null if the timeout is not pending. */
+        private Timeout<V> next;
+
+        /**
+         * Constructs a Timeout.
+         *
+         * @param deadline The tick at which the timeout expires
+         * @param value    The value
+         */
+        private Timeout(long deadline, V value) {
+            this.deadline = deadline;
+            this.value = value;
+        }
+
+        /**
+         * Gets the tick at which the timeout expires.
+         *
+         * @return The deadline
+         */
+        public long getDeadline() {
+            return deadline;
+        }
+
+        /**
+         * Gets the value.
+         *
+         * @return The value
+         */
+        public V getValue() {
+            return value;
+        }
+
+        /**
+         * Checks whether the timeout has neither expired nor been cancelled.
+         *
+         * @return true if the timeout is pending
+         */
+        public boolean isPending() {
+            return prev != null;
+        }
+    }
+
+    /**
+     * Constructs an empty TimingWheel.
+     *
+     * @param now The current tick
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public TimingWheel(long now) {
+        this.current = now;
+        this.wheels = new Timeout[LEVELS][SLOTS];
+        for (Timeout<V>[] wheel : wheels) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                wheel[slot] = sentinel();
+            }
+        }
+        overflow.prev = overflow;
+        overflow.next = overflow;
+    }
+
+    /**
+     * Gets the last tick that has been processed.
+     *
+     * @return The current tick
+     */
+    public long getCurrentTime() {
+        return current;
+    }
+
+    /**
+     * Gets the number of pending timeouts.
+     *
+     * @return The number of timeouts
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Schedules a value. A deadline that has already passed expires at the next tick.
+     *
+     * @param deadline The tick at which the value expires
+     * @param value    The value
+     * @return The timeout, to cancel it
+     */
+    public Timeout<V> schedule(long deadline, V value) {
+        Timeout<V> timeout = new Timeout<>(deadline, value);
+        place(timeout, current + 1);
+        size++;
+        return timeout;
+    }
+
+    /**
+     * Cancels a timeout.
+     *
+     * @param timeout The timeout
+     * @return true if the timeout was pending, false if it had expired or was cancelled before
+     */
+    public boolean cancel(Timeout<V> timeout) {
+        if (timeout.prev == null) {
+            return false;
+        }
+        unlink(timeout);
+        size--;
+        return true;
+    }
+
+    /**
+     * Advances the clock, expiring the timeouts up to a tick.
+     *
+     * @param now The current tick
+     * @return The values of the expired timeouts, by deadline and then in the order they were scheduled
+     */
+    public List<V> advance(long now) {
+        List<V> expired = new ArrayList<>();
+        while (current < now) {
+            if (size == 0) {
+                current = now;
+                break;
+            }
+            long tick = ++current;
+            // Cascade the slots the clock enters, from the highest level down
+            int top = 0;
+            while (top < LEVELS && (tick & ((1L << (SLOT_BITS * (top + 1))) - 1)) == 0) {
+                top++;
+            }
+            if (top == LEVELS) {
+                cascade(overflow);
+            }
+            for (int level = Math.min(top, LEVELS - 1); level >= 1; level--) {
+                cascade(wheels[level][slot(tick, level)]);
+            }
+            Timeout<V> head = wheels[0][slot(tick, 0)];
+            while (head.next != head) {
+                Timeout<V> timeout = head.next;
+                unlink(timeout);
+                size--;
+                expired.add(timeout.value);
+            }
+        }
+        return expired;
+    }
+
+    /**
+     * Links a timeout into the slot of its deadline.
+     *
+     * @param timeout  The timeout
+     * @param earliest The earliest tick it may expire at
+     */
+    private void place(Timeout<V> timeout, long earliest) {
+        long deadline = Math.max(timeout.deadline, earliest);
+        for (int level = 0; level < LEVELS; level++) {
+            int shift = SLOT_BITS * (level + 1);
+            if ((deadline >> shift) == (current >> shift)) {
+                link(wheels[level][slot(deadline, level)], timeout);
+                return;
+            }
+        }
+        link(overflow, timeout);
+    }
+
+    /**
+     * Moves the timeouts of a slot to the finer slots of their deadlines.
+     *
+     * @param head The sentinel of the slot
+     */
+    private void cascade(Timeout<V> head) {
+        Timeout<V> timeout = head.next;
+        head.prev = head;
+        head.next = head;
+        while (timeout != head) {
+            Timeout<V> next = timeout.next;
+            place(timeout, current);
+            timeout = next;
+        }
+    }
+
+    /**
+     * Gets the slot index of a tick on a level.
+     *
+     * @param tick  The tick
+     * @param level The level
+     * @return The slot index
+     */
+    private static int slot(long tick, int level) {
+        return (int) (tick >> (SLOT_BITS * level)) & (SLOTS - 1);
+    }
+
+    /**
+     * Creates the sentinel of an empty slot.
+     *
+     * @param <V> The type of the values
+     * @return The sentinel
+     */
+    private static <V> Timeout<V> sentinel() {
+        Timeout<V> head = new Timeout<>(0, null);
+        head.prev = head;
+        head.next = head;
+        return head;
+    }
+
+    /**
+     * Appends a timeout to a slot.
+     *
+     * @param head    The sentinel of the slot
+     * @param timeout The timeout
+     */
+    private static <V> void link(Timeout<V> head, Timeout<V> timeout) {
+        timeout.prev = head.prev;
+        timeout.next = head;
+        head.prev.next = timeout;
+        head.prev = timeout;
+    }
+
+    /**
+     * Removes a timeout from its slot.
+     *
+     * @param timeout The timeout
+     */
+    private static <V> void unlink(Timeout<V> timeout) {
+        timeout.prev.next = timeout.next;
+        timeout.next.prev = timeout.prev;
+        timeout.prev = null;
+        timeout.next = null;
+    }
+}
@@ -14,10 +14,20 @@
  */
 package com.Demirci.coordinator;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * The User class represents a user in the system.
+ *
+ * A user can be a member of many study groups. The user keeps the IDs of its groups in a small array,
+ * the user side of the membership whose group side is the member bitmap of each {@link StudyGroup}.
+ * The first group of the array is the current group, which new sessions, resources and discussions
+ * are shared with.
  */
 public class User implements Serializable {
     /** The serial version UID for serialization. */
@@ -38,8 +48,11 @@ public class User implements Serializable {
     /** The password used for authentication. */
     private String password;
 
-    /** The study group associated with the user. */
-    private StudyGroup group;
+    /** The IDs of the study groups of the user, current group first. Replaced as a whole on every change. */
+    private transient volatile int[] groupIds = new int[0];
+
+    /** The study group read from a file written by an older version, registered on first access. */
+    private transient volatile StudyGroup legacyGroup;
 
     /**
      * Constructs a User object with the specified attributes.
@@ -104,20 +117,172 @@ public class User implements Serializable {
     }
 
     /**
-     * Gets the study group the user belongs to.
+     * Gets the current study group of the user.
      *
-     * @return The study group the user belongs to.
+     * @return The current study group, or null if the user has no group.
      */
     public StudyGroup getGroup() {
-        return group;
+        return GroupRegistry.get(getGroupId());
+    }
+
+    /**
+     * Gets the ID of the current study group of the user.
+     *
+     * @return The group ID, or {@link GroupRegistry#NO_GROUP} if the user has no group.
+     */
+    public int getGroupId() {
+        int[] ids = groupIds();
+        return ids.length > 0 ? ids[0] : GroupRegistry.NO_GROUP;
+    }
+
+    /**
+     * Makes a study group the current group of the user, joining it if the user is not a member yet.
+     *
+     * @param group The study group, or null to leave all groups.
+     */
+    public synchronized void setGroup(StudyGroup group) {
+        legacyGroup = null;
+        if (group == null) {
+            groupIds = new int[0];
+            return;
+        }
+        int id = GroupRegistry.register(group);
+        int[] ids = groupIds;
+        int[] updated = new int[ids.length + (contains(ids, id) ? 0 : 1)];
+        updated[0] = id;
+        int n = 1;
+        for (int other : ids) {
+            if (other != id) {
+                updated[n++] = other;
+            }
+        }
+        groupIds = updated;
+    }
+
+    /**
+     * Gets the IDs of all study groups of the user.
+     *
+     * @return A new array containing the group IDs, current group first.
+     */
+    public int[] getGroupIds() {
+        return groupIds().clone();
+    }
+
+    /**
+     * Gets all study groups of the user.
+     *
+     * @return The study groups of the user, current group first.
+     */
+    public List<StudyGroup> getGroups() {
+        List<StudyGroup> groups = new ArrayList<>();
+        for (int id : groupIds()) {
+            StudyGroup group = GroupRegistry.get(id);
+            if (group != null) {
+                groups.add(group);
+            }
+        }
+        return groups;
+    }
+
+    /**
+     * Checks whether the user is a member of a study group.
+     *
+     * @param groupId The ID of the study group.
+     * @return true if the group is one of the groups of the user, false otherwise.
+     */
+    public boolean isInGroup(int groupId) {
+        return contains(groupIds(), groupId);
+    }
+
+    /**
+     * Adds a study group to the groups of the user. The current group only changes if the user had none.
+     *
+     * @param group The study group to join.
+     * @return true if the user was not a member of the group before, false otherwise.
+     */
+    public synchronized boolean joinGroup(StudyGroup group) {
+        int id = GroupRegistry.register(group);
+        int[] ids = groupIds();
+        if (contains(ids, id)) {
+            return false;
+        }
+        int[] updated = Arrays.copyOf(ids, ids.length + 1);
+        updated[ids.length] = id;
+        groupIds = updated;
+        return true;
+    }
+
+    /**
+     * Removes a study group from the groups of the user. If it was the current group, the next group
+     * of the user becomes the current one.
+     *
+     * @param groupId The ID of the study group to leave.
+     * @return true if the user was a member of the group, false otherwise.
+     */
+    public synchronized boolean leaveGroup(int groupId) {
+        int[] ids = groupIds();
+        if (!contains(ids, groupId)) {
+            return false;
+        }
+        int[] updated = new int[ids.length - 1];
+        int n = 0;
+        for (int id : ids) {
+            if (id != groupId) {
+                updated[n++] = id;
+            }
+        }
+        groupIds = updated;
+        return true;
+    }
+
+    /**
+     * Gets the group IDs, registering a group read from an older file format first.
+     *
+     * @return The group IDs, not to be changed.
+     */
+    private int[] groupIds() {
+        if (legacyGroup != null) {
+            synchronized (this) {
+                if (legacyGroup != null) {
+                    groupIds = new int[] { GroupRegistry.intern(legacyGroup).getId() };
+                    legacyGroup = null;
+                }
+            }
+        }
+        return groupIds;
+    }
+
+    /**
+     * Checks whether an array of group IDs contains an ID.
+     *
+     * @param ids The group IDs.
+     * @param id  The ID to look for.
+     * @return true if the ID is present, false otherwise.
+     */
+    private static boolean contains(int[] ids, int id) {
+        for (int other : ids) {
+            if (other == id) {
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
-     * Sets the study group for the user.
+     * Reads a user written with Java serialization by an older version of the application.
      *
-     * @param group The study group to set for the user.
+     * @param in The stream to read from.
+     * @throws IOException            If reading fails.
+     * @throws ClassNotFoundException If a class of the stream cannot be found.
      */
-    public void setGroup(StudyGroup group) {
-        this.group = group;
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        ObjectInputStream.GetField fields = in.readFields();
+        name = (String) fields.get("name", null);
+        surname = (String) fields.get("surname", null);
+        id = fields.get("id", 0);
+        username = (String) fields.get("username", null);
+        password = (String) fields.get("password", null);
+        groupIds = new int[0];
+        legacyGroup = (StudyGroup) fields.get("group", null);
     }
 }
@@ -19,8 +19,12 @@ import java.util.Scanner;
 
 /**
  * The ViewGroups class provides methods to view study groups and their details.
+ *
+ * Groups are listed {@link #PAGE_SIZE} at a time, reading one page of groups per screen.
  */
 public class ViewGroups {
+    /** The number of groups listed per screen. */
+    public static final int PAGE_SIZE = 20;
 
     /**
      * Displays a list of study groups and allows the user to view group details.
@@ -29,46 +33,83 @@ public class ViewGroups {
      * @param scanner The Scanner object for user input.
      */
     public static void viewGroups(List<StudyGroup> groups, Scanner scanner) {
-        System.out.println("---- Study Groups ----");
-            int index = 1;
+        MenuStep.run(viewGroupsStep(groups), scanner);
+    }
+
+    /**
+     * Creates the menu step of {@link #viewGroups(List, Scanner)}.
+     *
+     * @param groups The list of study groups to display.
+     * @return The menu step showing the groups.
+     */
+    static MenuStep viewGroupsStep(final List<StudyGroup> groups) {
+        return viewGroupsStep((cursor, limit) -> Page.of(groups, cursor, limit), Page.FIRST);
+    }
+
+    /**
+     * Creates the menu step listing one page of study groups. The groups are numbered through all
+     * pages, and the number after the last group of the page shows the next page.
+     *
+     * @param source The source of the pages of groups, such as {@link GroupRegistry#getGroups(int, int)}.
+     * @param cursor The cursor of the page to show.
+     * @return The menu step showing the page.
+     */
+    static MenuStep viewGroupsStep(final Page.Source<StudyGroup> source, final int cursor) {
+        return scanner -> {
+            Page<StudyGroup> page = source.read(cursor, PAGE_SIZE);
+            List<StudyGroup> groups = page.getItems();
+            System.out.println("---- Study Groups ----");
+            int first = cursor + 1;
+            int index = first;
             for (StudyGroup group : groups) {
                 System.out.println(index + ". " + group.getName());
                 index++;
             }
+            int more = index;
+            if (page.hasMore()) {
+                System.out.println(more + ". More groups");
+            }
 
             // Allow user to view group details
             scanner.nextLine();
             System.out.println("Enter the number of the group to view details (or 0 to go back):");
             int choice = scanner.nextInt();
             if (choice == 0) {
-                CoordinatorApp.groupManagementMenu(scanner);
-            } else if (choice > 0 && choice <= groups.size()) {
-                StudyGroup selectedGroup = groups.get(choice - 1);
-                viewGroupDetails(selectedGroup, scanner);
+                return CoordinatorApp::groupManagementMenuStep;
+            } else if (choice == more && page.hasMore()) {
+                return viewGroupsStep(source, page.getNextCursor());
+            } else if (choice >= first && choice < more) {
+                StudyGroup selectedGroup = groups.get(choice - first);
+                return viewGroupDetailsStep(selectedGroup);
             }
-        }
+            return null;
+        };
+    }
 
     /**
-     * Displays the details of a specific study group.
+     * Creates the menu step displaying the details of a specific study group.
      *
-     * @param group   The study group to view details for.
-     * @param scanner The Scanner object for user input.
+     * @param group The study group to view details for.
+     * @return The menu step showing the group details.
      */
-    private static void viewGroupDetails(StudyGroup group, Scanner scanner) {
-        System.out.println("---- Group Details ----");
-        System.out.println("Group Name: " + group.getName());
-        System.out.println("Group Description: " + group.getDescription());
-        System.out.println("Group Members:");
-        for (User member : group.getMembers()) {
-            System.out.println("- " + member.getUsername());
-        }
+    private static MenuStep viewGroupDetailsStep(final StudyGroup group) {
+        return scanner -> {
+            System.out.println("---- Group Details ----");
+            System.out.println("Group Name: " + group.getName());
+            System.out.println("Group Description: " + group.getDescription());
+            System.out.println("Group Members:");
+            for (User member : group.getMembers()) {
+                System.out.println("- " + member.getUsername());
+            }
 
-        scanner.nextLine();
-        System.out.println("Write 'return' to return");
-        String input = scanner.nextLine().trim();
+            scanner.nextLine();
+            System.out.println("Write 'return' to return");
+            String input = scanner.nextLine().trim();
 
-        if (input.equalsIgnoreCase("return")) {
-            CoordinatorApp.groupManagementMenu(scanner);
-        }
+            if (input.equalsIgnoreCase("return")) {
+                return CoordinatorApp::groupManagementMenuStep;
+            }
+            return null;
+        };
     }
 }
@@ -293,5 +293,47 @@ public class AccountTest {
 
         outContent.reset(); // Reset the content
     }
-    
+
+    @Test
+    public void testIndexesFollowUserListChanges() {
+        Account account = new Account();
+        User user1 = new User("John", "Doe", 1, "john.doe", "password");
+        User user2 = new User("Jane", "Smith", 2, "jane.smith", "password123");
+
+        // Add users directly through the list
+        account.getUserList().add(user1);
+        account.getUserList().add(user2);
+        assertSame(user2, Account.findUserById(2));
+
+        // Remove a user and check the index no longer finds it
+        account.getUserList().remove(user2);
+        assertNull(Account.findUserById(2));
+        assertSame(user1, Account.findUserById(1));
+
+        // Clear the list
+        account.getUserList().clear();
+        assertNull(Account.findUserById(1));
+    }
+
+    @Test
+    public void testIndexesRebuiltOnLoad() {
+        Account account = new Account();
+        for (int id = 0; id < 1000; id++) {
+            account.getUserList().add(new User("Name", "Surname", id, "user" + id, "pw" + id));
+        }
+        account.saveUsersToFile(FILE_PATH);
+
+        // Load into a fresh account
+        Account loaded = new Account();
+        loaded.loadUsersFromFile(FILE_PATH);
+
+        assertEquals(1000, loaded.getUserList().size());
+        assertEquals("user999", Account.findUserById(999).getUsername());
+        assertNull(Account.findUserById(1000));
+
+        // Login uses the username index of the loaded list
+        User loggedIn = loaded.login(new Scanner("\nuser500\npw500\n"));
+        assertNotNull(loggedIn);
+        assertEquals(500, loggedIn.getId());
+    }
 }
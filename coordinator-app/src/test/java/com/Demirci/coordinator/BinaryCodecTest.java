@@ -0,0 +1,163 @@
+package com.Demirci.coordinator;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class BinaryCodecTest {
+
+    @Before
+    public void setup() {
+        // Delete the files before the test
+        CoordinatorAppTest.clearFiles();
+    }
+
+    @After
+    public void cleanup() {
+        // Delete the files after the test
+        CoordinatorAppTest.clearFiles();
+    }
+
+    @Test
+    public void testUsersRoundTripKeepsGroupLinks() throws IOException {
+        // Given
+        StudyGroup group = new StudyGroup("Algebra", "Linear algebra");
+        User user1 = new User("John", "Doe", 1, "john.doe", "password");
+        User user2 = new User("Jane", "Smith", 2, "jane.smith", "secret");
+        group.addMember(user1);
+        group.addMember(user2);
+        user1.setGroup(group);
+        user2.setGroup(group);
+        List<User> users = new ArrayList<>();
+        users.add(user1);
+        users.add(user2);
+
+        // When
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        BinaryCodec.writeUsers(new DataOutputStream(bytes), users);
+        List<User> loaded = BinaryCodec.readUsers(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        // Then
+        assertEquals(2, loaded.size());
+        assertEquals("jane.smith", loaded.get(1).getUsername());
+        assertEquals("secret", loaded.get(1).getPassword());
+        assertSame(loaded.get(0).getGroup(), loaded.get(1).getGroup());
+        assertEquals("Algebra", loaded.get(0).getGroup().getName());
+        assertEquals(loaded.get(0).getGroupId(), group.getId());
+
+        // Members are resolved through the registered users
+        Account account = new Account();
+        account.getUserList().addAll(loaded);
+        assertEquals(2, loaded.get(0).getGroup().getMembers().size());
+        assertSame(loaded.get(0), loaded.get(0).getGroup().getMembers().get(0));
+    }
+
+    @Test
+    public void testSharedGroupIsWrittenOnce() throws IOException {
+        // Given
+        StudyGroup group = new StudyGroup("Physics", "A long description that should only be stored once");
+        List<Resource> one = new ArrayList<>();
+        List<Resource> many = new ArrayList<>();
+        one.add(new Resource("Title", "Description", "link", group));
+        for (int i = 0; i < 10; i++) {
+            many.add(new Resource("Title", "Description", "link", group));
+        }
+
+        // When
+        ByteArrayOutputStream oneBytes = new ByteArrayOutputStream();
+        BinaryCodec.writeResources(new DataOutputStream(oneBytes), one);
+        ByteArrayOutputStream manyBytes = new ByteArrayOutputStream();
+        BinaryCodec.writeResources(new DataOutputStream(manyBytes), many);
+
+        // Then
+        int perResource = (manyBytes.size() - oneBytes.size()) / 9;
+        assertTrue(perResource < group.getDescription().length());
+        List<Resource> loaded = BinaryCodec.readResources(new DataInputStream(new ByteArrayInputStream(manyBytes.toByteArray())));
+        assertEquals(10, loaded.size());
+        assertSame(loaded.get(0).getGroup(), loaded.get(9).getGroup());
+    }
+
+    @Test
+    public void testDiscussionsRoundTripWithUnicode() throws IOException {
+        // Given
+        List<Discussion> discussions = new ArrayList<>();
+        Discussion discussion = new Discussion("Çalışma grubu", new StudyGroup("Grup", "des"));
+        discussion.addComment("Merhaba dünya");
+        discussion.addComment("");
+        discussions.add(discussion);
+
+        // When
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        BinaryCodec.writeDiscussions(new DataOutputStream(bytes), discussions);
+        List<Discussion> loaded = BinaryCodec.readDiscussions(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        // Then
+        assertEquals("Çalışma grubu", loaded.get(0).getTopic());
+        assertEquals(2, loaded.get(0).getComments().size());
+        assertEquals("Merhaba dünya", loaded.get(0).getComments().get(0));
+        assertEquals("", loaded.get(0).getComments().get(1));
+    }
+
+    @Test(expected = IOException.class)
+    public void testWrongKindIsRejected() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        BinaryCodec.writeSessions(new DataOutputStream(bytes), new ArrayList<Session>());
+        BinaryCodec.readResources(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+    }
+
+    @Test
+    public void testLegacyResourcesAreMigrated() throws IOException {
+        // Given
+        // Resources.bin written with Java serialization by version 1.0
+        copyFixture("Resources.bin", ResourceManager.RESOURCES_FILE);
+        assertTrue(BinaryCodec.isLegacyFormat(new File(ResourceManager.RESOURCES_FILE)));
+
+        // When
+        List<Resource> loaded = ResourceManager.readResourcesFromFile();
+
+        // Then
+        assertEquals("LegacyResource", loaded.get(0).getTitle());
+        assertEquals("LegacyGroup", loaded.get(0).getGroup().getName());
+        assertFalse(BinaryCodec.isLegacyFormat(new File(ResourceManager.RESOURCES_FILE)));
+        assertEquals("LegacyResource", ResourceManager.readResourcesFromFile().get(0).getTitle());
+    }
+
+    @Test
+    public void testLegacyUsersAreMigrated() throws IOException {
+        // Given
+        // users.bin written with Java serialization by version 1.0
+        copyFixture("users.bin", "users.bin");
+        Account account = new Account();
+
+        // When
+        account.loadUsersFromFile("users.bin");
+
+        // Then
+        assertEquals(2, account.getUserList().size());
+        User jane = Account.findUserById(42);
+        assertEquals("legacy.jane", jane.getUsername());
+        assertEquals("LegacyGroup", jane.getGroup().getName());
+        assertTrue(jane.getGroup().hasMember(41));
+        assertFalse(BinaryCodec.isLegacyFormat(new File("users.bin")));
+    }
+
+    private static void copyFixture(String fixture, String target) throws IOException {
+        try (InputStream in = BinaryCodecTest.class.getResourceAsStream("/legacy/" + fixture)) {
+            Files.copy(in, new File(target).toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
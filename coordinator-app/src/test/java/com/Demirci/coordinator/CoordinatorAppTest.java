@@ -49,21 +49,31 @@ public class CoordinatorAppTest {
     }
     
     public static void clearFiles() {
+        // Write pending background saves first so that they cannot recreate the files afterwards
+        PersistenceService.flush();
         File studyGroupsFile = new File("Studygroups.bin");
         File usersFile = new File("users.bin");
         File discussionsFile = new File("Discussions.bin");
         File sessionsFile = new File("Sessions.bin");
+        File sessionsLogFile = new File("Sessions.log");
         File invalidDataFormatFile = new File("invalid_data_format.bin");
         File resourcesFile = new File("Resources.bin");
         File testUsersFile = new File("test_users.bin");
+        File remindersFile = new File("Reminders.outbox");
+        File watermarksFile = new File("Watermarks.bin");
+        File watermarksLogFile = new File("Watermarks.log");
 
         deleteIfExists(studyGroupsFile);
         deleteIfExists(usersFile);
         deleteIfExists(discussionsFile);
         deleteIfExists(sessionsFile);
+        deleteIfExists(sessionsLogFile);
         deleteIfExists(invalidDataFormatFile);
         deleteIfExists(resourcesFile);
         deleteIfExists(testUsersFile);
+        deleteIfExists(remindersFile);
+        deleteIfExists(watermarksFile);
+        deleteIfExists(watermarksLogFile);
     }
 
     private static void deleteIfExists(File file) {
@@ -277,6 +287,7 @@ public class CoordinatorAppTest {
     
     @Test
     public void testGroupViewingNoGroupsAvailable() {
+        GroupRegistry.clear();
         ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
         System.setOut(new PrintStream(outputStream));
 
@@ -954,4 +965,57 @@ public class CoordinatorAppTest {
         assertTrue(menuOutput.contains("Exit"));
     }
 
+    @Test
+    public void loadAllAddsSessionsWhenMenuIsOpened() {
+        // Given
+        ArrayList<Session> sessions = new ArrayList<>();
+        sessions.add(new Session("LazyTitle", "Date", new StudyGroup("Session","des"), "Description"));
+        SessionManager.writeSessionsToFile(sessions);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(outputStream));
+        String input = "1\n2\n3\n4\n5\n6\n2\n5\n6\n5\n";
+        CoordinatorApp.loadAll(new Scanner(new ByteArrayInputStream(input.getBytes())));
+
+        // When
+        CoordinatorApp.sessionSchedulingMenu(new Scanner(new ByteArrayInputStream("9\n".getBytes())));
+
+        // Then
+        boolean found = false;
+        for (Session session : CoordinatorApp.sessionManager.getSessions()) {
+            found |= session.getTitle().equals("LazyTitle");
+        }
+        assertTrue(found);
+        CoordinatorApp.sessionManager.getSessions().removeIf(session -> session.getTitle().equals("LazyTitle"));
+    }
+
+    @Test
+    public void longSessionRunsWithConstantStackDepth() throws InterruptedException {
+        // Given
+        // 10,000 round trips between the main menu and the session menu on a 256 KB stack
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i < 10000; i++) {
+            input.append("2\n4\n");
+        }
+        input.append("5\n");
+        final Scanner scanner = new Scanner(new ByteArrayInputStream(input.toString().getBytes()));
+        final Throwable[] failure = new Throwable[1];
+        PrintStream originalOut = System.out;
+        System.setOut(new PrintStream(new ByteArrayOutputStream()));
+
+        // When
+        Thread thread = new Thread(null, () -> {
+            try {
+                CoordinatorApp.mainMenu(scanner);
+            } catch (Throwable e) {
+                failure[0] = e;
+            }
+        }, "menu", 256 * 1024);
+        thread.start();
+        thread.join();
+        System.setOut(originalOut);
+
+        // Then
+        assertNull(failure[0]);
+    }
+
 }
@@ -0,0 +1,149 @@
+package com.Demirci.coordinator;
+
+import static org.junit.Assert.*;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CoordinatorServerTest {
+    private PrintStream originalOut;
+    private CoordinatorServer server;
+
+    @Before
+    public void setup() throws IOException {
+        // Delete the files before the test
+        CoordinatorAppTest.clearFiles();
+        originalOut = System.out;
+        CoordinatorApp.currentUser = null;
+
+        Account account = new Account();
+        account.getUserList().add(new User("John", "Doe", 1, "john.doe", "password"));
+        account.getUserList().add(new User("Jane", "Smith", 2, "jane.smith", "secret"));
+        Account.saveUsersToFile("users.bin");
+
+        server = new CoordinatorServer(0);
+        server.start();
+    }
+
+    @After
+    public void cleanup() {
+        server.close();
+        System.setOut(originalOut);
+        // Delete the files after the test
+        CoordinatorAppTest.clearFiles();
+    }
+
+    @Test
+    public void testEachConnectionHasItsOwnUser() throws IOException {
+        try (Socket john = connect(); Socket jane = connect()) {
+            // Given
+            BufferedReader johnIn = reader(john);
+            BufferedReader janeIn = reader(jane);
+
+            // When
+            send(john, "2\njohn.doe\npassword\n");
+            String johnMenu = readUntil(johnIn, "Logged in as:");
+            send(jane, "2\njane.smith\nsecret\n");
+            String janeMenu = readUntil(janeIn, "Logged in as:");
+            send(john, "5\n");
+            send(jane, "5\n");
+
+            // Then
+            assertTrue(johnMenu.endsWith("Logged in as: john.doe"));
+            assertTrue(janeMenu.endsWith("Logged in as: jane.smith"));
+            assertTrue(readUntil(johnIn, "Exiting").contains("Exiting the program"));
+            assertTrue(readUntil(janeIn, "Exiting").contains("Exiting the program"));
+            assertNull(CoordinatorApp.currentUser);
+        }
+    }
+
+    @Test
+    public void testFailedLoginStaysOnConnection() throws IOException {
+        try (Socket socket = connect()) {
+            // Given
+            BufferedReader in = reader(socket);
+
+            // When
+            send(socket, "2\njohn.doe\nwrong\n");
+
+            // Then
+            assertTrue(readUntil(in, "Login failed").endsWith("Login failed. Please try again."));
+            assertNotNull(readUntil(in, "---- Authentication ----"));
+        }
+    }
+
+    @Test
+    public void testPromptsArriveBeforeTheAnswerIsSent() throws IOException {
+        try (Socket socket = connect()) {
+            // Given
+            BufferedReader in = reader(socket);
+            send(socket, "2\n");
+
+            // When
+            String username = readUntilPrompt(in, "Username: ");
+            send(socket, "john.doe\n");
+            String password = readUntilPrompt(in, "Password: ");
+            send(socket, "password\n");
+
+            // Then
+            assertTrue(username.endsWith("Username: "));
+            assertTrue(password.endsWith("Password: "));
+            assertTrue(readUntil(in, "Logged in as:").endsWith("Logged in as: john.doe"));
+            send(socket, "5\n");
+            assertTrue(readUntil(in, "Exiting").contains("Exiting the program"));
+        }
+    }
+
+    private Socket connect() throws IOException {
+        Socket socket = new Socket("localhost", server.getPort());
+        socket.setSoTimeout(5000);
+        return socket;
+    }
+
+    private static BufferedReader reader(Socket socket) throws IOException {
+        return new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+    }
+
+    private static void send(Socket socket, String input) throws IOException {
+        OutputStream out = socket.getOutputStream();
+        out.write(input.getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+
+    /**
+     * Reads until a prompt without a line break arrives. Nothing more is sent meanwhile, so the
+     * prompt must have been flushed while the server waits for the answer.
+     */
+    private static String readUntilPrompt(BufferedReader in, String prompt) throws IOException {
+        StringBuilder text = new StringBuilder();
+        int c;
+        while ((c = in.read()) != -1) {
+            text.append((char) c);
+            if (text.toString().endsWith(prompt)) {
+                return text.toString();
+            }
+        }
+        fail("Connection closed before " + prompt);
+        return null;
+    }
+
+    private static String readUntil(BufferedReader in, String marker) throws IOException {
+        String line;
+        while ((line = in.readLine()) != null) {
+            if (line.contains(marker)) {
+                return line.trim();
+            }
+        }
+        fail("Connection closed before " + marker);
+        return null;
+    }
+}
@@ -1,12 +1,21 @@
 package com.Demirci.coordinator;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
 import java.io.PrintStream;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 
 import org.junit.After;
 import org.junit.Before;
@@ -120,4 +129,353 @@ public class DiscussionManagerTest {
         assertTrue(outContent.toString().contains("Your group doesn't have any discussions"));
         System.setOut(System.out); // Reset System.out
     }
+
+    @Test
+    public void testSearchRanksDiscussionsOfTheGroup() {
+        // Given
+        DiscussionManager discussionManager = new DiscussionManager();
+        StudyGroup algebra = new StudyGroup("Algebra", "des");
+        StudyGroup physics = new StudyGroup("Physics", "des");
+        Discussion matrices = new Discussion("Matrices exam", algebra);
+        Discussion vectors = new Discussion("Vectors", algebra);
+        Discussion otherGroup = new Discussion("Matrices", physics);
+        discussionManager.addDiscussion(matrices);
+        discussionManager.addDiscussion(vectors);
+        discussionManager.addDiscussion(otherGroup);
+
+        // When
+        vectors.addComment("Is the exam about matrices too?");
+
+        // Then
+        // The topic match ranks first, the other group is never returned
+        List<Discussion> results = discussionManager.searchDiscussions("MATRICES", algebra.getId(), 10);
+        assertEquals(2, results.size());
+        assertSame(matrices, results.get(0));
+        assertSame(vectors, results.get(1));
+        assertEquals(1, discussionManager.searchDiscussions("exam", algebra.getId(), 1).size());
+    }
+
+    @Test
+    public void testSearchFollowsTopicChangesAndRemovals() {
+        // Given
+        DiscussionManager discussionManager = new DiscussionManager();
+        StudyGroup group = new StudyGroup("Grup", "des");
+        Discussion discussion = new Discussion("Çalışma planı", group);
+        discussionManager.addDiscussion(discussion);
+
+        // When
+        discussion.setTopic("Sınav tarihi");
+
+        // Then
+        assertTrue(discussionManager.searchDiscussions("çalışma", group.getId(), 5).isEmpty());
+        assertSame(discussion, discussionManager.searchDiscussions("sınav", group.getId(), 5).get(0));
+
+        // When
+        discussionManager.getDiscussions().remove(discussion);
+
+        // Then
+        assertTrue(discussionManager.searchDiscussions("sınav", group.getId(), 5).isEmpty());
+    }
+
+    @Test
+    public void testCommentsKeepTheirAuthors() throws IOException {
+        // Given
+        Account account = new Account();
+        account.getUserList().add(new User("Ana", "Lee", 71, "ana.lee", "password"));
+        account.getUserList().add(new User("Ben", "Kim", 72, "ben.kim", "password"));
+        StudyGroup studyGroup = GroupRegistry.intern(new StudyGroup("Comment Authors", "des"));
+        Discussion discussion = new Discussion("Proofs", studyGroup);
+        discussion.addComment(71, 1_700_000_000_000L, "Induction works");
+        discussion.addComment(72, 1_700_000_060_000L, "Çok güzel");
+        discussion.addComment("Anonymous");
+        List<Discussion> discussions = new ArrayList<>();
+        discussions.add(discussion);
+
+        // When
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        BinaryCodec.writeDiscussions(new DataOutputStream(bytes), discussions);
+        Discussion loaded = BinaryCodec.readDiscussions(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))).get(0);
+        DiscussionManager discussionManager = new DiscussionManager();
+        discussionManager.addDiscussion(loaded);
+        ByteArrayOutputStream outContent = new ByteArrayOutputStream();
+        PrintStream out = System.out;
+        System.setOut(new PrintStream(outContent));
+        discussionManager.displayDiscussionsForGroup(studyGroup);
+        System.setOut(out);
+
+        // Then
+        CommentChunk comments = loaded.getCommentChunk();
+        assertEquals(3, comments.size());
+        assertEquals(72, comments.getAuthorId(1));
+        assertEquals(1_700_000_060_000L, comments.getTimestamp(1));
+        assertEquals("Çok güzel", loaded.getComments().get(1));
+        assertEquals(CommentChunk.UNKNOWN_AUTHOR, comments.getAuthorId(2));
+        assertTrue(outContent.toString().contains("- #0 ana.lee : Induction works"));
+        assertTrue(outContent.toString().contains("- #1 ben.kim : "));
+        assertTrue(outContent.toString().contains("- #2 unknown : Anonymous"));
+        assertSame(loaded, discussionManager.searchDiscussions("induction", studyGroup.getId(), 5).get(0));
+    }
+
+    @Test
+    public void testCommentsAreReadPageByPage() {
+        // Given
+        StudyGroup studyGroup = GroupRegistry.intern(new StudyGroup("Comment Pages", "des"));
+        Discussion discussion = new Discussion("Busy", studyGroup);
+        for (int i = 0; i < 45; i++) {
+            discussion.addComment(CommentChunk.UNKNOWN_AUTHOR, i, "Comment " + i);
+        }
+        DiscussionManager discussionManager = new DiscussionManager();
+        discussionManager.addDiscussion(discussion);
+
+        // When
+        Page<CommentChunk.Comment> first = discussionManager.getComments(discussion, Page.FIRST, 20);
+        Page<CommentChunk.Comment> last = discussionManager.getComments(discussion, 40, 20);
+
+        // Then
+        assertEquals(20, first.getItems().size());
+        assertEquals(20, first.getNextCursor());
+        assertEquals("Comment 19", first.getItems().get(19).getText());
+        assertEquals(5, last.getItems().size());
+        assertEquals(44, last.getItems().get(4).getSequence());
+        assertEquals(44L, last.getItems().get(4).getTimestamp());
+        assertFalse(last.hasMore());
+
+        // When
+        // Comments added later continue from the last cursor
+        discussion.addComment("Comment 45");
+        Page<CommentChunk.Comment> next = discussionManager.getComments(discussion, 45, 20);
+        ByteArrayOutputStream outContent = new ByteArrayOutputStream();
+        PrintStream out = System.out;
+        System.setOut(new PrintStream(outContent));
+        discussionManager.displayDiscussionsForGroup(studyGroup);
+        System.setOut(out);
+
+        // Then
+        assertEquals("Comment 45", next.getItems().get(0).getText());
+        assertTrue(outContent.toString().contains("(26 earlier comments)"));
+        assertTrue(outContent.toString().contains("Comment 26"));
+        assertFalse(outContent.toString().contains(": Comment 25" + System.lineSeparator()));
+    }
+
+    @Test
+    public void testLateRepliesToOldCommentsAreShown() {
+        // Given
+        StudyGroup studyGroup = GroupRegistry.intern(new StudyGroup("Comment Late Replies", "des"));
+        User ana = new User("Ana", "Lee", 85, "ana.late", "password");
+        ana.joinGroup(studyGroup);
+        Discussion discussion = new Discussion("Late", studyGroup);
+        DiscussionManager discussionManager = new DiscussionManager();
+        discussionManager.addDiscussion(discussion);
+        for (int i = 0; i < 25; i++) {
+            discussion.addComment(CommentChunk.UNKNOWN_AUTHOR, i, "Comment " + i);
+        }
+        discussionManager.markRead(85, discussion);
+        discussion.addReply(0, CommentChunk.UNKNOWN_AUTHOR, 25, "Late reply");
+
+        // When
+        ByteArrayOutputStream outContent = new ByteArrayOutputStream();
+        PrintStream out = System.out;
+        System.setOut(new PrintStream(outContent));
+        discussionManager.displayDiscussionsForGroup(studyGroup, ana);
+        System.setOut(out);
+
+        // Then
+        String output = outContent.toString();
+        String nl = System.lineSeparator();
+        assertTrue(output.contains("(6 earlier comments)"));
+        assertTrue(output.contains("  - #25 unknown : Late reply (reply to #0) (new)" + nl));
+        assertTrue(output.contains("- #24 unknown : Comment 24" + nl));
+        assertFalse(output.contains(": Comment 5" + nl));
+        assertTrue(output.indexOf("#25 ") < output.indexOf("#6 "));
+    }
+
+    @Test
+    public void testRepliesAreReadAsThreads() throws IOException {
+        // Given
+        StudyGroup studyGroup = GroupRegistry.intern(new StudyGroup("Comment Threads", "des"));
+        Discussion discussion = new Discussion("Threads", studyGroup);
+        discussion.addComment(71, 1, "First");                // #0
+        discussion.addComment(72, 2, "Second");               // #1
+        discussion.addReply(0, 72, 3, "Reply to first");      // #2
+        discussion.addReply(2, 71, 4, "Reply to the reply");  // #3
+        discussion.addReply(0, 73, 5, "Another reply");       // #4
+        DiscussionManager discussionManager = new DiscussionManager();
+        discussionManager.addDiscussion(discussion);
+
+        // When
+        List<CommentChunk.Comment> thread = discussionManager.getThread(discussion, Page.FIRST, 10).getItems();
+        Page<CommentChunk.Comment> replies = discussionManager.getReplies(discussion, 0, Page.FIRST, 2);
+
+        // Then
+        int[] order = new int[thread.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = thread.get(i).getSequence();
+        }
+        assertArrayEquals(new int[] {0, 2, 3, 4, 1}, order);
+        assertEquals(2, thread.get(2).getDepth());
+        assertEquals(2, thread.get(2).getParent());
+        assertEquals(3, discussion.getCommentChunk().getReplyCount(0));
+        assertEquals("First", replies.getItems().get(0).getText());
+        assertEquals("Reply to first", replies.getItems().get(1).getText());
+        assertEquals("Another reply", discussionManager.getReplies(discussion, 0, replies.getNextCursor(), 2).getItems().get(1).getText());
+        // Collapsing the first thread continues with the second comment
+        int collapsed = discussion.getCommentChunk().getThreadEnd(0);
+        assertEquals("Second", discussionManager.getThread(discussion, collapsed, 10).getItems().get(0).getText());
+        assertSame(discussion, discussionManager.searchDiscussions("another", studyGroup.getId(), 5).get(0));
+
+        // When
+        List<Discussion> discussions = new ArrayList<>();
+        discussions.add(discussion);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        BinaryCodec.writeDiscussions(new DataOutputStream(bytes), discussions);
+        Discussion loaded = BinaryCodec.readDiscussions(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))).get(0);
+
+        // Then
+        assertEquals(2, loaded.getCommentChunk().getParent(3));
+        assertEquals(4, loaded.getCommentChunk().getThreadEnd(0));
+    }
+
+    @Test
+    public void testLargeThreadsAreReadByRange() {
+        // Given
+        Discussion discussion = new Discussion("Large", GroupRegistry.intern(new StudyGroup("Comment Large Threads", "des")));
+        discussion.addComment(1, 0, "Root");
+        Random random = new Random(7);
+        for (int i = 1; i < 100_000; i++) {
+            // Every comment replies to a random earlier one, mostly to recent ones
+            discussion.addReply(i - 1 - random.nextInt(Math.min(i, 20)), 1, i, "Reply " + i);
+        }
+        discussion.addComment(1, 0, "Last");
+        CommentChunk comments = discussion.getCommentChunk();
+
+        int thread = 1;
+        while (comments.getReplyCount(thread) < 1000) {
+            thread++;
+        }
+
+        // When
+        Page<CommentChunk.Comment> deep = comments.subtreePage(thread, Page.FIRST, 50);
+        Page<CommentChunk.Comment> after = comments.threadPage(comments.getThreadEnd(0), 50);
+
+        // Then
+        assertEquals(99_999, comments.getReplyCount(0));
+        assertEquals(thread, deep.getItems().get(0).getSequence());
+        assertEquals(comments.getThreadPosition(thread) + 50, deep.getNextCursor());
+        for (CommentChunk.Comment reply : deep.getItems().subList(1, 50)) {
+            assertTrue(comments.getThreadPosition(reply.getSequence()) > comments.getThreadPosition(reply.getParent()));
+            assertTrue(comments.getThreadEnd(reply.getSequence()) <= comments.getThreadEnd(thread));
+        }
+        assertEquals("Last", after.getItems().get(0).getText());
+        assertFalse(after.hasMore());
+    }
+
+    @Test
+    public void testOnlyNewCommentsAreShownToEachUser() {
+        // Given
+        StudyGroup group = GroupRegistry.intern(new StudyGroup("Unread Comments", "des"));
+        User ana = new User("Ana", "Lee", 81, "ana.unread", "password");
+        ana.joinGroup(group);
+        DiscussionManager discussionManager = new DiscussionManager();
+        Discussion proofs = new Discussion("Proofs", group);
+        Discussion limits = new Discussion("Limits", group);
+        Discussion quiet = new Discussion("Quiet", group);
+        discussionManager.addDiscussion(proofs);
+        discussionManager.addDiscussion(limits);
+        discussionManager.addDiscussion(quiet);
+        proofs.addComment(82, 1, "Induction works");
+        limits.addComment(82, 2, "Squeeze them");
+        quiet.addComment(82, 3, "Old news");
+        discussionManager.markRead(81, quiet);
+
+        // When
+        List<Discussion> before = discussionManager.getNewDiscussions(81, ana.getGroupIds());
+        ByteArrayOutputStream outContent = new ByteArrayOutputStream();
+        PrintStream out = System.out;
+        System.setOut(new PrintStream(outContent));
+        discussionManager.displayDiscussionsForUser(ana);
+        System.setOut(out);
+        List<Discussion> afterReading = discussionManager.getNewDiscussions(81, ana.getGroupIds());
+        proofs.addReply(0, 82, 4, "Strong induction too");
+        List<Discussion> afterReply = discussionManager.getNewDiscussions(81, ana.getGroupIds());
+
+        // Then
+        assertEquals(2, before.size());
+        assertSame(limits, before.get(0));
+        assertSame(proofs, before.get(1));
+        assertTrue(outContent.toString().contains("- #0 unknown : Induction works"));
+        assertTrue(outContent.toString().contains("(no new comments, 1 in total)"));
+        assertFalse(outContent.toString().contains("Old news"));
+        assertTrue(afterReading.isEmpty());
+        assertEquals(1, afterReply.size());
+        assertSame(proofs, afterReply.get(0));
+        assertEquals(1, discussionManager.getUnreadCount(81, proofs));
+        assertEquals(1, discussionManager.getUnreadCount(82, quiet));
+    }
+
+    @Test
+    public void testManyNewCommentsAreShownPageByPage() {
+        // Given
+        StudyGroup group = GroupRegistry.intern(new StudyGroup("Unread Pages", "des"));
+        User ana = new User("Ana", "Lee", 83, "ana.pages", "password");
+        ana.joinGroup(group);
+        DiscussionManager discussionManager = new DiscussionManager();
+        Discussion busy = new Discussion("Busy", group);
+        discussionManager.addDiscussion(busy);
+        for (int i = 0; i < 25; i++) {
+            busy.addComment(84, i, "Comment " + i);
+        }
+
+        // When
+        ByteArrayOutputStream history = new ByteArrayOutputStream();
+        ByteArrayOutputStream first = new ByteArrayOutputStream();
+        ByteArrayOutputStream second = new ByteArrayOutputStream();
+        PrintStream out = System.out;
+        System.setOut(new PrintStream(history));
+        discussionManager.displayHistoryForUser(ana);
+        int unreadAfterHistory = discussionManager.getUnreadCount(83, busy);
+        System.setOut(new PrintStream(first));
+        discussionManager.displayDiscussionsForUser(ana);
+        int unreadAfterFirst = discussionManager.getUnreadCount(83, busy);
+        System.setOut(new PrintStream(second));
+        discussionManager.displayDiscussionsForUser(ana);
+        System.setOut(out);
+
+        // Then
+        String nl = System.lineSeparator();
+        assertTrue(history.toString().contains("- #24 unknown : Comment 24 (new)" + nl));
+        assertEquals(25, unreadAfterHistory);
+        assertTrue(first.toString().contains("(25 new comments)"));
+        assertTrue(first.toString().contains("- #0 unknown : Comment 0" + nl));
+        assertTrue(first.toString().contains("- #19 unknown : Comment 19" + nl));
+        assertFalse(first.toString().contains("Comment 20"));
+        assertTrue(first.toString().contains("(5 more new comments, view the discussions again to see them)"));
+        assertEquals(5, unreadAfterFirst);
+        assertTrue(second.toString().contains("(5 new comments)"));
+        assertFalse(second.toString().contains("Comment 19" + nl));
+        assertTrue(second.toString().contains("- #20 unknown : Comment 20" + nl));
+        assertTrue(second.toString().contains("- #24 unknown : Comment 24" + nl));
+        assertEquals(0, discussionManager.getUnreadCount(83, busy));
+    }
+
+    @Test
+    public void testWatermarksAreSavedIncrementally() throws IOException {
+        // Given
+        ReadWatermarks watermarks = ReadWatermarks.readFromFile();
+        watermarks.advance(81, 1, 3);
+        watermarks.advance(81, 2, 5);
+        watermarks.advance(82, 1, 7);
+
+        // When
+        boolean movedBack = watermarks.advance(81, 2, 4);
+        ReadWatermarks loaded = ReadWatermarks.readFromFile();
+
+        // Then
+        assertFalse(movedBack);
+        assertTrue(new File(ReadWatermarks.WATERMARKS_LOG_FILE).length() > 0);
+        assertEquals(3, loaded.size());
+        assertEquals(3, loaded.get(81, 1));
+        assertEquals(5, loaded.get(81, 2));
+        assertEquals(7, loaded.get(82, 1));
+        assertEquals(0, loaded.get(82, 2));
+    }
 }
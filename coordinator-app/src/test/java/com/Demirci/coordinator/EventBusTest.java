@@ -0,0 +1,175 @@
+package com.Demirci.coordinator;
+
+import static org.junit.Assert.*;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class EventBusTest {
+
+    @Before
+    public void setup() {
+        // Delete the files before the test
+        CoordinatorAppTest.clearFiles();
+    }
+
+    @After
+    public void cleanup() {
+        // Delete the files after the test
+        CoordinatorAppTest.clearFiles();
+    }
+
+    @Test
+    public void testCommentsReachTheSubscribersOfTheirGroup() throws InterruptedException {
+        // Given
+        EventBus events = new EventBus();
+        StudyGroup algebra = GroupRegistry.intern(new StudyGroup("Event Algebra", "des"));
+        StudyGroup biology = GroupRegistry.intern(new StudyGroup("Event Biology", "des"));
+        DiscussionManager discussionManager = new DiscussionManager();
+        discussionManager.setEvents(events);
+        Discussion rings = new Discussion("Rings", algebra);
+        Discussion cells = new Discussion("Cells", biology);
+        discussionManager.addDiscussion(rings);
+        discussionManager.addDiscussion(cells);
+        EventBus.Subscription both = events.subscribe(new int[] {algebra.getId(), biology.getId()});
+        EventBus.Subscription algebraOnly = events.subscribe(new int[] {algebra.getId()});
+
+        // When
+        rings.addComment(CommentChunk.UNKNOWN_AUTHOR, 1, "Ideals first");
+        cells.addComment(CommentChunk.UNKNOWN_AUTHOR, 2, "Mitosis");
+        algebraOnly.close();
+        rings.addComment(CommentChunk.UNKNOWN_AUTHOR, 3, "Then quotients");
+
+        // Then
+        GroupEvent first = both.poll(1, TimeUnit.SECONDS);
+        assertEquals(GroupEvent.COMMENT, first.getType());
+        assertEquals(algebra.getId(), first.getGroupId());
+        assertEquals("Rings", first.getSubject());
+        assertEquals("unknown: Ideals first", first.getText());
+        assertEquals("Cells", both.poll(1, TimeUnit.SECONDS).getSubject());
+        assertEquals("unknown: Then quotients", both.poll(1, TimeUnit.SECONDS).getText());
+        assertNull(both.poll(10, TimeUnit.MILLISECONDS));
+        assertEquals("unknown: Ideals first", algebraOnly.poll(1, TimeUnit.SECONDS).getText());
+        assertNull(algebraOnly.poll(10, TimeUnit.MILLISECONDS));
+        assertEquals(1, events.getSubscriberCount(algebra.getId()));
+        both.close();
+        assertEquals(0, events.getSubscriberCount(biology.getId()));
+    }
+
+    @Test
+    public void testSlowSubscribersDropAndCountEvents() throws InterruptedException {
+        // Given
+        EventBus events = new EventBus();
+        EventBus.Subscription slow = events.subscribe(new int[] {7}, 4);
+        EventBus.Subscription fast = events.subscribe(new int[] {7}, 4);
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            events.publish(GroupEvent.RESOURCE, 7, "Notes " + i, "Resource shared: link");
+            // The fast subscriber takes every event as it arrives
+            assertEquals("Notes " + i, fast.poll(1, TimeUnit.SECONDS).getSubject());
+        }
+
+        // Then
+        assertEquals(4, slow.size());
+        assertEquals(6, slow.takeDropped());
+        assertEquals(0, slow.takeDropped());
+        assertEquals("Notes 0", slow.poll(1, TimeUnit.SECONDS).getSubject());
+        assertEquals(0, fast.takeDropped());
+    }
+
+    @Test
+    public void testEventsArePushedAsServerSentEvents() throws IOException, InterruptedException {
+        // Given
+        EventBus events = new EventBus();
+        StudyGroup group = GroupRegistry.intern(new StudyGroup("Event Stream", "des"));
+        User member = new User("Eve", "Stream", 91, "eve.stream", "secret");
+        member.joinGroup(group);
+        new Account().getUserList().add(member);
+        EventStreamServer server = new EventStreamServer(0, events);
+        server.start();
+        URL url = new URL("http://localhost:" + server.getPort() + EventStreamServer.EVENTS_PATH);
+        try {
+            HttpURLConnection anonymous = (HttpURLConnection) url.openConnection();
+            assertEquals(401, anonymous.getResponseCode());
+            anonymous.disconnect();
+
+            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+            connection.setReadTimeout(5000);
+            connection.setRequestProperty("Authorization", "Basic "
+                    + Base64.getEncoder().encodeToString("eve.stream:secret".getBytes(StandardCharsets.UTF_8)));
+            BufferedReader in = new BufferedReader(new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8));
+            assertEquals("text/event-stream; charset=utf-8", connection.getContentType());
+            assertEquals(": connected", in.readLine());
+            assertEquals("", in.readLine());
+
+            // When
+            events.publish(GroupEvent.SESSION, group.getId(), "Review", "Session scheduled for 2024-05-01T10:00");
+
+            // Then
+            String id = in.readLine();
+            assertTrue(id.startsWith("id: "));
+            assertEquals("event: session", in.readLine());
+            assertEquals("data: {\"id\":" + id.substring(4) + ",\"type\":\"session\",\"group\":\"Event Stream\","
+                    + "\"subject\":\"Review\",\"text\":\"Session scheduled for 2024-05-01T10:00\"}", in.readLine());
+            connection.disconnect();
+        } finally {
+            server.close();
+        }
+    }
+
+    @Test
+    public void testStreamsFollowTheGroupsOfTheUser() throws IOException, InterruptedException {
+        // Given
+        EventBus events = new EventBus();
+        StudyGroup left = GroupRegistry.intern(new StudyGroup("Event Left", "des"));
+        StudyGroup joined = GroupRegistry.intern(new StudyGroup("Event Joined", "des"));
+        User member = new User("Finn", "Stream", 92, "finn.stream", "secret");
+        member.joinGroup(left);
+        new Account().getUserList().add(member);
+        EventStreamServer server = new EventStreamServer(0, events);
+        server.start();
+        URL url = new URL("http://localhost:" + server.getPort() + EventStreamServer.EVENTS_PATH);
+        try {
+            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+            connection.setReadTimeout(5000);
+            connection.setRequestProperty("Authorization", "Basic "
+                    + Base64.getEncoder().encodeToString("finn.stream:secret".getBytes(StandardCharsets.UTF_8)));
+            BufferedReader in = new BufferedReader(new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8));
+            assertEquals(": connected", in.readLine());
+            assertEquals("", in.readLine());
+
+            // When
+            member.leaveGroup(left.getId());
+            member.joinGroup(joined);
+            // The stream may still be subscribed to the group the member left
+            events.publish(GroupEvent.RESOURCE, left.getId(), "Secret", "Resource shared: link");
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (events.getSubscriberCount(joined.getId()) == 0 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            events.publish(GroupEvent.RESOURCE, joined.getId(), "Welcome", "Resource shared: link");
+
+            // Then
+            assertEquals(0, events.getSubscriberCount(left.getId()));
+            assertTrue(in.readLine().startsWith("id: "));
+            assertEquals("event: resource", in.readLine());
+            String data = in.readLine();
+            assertTrue(data.contains("\"subject\":\"Welcome\""));
+            assertFalse(data.contains("Secret"));
+            connection.disconnect();
+        } finally {
+            server.close();
+        }
+    }
+}
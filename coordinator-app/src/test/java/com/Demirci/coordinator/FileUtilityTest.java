@@ -0,0 +1,70 @@
+package com.Demirci.coordinator;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class FileUtilityTest {
+
+    @Before
+    public void setup() {
+        // Delete the files before the test
+        CoordinatorAppTest.clearFiles();
+    }
+
+    @After
+    public void cleanup() {
+        // Delete the files after the test
+        CoordinatorAppTest.clearFiles();
+    }
+
+    @Test
+    public void testFailedWriteLeavesOldContents() throws IOException {
+        // Given
+        File file = new File(ResourceManager.RESOURCES_FILE);
+        FileUtility.writeAtomically(file, out -> out.writeInt(42));
+        byte[] before = Files.readAllBytes(file.toPath());
+        int filesBefore = new File(".").getAbsoluteFile().getParentFile().list().length;
+
+        // When
+        try {
+            FileUtility.writeAtomically(file, out -> {
+                out.writeInt(7);
+                throw new IOException("Disk full");
+            });
+            fail("The failed write was not reported");
+        } catch (IOException e) {
+            assertEquals("Disk full", e.getMessage());
+        }
+
+        // Then
+        assertArrayEquals(before, Files.readAllBytes(file.toPath()));
+        // The temporary file was removed
+        assertEquals(filesBefore, new File(".").getAbsoluteFile().getParentFile().list().length);
+    }
+
+    @Test
+    public void testGroupsAreReplacedAtomically() {
+        // Given
+        List<StudyGroup> groups = new ArrayList<>();
+        groups.add(new StudyGroup("Algebra", "des"));
+        FileUtility.writeGroupsToFile(groups);
+
+        // When
+        groups.add(new StudyGroup("Physics", "des"));
+        FileUtility.writeGroupsToFile(groups);
+
+        // Then
+        assertEquals(2, FileUtility.readGroupsFromFile().size());
+    }
+}
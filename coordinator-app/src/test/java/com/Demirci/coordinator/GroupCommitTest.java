@@ -0,0 +1,86 @@
+package com.Demirci.coordinator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+public class GroupCommitTest {
+
+    @Test
+    public void testWaitingCallersShareOneRun() throws Exception {
+        // Given
+        final GroupCommit commit = new GroupCommit();
+        final CountDownLatch running = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger runs = new AtomicInteger();
+        Thread first = new Thread(() -> {
+            try {
+                commit.commit(() -> {
+                    running.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    runs.incrementAndGet();
+                });
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        first.start();
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+
+        // When
+        // Ten callers arrive while the first run is in progress
+        List<Thread> waiting = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    commit.commit(runs::incrementAndGet);
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            thread.start();
+            waiting.add(thread);
+        }
+        Thread.sleep(50);
+        release.countDown();
+        first.join();
+        for (Thread thread : waiting) {
+            thread.join();
+        }
+
+        // Then
+        assertEquals(2, runs.get());
+    }
+
+    @Test
+    public void testFailedRunIsRetriedByTheNextCaller() throws IOException {
+        // Given
+        GroupCommit commit = new GroupCommit();
+        AtomicInteger runs = new AtomicInteger();
+        try {
+            commit.commit(() -> {
+                throw new IOException("Disk full");
+            });
+        } catch (IOException e) {
+            assertEquals("Disk full", e.getMessage());
+        }
+
+        // When
+        commit.commit(runs::incrementAndGet);
+
+        // Then
+        assertEquals(1, runs.get());
+    }
+}
@@ -0,0 +1,204 @@
+package com.Demirci.coordinator;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class GroupMembershipTest {
+    private Account account;
+
+    @Before
+    public void setup() {
+        // Delete the files before the test
+        CoordinatorAppTest.clearFiles();
+        account = new Account();
+        for (int id = 1; id <= 5; id++) {
+            account.getUserList().add(new User("Name" + id, "Surname" + id, id, "user" + id, "password"));
+        }
+    }
+
+    @After
+    public void cleanup() {
+        // Delete the files after the test
+        CoordinatorAppTest.clearFiles();
+    }
+
+    @Test
+    public void testAddMembersUpdatesUsersAndGroup() {
+        // Given
+        StudyGroup group = new StudyGroup("Chemistry", "des");
+
+        // When
+        int added = GroupMembership.addMembers(group, new int[] {1, 2, 3, 2, 99});
+
+        // Then
+        assertEquals(3, added);
+        assertArrayEquals(new int[] {1, 2, 3}, group.getMemberIds());
+        assertEquals("Chemistry", Account.findUserById(2).getGroup().getName());
+
+        // The users file holds the new groups
+        Account loaded = new Account();
+        loaded.loadUsersFromFile("users.bin");
+        assertEquals("Chemistry", Account.findUserById(3).getGroup().getName());
+        assertNull(Account.findUserById(4).getGroup());
+    }
+
+    @Test
+    public void testRemoveMembersClearsTheirGroup() {
+        // Given
+        StudyGroup group = new StudyGroup("Biology", "des");
+        GroupMembership.addMembers(group, new int[] {1, 2, 3});
+
+        // When
+        int removed = GroupMembership.removeMembers(group, new int[] {1, 3, 4});
+
+        // Then
+        assertEquals(2, removed);
+        assertArrayEquals(new int[] {2}, group.getMemberIds());
+        assertNull(Account.findUserById(1).getGroup());
+        assertEquals("Biology", Account.findUserById(2).getGroup().getName());
+    }
+
+    @Test
+    public void testImportAssignmentsFillsManyGroups() {
+        // Given
+        StudyGroup history = GroupRegistry.intern(new StudyGroup("History", "des"));
+        StudyGroup geography = GroupRegistry.intern(new StudyGroup("Geography", "des"));
+        List<GroupMembership.Assignment> assignments = new ArrayList<>();
+        assignments.add(new GroupMembership.Assignment(history.getId(), new int[] {1, 2}));
+        assignments.add(new GroupMembership.Assignment(geography.getId(), new int[] {3, 4, 5}));
+
+        // When
+        int added = GroupMembership.importAssignments(assignments);
+
+        // Then
+        assertEquals(5, added);
+        assertEquals(2, history.getMembers().size());
+        assertEquals(3, geography.getMembers().size());
+        assertEquals("Geography", Account.findUserById(5).getGroup().getName());
+        List<String> names = new ArrayList<>();
+        for (StudyGroup group : FileUtility.readGroupsFromFile()) {
+            names.add(group.getName());
+        }
+        assertTrue(names.containsAll(Arrays.asList("History", "Geography")));
+    }
+
+    @Test
+    public void testGroupsCanBeCombinedByMembers() {
+        // Given
+        StudyGroup literature = GroupRegistry.intern(new StudyGroup("Literature", "des"));
+        StudyGroup philosophy = GroupRegistry.intern(new StudyGroup("Philosophy", "des"));
+        GroupMembership.addMembers(literature, new int[] {1, 2, 3});
+        GroupMembership.addMembers(philosophy, new int[] {3, 4});
+
+        // When
+        int[] common = GroupMembership.commonMembers(literature, philosophy);
+        int[] any = GroupMembership.membersOfAny(Arrays.asList(literature, philosophy));
+        List<StudyGroup> groupsOfThree = GroupMembership.groupsOf(3);
+
+        // Then
+        assertArrayEquals(new int[] {3}, common);
+        assertArrayEquals(new int[] {1, 2, 3, 4}, any);
+        assertTrue(groupsOfThree.containsAll(Arrays.asList(literature, philosophy)));
+        assertFalse(GroupMembership.groupsOf(1).contains(philosophy));
+    }
+
+    @Test
+    public void testUsersBelongToManyGroups() {
+        // Given
+        StudyGroup art = GroupRegistry.intern(new StudyGroup("Art", "des"));
+        StudyGroup music = GroupRegistry.intern(new StudyGroup("Music", "des"));
+        GroupMembership.addMembers(art, new int[] {1, 2});
+        GroupMembership.addMembers(music, new int[] {1});
+
+        // When
+        Account loaded = new Account();
+        loaded.loadUsersFromFile("users.bin");
+        User user = Account.findUserById(1);
+
+        // Then
+        assertArrayEquals(new int[] {art.getId(), music.getId()}, user.getGroupIds());
+        assertEquals("Art", user.getGroup().getName());
+        assertTrue(user.isInGroup(music.getId()));
+        assertFalse(Account.findUserById(2).isInGroup(music.getId()));
+
+        // Leaving the current group makes the next group current
+        GroupMembership.removeMembers(art, new int[] {1});
+        assertEquals("Music", user.getGroup().getName());
+        assertEquals(Arrays.asList(music), GroupMembership.groupsOf(1));
+    }
+
+    @Test
+    public void testGroupsAreListedPageByPage() {
+        // Given
+        for (int i = 0; i < 5; i++) {
+            GroupRegistry.intern(new StudyGroup("Paged Group " + i, "des"));
+        }
+        int total = GroupRegistry.getGroups().size();
+
+        // When
+        List<StudyGroup> listed = new ArrayList<>();
+        int pages = 0;
+        for (int cursor = Page.FIRST; cursor != Page.END; pages++) {
+            Page<StudyGroup> page = GroupRegistry.getGroups(cursor, 2);
+            assertTrue(page.getItems().size() <= 2);
+            listed.addAll(page.getItems());
+            cursor = page.getNextCursor();
+        }
+
+        // Then
+        assertEquals(total, listed.size());
+        assertEquals((total + 1) / 2, pages);
+        for (int i = 0; i < listed.size(); i++) {
+            assertEquals(i, listed.get(i).getId());
+        }
+        assertTrue(GroupRegistry.getGroups(total, 2).getItems().isEmpty());
+        assertFalse(GroupRegistry.getGroups(total - 1, 2).hasMore());
+    }
+
+    @Test
+    public void testSavingKeepsGroupsSavedByEarlierRuns() throws IOException, InterruptedException {
+        // Given
+        // A group whose members all left is only known from the groups file after a restart
+        GroupMembership.addMembers(new StudyGroup("Restart Saved", "des"), new int[] {1});
+        GroupMembership.removeMembers(new StudyGroup("Restart Saved", "des"), new int[] {1});
+
+        // When
+        // A restarted application changes another group
+        Process restarted = new ProcessBuilder(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java",
+                "-cp", System.getProperty("java.class.path"), GroupMembershipTest.class.getName(), "Restart Changed", "2")
+                .inheritIO().start();
+        int exitCode = restarted.waitFor();
+        List<String> names = new ArrayList<>();
+        for (StudyGroup group : FileUtility.readGroupsFromFile()) {
+            names.add(group.getName());
+        }
+
+        // Then
+        assertEquals(0, exitCode);
+        assertTrue(names.contains("Restart Saved"));
+        assertTrue(names.contains("Restart Changed"));
+    }
+
+    /**
+     * Adds users to a study group in a new process, as a restarted application would.
+     *
+     * @param args The name of the group followed by the IDs of the users
+     */
+    public static void main(String[] args) {
+        new Account().loadUsersFromFile("users.bin");
+        int[] userIds = new int[args.length - 1];
+        for (int i = 1; i < args.length; i++) {
+            userIds[i - 1] = Integer.parseInt(args[i]);
+        }
+        GroupMembership.addMembers(new StudyGroup(args[0], "des"), userIds);
+    }
+}
@@ -0,0 +1,103 @@
+package com.Demirci.coordinator;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import org.junit.Test;
+
+public class MemberBitmapTest {
+
+    @Test
+    public void testAddRemoveAndContains() {
+        // Given
+        MemberBitmap bitmap = new MemberBitmap();
+
+        // When
+        assertTrue(bitmap.add(70000));
+        assertTrue(bitmap.add(5));
+        assertTrue(bitmap.add(-1));
+        assertFalse(bitmap.add(5));
+        assertTrue(bitmap.remove(70000));
+        assertFalse(bitmap.remove(70000));
+
+        // Then
+        assertTrue(bitmap.contains(5));
+        assertTrue(bitmap.contains(-1));
+        assertFalse(bitmap.contains(70000));
+        assertFalse(bitmap.contains(6));
+        assertEquals(2, bitmap.cardinality());
+        assertArrayEquals(new int[] {5, -1}, bitmap.toArray());
+    }
+
+    @Test
+    public void testLargeContainersSwitchToBitsAndBack() {
+        // Given
+        MemberBitmap bitmap = new MemberBitmap();
+        for (int id = 0; id < 2 * MemberBitmap.ARRAY_LIMIT; id += 2) {
+            bitmap.add(id);
+        }
+        bitmap.add(1);
+
+        // When
+        int[] ids = bitmap.toArray();
+        for (int id = 0; id < 2 * MemberBitmap.ARRAY_LIMIT; id += 4) {
+            bitmap.remove(id);
+        }
+
+        // Then
+        assertEquals(MemberBitmap.ARRAY_LIMIT + 1, ids.length);
+        assertEquals(0, ids[0]);
+        assertEquals(1, ids[1]);
+        assertEquals(MemberBitmap.ARRAY_LIMIT / 2 + 1, bitmap.cardinality());
+        assertTrue(bitmap.contains(2));
+        assertFalse(bitmap.contains(4));
+    }
+
+    @Test
+    public void testUnionAndIntersection() {
+        // Given
+        MemberBitmap evens = new MemberBitmap();
+        MemberBitmap small = new MemberBitmap();
+        for (int id = 0; id < 20000; id += 2) {
+            evens.add(id);
+        }
+        small.add(3);
+        small.add(4);
+        small.add(100000);
+
+        // When
+        MemberBitmap and = MemberBitmap.and(evens, small);
+        MemberBitmap or = MemberBitmap.or(evens, small);
+
+        // Then
+        assertArrayEquals(new int[] {4}, and.toArray());
+        assertEquals(10002, or.cardinality());
+        assertTrue(or.contains(3));
+        assertTrue(or.contains(100000));
+        assertEquals(10000, MemberBitmap.and(evens, or).cardinality());
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        // Given
+        MemberBitmap bitmap = new MemberBitmap();
+        for (int id = 0; id < 10000; id++) {
+            bitmap.add(id);
+        }
+        bitmap.add(1 << 20);
+
+        // When
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        bitmap.writeTo(new DataOutputStream(bytes));
+        MemberBitmap loaded = MemberBitmap.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        // Then
+        assertArrayEquals(bitmap.toArray(), loaded.toArray());
+        assertTrue(bytes.size() < 10000);
+    }
+}
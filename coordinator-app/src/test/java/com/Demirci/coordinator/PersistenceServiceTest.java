@@ -0,0 +1,92 @@
+package com.Demirci.coordinator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PersistenceServiceTest {
+
+    @Before
+    public void setup() {
+        // Delete the files before the test
+        CoordinatorAppTest.clearFiles();
+    }
+
+    @After
+    public void cleanup() {
+        // Delete the files after the test
+        CoordinatorAppTest.clearFiles();
+    }
+
+    @Test
+    public void testBurstOfChangesIsWrittenOnce() {
+        // Given
+        final AtomicInteger writes = new AtomicInteger();
+
+        // When
+        for (int i = 0; i < 100; i++) {
+            PersistenceService.markDirty("burst", writes::incrementAndGet);
+        }
+        PersistenceService.flush("burst");
+        PersistenceService.flush("burst");
+
+        // Then
+        // The background thread may have picked up part of the burst before the flush
+        assertTrue(writes.get() <= 2);
+        assertEquals(0, PersistenceService.getPendingLagMillis());
+    }
+
+    @Test
+    public void testChangesDuringAWriteAreWrittenAfterIt() throws InterruptedException {
+        // Given
+        final CountDownLatch writing = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger writes = new AtomicInteger();
+        Runnable slowWriter = () -> {
+            writing.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            writes.incrementAndGet();
+        };
+        PersistenceService.markDirty("slow", slowWriter);
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+
+        // When
+        // The background thread is blocked in the first write
+        for (int i = 0; i < 10; i++) {
+            PersistenceService.markDirty("slow", slowWriter);
+        }
+        Thread.sleep(20);
+        long lag = PersistenceService.getPendingLagMillis();
+        release.countDown();
+        PersistenceService.flush("slow");
+
+        // Then
+        assertTrue(lag >= 20);
+        assertEquals(2, writes.get());
+        assertEquals(0, PersistenceService.getPendingLagMillis());
+    }
+
+    @Test
+    public void testSharedResourceIsReadBackBeforeTheBackgroundWrite() {
+        // Given
+        ResourceManager resourceManager = new ResourceManager();
+        resourceManager.addResource(new Resource("Title", "Description", "link", new StudyGroup("Group", "des")));
+
+        // When
+        resourceManager.saveLater(resourceManager.getResources());
+
+        // Then
+        assertEquals("Title", ResourceManager.readResourcesFromFile().get(0).getTitle());
+    }
+}
@@ -0,0 +1,183 @@
+package com.Demirci.coordinator;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ReminderSchedulerTest {
+
+    @Before
+    public void setup() {
+        // Delete the files before the test
+        CoordinatorAppTest.clearFiles();
+    }
+
+    @After
+    public void cleanup() {
+        // Delete the files after the test
+        CoordinatorAppTest.clearFiles();
+    }
+
+    @Test
+    public void testTimeoutsExpireAtTheirDeadline() {
+        // Given
+        long now = 1_000_000_000L - 5;
+        TimingWheel<Long> wheel = new TimingWheel<>(now);
+        Random random = new Random(42);
+        List<TimingWheel.Timeout<Long>> timeouts = new ArrayList<>();
+        for (int i = 0; i < 200_000; i++) {
+            // Deadlines from the next minute up to about twenty years ahead cross every level
+            long deadline = now + 1 + (long) Math.pow(random.nextDouble(), 4) * 10_000_000L;
+            timeouts.add(wheel.schedule(deadline, deadline));
+        }
+        int cancelled = 0;
+        for (int i = 0; i < timeouts.size(); i += 3) {
+            assertTrue(wheel.cancel(timeouts.get(i)));
+            assertFalse(wheel.cancel(timeouts.get(i)));
+            cancelled++;
+        }
+
+        // When
+        int expired = 0;
+        long previous = now;
+        for (long tick = now + 1; wheel.size() > 0; tick += 1 + random.nextInt(5000)) {
+            for (long deadline : wheel.advance(tick)) {
+                // Then
+                assertTrue(deadline > previous - 5000 && deadline <= tick);
+                assertTrue(deadline >= previous);
+                previous = deadline;
+                expired++;
+            }
+            previous = Math.max(previous, tick);
+        }
+
+        // Then
+        assertEquals(timeouts.size() - cancelled, expired);
+        for (TimingWheel.Timeout<Long> timeout : timeouts) {
+            assertFalse(timeout.isPending());
+        }
+    }
+
+    @Test
+    public void testMembersAreRemindedAnHourBefore() {
+        // Given
+        Account account = new Account();
+        for (int id = 1; id <= 2; id++) {
+            account.getUserList().add(new User("Name" + id, "Surname" + id, id, "user" + id, "password"));
+        }
+        StudyGroup algebra = GroupRegistry.intern(new StudyGroup("Reminder Algebra", "des"));
+        GroupMembership.addMembers(algebra, new int[] {1, 2});
+        long start = Session.parseTime("2024-03-05T10:00");
+        AtomicLong clock = new AtomicLong(start - 3 * 60);
+        List<String> delivered = new ArrayList<>();
+        ReminderScheduler scheduler = new ReminderScheduler(
+                (reminder, memberIds) -> delivered.add(reminder.getMessage() + " " + memberIds.length), clock::get);
+        SessionManager sessionManager = new SessionManager();
+        sessionManager.setReminders(scheduler);
+        Session review = new Session("Review", "2024-03-05T10:00", algebra, "des");
+        Session moved = new Session("Lab", "2024-03-05T10:30", algebra, "des");
+        sessionManager.addSession(review);
+        sessionManager.addSession(moved);
+        sessionManager.addSession(new Session("Past", "2024-03-04T10:00", algebra, "des"));
+
+        // When
+        clock.set(start - 61);
+        scheduler.deliverDue();
+
+        // Then
+        assertTrue(delivered.isEmpty());
+        assertEquals(2, scheduler.size());
+
+        // When
+        // Moving a session moves its reminder
+        moved.setDate("2024-03-05T12:00");
+        clock.set(start - 60);
+        scheduler.deliverDue();
+
+        // Then
+        assertEquals(1, delivered.size());
+        assertEquals("Session Review starts in 1 hour 2", delivered.get(0));
+
+        // When
+        clock.set(start + 30);
+        scheduler.deliverDue();
+        sessionManager.getSessions().remove(moved);
+        clock.set(start + 120);
+        scheduler.deliverDue();
+
+        // Then
+        assertEquals(1, delivered.size());
+        assertEquals(0, scheduler.size());
+    }
+
+    @Test
+    public void testLateRemindersTellTheTimeLeft() {
+        // Given
+        StudyGroup group = GroupRegistry.intern(new StudyGroup("Reminder Late", "des"));
+        long start = Session.parseTime("2024-03-06T10:00");
+        AtomicLong clock = new AtomicLong(start - 3 * 60);
+        List<String> delivered = new ArrayList<>();
+        ReminderScheduler scheduler = new ReminderScheduler((reminder, memberIds) -> {
+            if (reminder.getSession().getTitle().equals("Broken")) {
+                throw new IllegalStateException("sink failed");
+            }
+            delivered.add(reminder.getMessage());
+        }, clock::get);
+        scheduler.schedule(new Session("Review", "2024-03-06T10:00", group, "des"));
+        scheduler.schedule(new Session("Broken", "2024-03-06T10:00", group, "des"));
+        scheduler.schedule(new Session("Started", "2024-03-06T09:30", group, "des"));
+
+        // When
+        // The clock jumps past the due time of every reminder and the start of one session
+        clock.set(start - 20);
+        int count = scheduler.deliverDue();
+
+        // Then
+        assertEquals(1, count);
+        assertEquals(1, delivered.size());
+        assertEquals("Session Review starts in 20 minutes", delivered.get(0));
+        assertEquals(0, scheduler.size());
+    }
+
+    @Test
+    public void testRecurringSessionsAreRemindedOfEachOccurrence() throws IOException {
+        // Given
+        Account account = new Account();
+        account.getUserList().add(new User("Name", "Surname", 7, "user7", "password"));
+        StudyGroup algebra = GroupRegistry.intern(new StudyGroup("Reminder Weekly Algebra", "des"));
+        GroupMembership.addMembers(algebra, new int[] {7});
+        long start = Session.parseTime("2024-03-05T10:00");
+        AtomicLong clock = new AtomicLong(start - 30);
+        ReminderScheduler scheduler = new ReminderScheduler(new OutboxReminderSink(ReminderScheduler.OUTBOX_FILE), clock::get);
+        SessionManager sessionManager = new SessionManager();
+        sessionManager.addSession(new Session("Tutorial", "2024-03-05T10:00;FREQ=WEEKLY;COUNT=3", algebra, "des"));
+
+        // When
+        sessionManager.setReminders(scheduler);
+        for (int week = 0; week < 4; week++) {
+            // Each reminder is delivered when due, the first at the minute after it was scheduled
+            clock.set(start + week * 7 * 24 * 60 - (week == 0 ? 29 : ReminderScheduler.LEAD_MINUTES));
+            scheduler.deliverDue();
+        }
+
+        // Then
+        List<String> lines = Files.readAllLines(new File(ReminderScheduler.OUTBOX_FILE).toPath(), StandardCharsets.UTF_8);
+        assertEquals(3, lines.size());
+        // Scheduled within the hour, the first reminder is sent at the next minute
+        assertEquals("7\t2024-03-05T10:00\tTutorial\tSession Tutorial starts in 29 minutes", lines.get(0));
+        assertEquals("7\t2024-03-12T10:00\tTutorial\tSession Tutorial starts in 1 hour", lines.get(1));
+        assertEquals("7\t2024-03-19T10:00\tTutorial\tSession Tutorial starts in 1 hour", lines.get(2));
+        assertEquals(0, scheduler.size());
+    }
+}
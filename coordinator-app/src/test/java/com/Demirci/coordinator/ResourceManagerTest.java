@@ -1,5 +1,8 @@
 package com.Demirci.coordinator;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.io.ByteArrayOutputStream;
@@ -81,4 +84,31 @@ public class ResourceManagerTest {
         assertTrue(outContent.toString().contains("Your group doesn't have any resources."));
         System.setOut(System.out); // Reset System.out
     }
+
+    @Test
+    public void testResourcesOfAllGroupsOfAUser() {
+        // Given
+        ResourceManager resourceManager = new ResourceManager();
+        StudyGroup algebra = GroupRegistry.intern(new StudyGroup("Algebra Resources", "des"));
+        StudyGroup physics = GroupRegistry.intern(new StudyGroup("Physics Resources", "des"));
+        StudyGroup other = GroupRegistry.intern(new StudyGroup("Other Resources", "des"));
+        Resource notes = new Resource("Notes", "des", "link", algebra);
+        Resource slides = new Resource("Slides", "des", "link", physics);
+        resourceManager.addResource(notes);
+        resourceManager.addResource(slides);
+        resourceManager.addResource(new Resource("Hidden", "des", "link", other));
+        User user = new User("Multi", "Group", 77, "multi", "password");
+        user.joinGroup(algebra);
+        user.joinGroup(physics);
+
+        // When
+        List<Resource> resources = resourceManager.getResourcesForGroups(user.getGroupIds());
+
+        // Then
+        assertEquals(2, resources.size());
+        assertSame(notes, resources.get(0));
+        assertSame(slides, resourceManager.findResourceForGroups("slides", user.getGroupIds()));
+        assertNull(resourceManager.findResourceForGroups("Hidden", user.getGroupIds()));
+        assertSame(algebra, user.getGroup());
+    }
 }
@@ -1,8 +1,17 @@
 package com.Demirci.coordinator;
 
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
 import java.io.PrintStream;
 import java.util.ArrayList;
 import java.util.List;
@@ -81,4 +90,490 @@ public class SessionManagerTest {
         assertTrue(outContent.toString().contains("Your group doesn't have any session."));
         System.setOut(System.out); // Reset System.out
     }
+
+    @Test
+    public void testAppendSessionReplaysFromLog() {
+        // Given
+        List<Session> sessions = new ArrayList<>();
+        sessions.add(new Session("First", "2024-03-28", new StudyGroup("Group", "des"), "des"));
+        SessionManager.writeSessionsToFile(sessions);
+        long snapshotSize = new File(SessionManager.SESSIONS_FILE).length();
+
+        // When
+        Session second = new Session("Second", "2024-03-29", new StudyGroup("Group", "des"), "des");
+        sessions.add(second);
+        SessionManager.appendSession(sessions, second);
+        List<Session> loaded = SessionManager.readSessionsFromFile();
+
+        // Then
+        assertEquals(snapshotSize, new File(SessionManager.SESSIONS_FILE).length());
+        assertEquals(2, loaded.size());
+        assertEquals("First", loaded.get(0).getTitle());
+        assertEquals("Second", loaded.get(1).getTitle());
+    }
+
+    @Test
+    public void testRecordSessionEditReplaysFromLog() {
+        // Given
+        List<Session> sessions = new ArrayList<>();
+        Session session = new Session("Title", "2024-03-28", new StudyGroup("Group", "des"), "des");
+        sessions.add(session);
+        SessionManager.appendSession(sessions, session);
+
+        // When
+        session.setTitle("Edited");
+        session.setDate("2024-04-01");
+        SessionManager.recordSessionEdit(sessions, session);
+        List<Session> loaded = SessionManager.readSessionsFromFile();
+
+        // Then
+        assertEquals(1, loaded.size());
+        assertEquals("Edited", loaded.get(0).getTitle());
+        assertEquals("2024-04-01", loaded.get(0).getDate());
+    }
+
+    @Test
+    public void testRecordSessionEditOfLoadedSession() {
+        // Given
+        List<Session> sessions = new ArrayList<>();
+        StudyGroup group = new StudyGroup("Group", "des");
+        for (int i = 0; i < 3; i++) {
+            Session session = new Session("Title " + i, "2024-03-2" + i, group, "des");
+            sessions.add(session);
+            SessionManager.appendSession(sessions, session);
+        }
+        List<Session> reloaded = SessionManager.readSessionsFromFile();
+
+        // When
+        Session middle = reloaded.get(1);
+        middle.setTitle("Edited");
+        SessionManager.recordSessionEdit(reloaded, middle);
+        List<Session> loaded = SessionManager.readSessionsFromFile();
+
+        // Then
+        assertEquals(3, loaded.size());
+        assertEquals("Title 0", loaded.get(0).getTitle());
+        assertEquals("Edited", loaded.get(1).getTitle());
+        assertEquals("Title 2", loaded.get(2).getTitle());
+    }
+
+    @Test
+    public void testTornLogTailIsIgnored() throws IOException {
+        // Given
+        List<Session> sessions = new ArrayList<>();
+        Session first = new Session("First", "date", new StudyGroup("Group", "des"), "des");
+        sessions.add(first);
+        SessionManager.appendSession(sessions, first);
+        Session second = new Session("Second", "date", new StudyGroup("Group", "des"), "des");
+        sessions.add(second);
+        SessionManager.appendSession(sessions, second);
+
+        // When
+        // Simulate a crash in the middle of writing a record
+        try (FileOutputStream out = new FileOutputStream(SessionManager.SESSIONS_LOG_FILE, true)) {
+            out.write(new byte[] { 0, 0, 0, 50, 1, 2 });
+        }
+        List<Session> loaded = SessionManager.readSessionsFromFile();
+
+        // Then
+        assertEquals(2, loaded.size());
+        assertEquals("Second", loaded.get(1).getTitle());
+    }
+
+    @Test
+    public void testStaleLogIsNotReplayedAfterCompaction() throws IOException {
+        // Given
+        List<Session> sessions = new ArrayList<>();
+        Session first = new Session("First", "date", new StudyGroup("Group", "des"), "des");
+        sessions.add(first);
+        SessionManager.appendSession(sessions, first);
+        Session second = new Session("Second", "date", new StudyGroup("Group", "des"), "des");
+        sessions.add(second);
+        SessionManager.appendSession(sessions, second);
+        byte[] staleLog = Files.readAllBytes(new File(SessionManager.SESSIONS_LOG_FILE).toPath());
+
+        // When
+        // Simulate a crash after the snapshot was written but before the log was reset
+        SessionManager.writeSessionsToFile(sessions);
+        Files.write(new File(SessionManager.SESSIONS_LOG_FILE).toPath(), staleLog);
+        List<Session> loaded = SessionManager.readSessionsFromFile();
+
+        // Then
+        assertEquals(2, loaded.size());
+    }
+
+    @Test
+    public void testStaleEditIsNotReplayedOnANewerSnapshot() throws IOException {
+        // Given
+        List<Session> sessions = new ArrayList<>();
+        Session first = new Session("First", "date", new StudyGroup("Group", "des"), "des");
+        sessions.add(first);
+        SessionManager.appendSession(sessions, first);
+        first.setTitle("Edited");
+        SessionManager.recordSessionEdit(sessions, first);
+        byte[] staleLog = Files.readAllBytes(new File(SessionManager.SESSIONS_LOG_FILE).toPath());
+
+        // When
+        // Simulate a crash after a snapshot with another session in front was written but before the log was reset
+        sessions.add(0, new Session("Inserted", "date", new StudyGroup("Group", "des"), "des"));
+        SessionManager.writeSessionsToFile(sessions);
+        Files.write(new File(SessionManager.SESSIONS_LOG_FILE).toPath(), staleLog);
+        List<Session> loaded = SessionManager.readSessionsFromFile();
+
+        // Then
+        assertEquals(2, loaded.size());
+        assertEquals("Inserted", loaded.get(0).getTitle());
+        assertEquals("Edited", loaded.get(1).getTitle());
+
+        // When
+        // The discarded log does not come back once the sessions are loaded again
+        List<Session> reloaded = SessionManager.readSessionsFromFile();
+
+        // Then
+        assertEquals("Inserted", reloaded.get(0).getTitle());
+    }
+
+    @Test
+    public void testGroupIndexFollowsSessionListChanges() {
+        // Given
+        SessionManager sessionManager = new SessionManager();
+        StudyGroup algebra = new StudyGroup("Algebra", "des");
+        StudyGroup physics = new StudyGroup("Physics", "des");
+        Session first = new Session("First", "Date", algebra, "Description");
+        Session second = new Session("Second", "Date", physics, "Description");
+        Session third = new Session("Third", "Date", algebra, "Description");
+
+        // When
+        sessionManager.addSession(first);
+        sessionManager.getSessions().add(second);
+        sessionManager.getSessions().add(0, third);
+
+        // Then
+        assertEquals(2, sessionManager.getSessionsForGroup(algebra.getId()).size());
+        assertSame(third, sessionManager.getSessionsForGroup(algebra.getId()).get(0));
+        assertSame(second, sessionManager.findSessionForGroup("second", physics.getId()));
+        assertNull(sessionManager.findSessionForGroup("Second", algebra.getId()));
+
+        // When
+        sessionManager.getSessions().remove(third);
+        sessionManager.getSessions().set(1, new Session("Replaced", "Date", algebra, "Description"));
+
+        // Then
+        assertEquals(2, sessionManager.getSessionsForGroup(algebra.getId()).size());
+        assertTrue(sessionManager.getSessionsForGroup(physics.getId()).isEmpty());
+        assertEquals("Replaced", sessionManager.getSessionsForGroup(algebra.getId()).get(1).getTitle());
+    }
+
+    @Test
+    public void testLogIsCompactedInTheBackground() {
+        // Given
+        List<Session> sessions = new ArrayList<>();
+        StringBuilder description = new StringBuilder();
+        for (int i = 0; i < 1024; i++) {
+            description.append('x');
+        }
+        StudyGroup group = new StudyGroup("Group", "des");
+        File logFile = new File(SessionManager.SESSIONS_LOG_FILE);
+
+        // When
+        // Log sessions until the log outgrows the compaction threshold, then keep logging
+        while (logFile.length() <= 256 * 1024) {
+            Session session = new Session("Session" + sessions.size(), "date", group, description.toString());
+            sessions.add(session);
+            SessionManager.appendSession(sessions, session);
+        }
+        for (int i = 0; i < 2; i++) {
+            Session session = new Session("Late" + i, "date", group, "des");
+            sessions.add(session);
+            SessionManager.appendSession(sessions, session);
+        }
+        List<Session> beforeCompaction = SessionManager.readSessionsFromFile();
+        PersistenceService.flush();
+        List<Session> afterCompaction = SessionManager.readSessionsFromFile();
+
+        // Then
+        assertEquals(sessions.size(), beforeCompaction.size());
+        assertEquals(sessions.size(), afterCompaction.size());
+        assertEquals("Late1", afterCompaction.get(sessions.size() - 1).getTitle());
+        assertTrue(logFile.length() < 256 * 1024);
+    }
+
+    @Test
+    public void testSessionDatesAreParsedOnce() {
+        // Given
+        StudyGroup group = new StudyGroup("Group", "des");
+
+        // When
+        Session iso = new Session("Iso", "2024-03-28", group, "des");
+        Session dotted = new Session("Dotted", "28.03.2024T14:30", group, "des");
+        Session invalid = new Session("Invalid", "Date", group, "des");
+
+        // Then
+        assertEquals(Session.toTime(LocalDateTime.of(2024, 3, 28, 0, 0)), iso.getTime());
+        assertEquals(iso.getTime() + 14 * 60 + 30, dotted.getTime());
+        assertEquals(Session.NO_TIME, invalid.getTime());
+        assertEquals(Session.NO_TIME, Session.parseTime("2024-02-30"));
+        assertEquals("Date", invalid.getDate());
+    }
+
+    @Test
+    public void testTimelineAnswersRangeAndNextQueries() {
+        // Given
+        SessionManager sessionManager = new SessionManager();
+        StudyGroup algebra = new StudyGroup("Algebra", "des");
+        StudyGroup physics = new StudyGroup("Physics", "des");
+        Session late = new Session("Late", "2024-04-10", algebra, "des");
+        Session early = new Session("Early", "2024-04-01", algebra, "des");
+        Session other = new Session("Other", "2024-04-02", physics, "des");
+        sessionManager.addSession(late);
+        sessionManager.addSession(early);
+        sessionManager.addSession(other);
+        sessionManager.addSession(new Session("Undated", "Date", algebra, "des"));
+        long april = Session.parseTime("2024-04-01");
+        long week = Session.parseTime("2024-04-08");
+
+        // Then
+        assertEquals(2, sessionManager.getSessionsBetween(april, week, 10).size());
+        assertSame(early, sessionManager.getUpcomingSessionsForGroup(algebra.getId(), april, 10).get(0));
+        assertEquals(2, sessionManager.getUpcomingSessionsForGroup(algebra.getId(), april, 10).size());
+        assertSame(late, sessionManager.findNextSessionForGroup(algebra.getId(), april + 1));
+
+        // When
+        // Moving a session and removing another keep the order up to date
+        late.setDate("2024-03-15");
+        sessionManager.getSessions().remove(early);
+
+        // Then
+        assertNull(sessionManager.findNextSessionForGroup(algebra.getId(), april));
+        assertSame(late, sessionManager.getSessionsForGroupBetween(algebra.getId(), 0, april, 10).get(0));
+        assertSame(other, sessionManager.getSessionsBetween(april, week, 10).get(0));
+    }
+
+    @Test
+    public void testSessionDatesCarryEndTimes() {
+        // Given
+        long tenOClock = Session.parseTime("2024-03-05T10:00");
+        long midnight = Session.parseTime("2024-03-05");
+
+        // Then
+        assertEquals(tenOClock + 120, Session.parseEndTime("2024-03-05T10:00/12:00"));
+        assertEquals(tenOClock + 120, Session.parseEndTime("05/03/2024 10:00/05/03/2024 12:00"));
+        assertEquals(tenOClock + 24 * 60, Session.parseEndTime("2024-03-05T10:00--2024-03-06T10:00"));
+        assertEquals(tenOClock + Session.DEFAULT_DURATION, Session.parseEndTime("2024-03-05T10:00"));
+        assertEquals(midnight + 24 * 60, Session.parseEndTime("2024-03-05"));
+        assertEquals(tenOClock + 13 * 60, Session.parseEndTime("2024-03-05T10:00/2024-03-05T23:00"));
+        // An end time of day before the start runs past midnight
+        assertEquals(tenOClock + 23 * 60, Session.parseEndTime("2024-03-05T10:00/09:00"));
+        // An end date before the start is not understood
+        assertEquals(Session.NO_TIME, Session.parseTime("2024-03-05/2024-03-04"));
+        assertEquals(Session.NO_TIME, Session.parseEndTime("2024-03-05T10:00/25:00"));
+    }
+
+    @Test
+    public void testConflictsReportSharedMembers() {
+        // Given
+        Account account = new Account();
+        for (int id = 1; id <= 4; id++) {
+            account.getUserList().add(new User("Name" + id, "Surname" + id, id, "user" + id, "password"));
+        }
+        StudyGroup algebra = GroupRegistry.intern(new StudyGroup("Conflict Algebra", "des"));
+        StudyGroup physics = GroupRegistry.intern(new StudyGroup("Conflict Physics", "des"));
+        StudyGroup chemistry = GroupRegistry.intern(new StudyGroup("Conflict Chemistry", "des"));
+        GroupMembership.addMembers(algebra, new int[] {1, 2, 3});
+        GroupMembership.addMembers(physics, new int[] {3, 4});
+        GroupMembership.addMembers(chemistry, new int[] {4});
+        SessionManager sessionManager = new SessionManager();
+        Session lab = new Session("Lab", "2024-03-05T10:00/11:00", physics, "des");
+        Session review = new Session("Review", "2024-03-05T09:00/10:45", algebra, "des");
+        sessionManager.addSession(lab);
+        sessionManager.addSession(review);
+        sessionManager.addSession(new Session("Other", "2024-03-05T10:30/11:30", chemistry, "des"));
+        sessionManager.addSession(new Session("Later", "2024-03-05T14:00", algebra, "des"));
+
+        // When
+        Session session = new Session("Exam", "2024-03-05T10:30/11:00", algebra, "des");
+        List<SessionManager.Conflict> conflicts = sessionManager.findConflicts(session);
+
+        // Then
+        assertEquals(2, conflicts.size());
+        assertSame(review, conflicts.get(0).getSession());
+        assertArrayEquals(new int[] {1, 2, 3}, conflicts.get(0).getMemberIds());
+        assertSame(lab, conflicts.get(1).getSession());
+        assertArrayEquals(new int[] {3}, conflicts.get(1).getMemberIds());
+
+        // When
+        // Moving the lab out of the way removes its conflict
+        lab.setDate("2024-03-05T08:00/09:00");
+
+        // Then
+        assertEquals(1, sessionManager.findConflicts(session).size());
+    }
+
+    @Test
+    public void testSlotsMostMembersCanAttendComeFirst() {
+        // Given
+        Account account = new Account();
+        for (int id = 1; id <= 3; id++) {
+            account.getUserList().add(new User("Name" + id, "Surname" + id, id, "user" + id, "password"));
+        }
+        StudyGroup algebra = GroupRegistry.intern(new StudyGroup("Slot Algebra", "des"));
+        StudyGroup physics = GroupRegistry.intern(new StudyGroup("Slot Physics", "des"));
+        GroupMembership.addMembers(algebra, new int[] {1, 2, 3});
+        GroupMembership.addMembers(physics, new int[] {3});
+        SessionManager sessionManager = new SessionManager();
+        sessionManager.addSession(new Session("Lab", "2024-03-05T08:00/12:00", physics, "des"));
+        sessionManager.addSession(new Session("Review", "2024-03-05T12:00/14:00", algebra, "des"));
+        long day = Session.parseTime("2024-03-05");
+
+        // When
+        List<SlotFinder.Slot> slots = sessionManager.findSlots(algebra, day, day + 24 * 60, 60, 10);
+
+        // Then
+        assertEquals(10, slots.size());
+        assertEquals("2024-03-05T14:00/15:00", slots.get(0).toDate());
+        assertEquals(3, slots.get(0).getAttendees());
+        assertEquals("2024-03-05T21:00/22:00", slots.get(7).toDate());
+        assertEquals("2024-03-05T08:00/09:00", slots.get(8).toDate());
+        assertEquals(2, slots.get(8).getAttendees());
+    }
+
+    @Test
+    public void testSlotsOfLargeGroupsAreCountedInParallel() {
+        // Given
+        Account account = new Account();
+        StudyGroup lecture = GroupRegistry.intern(new StudyGroup("Slot Lecture", "des"));
+        int[] ids = new int[1000];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = 1000 + i;
+            account.getUserList().add(new User("Name", "Surname", ids[i], "lecture" + i, "password"));
+        }
+        GroupMembership.addMembers(lecture, ids);
+        StudyGroup small = GroupRegistry.intern(new StudyGroup("Slot Small", "des"));
+        GroupMembership.addMembers(small, new int[] {1000, 1999});
+        SessionManager sessionManager = new SessionManager();
+        sessionManager.addSession(new Session("Busy", "2024-03-05T08:00/09:30", small, "des"));
+        long day = Session.parseTime("2024-03-05");
+
+        // When
+        List<SlotFinder.Slot> slots = sessionManager.findSlots(lecture, day, day + 28 * 24 * 60, 90, 3);
+
+        // Then
+        assertEquals(3, slots.size());
+        assertEquals("2024-03-05T09:30/11:00", slots.get(0).toDate());
+        assertEquals(1000, slots.get(0).getAttendees());
+    }
+
+    @Test
+    public void testRecurringSessionIsStoredOnce() {
+        // Given
+        StudyGroup algebra = GroupRegistry.intern(new StudyGroup("Recurring Algebra", "des"));
+        SessionManager sessionManager = new SessionManager();
+        Session weekly = new Session("Tutorial", "2024-03-05T10:00/12:00;FREQ=WEEKLY;COUNT=15", algebra, "des");
+        Session single = new Session("Exam", "2024-03-13T09:00", algebra, "des");
+        sessionManager.addSession(weekly);
+        sessionManager.addSession(single);
+        long first = Session.parseTime("2024-03-05T10:00");
+        long week = 7 * 24 * 60;
+
+        // Then
+        assertTrue(weekly.isRecurring());
+        assertEquals("FREQ=WEEKLY;COUNT=15", weekly.getRecurrence());
+        assertEquals(first + 14 * week + 120, weekly.getLastEndTime());
+        assertEquals(first + week, weekly.nextOccurrence(first + 1));
+        assertEquals(Session.NO_TIME, weekly.nextOccurrence(first + 14 * week + 1));
+        assertEquals(2, weekly.occurrencesBetween(first + week, first + 3 * week, 10).length);
+        // Between the occurrences the series is free
+        assertTrue(weekly.overlaps(first + week + 60, first + week + 61));
+        assertTrue(!weekly.overlaps(first + week + 120, first + 2 * week));
+
+        // When
+        List<Session> march = sessionManager.getSessionsForGroupBetween(algebra.getId(), first + 1, first + 3 * week, 10);
+
+        // Then
+        assertEquals(2, march.size());
+        assertSame(weekly, march.get(0));
+        assertSame(single, march.get(1));
+        assertSame(single, sessionManager.findNextSessionForGroup(algebra.getId(), first + week + 1));
+        assertSame(weekly, sessionManager.findNextSessionForGroup(algebra.getId(), first + 9 * 24 * 60));
+        assertNull(sessionManager.findNextSessionForGroup(algebra.getId(), first + 15 * week));
+    }
+
+    @Test
+    public void testRecurrenceRules() {
+        // Given
+        long first = Session.parseTime("2024-03-05T10:00");
+        long day = 24 * 60;
+
+        // Then
+        assertEquals(first, Session.parseTime("2024-03-05T10:00;FREQ=DAILY"));
+        assertEquals(first + 60, Session.parseEndTime("2024-03-05T10:00;FREQ=DAILY"));
+        assertEquals(Long.MAX_VALUE, new Session("Daily", "2024-03-05T10:00;FREQ=DAILY", GroupRegistry.intern(new StudyGroup("Recurring Rules", "des")), "des").getLastEndTime());
+        Session biweekly = new Session("Biweekly", "2024-03-05T10:00;FREQ=WEEKLY;INTERVAL=2;UNTIL=2024-04-02", GroupRegistry.intern(new StudyGroup("Recurring Rules", "des")), "des");
+        assertEquals(14 * day, biweekly.getPeriod());
+        assertEquals(first + 28 * day + 60, biweekly.getLastEndTime());
+        // Rules that are not understood make the date invalid
+        assertEquals(Session.NO_TIME, Session.parseTime("2024-03-05T10:00;FREQ=YEARLY"));
+        assertEquals(Session.NO_TIME, Session.parseTime("2024-03-05T10:00;FREQ=DAILY;COUNT=0"));
+        assertEquals(Session.NO_TIME, Session.parseTime("2024-03-05T10:00;FREQ=DAILY;UNTIL=2024-03-04"));
+    }
+
+    @Test
+    public void testRecurringSessionsConflictAndBlockSlots() {
+        // Given
+        Account account = new Account();
+        for (int id = 1; id <= 2; id++) {
+            account.getUserList().add(new User("Name" + id, "Surname" + id, id, "user" + id, "password"));
+        }
+        StudyGroup algebra = GroupRegistry.intern(new StudyGroup("Recurring Conflict Algebra", "des"));
+        StudyGroup physics = GroupRegistry.intern(new StudyGroup("Recurring Conflict Physics", "des"));
+        GroupMembership.addMembers(algebra, new int[] {1, 2});
+        GroupMembership.addMembers(physics, new int[] {2});
+        SessionManager sessionManager = new SessionManager();
+        Session lab = new Session("Lab", "2024-03-19T10:30/11:30", physics, "des");
+        sessionManager.addSession(lab);
+        sessionManager.addSession(new Session("Lecture", "2024-03-05T08:00/22:00;FREQ=WEEKLY;COUNT=15", physics, "des"));
+
+        // When
+        Session tutorial = new Session("Tutorial", "2024-03-05T10:00/12:00;FREQ=WEEKLY;COUNT=3", algebra, "des");
+        List<SessionManager.Conflict> conflicts = sessionManager.findConflicts(tutorial);
+
+        // Then
+        // The lecture overlaps every occurrence and the lab overlaps the third, each reported once
+        assertEquals(2, conflicts.size());
+        assertEquals("Lecture", conflicts.get(0).getSession().getTitle());
+        assertSame(lab, conflicts.get(1).getSession());
+        assertArrayEquals(new int[] {2}, conflicts.get(1).getMemberIds());
+
+        // When
+        long monday = Session.parseTime("2024-03-11");
+        List<SlotFinder.Slot> slots = sessionManager.findSlots(algebra, monday, monday + 2 * 24 * 60, 60, 1);
+
+        // Then
+        // The lecture takes the whole of Tuesday 12 March for member 2
+        assertEquals("2024-03-11T08:00/09:00", slots.get(0).toDate());
+        assertEquals(2, slots.get(0).getAttendees());
+        assertEquals(1, sessionManager.findSlots(algebra, monday + 24 * 60, monday + 2 * 24 * 60, 60, 1).get(0).getAttendees());
+    }
+
+    @Test
+    public void testRecurringSessionIsSavedAsOneRecord() {
+        // Given
+        StudyGroup algebra = GroupRegistry.intern(new StudyGroup("Recurring Saved Algebra", "des"));
+        List<Session> once = new ArrayList<>();
+        once.add(new Session("Tutorial", "2024-03-05T10:00/12:00", algebra, "des"));
+        SessionManager.writeSessionsToFile(once);
+        long singleSize = new File(SessionManager.SESSIONS_FILE).length();
+        List<Session> sessions = new ArrayList<>();
+        sessions.add(new Session("Tutorial", "2024-03-05T10:00/12:00;FREQ=WEEKLY;COUNT=15", algebra, "des"));
+
+        // When
+        SessionManager.writeSessionsToFile(sessions);
+        List<Session> loaded = SessionManager.readSessionsFromFile();
+
+        // Then
+        assertTrue(new File(SessionManager.SESSIONS_FILE).length() < singleSize + 32);
+        assertEquals(1, loaded.size());
+        assertTrue(loaded.get(0).isRecurring());
+        assertEquals(sessions.get(0).getLastEndTime(), loaded.get(0).getLastEndTime());
+    }
 }
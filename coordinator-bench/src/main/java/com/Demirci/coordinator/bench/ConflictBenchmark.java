@@ -0,0 +1,150 @@
+/**
+ * The com.Divan.coordinator package contains classes and interfaces related to coordination tasks
+ * in the application developed by Rana Melih.
+ * 
+ * This package serves as a coordination module facilitating communication and orchestration
+ * among different components of the application.
+ * 
+ * Classes within this package might include implementations of coordinator patterns,
+ * such as the mediator pattern, or other coordination strategies.
+ * 
+ * @author Rana Melih
+ * @version 1.0.3
+ * @since 2024-03-28
+ */
+package com.Demirci.coordinator.bench;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.Demirci.coordinator.Account;
+import com.Demirci.coordinator.Session;
+import com.Demirci.coordinator.SessionManager;
+import com.Demirci.coordinator.SlotFinder;
+import com.Demirci.coordinator.StudyGroup;
+import com.Demirci.coordinator.User;
+
+/**
+ * The ConflictBenchmark class measures the scheduling aids for a new session of a large study group
+ * whose members also belong to several other groups with many sessions each: finding the member
+ * conflicts of the session and finding the times most members can attend.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ConflictBenchmark {
+    /** Number of study groups besides the group of the new session. */
+    private static final int OTHER_GROUPS = 50;
+
+    /** Number of other groups each member of the new session's group belongs to. */
+    private static final int GROUPS_PER_MEMBER = 5;
+
+    /** The time the generated sessions start from. */
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 8, 0);
+
+    /** The length in minutes of the horizon searched for free times, four weeks. */
+    private static final long HORIZON = 28 * 24 * 60;
+
+    /** Number of members of the group of the new session. */
+    @Param({"500", "1000"})
+    public int members;
+
+    /** Number of sessions of each group, one every four hours. */
+    @Param({"2000"})
+    public int sessionsPerGroup;
+
+    /** The group of the new session. */
+    private StudyGroup group;
+
+    /** The session manager holding the sessions. */
+    private SessionManager sessionManager;
+
+    /** The new session, in the middle of the generated sessions and not added to the manager. */
+    private Session session;
+
+    /**
+     * Builds the groups, their members and their sessions.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        Account account = new Account();
+        group = new StudyGroup("Large group", "The group of the new session");
+        List<StudyGroup> others = new ArrayList<>();
+        for (int i = 0; i < OTHER_GROUPS; i++) {
+            others.add(new StudyGroup("Group " + i, "Study group number " + i));
+        }
+        Random random = new Random(42);
+        for (int i = 1; i <= members; i++) {
+            User user = new User("Name" + i, "Surname" + i, i, "user" + i, "password" + i);
+            group.addMember(user);
+            user.joinGroup(group);
+            for (int g = 0; g < GROUPS_PER_MEMBER; g++) {
+                StudyGroup other = others.get(random.nextInt(OTHER_GROUPS));
+                other.addMember(user);
+                user.joinGroup(other);
+            }
+            account.getUserList().add(user);
+        }
+
+        sessionManager = new SessionManager();
+        others.add(group);
+        for (StudyGroup owner : others) {
+            for (int j = 0; j < sessionsPerGroup; j++) {
+                sessionManager.addSession(new Session("Session" + j, interval(j * 240L + random.nextInt(120), 90), owner, "des"));
+            }
+        }
+        session = new Session("New", interval(sessionsPerGroup / 2 * 240L, 120), group, "des");
+    }
+
+    /**
+     * Formats a session date.
+     *
+     * @param offset   The start in minutes after {@link #START}
+     * @param duration The length in minutes
+     * @return The date as a start/end interval
+     */
+    private static String interval(long offset, long duration) {
+        LocalDateTime start = START.plusMinutes(offset);
+        return start + "/" + start.plusMinutes(duration);
+    }
+
+    /**
+     * Measures finding the conflicts of the new session.
+     *
+     * @return The conflicts
+     */
+    @Benchmark
+    public List<SessionManager.Conflict> findConflicts() {
+        return sessionManager.findConflicts(session);
+    }
+
+    /**
+     * Measures finding the three best hour-long slots for the group within four weeks.
+     *
+     * @return The slots
+     */
+    @Benchmark
+    public List<SlotFinder.Slot> findSlots() {
+        long from = Session.toTime(START);
+        return sessionManager.findSlots(group, from, from + HORIZON, 60, 3);
+    }
+}
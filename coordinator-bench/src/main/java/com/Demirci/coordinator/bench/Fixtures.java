@@ -0,0 +1,136 @@
+/**
+ * The com.Divan.coordinator package contains classes and interfaces related to coordination tasks
+ * in the application developed by Rana Melih.
+ * 
+ * This package serves as a coordination module facilitating communication and orchestration
+ * among different components of the application.
+ * 
+ * Classes within this package might include implementations of coordinator patterns,
+ * such as the mediator pattern, or other coordination strategies.
+ * 
+ * @author Rana Melih
+ * @version 1.0.3
+ * @since 2024-03-28
+ */
+package com.Demirci.coordinator.bench;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.Demirci.coordinator.Discussion;
+import com.Demirci.coordinator.Resource;
+import com.Demirci.coordinator.Session;
+import com.Demirci.coordinator.StudyGroup;
+import com.Demirci.coordinator.User;
+
+/**
+ * The Fixtures class builds the data sets used by the benchmarks.
+ *
+ * Entities are spread over study groups of {@link #GROUP_SIZE} entities each, so the number of
+ * groups grows with the size of the data set while a single group stays the same size.
+ */
+final class Fixtures {
+    /** Number of entities in each study group. */
+    static final int GROUP_SIZE = 100;
+
+    /** A stream that discards everything written to it. */
+    static final PrintStream DISCARD = new PrintStream(new OutputStream() {
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    });
+
+    /**
+     * Prevents instantiation.
+     */
+    private Fixtures() {
+    }
+
+    /**
+     * Creates the study groups for a data set.
+     *
+     * @param size The number of entities in the data set
+     * @return One group for every {@link #GROUP_SIZE} entities
+     */
+    static List<StudyGroup> groups(int size) {
+        int count = (size + GROUP_SIZE - 1) / GROUP_SIZE;
+        List<StudyGroup> groups = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            groups.add(new StudyGroup("Group " + i, "Study group number " + i));
+        }
+        return groups;
+    }
+
+    /**
+     * Creates users with IDs 1 to size, each a member of its group.
+     *
+     * @param size   The number of users
+     * @param groups The groups created by {@link #groups(int)}
+     * @return The users
+     */
+    static List<User> users(int size, List<StudyGroup> groups) {
+        List<User> users = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            User user = new User("Name" + i, "Surname" + i, i + 1, "user" + i, "password" + i);
+            StudyGroup group = groups.get(i / GROUP_SIZE);
+            group.addMember(user);
+            user.setGroup(group);
+            users.add(user);
+        }
+        return users;
+    }
+
+    /**
+     * Creates sessions spread over the groups.
+     *
+     * @param size   The number of sessions
+     * @param groups The groups created by {@link #groups(int)}
+     * @return The sessions
+     */
+    static List<Session> sessions(int size, List<StudyGroup> groups) {
+        List<Session> sessions = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            sessions.add(new Session("Session" + i, String.format("2024-03-%02d", 1 + i % 28), groups.get(i / GROUP_SIZE), "Description " + i));
+        }
+        return sessions;
+    }
+
+    /**
+     * Creates resources spread over the groups.
+     *
+     * @param size   The number of resources
+     * @param groups The groups created by {@link #groups(int)}
+     * @return The resources
+     */
+    static List<Resource> resources(int size, List<StudyGroup> groups) {
+        List<Resource> resources = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            resources.add(new Resource("Resource" + i, "Description " + i, "https://example.org/" + i, groups.get(i / GROUP_SIZE)));
+        }
+        return resources;
+    }
+
+    /**
+     * Creates discussions with two comments each, spread over the groups.
+     *
+     * @param size   The number of discussions
+     * @param groups The groups created by {@link #groups(int)}
+     * @return The discussions
+     */
+    static List<Discussion> discussions(int size, List<StudyGroup> groups) {
+        List<Discussion> discussions = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Discussion discussion = new Discussion("Topic" + i, groups.get(i / GROUP_SIZE));
+            discussion.addComment("First comment " + i);
+            discussion.addComment("Second comment " + i);
+            discussions.add(discussion);
+        }
+        return discussions;
+    }
+}
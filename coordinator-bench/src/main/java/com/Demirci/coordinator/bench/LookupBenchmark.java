@@ -0,0 +1,190 @@
+/**
+ * The com.Divan.coordinator package contains classes and interfaces related to coordination tasks
+ * in the application developed by Rana Melih.
+ * 
+ * This package serves as a coordination module facilitating communication and orchestration
+ * among different components of the application.
+ * 
+ * Classes within this package might include implementations of coordinator patterns,
+ * such as the mediator pattern, or other coordination strategies.
+ * 
+ * @author Rana Melih
+ * @version 1.0.3
+ * @since 2024-03-28
+ */
+package com.Demirci.coordinator.bench;
+
+import java.io.PrintStream;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.Demirci.coordinator.Account;
+import com.Demirci.coordinator.CoordinatorApp;
+import com.Demirci.coordinator.Discussion;
+import com.Demirci.coordinator.DiscussionManager;
+import com.Demirci.coordinator.ResourceManager;
+import com.Demirci.coordinator.Session;
+import com.Demirci.coordinator.SessionManager;
+import com.Demirci.coordinator.StudyGroup;
+import com.Demirci.coordinator.User;
+
+/**
+ * The LookupBenchmark class measures finding users by ID, showing the sessions, resources and
+ * discussions of one study group, searching its discussions and querying sessions by time.
+ *
+ * The display methods print to a stream that discards its output, so the benchmarks measure
+ * finding the group's entities and formatting them rather than the console.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class LookupBenchmark {
+    /** Number of IDs looked up in turn, a power of two. */
+    private static final int LOOKUPS = 1024;
+
+    /** The start time used by the session queries, in the middle of the generated dates. */
+    private static final long MID_MARCH = Session.parseTime("2024-03-15");
+
+    /** Number of entities of each kind in the data set. */
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    /** IDs of existing users, looked up in turn. */
+    private int[] ids;
+
+    /** Position of the next ID to look up. */
+    private int next;
+
+    /** The group whose entities are displayed, in the middle of the data set. */
+    private StudyGroup group;
+
+    /** The session manager holding the sessions. */
+    private SessionManager sessionManager;
+
+    /** The resource manager holding the resources. */
+    private ResourceManager resourceManager;
+
+    /** The discussion manager holding the discussions. */
+    private DiscussionManager discussionManager;
+
+    /** The standard output, restored after the benchmark. */
+    private PrintStream out;
+
+    /**
+     * Builds the data set and fills the managers.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        out = System.out;
+        System.setOut(Fixtures.DISCARD);
+        List<StudyGroup> groups = Fixtures.groups(size);
+        Account account = new Account();
+        List<User> users = Fixtures.users(size, groups);
+        account.getUserList().addAll(users);
+        CoordinatorApp.currentUser = users.get(0);
+
+        Random random = new Random(42);
+        ids = new int[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            ids[i] = 1 + random.nextInt(size);
+        }
+
+        group = groups.get(groups.size() / 2);
+        sessionManager = new SessionManager();
+        sessionManager.getSessions().addAll(Fixtures.sessions(size, groups));
+        resourceManager = new ResourceManager();
+        resourceManager.getResources().addAll(Fixtures.resources(size, groups));
+        discussionManager = new DiscussionManager();
+        discussionManager.getDiscussions().addAll(Fixtures.discussions(size, groups));
+    }
+
+    /**
+     * Restores the standard output.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.setOut(out);
+    }
+
+    /**
+     * Measures looking up a user by ID.
+     *
+     * @return The user found
+     */
+    @Benchmark
+    public User findUserById() {
+        return Account.findUserById(ids[next++ & (LOOKUPS - 1)]);
+    }
+
+    /**
+     * Measures displaying the sessions of one group.
+     */
+    @Benchmark
+    public void displaySessionsForGroup() {
+        sessionManager.displaySessionsForGroup(group);
+    }
+
+    /**
+     * Measures displaying the resources of one group.
+     */
+    @Benchmark
+    public void displayResourcesForGroup() {
+        resourceManager.displayResourcesForGroup(group);
+    }
+
+    /**
+     * Measures displaying the discussions of one group with their comments.
+     */
+    @Benchmark
+    public void displayDiscussionsForGroup() {
+        discussionManager.displayDiscussionsForGroup(group);
+    }
+
+    /**
+     * Measures a ranked keyword search over the topics and comments of one group.
+     *
+     * @return The matching discussions
+     */
+    @Benchmark
+    public List<Discussion> searchDiscussions() {
+        return discussionManager.searchDiscussions("second comment", group.getId(), 10);
+    }
+
+    /**
+     * Measures finding the next session of one group.
+     *
+     * @return The next session
+     */
+    @Benchmark
+    public Session findNextSessionForGroup() {
+        return sessionManager.findNextSessionForGroup(group.getId(), MID_MARCH);
+    }
+
+    /**
+     * Measures reading the first sessions of one week across all groups.
+     *
+     * @return The sessions of the week
+     */
+    @Benchmark
+    public List<Session> getSessionsBetween() {
+        return sessionManager.getSessionsBetween(MID_MARCH, MID_MARCH + 7 * 24 * 60, 10);
+    }
+}
@@ -0,0 +1,145 @@
+/**
+ * The com.Divan.coordinator package contains classes and interfaces related to coordination tasks
+ * in the application developed by Rana Melih.
+ * 
+ * This package serves as a coordination module facilitating communication and orchestration
+ * among different components of the application.
+ * 
+ * Classes within this package might include implementations of coordinator patterns,
+ * such as the mediator pattern, or other coordination strategies.
+ * 
+ * @author Rana Melih
+ * @version 1.0.3
+ * @since 2024-03-28
+ */
+package com.Demirci.coordinator.bench;
+
+import java.io.File;
+import java.io.PrintStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.Demirci.coordinator.Account;
+import com.Demirci.coordinator.FileUtility;
+import com.Demirci.coordinator.Session;
+import com.Demirci.coordinator.SessionManager;
+import com.Demirci.coordinator.StudyGroup;
+
+/**
+ * The PersistenceBenchmark class measures writing and reading the data files.
+ *
+ * The files are written to the working directory under the names the application uses, so the
+ * benchmarks should be run from an empty directory.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class PersistenceBenchmark {
+    /** File the users are written to. */
+    private static final String USERS_FILE = "users.bin";
+
+    /** Number of entities in the data set. */
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    /** The account holding the users. */
+    private Account account;
+
+    /** The sessions to write. */
+    private List<Session> sessions;
+
+    /** The study groups to write. */
+    private List<StudyGroup> groups;
+
+    /** The standard output, restored after the benchmark. */
+    private PrintStream out;
+
+    /**
+     * Builds the data set and writes every file once so the read benchmarks have input.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        out = System.out;
+        System.setOut(Fixtures.DISCARD);
+        groups = Fixtures.groups(size);
+        account = new Account();
+        account.getUserList().addAll(Fixtures.users(size, groups));
+        sessions = Fixtures.sessions(size, groups);
+        Account.saveUsersToFile(USERS_FILE);
+        SessionManager.writeSessionsToFile(sessions);
+    }
+
+    /**
+     * Deletes the written files and restores the standard output.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        new File(USERS_FILE).delete();
+        new File(SessionManager.SESSIONS_FILE).delete();
+        new File(SessionManager.SESSIONS_LOG_FILE).delete();
+        new File(FileUtility.GROUPS_FILE).delete();
+        System.setOut(out);
+    }
+
+    /**
+     * Measures writing all users to the users file.
+     */
+    @Benchmark
+    public void saveUsersToFile() {
+        Account.saveUsersToFile(USERS_FILE);
+    }
+
+    /**
+     * Measures reading all users from the users file and rebuilding the indexes.
+     *
+     * @return The number of loaded users
+     */
+    @Benchmark
+    public int loadUsersFromFile() {
+        account.loadUsersFromFile(USERS_FILE);
+        return account.getUserList().size();
+    }
+
+    /**
+     * Measures writing a snapshot of all sessions.
+     */
+    @Benchmark
+    public void writeSessionsToFile() {
+        SessionManager.writeSessionsToFile(sessions);
+    }
+
+    /**
+     * Measures reading all sessions from the sessions file and its log.
+     *
+     * @return The loaded sessions
+     */
+    @Benchmark
+    public List<Session> readSessionsFromFile() {
+        return SessionManager.readSessionsFromFile();
+    }
+
+    /**
+     * Measures writing all study groups with their members.
+     */
+    @Benchmark
+    public void writeGroupsToFile() {
+        FileUtility.writeGroupsToFile(groups);
+    }
+}